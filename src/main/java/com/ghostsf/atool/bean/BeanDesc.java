@@ -1,13 +1,20 @@
 package com.ghostsf.atool.bean;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.ghostsf.atool.lang.Assert;
+import com.ghostsf.atool.lang.Func0;
 import com.ghostsf.atool.util.ClassUtil;
 import com.ghostsf.atool.util.ReflectUtil;
 import com.ghostsf.atool.util.StrUtil;
@@ -26,6 +33,10 @@ public class BeanDesc {
 	private Class<?> beanClass;
 	/** 属性Map */
 	private Map<String, PropDesc> propMap = new HashMap<>();
+	/** 派生数据个数上限，超出时整体清空 */
+	private static final int MAX_DERIVED_SIZE = 256;
+	/** 基于此Bean类派生的缓存数据，随BeanDesc一同缓存和回收 */
+	private final ConcurrentMap<Object, Object> derivedMap = new ConcurrentHashMap<>();
 
 	/**
 	 * 构造
@@ -118,6 +129,63 @@ public class BeanDesc {
 		return null == desc ? null : desc.getSetter();
 	}
 
+	/**
+	 * 获取基于此Bean类派生的缓存数据（例如拷贝计划、转Map计划），不存在时使用supplier创建<br>
+	 * 读取无锁；并发创建时supplier可能被调用多次，但只保留第一个结果；数据个数达到上限（256）时整体清空后重新缓存<br>
+	 * 注意键和数据会被此BeanDesc强引用，不应引用其它类，否则其它类的ClassLoader无法被回收
+	 * 
+	 * @param <V> 数据类型
+	 * @param key 键，需正确实现equals和hashCode
+	 * @param supplier 不存在时创建数据的回调，不能返回<code>null</code>
+	 * @return 数据
+	 * @throws BeanException supplier抛出的非运行时异常被包装为此异常
+	 */
+	public <V> V getDerived(Object key, Func0<V> supplier) {
+		V value = getDerived(key);
+		if (null == value) {
+			try {
+				value = supplier.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new BeanException(e);
+			}
+			value = putDerivedIfAbsent(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * 获取基于此Bean类派生的缓存数据，读取无锁
+	 * 
+	 * @param <V> 数据类型
+	 * @param key 键
+	 * @return 数据，不存在返回<code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V getDerived(Object key) {
+		return (V) this.derivedMap.get(key);
+	}
+
+	/**
+	 * 加入基于此Bean类派生的缓存数据，已存在时返回已有数据<br>
+	 * 存入的键可以与查找时使用的键不是同一对象（例如存入时使用弱引用），只需二者equals且hashCode一致
+	 * 
+	 * @param <V> 数据类型
+	 * @param key 键，需正确实现equals和hashCode
+	 * @param value 数据，不能为<code>null</code>
+	 * @return 缓存中的数据
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V putDerivedIfAbsent(Object key, V value) {
+		if (this.derivedMap.size() >= MAX_DERIVED_SIZE) {
+			// 近似的容量限制，避免选项组合无限增长
+			this.derivedMap.clear();
+		}
+		final Object existing = this.derivedMap.putIfAbsent(key, value);
+		return (null == existing) ? value : (V) existing;
+	}
+
 	/**
 	 * 初始化<br>
 	 * 只有与属性关联的相关Getter和Setter方法才会被读取，无关的getXXX和setXXX都被忽略
@@ -152,19 +220,30 @@ public class BeanDesc {
 	}
 
 	/**
-	 * 属性描述
+	 * 属性描述<br>
+	 * 构造时将Getter和Setter转换为统一签名的{@link MethodHandle}，{@link #getValue(Object)}和{@link #setValue(Object, Object)}通过其调用，
+	 * 避免{@link Method#invoke(Object, Object...)}每次调用时的参数数组创建和访问检查。{@link PropDesc}随{@link BeanDesc}缓存，句柄只创建一次。
 	 * 
 	 * @author ghostsf
 	 *
 	 */
 	public static class PropDesc {
 
+		/** Getter句柄的统一签名：(Object)Object */
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+		/** Setter句柄的统一签名：(Object, Object)void */
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
 		/** 字段 */
 		private Field field;
 		/** Getter方法 */
 		private Method getter;
 		/** Setter方法 */
 		private Method setter;
+		/** Getter句柄，无法创建时为<code>null</code>，此时使用反射调用 */
+		private MethodHandle getterHandle;
+		/** Setter句柄，无法创建时为<code>null</code>，此时使用反射调用 */
+		private MethodHandle setterHandle;
 
 		/**
 		 * 构造<br>
@@ -178,6 +257,8 @@ public class BeanDesc {
 			this.field = field;
 			this.getter = ClassUtil.setAccessible(getter);
 			this.setter = ClassUtil.setAccessible(setter);
+			this.getterHandle = toHandle(this.getter, GETTER_TYPE);
+			this.setterHandle = toHandle(this.setter, SETTER_TYPE);
 		}
 
 		/**
@@ -242,6 +323,76 @@ public class BeanDesc {
 			return this.setter;
 		}
 
+		/**
+		 * 通过Getter方法获取属性值
+		 * 
+		 * @param bean Bean对象
+		 * @return 属性值
+		 * @throws BeanException Getter不存在或调用失败
+		 */
+		public Object getValue(Object bean) {
+			if (null == this.getter) {
+				throw new BeanException("No getter for property [{}]", getFieldName());
+			}
+			try {
+				if (null != this.getterHandle) {
+					return this.getterHandle.invokeExact(bean);
+				}
+				return this.getter.invoke(bean);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new BeanException(e, "Get value of property [{}] error!", getFieldName());
+			}
+		}
+
+		/**
+		 * 通过Setter方法设置属性值，值类型必须与Setter参数类型匹配
+		 * 
+		 * @param bean Bean对象
+		 * @param value 属性值
+		 * @throws BeanException Setter不存在或调用失败
+		 */
+		public void setValue(Object bean, Object value) {
+			if (null == this.setter) {
+				throw new BeanException("No setter for property [{}]", getFieldName());
+			}
+			try {
+				if (null != this.setterHandle) {
+					this.setterHandle.invokeExact(bean, value);
+				} else {
+					this.setter.invoke(bean, value);
+				}
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new BeanException(e, "Set value of property [{}] error!", getFieldName());
+			}
+		}
+
+		/**
+		 * 将方法转换为指定统一签名的{@link MethodHandle}，静态方法忽略第一个参数（Bean对象）
+		 * 
+		 * @param method 方法，已设置为可访问
+		 * @param type 统一签名
+		 * @return {@link MethodHandle}，方法为<code>null</code>或无法转换时返回<code>null</code>
+		 */
+		private static MethodHandle toHandle(Method method, MethodType type) {
+			if (null == method) {
+				return null;
+			}
+			try {
+				MethodHandle handle = MethodHandles.lookup().unreflect(method);
+				if (Modifier.isStatic(method.getModifiers())) {
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+				// 统一签名返回void时，asType会丢弃链式Setter返回的this
+				return handle.asType(type);
+			} catch (Exception e) {
+				return null;
+			}
+		}
+
 		/**
 		 * 通过Getter和Setter方法中找到属性类型
 		 * 
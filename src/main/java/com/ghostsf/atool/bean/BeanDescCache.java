@@ -1,5 +1,7 @@
 package com.ghostsf.atool.bean;
 
+import com.ghostsf.atool.cache.CacheStatsRegistry;
+import com.ghostsf.atool.lang.Func0;
 import com.ghostsf.atool.lang.SimpleCache;
 
 /**
@@ -13,6 +15,10 @@ public enum BeanDescCache {
 	
 	private SimpleCache<Class<?>, BeanDesc> bdCache = new SimpleCache<>();
 	
+	private BeanDescCache() {
+		CacheStatsRegistry.register("BeanDescCache", bdCache);
+	}
+	
 	/**
 	 * 获得属性名和{@link BeanDesc}Map映射
 	 * @param beanClass Bean的类
@@ -22,6 +28,17 @@ public enum BeanDescCache {
 		return bdCache.get(beanClass);
 	}
 	
+	/**
+	 * 获得属性名和{@link BeanDesc}Map映射，缓存中不存在时使用supplier创建并加入缓存<br>
+	 * 同一个类同时只有一个线程执行创建
+	 * @param beanClass Bean的类
+	 * @param supplier 缓存不存在时创建{@link BeanDesc}的回调
+	 * @return 属性名和{@link BeanDesc}映射
+	 */
+	public BeanDesc getBeanDesc(Class<?> beanClass, Func0<BeanDesc> supplier){
+		return bdCache.get(beanClass, supplier);
+	}
+	
 	/**
 	 * 加入缓存
 	 * @param beanClass Bean的类
@@ -30,4 +47,13 @@ public enum BeanDescCache {
 	public void putBeanDesc(Class<?> beanClass, BeanDesc BeanDesc){
 		bdCache.put(beanClass, BeanDesc);
 	}
+	
+	/**
+	 * 设置缓存容量，超出容量时淘汰最久未使用的{@link BeanDesc}<br>
+	 * 调整容量会清空已有缓存
+	 * @param capacity 容量，小于等于0表示不限容量
+	 */
+	public void setCapacity(int capacity){
+		bdCache.setCapacity(capacity);
+	}
 }
@@ -3,6 +3,8 @@ package com.ghostsf.atool.bean;
 import java.beans.PropertyDescriptor;
 import java.util.Map;
 
+import com.ghostsf.atool.cache.CacheStatsRegistry;
+import com.ghostsf.atool.lang.Func0;
 import com.ghostsf.atool.lang.SimpleCache;
 
 /**
@@ -17,6 +19,11 @@ public enum BeanInfoCache {
 	private SimpleCache<Class<?>, Map<String, PropertyDescriptor>> pdCache = new SimpleCache<>();
 	private SimpleCache<Class<?>, Map<String, PropertyDescriptor>> ignoreCasePdCache = new SimpleCache<>();
 	
+	private BeanInfoCache() {
+		CacheStatsRegistry.register("BeanInfoCache", pdCache);
+		CacheStatsRegistry.register("BeanInfoCache.ignoreCase", ignoreCasePdCache);
+	}
+	
 	/**
 	 * 获得属性名和{@link PropertyDescriptor}Map映射
 	 * @param beanClass Bean的类
@@ -27,6 +34,18 @@ public enum BeanInfoCache {
 		return (ignoreCase ? ignoreCasePdCache : pdCache).get(beanClass);
 	}
 	
+	/**
+	 * 获得属性名和{@link PropertyDescriptor}Map映射，缓存中不存在时使用supplier创建并加入缓存<br>
+	 * 同一个类同时只有一个线程执行创建
+	 * @param beanClass Bean的类
+	 * @param ignoreCase 是否忽略大小写
+	 * @param supplier 缓存不存在时创建映射的回调
+	 * @return 属性名和{@link PropertyDescriptor}Map映射
+	 */
+	public Map<String, PropertyDescriptor> getPropertyDescriptorMap(Class<?> beanClass, boolean ignoreCase, Func0<Map<String, PropertyDescriptor>> supplier){
+		return (ignoreCase ? ignoreCasePdCache : pdCache).get(beanClass, supplier);
+	}
+	
 	/**
 	 * 加入缓存
 	 * @param beanClass Bean的类
@@ -36,4 +55,14 @@ public enum BeanInfoCache {
 	public void putPropertyDescriptorMap(Class<?> beanClass, Map<String, PropertyDescriptor> fieldNamePropertyDescriptorMap, boolean ignoreCase){
 		(ignoreCase ? ignoreCasePdCache : pdCache).put(beanClass, fieldNamePropertyDescriptorMap);
 	}
+	
+	/**
+	 * 设置缓存容量，区分大小写和忽略大小写的缓存分别使用此容量，超出容量时淘汰最久未使用的映射<br>
+	 * 调整容量会清空已有缓存
+	 * @param capacity 容量，小于等于0表示不限容量
+	 */
+	public void setCapacity(int capacity){
+		pdCache.setCapacity(capacity);
+		ignoreCasePdCache.setCapacity(capacity);
+	}
 }
@@ -0,0 +1,305 @@
+package com.ghostsf.atool.bean;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.ghostsf.atool.exceptions.UtilException;
+import com.ghostsf.atool.map.WeakConcurrentMap;
+import com.ghostsf.atool.util.ArrayUtil;
+import com.ghostsf.atool.util.ClassUtil;
+import com.ghostsf.atool.util.StrUtil;
+
+/**
+ * 预编译的Bean属性路径表达式<br>
+ * 表达式语法与{@link BeanResolver}一致，编译时一次性拆分为访问步骤，下标预先解析为数字；
+ * 每个步骤访问普通Bean时按类型缓存已设置为可访问的字段，同一类型的重复访问无需再查找字段。<br>
+ * 每一步的取值规则与{@link BeanUtil#getFieldValue(Object, String)}一致。实例不可变（字段缓存除外，其更新是线程安全的），可被多个线程共享。<br>
+ * 注意：缓存的字段引用其所属类，因此读取过某类字段的BeanPath会阻止该类被卸载，直到BeanPath不再被引用，
+ * 编译结果缓存中的BeanPath最多{@link #MAX_CACHE_SIZE}个，超出时整体清空；不存在对应字段的类不会被引用。
+ *
+ * <pre>
+ * BeanPath path = BeanPath.compile("user.orders[2].price");
+ * Object price = path.get(bean);
+ * </pre>
+ *
+ * @author ghostsf
+ */
+public final class BeanPath {
+
+	/** 编译结果缓存的容量上限 */
+	public static final int MAX_CACHE_SIZE = 1024;
+	/** 编译结果缓存，读取无锁；表达式数量可能无限增长，超出上限时整体清空 */
+	private static final ConcurrentMap<String, BeanPath> CACHE = new ConcurrentHashMap<>();
+
+	/** 表达式 */
+	private final String expression;
+	/** 访问步骤 */
+	private final Segment[] segments;
+
+	/**
+	 * 编译表达式，相同表达式的编译结果会被缓存
+	 *
+	 * @param expression 表达式，例如：person.friends[5].name
+	 * @return {@link BeanPath}
+	 * @throws IllegalArgumentException 表达式中括号不匹配或中括号内不是数字
+	 */
+	public static BeanPath compile(String expression) {
+		BeanPath path = CACHE.get(expression);
+		if (null == path) {
+			path = new BeanPath(expression);
+			if (CACHE.size() >= MAX_CACHE_SIZE) {
+				CACHE.clear();
+			}
+			final BeanPath existing = CACHE.putIfAbsent(expression, path);
+			if (null != existing) {
+				path = existing;
+			}
+		}
+		return path;
+	}
+
+	/**
+	 * 构造，解析表达式
+	 *
+	 * @param expression 表达式
+	 */
+	private BeanPath(String expression) {
+		this.expression = expression;
+
+		final List<Segment> segmentList = new ArrayList<>();
+		final int length = expression.length();
+		int start = 0;
+		char c;
+		boolean isNumStart = false;// 下标标识符开始
+		for (int i = 0; i < length; i++) {
+			c = expression.charAt(i);
+			if (StrUtil.C_DOT == c || StrUtil.C_BRACKET_START == c || StrUtil.C_BRACKET_END == c) {
+				// 处理边界符号
+				if (StrUtil.C_BRACKET_END == c) {
+					// 中括号结束
+					if (false == isNumStart) {
+						throw new IllegalArgumentException(StrUtil.format("Bad expression '{}':{}, we find ']' but no '[' !", expression, i));
+					}
+					isNumStart = false;
+				} else {
+					if (isNumStart) {
+						// 非结束中括号情况下发现起始中括号报错（中括号未关闭）
+						throw new IllegalArgumentException(StrUtil.format("Bad expression '{}':{}, we find '[' but no ']' !", expression, i));
+					} else if (StrUtil.C_BRACKET_START == c) {
+						isNumStart = true;
+					}
+				}
+				// 每一个边界符之前的表达式是一个完整的KEY
+				if (i > start) {
+					segmentList.add(new Segment(expression.substring(start, i), true));
+				}
+				start = i + 1;
+			} else if (isNumStart && (c < '0' || c > '9')) {
+				// 中括号之后只能跟数字
+				throw new IllegalArgumentException(StrUtil.format("Bad expression '{}':{}, it must number between '[' and ']', but contains '{}' !", expression, i, c));
+			}
+		}
+
+		// 末尾边界符检查
+		if (isNumStart) {
+			throw new IllegalArgumentException(StrUtil.format("Bad expression '{}':{}, we find '[' but no ']' !", expression, length - 1));
+		}
+		if (length > start) {
+			segmentList.add(new Segment(expression.substring(start), false));
+		}
+		this.segments = segmentList.toArray(new Segment[segmentList.size()]);
+	}
+
+	/**
+	 * 获取Bean中表达式对应的值<br>
+	 * 中间结果为<code>null</code>时返回<code>null</code>；表达式的第一个对象可以是Bean本身（类名首字母小写）
+	 *
+	 * @param bean Bean对象，支持Map、List、Collection、Array
+	 * @return 值
+	 */
+	public Object get(Object bean) {
+		Object subBean = bean;
+		boolean isFirst = true;// 是否可以将Bean本身作为表达式的对象
+		Segment segment;
+		for (int i = 0; i < segments.length; i++) {
+			segment = segments[i];
+			subBean = segment.get(subBean);
+			if (null == subBean && segment.followedByBoundary) {
+				// 支持表达式的第一个对象为Bean本身
+				if (isFirst && null != bean && ClassUtil.getClassName(bean, true).equals(segment.upperFirstName)) {
+					subBean = bean;
+					isFirst = false;
+				} else {
+					return null;
+				}
+			}
+		}
+		return subBean;
+	}
+
+	/**
+	 * 获得表达式
+	 *
+	 * @return 表达式
+	 */
+	public String getExpression() {
+		return expression;
+	}
+
+	@Override
+	public String toString() {
+		return expression;
+	}
+
+	/**
+	 * 表达式中的一个访问步骤
+	 */
+	private static final class Segment {
+		/** 属性名、Map的键或下标 */
+		final String name;
+		/** 首字母大写的名称，用于判断是否为Bean本身 */
+		final String upperFirstName;
+		/** 预先解析的下标，名称不是数字时为-1 */
+		final int index;
+		/** 名称是否为空白 */
+		final boolean isBlank;
+		/** 后面是否紧跟边界符号 */
+		final boolean followedByBoundary;
+		/** 第一次访问的Bean类型对应的字段访问器，设置后不再改变，通过弱引用比较类型 */
+		volatile FieldAccessor accessor;
+		/** 其它Bean类型对应的字段访问器，弱引用键，第一次遇到其它类型时创建 */
+		volatile ConcurrentMap<Class<?>, FieldAccessor> accessorMap;
+
+		Segment(String name, boolean followedByBoundary) {
+			this.name = name;
+			this.upperFirstName = StrUtil.upperFirst(name);
+			this.index = parseIndex(name);
+			this.isBlank = StrUtil.isBlank(name);
+			this.followedByBoundary = followedByBoundary;
+		}
+
+		/**
+		 * 获得子Bean，规则与{@link BeanUtil#getFieldValue(Object, String)}一致
+		 *
+		 * @param bean 父Bean
+		 * @return 子Bean
+		 */
+		Object get(Object bean) {
+			if (null == bean || isBlank) {
+				return null;
+			}
+
+			if (bean instanceof Map) {
+				return ((Map<?, ?>) bean).get(name);
+			} else if (bean instanceof List) {
+				return ((List<?>) bean).get(index());
+			} else if (bean instanceof Collection) {
+				return ((Collection<?>) bean).toArray()[index()];
+			} else if (ArrayUtil.isArray(bean)) {
+				return Array.get(bean, index());
+			}
+			// 普通Bean对象
+			final Class<?> beanClass = bean.getClass();
+			FieldAccessor accessor = this.accessor;
+			if (null == accessor) {
+				accessor = new FieldAccessor(beanClass, name);
+				this.accessor = accessor;
+			} else if (accessor.beanClassRef.get() != beanClass) {
+				accessor = getAccessor(beanClass);
+			}
+			return accessor.get(bean);
+		}
+
+		/**
+		 * 从类型映射中获得字段访问器，不存在时创建
+		 *
+		 * @param beanClass Bean类型
+		 * @return 字段访问器
+		 */
+		private FieldAccessor getAccessor(Class<?> beanClass) {
+			ConcurrentMap<Class<?>, FieldAccessor> accessorMap = this.accessorMap;
+			if (null == accessorMap) {
+				synchronized (this) {
+					accessorMap = this.accessorMap;
+					if (null == accessorMap) {
+						accessorMap = new WeakConcurrentMap<>();
+						this.accessorMap = accessorMap;
+					}
+				}
+			}
+			FieldAccessor accessor = accessorMap.get(beanClass);
+			if (null == accessor) {
+				accessor = new FieldAccessor(beanClass, name);
+				final FieldAccessor existing = accessorMap.putIfAbsent(beanClass, accessor);
+				if (null != existing) {
+					accessor = existing;
+				}
+			}
+			return accessor;
+		}
+
+		/**
+		 * 获得下标，名称不是数字时抛出与{@link Integer#parseInt(String)}相同的异常
+		 *
+		 * @return 下标
+		 */
+		private int index() {
+			return (index >= 0) ? index : Integer.parseInt(name);
+		}
+
+		/**
+		 * 解析下标
+		 *
+		 * @param name 名称
+		 * @return 下标，不是非负int时返回-1
+		 */
+		private static int parseIndex(String name) {
+			try {
+				return Integer.parseInt(name);
+			} catch (NumberFormatException e) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * 指定类型中某个字段的访问器，字段不存在时返回<code>null</code><br>
+	 * 只弱引用Bean类型，存在字段时通过字段间接引用Bean类型
+	 */
+	private static final class FieldAccessor {
+		/** Bean类型的弱引用，用于判断是否为同一类型 */
+		final WeakReference<Class<?>> beanClassRef;
+		/** 已设置为可访问的字段，不存在时为<code>null</code> */
+		final Field field;
+
+		FieldAccessor(Class<?> beanClass, String fieldName) {
+			this.beanClassRef = new WeakReference<Class<?>>(beanClass);
+			try {
+				this.field = ClassUtil.getDeclaredField(beanClass, fieldName);
+				if (null != this.field) {
+					this.field.setAccessible(true);
+				}
+			} catch (Exception e) {
+				throw new UtilException(e);
+			}
+		}
+
+		Object get(Object bean) {
+			if (null == field) {
+				return null;
+			}
+			try {
+				return field.get(bean);
+			} catch (Exception e) {
+				throw new UtilException(e);
+			}
+		}
+	}
+}
@@ -8,6 +8,7 @@ import java.beans.PropertyEditorManager;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -15,12 +16,16 @@ import java.util.Map;
 
 import com.ghostsf.atool.bean.copier.BeanCopier;
 import com.ghostsf.atool.bean.copier.CopyOptions;
+import com.ghostsf.atool.bean.copier.CopyPlan;
 import com.ghostsf.atool.bean.copier.ValueProvider;
 import com.ghostsf.atool.util.ArrayUtil;
 import com.ghostsf.atool.util.ClassUtil;
 import com.ghostsf.atool.util.ReflectUtil;
 import com.ghostsf.atool.util.StrUtil;
 import com.ghostsf.atool.exceptions.UtilException;
+import com.ghostsf.atool.collection.ParallelCollUtil;
+import com.ghostsf.atool.lang.Func0;
+import com.ghostsf.atool.lang.Func1;
 import com.ghostsf.atool.map.CaseInsensitiveMap;
 import com.ghostsf.atool.map.MapUtil;
 
@@ -102,13 +107,13 @@ public class BeanUtil {
 	 * @return {@link BeanDesc}
 	 * @since 3.1.2
 	 */
-	public static BeanDesc getBeanDesc(Class<?> clazz) {
-		BeanDesc beanDesc = BeanDescCache.INSTANCE.getBeanDesc(clazz);
-		if (null == beanDesc) {
-			beanDesc = new BeanDesc(clazz);
-			BeanDescCache.INSTANCE.putBeanDesc(clazz, beanDesc);
-		}
-		return beanDesc;
+	public static BeanDesc getBeanDesc(final Class<?> clazz) {
+		return BeanDescCache.INSTANCE.getBeanDesc(clazz, new Func0<BeanDesc>() {
+			@Override
+			public BeanDesc call() {
+				return new BeanDesc(clazz);
+			}
+		});
 	}
 
 	// --------------------------------------------------------------------------------------------------------- PropertyDescriptor
@@ -131,13 +136,20 @@ public class BeanUtil {
 	 * @return 字段名和字段描述Map
 	 * @throws IntrospectionException 获取属性异常
 	 */
-	public static Map<String, PropertyDescriptor> getPropertyDescriptorMap(Class<?> clazz, boolean ignoreCase) throws IntrospectionException {
-		Map<String, PropertyDescriptor> map = BeanInfoCache.INSTANCE.getPropertyDescriptorMap(clazz, ignoreCase);
-		if (null == map) {
-			map = internalGetPropertyDescriptorMap(clazz, ignoreCase);
-			BeanInfoCache.INSTANCE.putPropertyDescriptorMap(clazz, map, ignoreCase);
+	public static Map<String, PropertyDescriptor> getPropertyDescriptorMap(final Class<?> clazz, final boolean ignoreCase) throws IntrospectionException {
+		try {
+			return BeanInfoCache.INSTANCE.getPropertyDescriptorMap(clazz, ignoreCase, new Func0<Map<String, PropertyDescriptor>>() {
+				@Override
+				public Map<String, PropertyDescriptor> call() throws IntrospectionException {
+					return internalGetPropertyDescriptorMap(clazz, ignoreCase);
+				}
+			});
+		} catch (UtilException e) {
+			if (e.getCause() instanceof IntrospectionException) {
+				throw (IntrospectionException) e.getCause();
+			}
+			throw e;
 		}
-		return map;
 	}
 
 	/**
@@ -417,29 +429,90 @@ public class BeanUtil {
 			return null;
 		}
 
-		final Collection<BeanDesc.PropDesc> props = BeanUtil.getBeanDesc(bean.getClass()).getProps();
-		
-		String key;
-		Method getter;
-		Object value;
-		for (BeanDesc.PropDesc prop : props) {
-			key = prop.getFieldName();
-			// 过滤class属性
-			// 得到property对应的getter方法
-			getter = prop.getGetter();
-			if (null != getter) {
-				// 只读取有getter方法的属性
-				try {
-					value = getter.invoke(bean);
-				} catch (Exception ignore) {
-					continue;
-				}
-				if (false == ignoreNullValue || (null != value && false == value.equals(bean))) {
-					targetMap.put(isToUnderlineCase ? StrUtil.toUnderlineCase(key) : key, value);
+		return BeanMapPlan.get(bean.getClass(), isToUnderlineCase).fill(bean, targetMap, ignoreNullValue);
+	}
+
+	// --------------------------------------------------------------------------------------------- list
+	/**
+	 * 批量将Map转换为Bean对象<br>
+	 * 整批共用一个{@link CopyPlan}，每行只执行实例化和属性注入
+	 * 
+	 * @param <T> Bean类型
+	 * @param mapList Map列表，为null时返回空列表
+	 * @param beanClass Bean Class
+	 * @param copyOptions 转Bean选项
+	 * @return Bean列表，与Map列表的顺序一致
+	 */
+	public static <T> List<T> mapListToBeanList(Collection<? extends Map<?, ?>> mapList, Class<T> beanClass, CopyOptions copyOptions) {
+		return mapListToBeanList(mapList, beanClass, copyOptions, false);
+	}
+
+	/**
+	 * 批量将Map转换为Bean对象<br>
+	 * 整批共用一个{@link CopyPlan}，每行只执行实例化和属性注入；并行模式下行数达到{@link ParallelCollUtil#DEFAULT_THRESHOLD}时拆分到ForkJoin线程池中执行
+	 * 
+	 * @param <T> Bean类型
+	 * @param mapList Map列表，为null时返回空列表
+	 * @param beanClass Bean Class
+	 * @param copyOptions 转Bean选项
+	 * @param isParallel 是否并行转换，并行时{@link CopyOptions}中的值提供者和转换器须线程安全
+	 * @return Bean列表，与Map列表的顺序一致
+	 */
+	public static <T> List<T> mapListToBeanList(Collection<? extends Map<?, ?>> mapList, final Class<T> beanClass, CopyOptions copyOptions, boolean isParallel) {
+		final CopyPlan plan = CopyPlan.get(null, beanClass, copyOptions);
+		return ParallelCollUtil.map(mapList, new Func1<Map<?, ?>, T>() {
+			@Override
+			public T call(Map<?, ?> map) {
+				return plan.copy(map, ReflectUtil.newInstance(beanClass));
+			}
+		}, isParallel ? ParallelCollUtil.DEFAULT_THRESHOLD : Integer.MAX_VALUE);
+	}
+
+	/**
+	 * 批量将Bean对象转换为Map<br>
+	 * 同一类型的Bean共用一次解析得到的属性和键名，null元素转换为null
+	 * 
+	 * @param beanList Bean列表，为null时返回空列表
+	 * @param isToUnderlineCase 是否转换为下划线模式
+	 * @param ignoreNullValue 是否忽略值为空的字段
+	 * @return Map列表，与Bean列表的顺序一致
+	 */
+	public static List<Map<String, Object>> beanListToMapList(Collection<?> beanList, boolean isToUnderlineCase, boolean ignoreNullValue) {
+		return beanListToMapList(beanList, isToUnderlineCase, ignoreNullValue, false);
+	}
+
+	/**
+	 * 批量将Bean对象转换为Map<br>
+	 * 同一类型的Bean共用一次解析得到的属性和键名，null元素转换为null；并行模式下行数达到{@link ParallelCollUtil#DEFAULT_THRESHOLD}时拆分到ForkJoin线程池中执行
+	 * 
+	 * @param beanList Bean列表，为null时返回空列表
+	 * @param isToUnderlineCase 是否转换为下划线模式
+	 * @param ignoreNullValue 是否忽略值为空的字段
+	 * @param isParallel 是否并行转换
+	 * @return Map列表，与Bean列表的顺序一致
+	 */
+	public static List<Map<String, Object>> beanListToMapList(Collection<?> beanList, final boolean isToUnderlineCase, final boolean ignoreNullValue, boolean isParallel) {
+		Object first = null;
+		if (null != beanList) {
+			for (Object bean : beanList) {
+				if (null != bean) {
+					first = bean;
+					break;
 				}
 			}
 		}
-		return targetMap;
+		final BeanMapPlan firstPlan = (null == first) ? null : BeanMapPlan.get(first.getClass(), isToUnderlineCase);
+		return ParallelCollUtil.map(beanList, new Func1<Object, Map<String, Object>>() {
+			@Override
+			public Map<String, Object> call(Object bean) {
+				if (null == bean) {
+					return null;
+				}
+				// 与首个元素类型不同时（如子类）使用该类型缓存的计划
+				final BeanMapPlan plan = (bean.getClass() == firstPlan.beanClass) ? firstPlan : BeanMapPlan.get(bean.getClass(), isToUnderlineCase);
+				return plan.fill(bean, new HashMap<String, Object>(plan.props.length * 4 / 3 + 1), ignoreNullValue);
+			}
+		}, isParallel ? ParallelCollUtil.DEFAULT_THRESHOLD : Integer.MAX_VALUE);
 	}
 
 	// --------------------------------------------------------------------------------------------- copyProperties
@@ -492,4 +565,76 @@ public class BeanUtil {
 		}
 		BeanCopier.create(source, target, copyOptions).copy();
 	}
+
+	/**
+	 * Bean转Map时按类型解析出的可读属性及对应的键名
+	 */
+	private static final class BeanMapPlan {
+		/** 在{@link BeanDesc}中缓存计划的键，分别对应键名保持原样和转为下划线 */
+		private static final Object KEY = new Object();
+		private static final Object UNDERLINE_KEY = new Object();
+
+		/** Bean类 */
+		final Class<?> beanClass;
+		/** 存在Getter方法的属性 */
+		final BeanDesc.PropDesc[] props;
+		/** 属性对应的Map键名 */
+		final String[] keys;
+
+		/**
+		 * 获得Bean类对应的转换计划，计划缓存于{@link BeanDesc}中
+		 * 
+		 * @param beanClass Bean类
+		 * @param isToUnderlineCase 是否转换为下划线模式
+		 * @return 转换计划
+		 */
+		static BeanMapPlan get(final Class<?> beanClass, final boolean isToUnderlineCase) {
+			final BeanDesc desc = getBeanDesc(beanClass);
+			return desc.getDerived(isToUnderlineCase ? UNDERLINE_KEY : KEY, new Func0<BeanMapPlan>() {
+				@Override
+				public BeanMapPlan call() {
+					return new BeanMapPlan(beanClass, desc, isToUnderlineCase);
+				}
+			});
+		}
+
+		private BeanMapPlan(Class<?> beanClass, BeanDesc desc, boolean isToUnderlineCase) {
+			this.beanClass = beanClass;
+			final List<BeanDesc.PropDesc> propList = new ArrayList<>();
+			for (BeanDesc.PropDesc prop : desc.getProps()) {
+				// 只读取有getter方法的属性
+				if (null != prop.getGetter()) {
+					propList.add(prop);
+				}
+			}
+			this.props = propList.toArray(new BeanDesc.PropDesc[propList.size()]);
+			this.keys = new String[this.props.length];
+			for (int i = 0; i < this.props.length; i++) {
+				this.keys[i] = isToUnderlineCase ? StrUtil.toUnderlineCase(this.props[i].getFieldName()) : this.props[i].getFieldName();
+			}
+		}
+
+		/**
+		 * 读取Bean的属性值放入Map
+		 * 
+		 * @param bean Bean对象
+		 * @param targetMap 目标Map
+		 * @param ignoreNullValue 是否忽略值为空的字段
+		 * @return 目标Map
+		 */
+		Map<String, Object> fill(Object bean, Map<String, Object> targetMap, boolean ignoreNullValue) {
+			Object value;
+			for (int i = 0; i < props.length; i++) {
+				try {
+					value = props[i].getValue(bean);
+				} catch (Exception ignore) {
+					continue;
+				}
+				if (false == ignoreNullValue || (null != value && false == value.equals(bean))) {
+					targetMap.put(keys[i], value);
+				}
+			}
+			return targetMap;
+		}
+	}
 }
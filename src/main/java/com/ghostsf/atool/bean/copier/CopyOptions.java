@@ -24,6 +24,8 @@ public class CopyOptions {
 	protected boolean ignoreCase;
 	/** 拷贝属性的字段映射，用于不同的属性之前拷贝做对应表用 */
 	protected Map<String, String> fieldMapping;
+	/** 选项快照，用于查找{@link CopyPlan}，调用任意设置方法后失效 */
+	private volatile CopyPlan.OptionsKey optionsKey;
 
 	/**
 	 * 创建拷贝选项
@@ -73,6 +75,7 @@ public class CopyOptions {
 	 */
 	public CopyOptions setEditable(Class<?> editable) {
 		this.editable = editable;
+		this.optionsKey = null;
 		return this;
 	}
 
@@ -84,6 +87,7 @@ public class CopyOptions {
 	 */
 	public CopyOptions setIgnoreNullValue(boolean ignoreNullVall) {
 		this.ignoreNullValue = ignoreNullVall;
+		this.optionsKey = null;
 		return this;
 	}
 
@@ -95,6 +99,7 @@ public class CopyOptions {
 	 */
 	public CopyOptions setIgnoreProperties(String... ignoreProperties) {
 		this.ignoreProperties = ignoreProperties;
+		this.optionsKey = null;
 		return this;
 	}
 
@@ -106,6 +111,7 @@ public class CopyOptions {
 	 */
 	public CopyOptions setIgnoreError(boolean ignoreError) {
 		this.ignoreError = ignoreError;
+		this.optionsKey = null;
 		return this;
 	}
 	
@@ -117,6 +123,7 @@ public class CopyOptions {
 	 */
 	public CopyOptions setIgnoreCase(boolean ignoreCase) {
 		this.ignoreCase = ignoreCase;
+		this.optionsKey = null;
 		return this;
 	}
 
@@ -128,6 +135,22 @@ public class CopyOptions {
 	 */
 	public CopyOptions setFieldMapping(Map<String, String> fieldMapping) {
 		this.fieldMapping = fieldMapping;
+		this.optionsKey = null;
 		return this;
 	}
+
+	/**
+	 * 获得选项快照，快照在下次修改选项前复用<br>
+	 * 注意：传入的忽略属性数组和字段映射Map在设置后不应再被外部修改
+	 * 
+	 * @return 选项快照
+	 */
+	CopyPlan.OptionsKey getOptionsKey() {
+		CopyPlan.OptionsKey key = this.optionsKey;
+		if (null == key) {
+			key = new CopyPlan.OptionsKey(this);
+			this.optionsKey = key;
+		}
+		return key;
+	}
 }
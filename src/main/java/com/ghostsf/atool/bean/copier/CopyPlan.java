@@ -0,0 +1,415 @@
+package com.ghostsf.atool.bean.copier;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ghostsf.atool.bean.BeanDesc;
+import com.ghostsf.atool.bean.BeanDesc.PropDesc;
+import com.ghostsf.atool.bean.BeanUtil;
+import com.ghostsf.atool.bean.copier.provider.MapValueProvider;
+import com.ghostsf.atool.convert.BasicType;
+import com.ghostsf.atool.convert.Convert;
+import com.ghostsf.atool.exceptions.UtilException;
+import com.ghostsf.atool.lang.Func0;
+import com.ghostsf.atool.map.MapUtil;
+import com.ghostsf.atool.util.ObjectUtil;
+import com.ghostsf.atool.util.StrUtil;
+import com.ghostsf.atool.util.TypeUtil;
+
+/**
+ * 预编译的属性拷贝计划<br>
+ * 针对来源类型、目标类型和{@link CopyOptions}一次性完成忽略属性过滤、字段映射、来源属性查找和注入类型解析，
+ * 结果为不可变的属性对数组，重复拷贝时只需遍历此数组。计划缓存于目标类型的{@link BeanDesc}中，读取无锁，可被多个线程共享。<br>
+ * 来源为Bean时直接通过来源属性的Getter取值；来源为{@link Map}或{@link ValueProvider}时按字段映射后的键取值。<br>
+ * 计划只弱引用来源类型：缓存键持有来源类型的弱引用，来源属性保存在来源类型自身的{@link BeanDesc}中，计划仅弱引用之，
+ * 因此目标类型的缓存不会阻止来源类型（例如插件中的类）被卸载。
+ *
+ * <pre>
+ * CopyPlan plan = CopyPlan.get(UserEntity.class, UserDto.class, CopyOptions.create());
+ * UserDto dto = plan.copy(entity, new UserDto());
+ * </pre>
+ *
+ * @author ghostsf
+ */
+public final class CopyPlan {
+
+	/** 来源Bean类型的弱引用，来源为Map或值提供者时为<code>null</code> */
+	private final WeakReference<Class<?>> sourceClassRef;
+	/** 来源属性在来源类型{@link BeanDesc}中的缓存键 */
+	private final Object sourcePropsKey = new Object();
+	/** 与{@link #entries}一一对应的来源属性，由来源类型的{@link BeanDesc}持有，此处为弱引用 */
+	private volatile WeakReference<PropDesc[]> sourcePropsRef;
+	/** 目标类型，设置了{@link CopyOptions#editable}时为限制类 */
+	private final Class<?> targetClass;
+	/** 选项快照 */
+	private final OptionsKey options;
+	/** 需要拷贝的属性 */
+	private final PropEntry[] entries;
+
+	/**
+	 * 获得拷贝计划，不存在时创建并缓存
+	 *
+	 * @param sourceClass 来源Bean类型，来源为{@link Map}或{@link ValueProvider}时传<code>null</code>
+	 * @param targetClass 目标Bean类型
+	 * @param copyOptions 拷贝选项，<code>null</code>表示默认选项
+	 * @return 拷贝计划
+	 */
+	public static CopyPlan get(final Class<?> sourceClass, Class<?> targetClass, CopyOptions copyOptions) {
+		if (null == copyOptions) {
+			copyOptions = CopyOptions.create();
+		}
+		final Class<?> actualEditable = (null != copyOptions.editable) ? copyOptions.editable : targetClass;
+		final OptionsKey options = copyOptions.getOptionsKey();
+		final BeanDesc desc = BeanUtil.getBeanDesc(actualEditable);
+		final PlanKey key = new PlanKey(sourceClass, options);
+		final CopyPlan plan = desc.getDerived(key);
+		if (null != plan) {
+			return plan;
+		}
+		// 存入时键改为持有来源类型的弱引用
+		return desc.putDerivedIfAbsent(key.toWeak(), new CopyPlan(sourceClass, actualEditable, options));
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param sourceClass 来源Bean类型，可以为<code>null</code>
+	 * @param targetClass 目标类型
+	 * @param options 选项快照
+	 */
+	private CopyPlan(Class<?> sourceClass, Class<?> targetClass, OptionsKey options) {
+		this.sourceClassRef = (null == sourceClass) ? null : new WeakReference<Class<?>>(sourceClass);
+		this.targetClass = targetClass;
+		this.options = options;
+
+		final BeanDesc sourceDesc = (null == sourceClass) ? null : BeanUtil.getBeanDesc(sourceClass);
+		final Map<String, PropDesc> sourcePropMap = (null == sourceDesc) ? null : sourceDesc.getPropMap(options.ignoreCase);
+		final List<PropDesc> sourcePropList = new ArrayList<>();
+		final Collection<PropDesc> props = BeanUtil.getBeanDesc(targetClass).getProps();
+		final List<PropEntry> entryList = new ArrayList<>(props.size());
+		String fieldName;
+		String providerKey;
+		PropDesc sourceProp = null;
+		for (PropDesc prop : props) {
+			fieldName = prop.getFieldName();
+			if ((null != options.ignoreSet && options.ignoreSet.contains(fieldName)) || null == prop.getSetter()) {
+				// 属性被忽略或Setter方法不存在时跳过
+				continue;
+			}
+			providerKey = (null == options.fieldReverseMapping) ? null : options.fieldReverseMapping.get(fieldName);
+			if (null == providerKey) {
+				providerKey = fieldName;
+			}
+			if (null != sourcePropMap) {
+				sourceProp = sourcePropMap.get(providerKey);
+				if (null == sourceProp) {
+					// 来源Bean无此属性
+					continue;
+				}
+			}
+			entryList.add(new PropEntry(providerKey, prop));
+			sourcePropList.add(sourceProp);
+		}
+		this.entries = entryList.toArray(new PropEntry[entryList.size()]);
+		if (null != sourceDesc) {
+			final PropDesc[] sourceProps = sourceDesc.putDerivedIfAbsent(sourcePropsKey, sourcePropList.toArray(new PropDesc[sourcePropList.size()]));
+			this.sourcePropsRef = new WeakReference<>(sourceProps);
+		}
+	}
+
+	/**
+	 * 执行拷贝
+	 *
+	 * @param <T> 目标对象类型
+	 * @param source 来源对象，计划来源类型为<code>null</code>时为{@link Map}或{@link ValueProvider}，否则为来源类型的Bean
+	 * @param target 目标Bean
+	 * @return 目标Bean
+	 * @throws IllegalArgumentException 来源或目标对象与计划的类型不匹配
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T copy(Object source, T target) {
+		if (null == source) {
+			return target;
+		}
+		if (false == targetClass.isInstance(target)) {
+			throw new IllegalArgumentException(StrUtil.format("Target class [{}] not assignable to Editable class [{}]", target.getClass().getName(), targetClass.getName()));
+		}
+
+		if (null != sourceClassRef) {
+			final Class<?> sourceClass = sourceClassRef.get();
+			if (null == sourceClass || false == sourceClass.isInstance(source)) {
+				throw new IllegalArgumentException(StrUtil.format("Source class [{}] not assignable to class [{}]", source.getClass().getName(), (null == sourceClass) ? null : sourceClass.getName()));
+			}
+			beanToBean(source, target, getSourceProps(sourceClass));
+		} else if (source instanceof ValueProvider) {
+			valueProviderToBean((ValueProvider<String>) source, target);
+		} else if (source instanceof Map) {
+			valueProviderToBean(new MapValueProvider((Map<?, ?>) source, options.ignoreCase), target);
+		} else {
+			throw new IllegalArgumentException(StrUtil.format("Source [{}] is not a Map or ValueProvider", source.getClass().getName()));
+		}
+		return target;
+	}
+
+	/**
+	 * 获得来源Bean类型
+	 *
+	 * @return 来源Bean类型，来源为Map或值提供者或来源类型已被回收时为<code>null</code>
+	 */
+	public Class<?> getSourceClass() {
+		return (null == sourceClassRef) ? null : sourceClassRef.get();
+	}
+
+	/**
+	 * 获得目标类型
+	 *
+	 * @return 目标类型
+	 */
+	public Class<?> getTargetClass() {
+		return targetClass;
+	}
+
+	/**
+	 * 计划中需要拷贝的属性个数
+	 *
+	 * @return 属性个数
+	 */
+	public int size() {
+		return entries.length;
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 获得与{@link #entries}一一对应的来源属性，被回收时（例如来源类型的{@link BeanDesc}缓存被清空）重新查找
+	 *
+	 * @param sourceClass 来源Bean类型
+	 * @return 来源属性
+	 */
+	private PropDesc[] getSourceProps(Class<?> sourceClass) {
+		PropDesc[] sourceProps = sourcePropsRef.get();
+		if (null == sourceProps) {
+			final BeanDesc sourceDesc = BeanUtil.getBeanDesc(sourceClass);
+			sourceProps = sourceDesc.getDerived(sourcePropsKey, new Func0<PropDesc[]>() {
+				@Override
+				public PropDesc[] call() {
+					final Map<String, PropDesc> sourcePropMap = sourceDesc.getPropMap(options.ignoreCase);
+					final PropDesc[] props = new PropDesc[entries.length];
+					for (int i = 0; i < entries.length; i++) {
+						props[i] = sourcePropMap.get(entries[i].providerKey);
+					}
+					return props;
+				}
+			});
+			this.sourcePropsRef = new WeakReference<>(sourceProps);
+		}
+		return sourceProps;
+	}
+
+	/**
+	 * Bean之间拷贝
+	 *
+	 * @param source 来源Bean
+	 * @param target 目标Bean
+	 * @param sourceProps 与{@link #entries}一一对应的来源属性
+	 */
+	private void beanToBean(Object source, Object target, PropDesc[] sourceProps) {
+		Object value;
+		PropEntry entry;
+		for (int i = 0; i < entries.length; i++) {
+			entry = entries[i];
+			value = null;
+			if (null != sourceProps[i].getGetter()) {
+				try {
+					value = sourceProps[i].getValue(source);
+				} catch (Exception e) {
+					if (false == options.ignoreError) {
+						throw new UtilException(e, "Inject [{}] error!", entry.providerKey);
+					}
+				}
+			}
+			inject(entry, target, value);
+		}
+	}
+
+	/**
+	 * 值提供者拷贝到Bean
+	 *
+	 * @param valueProvider 值提供者
+	 * @param target 目标Bean
+	 */
+	private void valueProviderToBean(ValueProvider<String> valueProvider, Object target) {
+		for (PropEntry entry : entries) {
+			if (valueProvider.containsKey(entry.providerKey)) {
+				inject(entry, target, valueProvider.value(entry.providerKey, entry.valueType));
+			}
+		}
+	}
+
+	/**
+	 * 转换并注入值
+	 *
+	 * @param entry 属性
+	 * @param target 目标Bean
+	 * @param value 值
+	 */
+	private void inject(PropEntry entry, Object target, Object value) {
+		if (null == value && options.ignoreNullValue) {
+			return;// 当允许跳过空时，跳过
+		}
+		try {
+			// 值类型不匹配时执行默认转换
+			if (false == entry.wrapClass.isInstance(value)) {
+				value = Convert.convert(entry.propClass, value);
+				if (null == value && options.ignoreNullValue) {
+					return;
+				}
+			}
+			entry.targetProp.setValue(target, value);
+		} catch (Exception e) {
+			if (false == options.ignoreError) {
+				throw new UtilException(e, "Inject [{}] error!", entry.targetProp.getFieldName());
+			}
+		}
+	}
+
+	/**
+	 * 计划中的一个属性
+	 */
+	private static final class PropEntry {
+		/** 来源中的键，即字段映射后的名称 */
+		final String providerKey;
+		/** 目标属性 */
+		final PropDesc targetProp;
+		/** Setter参数类型，包含泛型信息 */
+		final Type valueType;
+		/** 属性类型 */
+		final Class<?> propClass;
+		/** 属性类型的包装类型，用于判断是否需要转换 */
+		final Class<?> wrapClass;
+
+		PropEntry(String providerKey, PropDesc targetProp) {
+			this.providerKey = providerKey;
+			this.targetProp = targetProp;
+			this.valueType = TypeUtil.getFirstParamType(targetProp.getSetter());
+			this.propClass = targetProp.getFieldClass();
+			this.wrapClass = BasicType.wrap(this.propClass);
+		}
+	}
+
+	/**
+	 * {@link CopyOptions}中影响拷贝计划的选项快照，按值比较
+	 */
+	static final class OptionsKey {
+		final boolean ignoreNullValue;
+		final boolean ignoreError;
+		final boolean ignoreCase;
+		/** 忽略的属性 */
+		final Set<String> ignoreSet;
+		/** 目标属性名到来源键的映射 */
+		final Map<String, String> fieldReverseMapping;
+
+		OptionsKey(CopyOptions copyOptions) {
+			this.ignoreNullValue = copyOptions.ignoreNullValue;
+			this.ignoreError = copyOptions.ignoreError;
+			this.ignoreCase = copyOptions.ignoreCase;
+			this.ignoreSet = (null == copyOptions.ignoreProperties) ? null : new HashSet<>(Arrays.asList(copyOptions.ignoreProperties));
+			this.fieldReverseMapping = (null == copyOptions.fieldMapping) ? null : new HashMap<>(MapUtil.reverse(copyOptions.fieldMapping));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (false == (obj instanceof OptionsKey)) {
+				return false;
+			}
+			final OptionsKey other = (OptionsKey) obj;
+			return ignoreNullValue == other.ignoreNullValue && ignoreError == other.ignoreError && ignoreCase == other.ignoreCase //
+					&& ObjectUtil.equal(ignoreSet, other.ignoreSet) && ObjectUtil.equal(fieldReverseMapping, other.fieldReverseMapping);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = (ignoreNullValue ? 1 : 0) | (ignoreError ? 2 : 0) | (ignoreCase ? 4 : 0);
+			result = 31 * result + (null == ignoreSet ? 0 : ignoreSet.hashCode());
+			result = 31 * result + (null == fieldReverseMapping ? 0 : fieldReverseMapping.hashCode());
+			return result;
+		}
+	}
+
+	/**
+	 * 拷贝计划缓存键，目标类型由所在的{@link BeanDesc}确定<br>
+	 * 查找时直接持有来源类型，存入缓存时改为持有其弱引用；来源类型被回收后的键不与任何键相等，随缓存整体清空而移除
+	 */
+	static final class PlanKey {
+		/** 来源类型或其弱引用，来源为Map或值提供者时为<code>null</code> */
+		private final Object source;
+		final OptionsKey options;
+		private final int hash;
+
+		PlanKey(Class<?> sourceClass, OptionsKey options) {
+			this(sourceClass, options, 31 * System.identityHashCode(sourceClass) + options.hashCode());
+		}
+
+		private PlanKey(Object source, OptionsKey options, int hash) {
+			this.source = source;
+			this.options = options;
+			this.hash = hash;
+		}
+
+		/**
+		 * 转为持有来源类型弱引用的键，用于存入缓存
+		 *
+		 * @return 键
+		 */
+		PlanKey toWeak() {
+			return (source instanceof Class) ? new PlanKey(new WeakReference<>((Class<?>) source), options, hash) : this;
+		}
+
+		/**
+		 * 获得来源类型
+		 *
+		 * @return 来源类型，来源为Map或值提供者或已被回收时为<code>null</code>
+		 */
+		Class<?> sourceClass() {
+			if (source instanceof WeakReference) {
+				return (Class<?>) ((WeakReference<?>) source).get();
+			}
+			return (Class<?>) source;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (false == (obj instanceof PlanKey)) {
+				return false;
+			}
+			final PlanKey other = (PlanKey) obj;
+			final Class<?> sourceClass = sourceClass();
+			if (sourceClass != other.sourceClass()) {
+				return false;
+			}
+			if (null == sourceClass && (null != source || null != other.source)) {
+				// 来源类型已被回收
+				return false;
+			}
+			return options.equals(other.options);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package com.ghostsf.atool.bean.copier.provider;
 
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Map;
 
@@ -37,15 +36,12 @@ public class BeanValueProvider implements ValueProvider<String> {
 	@Override
 	public Object value(String key, Type valueType) {
 		final PropDesc sourcePd = sourcePdMap.get(key);
-		if (null != sourcePd) {
-			final Method getter = sourcePd.getGetter();
-			if (null != getter) {
-				try {
-					return getter.invoke(source);
-				} catch (Exception e) {
-					if (false == ignoreError) {
-						throw new UtilException(e, "Inject [{}] error!", key);
-					}
+		if (null != sourcePd && null != sourcePd.getGetter()) {
+			try {
+				return sourcePd.getValue(source);
+			} catch (Exception e) {
+				if (false == ignoreError) {
+					throw new UtilException(e, "Inject [{}] error!", key);
 				}
 			}
 		}
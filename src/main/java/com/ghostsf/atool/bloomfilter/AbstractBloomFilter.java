@@ -0,0 +1,103 @@
+package com.ghostsf.atool.bloomfilter;
+
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.util.HashUtil;
+
+/**
+ * 布隆过滤器基类<br>
+ * 每个元素只计算一次64位hash，再以双重散列（Kirsch-Mitzenmacher）生成k个位置：index(i) = h1 + i * h2，
+ * 其中h1为元素的hash值，h2为h1经{@link HashUtil#mix64(long)}扩散后的值
+ *
+ * @author ghostsf
+ *
+ */
+public abstract class AbstractBloomFilter implements BloomFilter {
+
+	/** hash算法 */
+	protected final PrimitiveHashFunc hashFunc;
+	/** hash函数个数 */
+	protected final int numHashFunctions;
+
+	/**
+	 * 构造
+	 *
+	 * @param hashFunc hash算法
+	 * @param numHashFunctions hash函数个数
+	 */
+	public AbstractBloomFilter(PrimitiveHashFunc hashFunc, int numHashFunctions) {
+		if (numHashFunctions <= 0 || numHashFunctions > 255) {
+			throw new IllegalArgumentException("Num of hash functions must be in [1, 255]: " + numHashFunctions);
+		}
+		this.hashFunc = hashFunc;
+		this.numHashFunctions = numHashFunctions;
+	}
+
+	@Override
+	public boolean add(Object key) {
+		return addHash(HashUtil.hash64(hashFunc, key));
+	}
+
+	@Override
+	public boolean add(long key) {
+		return addHash(hashFunc.hash64(key));
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return containsHash(HashUtil.hash64(hashFunc, key));
+	}
+
+	@Override
+	public boolean contains(long key) {
+		return containsHash(hashFunc.hash64(key));
+	}
+
+	/**
+	 * 获得hash函数个数
+	 *
+	 * @return hash函数个数
+	 */
+	public int getNumHashFunctions() {
+		return numHashFunctions;
+	}
+
+	/**
+	 * 加入hash值
+	 *
+	 * @param hash 元素的64位hash值
+	 * @return 过滤器是否发生变化
+	 */
+	protected abstract boolean addHash(long hash);
+
+	/**
+	 * 判断hash值是否可能存在
+	 *
+	 * @param hash 元素的64位hash值
+	 * @return 是否可能存在
+	 */
+	protected abstract boolean containsHash(long hash);
+
+	/**
+	 * 计算第i个位置
+	 *
+	 * @param h1 元素的hash值
+	 * @param h2 扩散后的hash值
+	 * @param i 第几个hash函数
+	 * @param size 位置总数
+	 * @return 位置，范围[0, size)
+	 */
+	protected static long index(long h1, long h2, int i, long size) {
+		return ((h1 + i * h2) & Long.MAX_VALUE) % size;
+	}
+
+	/**
+	 * 计算双重散列的第二个hash值
+	 *
+	 * @param h1 元素的hash值
+	 * @return 第二个hash值
+	 */
+	protected static long secondHash(long h1) {
+		// 保证为奇数，避免h2为0时所有位置重合
+		return HashUtil.mix64(h1) | 1;
+	}
+}
@@ -0,0 +1,144 @@
+package com.ghostsf.atool.bloomfilter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的位数组，使用{@link AtomicLongArray}存储，置位使用CAS，多个线程可同时写入
+ *
+ * @author ghostsf
+ *
+ */
+class BitArray {
+
+	private final AtomicLongArray data;
+	private final long bitSize;
+	/** 已置位的位数 */
+	private final AtomicLong bitCount = new AtomicLong();
+
+	/**
+	 * 构造
+	 *
+	 * @param bitSize 位数
+	 */
+	BitArray(long bitSize) {
+		this(new long[wordCount(bitSize)]);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param words 已有数据
+	 */
+	BitArray(long[] words) {
+		if (0 == words.length) {
+			throw new IllegalArgumentException("Bit array must not be empty");
+		}
+		this.data = new AtomicLongArray(words);
+		this.bitSize = (long) words.length * Long.SIZE;
+		long count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		this.bitCount.set(count);
+	}
+
+	/**
+	 * 置位
+	 *
+	 * @param index 位置
+	 * @return 此位之前是否未置位
+	 */
+	boolean set(long index) {
+		final int wordIndex = (int) (index >>> 6);
+		final long mask = 1L << index;
+		long oldValue;
+		do {
+			oldValue = data.get(wordIndex);
+			if ((oldValue & mask) != 0) {
+				return false;
+			}
+		} while (false == data.compareAndSet(wordIndex, oldValue, oldValue | mask));
+		bitCount.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * 是否已置位
+	 *
+	 * @param index 位置
+	 * @return 是否已置位
+	 */
+	boolean get(long index) {
+		return (data.get((int) (index >>> 6)) & (1L << index)) != 0;
+	}
+
+	/**
+	 * 位数，为64的倍数
+	 *
+	 * @return 位数
+	 */
+	long bitSize() {
+		return bitSize;
+	}
+
+	/**
+	 * 已置位的位数
+	 *
+	 * @return 已置位的位数
+	 */
+	long bitCount() {
+		return bitCount.get();
+	}
+
+	/**
+	 * 序列化后的字节数
+	 *
+	 * @return 字节数
+	 */
+	int byteSize() {
+		return 4 + data.length() * 8;
+	}
+
+	/**
+	 * 写出：long个数 + 每个long
+	 *
+	 * @param buffer 缓冲区
+	 */
+	void writeTo(ByteBuffer buffer) {
+		final int length = data.length();
+		buffer.putInt(length);
+		for (int i = 0; i < length; i++) {
+			buffer.putLong(data.get(i));
+		}
+	}
+
+	/**
+	 * 读取{@link #writeTo(ByteBuffer)}写出的数据
+	 *
+	 * @param buffer 缓冲区
+	 * @return 位数组
+	 */
+	static BitArray readFrom(ByteBuffer buffer) {
+		final long[] words = new long[buffer.getInt()];
+		for (int i = 0; i < words.length; i++) {
+			words[i] = buffer.getLong();
+		}
+		return new BitArray(words);
+	}
+
+	/**
+	 * 计算容纳指定位数所需的long个数
+	 *
+	 * @param bitSize 位数
+	 * @return long个数
+	 */
+	static int wordCount(long bitSize) {
+		final long count = (bitSize + Long.SIZE - 1) >>> 6;
+		if (count > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Bit size too large: " + bitSize);
+		}
+		return (int) count;
+	}
+}
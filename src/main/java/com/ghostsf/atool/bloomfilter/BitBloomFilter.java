@@ -0,0 +1,152 @@
+package com.ghostsf.atool.bloomfilter;
+
+import java.nio.ByteBuffer;
+
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.lang.hash.XxHashFunc;
+
+/**
+ * 基于位数组的标准布隆过滤器<br>
+ * 位数组使用CAS置位，支持多个线程并发加入和查询
+ *
+ * @author ghostsf
+ *
+ */
+public class BitBloomFilter extends AbstractBloomFilter {
+
+	/** 序列化类型标识 */
+	static final byte TYPE = 'B';
+
+	private final BitArray bits;
+
+	/**
+	 * 构造，使用{@link XxHashFunc}
+	 *
+	 * @param expectedInsertions 预计加入的元素个数
+	 * @param fpp 期望的误判率，范围(0, 1)
+	 */
+	public BitBloomFilter(long expectedInsertions, double fpp) {
+		this(expectedInsertions, fpp, XxHashFunc.INSTANCE);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param expectedInsertions 预计加入的元素个数
+	 * @param fpp 期望的误判率，范围(0, 1)
+	 * @param hashFunc hash算法
+	 */
+	public BitBloomFilter(long expectedInsertions, double fpp, PrimitiveHashFunc hashFunc) {
+		this(new BitArray(BloomFilterUtil.optimalNumOfBits(expectedInsertions, fpp)), //
+				BloomFilterUtil.optimalNumOfHashFunctions(expectedInsertions, BloomFilterUtil.optimalNumOfBits(expectedInsertions, fpp)), hashFunc);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param bits 位数组
+	 * @param numHashFunctions hash函数个数
+	 * @param hashFunc hash算法
+	 */
+	BitBloomFilter(BitArray bits, int numHashFunctions, PrimitiveHashFunc hashFunc) {
+		super(hashFunc, numHashFunctions);
+		this.bits = bits;
+	}
+
+	/**
+	 * 获得位数
+	 *
+	 * @return 位数
+	 */
+	public long getBitSize() {
+		return bits.bitSize();
+	}
+
+	/**
+	 * 获得已置位的位数
+	 *
+	 * @return 已置位的位数
+	 */
+	public long getBitCount() {
+		return bits.bitCount();
+	}
+
+	/**
+	 * 根据已置位的位数估算已加入的不同元素个数
+	 *
+	 * @return 元素个数估计值
+	 */
+	public long approximateElementCount() {
+		final double bitSize = bits.bitSize();
+		final double fractionOfBitsSet = bits.bitCount() / bitSize;
+		return Math.round(-Math.log1p(-fractionOfBitsSet) * bitSize / numHashFunctions);
+	}
+
+	@Override
+	public double expectedFpp() {
+		return Math.pow((double) bits.bitCount() / bits.bitSize(), numHashFunctions);
+	}
+
+	@Override
+	public byte[] toBytes() {
+		final ByteBuffer buffer = ByteBuffer.allocate(byteSize());
+		writeTo(buffer);
+		return buffer.array();
+	}
+
+	@Override
+	protected boolean addHash(long hash) {
+		final long h2 = secondHash(hash);
+		final long bitSize = bits.bitSize();
+		boolean changed = false;
+		for (int i = 0; i < numHashFunctions; i++) {
+			changed |= bits.set(index(hash, h2, i, bitSize));
+		}
+		return changed;
+	}
+
+	@Override
+	protected boolean containsHash(long hash) {
+		final long h2 = secondHash(hash);
+		final long bitSize = bits.bitSize();
+		for (int i = 0; i < numHashFunctions; i++) {
+			if (false == bits.get(index(hash, h2, i, bitSize))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------- Serialize
+	/**
+	 * 序列化后的字节数
+	 *
+	 * @return 字节数
+	 */
+	int byteSize() {
+		return 1 + 1 + bits.byteSize();
+	}
+
+	/**
+	 * 写出：类型 + hash函数个数 + 位数组
+	 *
+	 * @param buffer 缓冲区
+	 */
+	void writeTo(ByteBuffer buffer) {
+		buffer.put(TYPE);
+		buffer.put((byte) numHashFunctions);
+		bits.writeTo(buffer);
+	}
+
+	/**
+	 * 读取{@link #writeTo(ByteBuffer)}写出的数据，类型标识已被读取
+	 *
+	 * @param buffer 缓冲区
+	 * @param hashFunc hash算法，须与序列化前一致
+	 * @return 布隆过滤器
+	 */
+	static BitBloomFilter readFrom(ByteBuffer buffer, PrimitiveHashFunc hashFunc) {
+		final int numHashFunctions = buffer.get() & 0xff;
+		return new BitBloomFilter(BitArray.readFrom(buffer), numHashFunctions, hashFunc);
+	}
+}
@@ -0,0 +1,58 @@
+package com.ghostsf.atool.bloomfilter;
+
+/**
+ * 布隆过滤器<br>
+ * 以很小的空间判断元素是否存在：判断为不存在的元素一定不存在，判断为存在的元素有一定概率（误判率）实际不存在
+ *
+ * @author ghostsf
+ *
+ */
+public interface BloomFilter {
+
+	/**
+	 * 加入元素<br>
+	 * {@link CharSequence}、byte[]和整数直接计算hash，其它对象使用toString的结果计算
+	 *
+	 * @param key 元素
+	 * @return 过滤器是否发生变化，<code>true</code>表示此元素之前一定不存在，<code>false</code>表示之前可能已存在
+	 */
+	boolean add(Object key);
+
+	/**
+	 * 加入long元素，不装箱
+	 *
+	 * @param key 元素
+	 * @return 过滤器是否发生变化，<code>true</code>表示此元素之前一定不存在，<code>false</code>表示之前可能已存在
+	 */
+	boolean add(long key);
+
+	/**
+	 * 判断元素是否可能存在
+	 *
+	 * @param key 元素
+	 * @return <code>false</code>表示一定不存在，<code>true</code>表示可能存在
+	 */
+	boolean contains(Object key);
+
+	/**
+	 * 判断long元素是否可能存在，不装箱
+	 *
+	 * @param key 元素
+	 * @return <code>false</code>表示一定不存在，<code>true</code>表示可能存在
+	 */
+	boolean contains(long key);
+
+	/**
+	 * 根据当前已设置的位估算误判率
+	 *
+	 * @return 误判率
+	 */
+	double expectedFpp();
+
+	/**
+	 * 序列化为byte数组，可通过{@link BloomFilterUtil#fromBytes(byte[])}还原
+	 *
+	 * @return byte数组
+	 */
+	byte[] toBytes();
+}
@@ -0,0 +1,113 @@
+package com.ghostsf.atool.bloomfilter;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.lang.hash.XxHashFunc;
+
+/**
+ * 布隆过滤器工具类
+ *
+ * @author ghostsf
+ *
+ */
+public class BloomFilterUtil {
+
+	/**
+	 * 创建标准布隆过滤器
+	 *
+	 * @param expectedInsertions 预计加入的元素个数
+	 * @param fpp 期望的误判率，范围(0, 1)
+	 * @return {@link BitBloomFilter}
+	 */
+	public static BitBloomFilter createBitFilter(long expectedInsertions, double fpp) {
+		return new BitBloomFilter(expectedInsertions, fpp);
+	}
+
+	/**
+	 * 创建支持删除的计数布隆过滤器
+	 *
+	 * @param expectedInsertions 预计同时存在的元素个数
+	 * @param fpp 期望的误判率，范围(0, 1)
+	 * @return {@link CountingBloomFilter}
+	 */
+	public static CountingBloomFilter createCountingFilter(long expectedInsertions, double fpp) {
+		return new CountingBloomFilter(expectedInsertions, fpp);
+	}
+
+	/**
+	 * 创建可扩展的布隆过滤器
+	 *
+	 * @param initialCapacity 初始容量
+	 * @param fpp 期望的总误判率，范围(0, 1)
+	 * @return {@link ScalableBloomFilter}
+	 */
+	public static ScalableBloomFilter createScalableFilter(long initialCapacity, double fpp) {
+		return new ScalableBloomFilter(initialCapacity, fpp);
+	}
+
+	/**
+	 * 从{@link BloomFilter#toBytes()}的结果还原布隆过滤器，过滤器须使用默认的{@link XxHashFunc}
+	 *
+	 * @param data 序列化数据
+	 * @return 布隆过滤器
+	 */
+	public static BloomFilter fromBytes(byte[] data) {
+		return fromBytes(data, XxHashFunc.INSTANCE);
+	}
+
+	/**
+	 * 从{@link BloomFilter#toBytes()}的结果还原布隆过滤器
+	 *
+	 * @param data 序列化数据
+	 * @param hashFunc hash算法，须与序列化前一致
+	 * @return 布隆过滤器
+	 */
+	public static BloomFilter fromBytes(byte[] data, PrimitiveHashFunc hashFunc) {
+		final ByteBuffer buffer = ByteBuffer.wrap(data);
+		try {
+			final byte type = buffer.get();
+			switch (type) {
+			case BitBloomFilter.TYPE:
+				return BitBloomFilter.readFrom(buffer, hashFunc);
+			case CountingBloomFilter.TYPE:
+				return CountingBloomFilter.readFrom(buffer, hashFunc);
+			case ScalableBloomFilter.TYPE:
+				return ScalableBloomFilter.readFrom(buffer, hashFunc);
+			default:
+				throw new IllegalArgumentException("Unknown bloom filter type: " + type);
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Invalid bloom filter data", e);
+		}
+	}
+
+	/**
+	 * 计算最优位数：m = -n * ln(p) / (ln2)^2
+	 *
+	 * @param expectedInsertions 预计加入的元素个数n
+	 * @param fpp 期望的误判率p
+	 * @return 位数m
+	 */
+	public static long optimalNumOfBits(long expectedInsertions, double fpp) {
+		if (expectedInsertions <= 0) {
+			throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+		}
+		if (false == (fpp > 0 && fpp < 1)) {
+			throw new IllegalArgumentException("False positive probability must be in (0, 1): " + fpp);
+		}
+		return Math.max(Long.SIZE, (long) (-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+	}
+
+	/**
+	 * 计算最优hash函数个数：k = m / n * ln2
+	 *
+	 * @param expectedInsertions 预计加入的元素个数n
+	 * @param numOfBits 位数m
+	 * @return hash函数个数k
+	 */
+	public static int optimalNumOfHashFunctions(long expectedInsertions, long numOfBits) {
+		return (int) Math.min(255, Math.max(1, Math.round((double) numOfBits / expectedInsertions * Math.log(2))));
+	}
+}
@@ -0,0 +1,250 @@
+package com.ghostsf.atool.bloomfilter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.lang.hash.XxHashFunc;
+import com.ghostsf.atool.util.HashUtil;
+
+/**
+ * 计数布隆过滤器，支持删除元素<br>
+ * 每个位置使用4位计数器（每个long存放16个），加入时计数加1，删除时减1；计数达到15后不再变化，以免删除造成误删。<br>
+ * 计数器使用CAS更新，支持多个线程并发加入、删除和查询。空间为同等误判率下标准布隆过滤器的4倍。
+ *
+ * @author ghostsf
+ *
+ */
+public class CountingBloomFilter extends AbstractBloomFilter {
+
+	/** 序列化类型标识 */
+	static final byte TYPE = 'C';
+	/** 计数器最大值，达到后不再变化 */
+	private static final int MAX_COUNT = 15;
+	private static final int COUNTERS_PER_WORD = 16;
+
+	private final AtomicLongArray counters;
+	private final long counterSize;
+
+	/**
+	 * 构造，使用{@link XxHashFunc}
+	 *
+	 * @param expectedInsertions 预计同时存在的元素个数
+	 * @param fpp 期望的误判率，范围(0, 1)
+	 */
+	public CountingBloomFilter(long expectedInsertions, double fpp) {
+		this(expectedInsertions, fpp, XxHashFunc.INSTANCE);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param expectedInsertions 预计同时存在的元素个数
+	 * @param fpp 期望的误判率，范围(0, 1)
+	 * @param hashFunc hash算法
+	 */
+	public CountingBloomFilter(long expectedInsertions, double fpp, PrimitiveHashFunc hashFunc) {
+		this(new long[wordCount(BloomFilterUtil.optimalNumOfBits(expectedInsertions, fpp))], //
+				BloomFilterUtil.optimalNumOfHashFunctions(expectedInsertions, BloomFilterUtil.optimalNumOfBits(expectedInsertions, fpp)), hashFunc);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param words 计数器数据
+	 * @param numHashFunctions hash函数个数
+	 * @param hashFunc hash算法
+	 */
+	CountingBloomFilter(long[] words, int numHashFunctions, PrimitiveHashFunc hashFunc) {
+		super(hashFunc, numHashFunctions);
+		if (0 == words.length) {
+			throw new IllegalArgumentException("Counters must not be empty");
+		}
+		this.counters = new AtomicLongArray(words);
+		this.counterSize = (long) words.length * COUNTERS_PER_WORD;
+	}
+
+	/**
+	 * 删除元素<br>
+	 * 只有可能存在的元素才会被删除，删除未加入过的元素可能导致其它元素被误删，调用方需保证删除的元素确实加入过
+	 *
+	 * @param key 元素
+	 * @return 是否删除
+	 */
+	public boolean remove(Object key) {
+		return removeHash(HashUtil.hash64(hashFunc, key));
+	}
+
+	/**
+	 * 删除long元素，不装箱
+	 *
+	 * @param key 元素
+	 * @return 是否删除
+	 * @see #remove(Object)
+	 */
+	public boolean remove(long key) {
+		return removeHash(hashFunc.hash64(key));
+	}
+
+	/**
+	 * 估算元素加入的次数，即对应计数器的最小值，不会低于实际次数（计数器未饱和时）
+	 *
+	 * @param key 元素
+	 * @return 次数估计值，最大为15
+	 */
+	public int approximateCount(Object key) {
+		final long hash = HashUtil.hash64(hashFunc, key);
+		final long h2 = secondHash(hash);
+		int min = MAX_COUNT;
+		for (int i = 0; i < numHashFunctions; i++) {
+			min = Math.min(min, getCount(index(hash, h2, i, counterSize)));
+		}
+		return min;
+	}
+
+	/**
+	 * 获得计数器个数
+	 *
+	 * @return 计数器个数
+	 */
+	public long getCounterSize() {
+		return counterSize;
+	}
+
+	@Override
+	public double expectedFpp() {
+		long nonZero = 0;
+		long word;
+		for (int i = 0; i < counters.length(); i++) {
+			word = counters.get(i);
+			// 每4位折叠为1位，统计非0计数器个数
+			word |= word >>> 1;
+			word |= word >>> 2;
+			nonZero += Long.bitCount(word & 0x1111111111111111L);
+		}
+		return Math.pow((double) nonZero / counterSize, numHashFunctions);
+	}
+
+	@Override
+	public byte[] toBytes() {
+		final ByteBuffer buffer = ByteBuffer.allocate(1 + 1 + 4 + counters.length() * 8);
+		buffer.put(TYPE);
+		buffer.put((byte) numHashFunctions);
+		buffer.putInt(counters.length());
+		for (int i = 0; i < counters.length(); i++) {
+			buffer.putLong(counters.get(i));
+		}
+		return buffer.array();
+	}
+
+	@Override
+	protected boolean addHash(long hash) {
+		final long h2 = secondHash(hash);
+		boolean changed = false;
+		for (int i = 0; i < numHashFunctions; i++) {
+			changed |= increment(index(hash, h2, i, counterSize));
+		}
+		return changed;
+	}
+
+	@Override
+	protected boolean containsHash(long hash) {
+		final long h2 = secondHash(hash);
+		for (int i = 0; i < numHashFunctions; i++) {
+			if (0 == getCount(index(hash, h2, i, counterSize))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 删除hash值
+	 *
+	 * @param hash 元素的64位hash值
+	 * @return 是否删除
+	 */
+	private boolean removeHash(long hash) {
+		if (false == containsHash(hash)) {
+			return false;
+		}
+		final long h2 = secondHash(hash);
+		for (int i = 0; i < numHashFunctions; i++) {
+			decrement(index(hash, h2, i, counterSize));
+		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private int getCount(long index) {
+		return (int) (counters.get((int) (index >>> 4)) >>> shift(index)) & MAX_COUNT;
+	}
+
+	/**
+	 * 计数加1
+	 *
+	 * @param index 位置
+	 * @return 计数是否由0变为1
+	 */
+	private boolean increment(long index) {
+		final int wordIndex = (int) (index >>> 4);
+		final int shift = shift(index);
+		long oldValue;
+		int count;
+		do {
+			oldValue = counters.get(wordIndex);
+			count = (int) (oldValue >>> shift) & MAX_COUNT;
+			if (MAX_COUNT == count) {
+				return false;
+			}
+		} while (false == counters.compareAndSet(wordIndex, oldValue, oldValue + (1L << shift)));
+		return 0 == count;
+	}
+
+	/**
+	 * 计数减1，为0或已饱和时不变
+	 *
+	 * @param index 位置
+	 */
+	private void decrement(long index) {
+		final int wordIndex = (int) (index >>> 4);
+		final int shift = shift(index);
+		long oldValue;
+		int count;
+		do {
+			oldValue = counters.get(wordIndex);
+			count = (int) (oldValue >>> shift) & MAX_COUNT;
+			if (0 == count || MAX_COUNT == count) {
+				return;
+			}
+		} while (false == counters.compareAndSet(wordIndex, oldValue, oldValue - (1L << shift)));
+	}
+
+	private static int shift(long index) {
+		return (int) (index & (COUNTERS_PER_WORD - 1)) << 2;
+	}
+
+	private static int wordCount(long counterSize) {
+		final long count = (counterSize + COUNTERS_PER_WORD - 1) >>> 4;
+		if (count > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Counter size too large: " + counterSize);
+		}
+		return (int) count;
+	}
+
+	/**
+	 * 读取{@link #toBytes()}写出的数据，类型标识已被读取
+	 *
+	 * @param buffer 缓冲区
+	 * @param hashFunc hash算法，须与序列化前一致
+	 * @return 计数布隆过滤器
+	 */
+	static CountingBloomFilter readFrom(ByteBuffer buffer, PrimitiveHashFunc hashFunc) {
+		final int numHashFunctions = buffer.get() & 0xff;
+		final long[] words = new long[buffer.getInt()];
+		for (int i = 0; i < words.length; i++) {
+			words[i] = buffer.getLong();
+		}
+		return new CountingBloomFilter(words, numHashFunctions, hashFunc);
+	}
+}
@@ -0,0 +1,244 @@
+package com.ghostsf.atool.bloomfilter;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.lang.hash.XxHashFunc;
+import com.ghostsf.atool.util.HashUtil;
+
+/**
+ * 可扩展的布隆过滤器（Scalable Bloom Filter）<br>
+ * 算法详解：Almeida et al., Scalable Bloom Filters, 2007<br>
+ * 由多个{@link BitBloomFilter}组成，当前过滤器加满后追加一个容量为上一个growth倍、误判率为上一个tightening倍的新过滤器，
+ * 无需预先知道元素总数，总误判率不超过构造时指定的误判率。<br>
+ * 加入和查询无需加锁，追加新过滤器时在锁内整体替换过滤器数组。并发加入时，过滤器在扩展前可能被略微多加几个元素。
+ *
+ * @author ghostsf
+ *
+ */
+public class ScalableBloomFilter implements BloomFilter {
+
+	/** 序列化类型标识 */
+	static final byte TYPE = 'S';
+	/** 默认容量增长倍数 */
+	public static final int DEFAULT_GROWTH = 2;
+	/** 默认误判率收紧比例 */
+	public static final double DEFAULT_TIGHTENING = 0.8;
+
+	private final PrimitiveHashFunc hashFunc;
+	private final long initialCapacity;
+	private final double fpp;
+	private final int growth;
+	private final double tightening;
+
+	/** 过滤器，最后一个为当前加入的过滤器 */
+	private volatile BitBloomFilter[] filters;
+	/** 当前过滤器已加入的元素个数 */
+	private final AtomicLong currentCount;
+
+	/**
+	 * 构造，使用{@link XxHashFunc}、默认的增长倍数和收紧比例
+	 *
+	 * @param initialCapacity 初始容量
+	 * @param fpp 期望的总误判率，范围(0, 1)
+	 */
+	public ScalableBloomFilter(long initialCapacity, double fpp) {
+		this(initialCapacity, fpp, DEFAULT_GROWTH, DEFAULT_TIGHTENING, XxHashFunc.INSTANCE);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param initialCapacity 初始容量
+	 * @param fpp 期望的总误判率，范围(0, 1)
+	 * @param growth 容量增长倍数，大于等于1
+	 * @param tightening 误判率收紧比例，范围(0, 1)
+	 * @param hashFunc hash算法
+	 */
+	public ScalableBloomFilter(long initialCapacity, double fpp, int growth, double tightening, PrimitiveHashFunc hashFunc) {
+		this(initialCapacity, fpp, growth, tightening, hashFunc, null, 0);
+	}
+
+	private ScalableBloomFilter(long initialCapacity, double fpp, int growth, double tightening, PrimitiveHashFunc hashFunc, BitBloomFilter[] filters, long currentCount) {
+		if (initialCapacity <= 0) {
+			throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+		}
+		if (growth < 1) {
+			throw new IllegalArgumentException("Growth must be at least 1: " + growth);
+		}
+		if (false == (tightening > 0 && tightening < 1)) {
+			throw new IllegalArgumentException("Tightening must be in (0, 1): " + tightening);
+		}
+		this.hashFunc = hashFunc;
+		this.initialCapacity = initialCapacity;
+		this.fpp = fpp;
+		this.growth = growth;
+		this.tightening = tightening;
+		this.filters = (null == filters) ? new BitBloomFilter[] { newFilter(0) } : filters;
+		this.currentCount = new AtomicLong(currentCount);
+	}
+
+	/**
+	 * 获得内部过滤器个数
+	 *
+	 * @return 过滤器个数
+	 */
+	public int getFilterCount() {
+		return filters.length;
+	}
+
+	/**
+	 * 估算已加入的不同元素个数
+	 *
+	 * @return 元素个数估计值
+	 */
+	public long approximateElementCount() {
+		long count = 0;
+		for (BitBloomFilter filter : filters) {
+			count += filter.approximateElementCount();
+		}
+		return count;
+	}
+
+	@Override
+	public double expectedFpp() {
+		// 1 - 每个过滤器都不误判的概率
+		double notFalsePositive = 1;
+		for (BitBloomFilter filter : filters) {
+			notFalsePositive *= 1 - filter.expectedFpp();
+		}
+		return 1 - notFalsePositive;
+	}
+
+	@Override
+	public byte[] toBytes() {
+		final BitBloomFilter[] filters = this.filters;
+		int size = 1 + 8 + 8 + 4 + 8 + 8 + 4;
+		for (BitBloomFilter filter : filters) {
+			size += filter.byteSize();
+		}
+		final ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.put(TYPE);
+		buffer.putLong(initialCapacity);
+		buffer.putDouble(fpp);
+		buffer.putInt(growth);
+		buffer.putDouble(tightening);
+		buffer.putLong(currentCount.get());
+		buffer.putInt(filters.length);
+		for (BitBloomFilter filter : filters) {
+			filter.writeTo(buffer);
+		}
+		return buffer.array();
+	}
+
+	@Override
+	public boolean add(Object key) {
+		return addHash(HashUtil.hash64(hashFunc, key));
+	}
+
+	@Override
+	public boolean add(long key) {
+		return addHash(hashFunc.hash64(key));
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return containsHash(this.filters, HashUtil.hash64(hashFunc, key));
+	}
+
+	@Override
+	public boolean contains(long key) {
+		return containsHash(this.filters, hashFunc.hash64(key));
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 加入hash值，已可能存在时不加入，当前过滤器加满后追加新过滤器
+	 *
+	 * @param hash 元素的64位hash值
+	 * @return 过滤器是否发生变化
+	 */
+	private boolean addHash(long hash) {
+		final BitBloomFilter[] filters = this.filters;
+		if (containsHash(filters, hash)) {
+			return false;
+		}
+		final BitBloomFilter current = filters[filters.length - 1];
+		if (current.addHash(hash) && currentCount.incrementAndGet() >= capacity(filters.length - 1)) {
+			grow(filters.length);
+		}
+		return true;
+	}
+
+	private static boolean containsHash(BitBloomFilter[] filters, long hash) {
+		// 新加入的元素更可能在后面的过滤器中
+		for (int i = filters.length - 1; i >= 0; i--) {
+			if (filters[i].containsHash(hash)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 追加新过滤器，只有当前过滤器个数仍为expectedLength时才追加，避免并发重复追加
+	 *
+	 * @param expectedLength 期望的当前过滤器个数
+	 */
+	private synchronized void grow(int expectedLength) {
+		final BitBloomFilter[] filters = this.filters;
+		if (filters.length != expectedLength) {
+			return;
+		}
+		final BitBloomFilter[] newFilters = Arrays.copyOf(filters, filters.length + 1);
+		newFilters[filters.length] = newFilter(filters.length);
+		currentCount.set(0);
+		this.filters = newFilters;
+	}
+
+	/**
+	 * 第index个过滤器的容量
+	 *
+	 * @param index 过滤器序号
+	 * @return 容量
+	 */
+	private long capacity(int index) {
+		return (long) (initialCapacity * Math.pow(growth, index));
+	}
+
+	/**
+	 * 创建第index个过滤器，误判率为 fpp * (1 - tightening) * tightening^index，所有过滤器的误判率之和不超过fpp
+	 *
+	 * @param index 过滤器序号
+	 * @return 过滤器
+	 */
+	private BitBloomFilter newFilter(int index) {
+		final double filterFpp = fpp * (1 - tightening) * Math.pow(tightening, index);
+		return new BitBloomFilter(capacity(index), filterFpp, hashFunc);
+	}
+
+	/**
+	 * 读取{@link #toBytes()}写出的数据，类型标识已被读取
+	 *
+	 * @param buffer 缓冲区
+	 * @param hashFunc hash算法，须与序列化前一致
+	 * @return 可扩展的布隆过滤器
+	 */
+	static ScalableBloomFilter readFrom(ByteBuffer buffer, PrimitiveHashFunc hashFunc) {
+		final long initialCapacity = buffer.getLong();
+		final double fpp = buffer.getDouble();
+		final int growth = buffer.getInt();
+		final double tightening = buffer.getDouble();
+		final long currentCount = buffer.getLong();
+		final BitBloomFilter[] filters = new BitBloomFilter[buffer.getInt()];
+		for (int i = 0; i < filters.length; i++) {
+			if (BitBloomFilter.TYPE != buffer.get()) {
+				throw new IllegalArgumentException("Invalid bloom filter data");
+			}
+			filters[i] = BitBloomFilter.readFrom(buffer, hashFunc);
+		}
+		return new ScalableBloomFilter(initialCapacity, fpp, growth, tightening, hashFunc, filters, currentCount);
+	}
+}
@@ -0,0 +1,8 @@
+/**
+ * 布隆过滤器，提供位数组、计数和可扩展三种实现
+ *
+ * @author  ghostsf
+ * @see
+ * @since
+ */
+package com.ghostsf.atool.bloomfilter;
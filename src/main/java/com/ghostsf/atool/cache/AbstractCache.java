@@ -0,0 +1,508 @@
+package com.ghostsf.atool.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+
+import com.ghostsf.atool.exceptions.UtilException;
+import com.ghostsf.atool.lang.Func0;
+
+/**
+ * 超时和限制大小的缓存的默认实现<br>
+ * 继承此抽象缓存需要：<br>
+ * <ul>
+ * <li>创建一个新的Map</li>
+ * <li>实现 <code>prune</code> 策略</li>
+ * </ul>
+ *
+ * @author ghostsf
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public abstract class AbstractCache<K, V> implements Cache<K, V>, CacheStatsSource {
+
+	protected Map<K, CacheObj<K, V>> cacheMap;
+
+	private final ReentrantReadWriteLock cacheLock = new ReentrantReadWriteLock();
+	protected final ReadLock readLock = cacheLock.readLock();
+	protected final WriteLock writeLock = cacheLock.writeLock();
+
+	/** 返回缓存容量，<code>0</code>表示无大小限制 */
+	protected int capacity;
+	/** 缓存写入后的失效时长， <code>0</code> 表示无限制，单位毫秒 */
+	protected long timeout;
+	/** 缓存访问后的失效时长， <code>0</code> 表示无限制，单位毫秒 */
+	protected long accessTimeout;
+	/** 每个对象是否有单独的失效时长，用于决定清理过期对象是否有必要。 */
+	protected boolean existCustomTimeout;
+
+	/** 权重上限，<code>0</code>表示无限制 */
+	protected long maxWeight;
+	/** 权重计算器 */
+	protected Weigher<? super K, ? super V> weigher;
+	/** 当前权重总和 */
+	protected long totalWeight;
+	/** 正在加入的对象权重，仅在持有写锁时非0，用于清理时预留空间 */
+	private int pendingWeight;
+
+	/** 缓存监听 */
+	protected CacheListener<K, V> listener;
+	/** 正在加载中的键对应的锁，保证同一个键同时只有一个线程加载 */
+	private final ConcurrentMap<K, Lock> keyLockMap = new ConcurrentHashMap<>();
+	/** 统计信息 */
+	protected final CacheStats stats = new CacheStats();
+
+	// ---------------------------------------------------------------- put start
+	@Override
+	public void put(K key, V object) {
+		put(key, object, 0);
+	}
+
+	@Override
+	public void put(K key, V object, long timeout) {
+		writeLock.lock();
+		try {
+			putWithoutLock(key, object, timeout);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * 加入元素，无锁
+	 *
+	 * @param key 键
+	 * @param object 值
+	 * @param timeout 超时时长
+	 */
+	private void putWithoutLock(K key, V object, long timeout) {
+		final int weight = (null == weigher) ? 1 : weigher.weigh(key, object);
+		if (weight < 0) {
+			throw new IllegalArgumentException("Weight must not be negative: " + weight);
+		}
+		final CacheObj<K, V> co = new CacheObj<>(key, object, timeout, weight);
+		if (timeout > 0) {
+			existCustomTimeout = true;
+		}
+
+		final CacheObj<K, V> old = removeWithoutLock(key);
+		// 为新对象腾出空间，直到数量和权重都满足限制
+		pendingWeight = weight;
+		try {
+			while (false == cacheMap.isEmpty() && isFull()) {
+				if (0 == pruneCache()) {
+					break;
+				}
+			}
+		} finally {
+			pendingWeight = 0;
+		}
+		cacheMap.put(key, co);
+		totalWeight += weight;
+		if (null != old && null != listener) {
+			listener.onRemove(key, old.obj, RemovalCause.REPLACED);
+		}
+	}
+	// ---------------------------------------------------------------- put end
+
+	// ---------------------------------------------------------------- get start
+	@Override
+	public boolean containsKey(K key) {
+		return null != getWithoutStats(key, false);
+	}
+
+	@Override
+	public V get(K key) {
+		return get(key, true);
+	}
+
+	@Override
+	public V get(K key, boolean isUpdateLastAccess) {
+		final V value = getWithoutStats(key, isUpdateLastAccess);
+		if (null == value) {
+			stats.recordMiss();
+		} else {
+			stats.recordHit();
+		}
+		return value;
+	}
+
+	/**
+	 * 从缓存中获得对象，不记录命中统计
+	 *
+	 * @param key 键
+	 * @param isUpdateLastAccess 是否更新最后访问时间
+	 * @return 键对应的对象
+	 */
+	private V getWithoutStats(K key, boolean isUpdateLastAccess) {
+		final Lock lock = accessLock();
+		final CacheObj<K, V> co;
+		lock.lock();
+		try {
+			co = cacheMap.get(key);
+		} finally {
+			lock.unlock();
+		}
+
+		if (null == co) {
+			return null;
+		}
+		if (false == co.isExpired(System.currentTimeMillis(), this.timeout, this.accessTimeout)) {
+			return co.get(isUpdateLastAccess);
+		}
+
+		// 过期，在写锁内确认后移除
+		writeLock.lock();
+		try {
+			if (co == cacheMap.get(key)) {
+				removeWithoutLock(key);
+				stats.recordEviction();
+				if (null != listener) {
+					listener.onRemove(key, co.obj, RemovalCause.EXPIRED);
+				}
+			}
+		} finally {
+			writeLock.unlock();
+		}
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * supplier抛出的非运行时异常被包装为{@link UtilException}，<code>null</code>值不放入缓存
+	 */
+	@Override
+	public V get(K key, Func0<V> supplier) {
+		V value = get(key);
+		if (null != value || null == supplier) {
+			return value;
+		}
+		if (null == key) {
+			return load(supplier);
+		}
+
+		final Lock newLock = new ReentrantLock();
+		Lock keyLock = keyLockMap.putIfAbsent(key, newLock);
+		if (null == keyLock) {
+			keyLock = newLock;
+		}
+		keyLock.lock();
+		try {
+			// 双重检查，等待中的线程直接获取加载完成的值
+			value = getWithoutStats(key, true);
+			if (null == value) {
+				value = load(supplier);
+				if (null != value) {
+					put(key, value);
+				}
+			}
+		} finally {
+			keyLock.unlock();
+			keyLockMap.remove(key, keyLock);
+		}
+		return value;
+	}
+
+	/**
+	 * 执行supplier并记录加载耗时，非运行时异常包装为{@link UtilException}
+	 *
+	 * @param supplier 值生产者
+	 * @return 值
+	 */
+	private V load(Func0<V> supplier) {
+		final long start = stats.isEnabled() ? System.nanoTime() : 0L;
+		V value = null;
+		try {
+			value = supplier.call();
+			return value;
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new UtilException(e);
+		} finally {
+			if (null == value) {
+				stats.recordLoadFailure(System.nanoTime() - start);
+			} else {
+				stats.recordLoadSuccess(System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * 读取缓存时使用的锁，默认为读锁<br>
+	 * 读取会改变Map内部结构的实现（例如按访问顺序排列的{@link java.util.LinkedHashMap}）需返回写锁
+	 *
+	 * @return 读取缓存时使用的锁
+	 */
+	protected Lock accessLock() {
+		return readLock;
+	}
+
+	@Override
+	public Iterator<V> iterator() {
+		final List<V> values = new ArrayList<>();
+		final long now = System.currentTimeMillis();
+		final Lock lock = accessLock();
+		lock.lock();
+		try {
+			for (CacheObj<K, V> co : cacheMap.values()) {
+				if (false == co.isExpired(now, this.timeout, this.accessTimeout)) {
+					values.add(co.obj);
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+		return values.iterator();
+	}
+	// ---------------------------------------------------------------- get end
+
+	/**
+	 * 清理实现<br>
+	 * 调用时已持有写锁，返回清理的对象数，返回0表示无可清理对象
+	 *
+	 * @return 清理数
+	 */
+	protected abstract int pruneCache();
+
+	@Override
+	public final int prune() {
+		writeLock.lock();
+		try {
+			return pruneCache();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	// ---------------------------------------------------------------- common start
+	@Override
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return 默认缓存失效时长。<br>
+	 *         每个对象可以单独设置失效时长
+	 */
+	@Override
+	public long timeout() {
+		return timeout;
+	}
+
+	/**
+	 * 只有设置了缓存失效时长的对象才有可能过期
+	 *
+	 * @return 是否需要检查过期
+	 */
+	protected boolean isPruneExpiredActive() {
+		return (timeout != 0) || (accessTimeout != 0) || existCustomTimeout;
+	}
+
+	/**
+	 * 缓存是否已满，对象数量达到容量或权重总和达到上限即视为已满<br>
+	 * 加入对象的过程中，待加入对象的权重也计算在内
+	 */
+	@Override
+	public boolean isFull() {
+		if (capacity > 0 && cacheMap.size() >= capacity) {
+			return true;
+		}
+		if (maxWeight <= 0) {
+			return false;
+		}
+		return pendingWeight > 0 ? totalWeight + pendingWeight > maxWeight : totalWeight >= maxWeight;
+	}
+
+	@Override
+	public void remove(K key) {
+		writeLock.lock();
+		CacheObj<K, V> co;
+		try {
+			co = removeWithoutLock(key);
+			if (null != co && null != listener) {
+				listener.onRemove(key, co.obj, RemovalCause.EXPLICIT);
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		writeLock.lock();
+		try {
+			if (null != listener) {
+				for (CacheObj<K, V> co : cacheMap.values()) {
+					listener.onRemove(co.key, co.obj, RemovalCause.EXPLICIT);
+				}
+			}
+			cacheMap.clear();
+			totalWeight = 0;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		readLock.lock();
+		try {
+			return cacheMap.size();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return 0 == size();
+	}
+
+	/**
+	 * 当前权重总和，未设置{@link Weigher}时每个对象权重为1
+	 *
+	 * @return 当前权重总和
+	 */
+	public long weight() {
+		readLock.lock();
+		try {
+			return totalWeight;
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public CacheStats getStats() {
+		return stats;
+	}
+
+	@Override
+	public String toString() {
+		readLock.lock();
+		try {
+			return this.cacheMap.toString();
+		} finally {
+			readLock.unlock();
+		}
+	}
+	// ---------------------------------------------------------------- common end
+
+	// ---------------------------------------------------------------- config start
+	/**
+	 * 设置访问后的失效时长，对象在此时长内未被访问即过期
+	 *
+	 * @param accessTimeout 访问后的失效时长，单位毫秒，<code>0</code>表示不限制
+	 * @return this
+	 */
+	public AbstractCache<K, V> setAccessTimeout(long accessTimeout) {
+		this.accessTimeout = accessTimeout;
+		return this;
+	}
+
+	/**
+	 * 设置权重上限，权重总和超过上限时按照缓存策略淘汰对象<br>
+	 * 权重在对象加入时计算，已在缓存中的对象不重新计算
+	 *
+	 * @param maxWeight 权重上限，<code>0</code>表示不限制
+	 * @param weigher 权重计算器
+	 * @return this
+	 */
+	public AbstractCache<K, V> setMaxWeight(long maxWeight, Weigher<? super K, ? super V> weigher) {
+		writeLock.lock();
+		try {
+			this.maxWeight = maxWeight;
+			this.weigher = weigher;
+		} finally {
+			writeLock.unlock();
+		}
+		return this;
+	}
+
+	/**
+	 * 设置监听
+	 *
+	 * @param listener 监听
+	 * @return this
+	 */
+	public AbstractCache<K, V> setListener(CacheListener<K, V> listener) {
+		this.listener = listener;
+		return this;
+	}
+
+	/**
+	 * 开启统计信息记录，默认不记录，开启后每次读取都会更新计数
+	 *
+	 * @return this
+	 * @see CacheStats#setEnabled(boolean)
+	 */
+	public AbstractCache<K, V> recordStats() {
+		this.stats.setEnabled(true);
+		return this;
+	}
+	// ---------------------------------------------------------------- config end
+
+	/**
+	 * 清理过期对象，调用时需持有写锁
+	 *
+	 * @return 清理数
+	 */
+	protected int pruneExpired() {
+		if (false == isPruneExpiredActive()) {
+			return 0;
+		}
+		final long now = System.currentTimeMillis();
+		int count = 0;
+		final Iterator<CacheObj<K, V>> values = cacheMap.values().iterator();
+		CacheObj<K, V> co;
+		while (values.hasNext()) {
+			co = values.next();
+			if (co.isExpired(now, this.timeout, this.accessTimeout)) {
+				values.remove();
+				onRemoveWithoutLock(co, RemovalCause.EXPIRED);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 对象已从Map中移除后调用，更新权重并触发监听，调用时需持有写锁
+	 *
+	 * @param co 被移除的对象
+	 * @param cause 移除原因
+	 */
+	protected void onRemoveWithoutLock(CacheObj<K, V> co, RemovalCause cause) {
+		totalWeight -= co.weight;
+		if (RemovalCause.EVICTED == cause || RemovalCause.EXPIRED == cause) {
+			stats.recordEviction();
+		}
+		if (null != listener) {
+			listener.onRemove(co.key, co.obj, cause);
+		}
+	}
+
+	/**
+	 * 移除key对应的对象，不触发监听，调用时需持有写锁
+	 *
+	 * @param key 键
+	 * @return 移除的对象，无返回null
+	 */
+	private CacheObj<K, V> removeWithoutLock(K key) {
+		final CacheObj<K, V> co = cacheMap.remove(key);
+		if (null != co) {
+			totalWeight -= co.weight;
+		}
+		return co;
+	}
+}
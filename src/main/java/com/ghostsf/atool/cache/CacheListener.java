@@ -0,0 +1,22 @@
+package com.ghostsf.atool.cache;
+
+/**
+ * 缓存监听，用于实现缓存操作时的回调监听，例如缓存对象的移除事件等
+ * 
+ * @author ghostsf
+ *
+ * @param <K> 缓存键
+ * @param <V> 缓存值
+ */
+public interface CacheListener<K, V> {
+
+	/**
+	 * 对象移除回调<br>
+	 * 回调在缓存的写锁内执行，实现中不应再操作当前缓存，也不应有耗时操作
+	 * 
+	 * @param key 键
+	 * @param cachedObject 被移除的对象
+	 * @param cause 移除原因
+	 */
+	void onRemove(K key, V cachedObject, RemovalCause cause);
+}
@@ -0,0 +1,96 @@
+package com.ghostsf.atool.cache;
+
+/**
+ * 缓存对象
+ * 
+ * @author ghostsf
+ *
+ * @param <K> Key类型
+ * @param <V> Value类型
+ */
+public class CacheObj<K, V> {
+
+	final K key;
+	final V obj;
+
+	/** 写入时间 */
+	final long createTime;
+	/** 上次访问时间 */
+	volatile long lastAccess;
+	/** 访问次数，仅用于LFU淘汰，并发读取时可能少计 */
+	long accessCount;
+	/** 对象存活时长，0表示使用缓存默认的失效时长 */
+	final long ttl;
+	/** 对象权重 */
+	final int weight;
+
+	/**
+	 * 构造
+	 * 
+	 * @param key 键
+	 * @param obj 值
+	 * @param ttl 写入后的存活时长，单位毫秒
+	 * @param weight 权重
+	 */
+	protected CacheObj(K key, V obj, long ttl, int weight) {
+		this.key = key;
+		this.obj = obj;
+		this.ttl = ttl;
+		this.weight = weight;
+		this.createTime = System.currentTimeMillis();
+		this.lastAccess = this.createTime;
+	}
+
+	/**
+	 * 判断是否过期
+	 * 
+	 * @param now 当前时间
+	 * @param defaultTtl 缓存默认的写入后存活时长，对象未指定ttl时使用
+	 * @param accessTimeout 访问后存活时长，0表示不限制
+	 * @return 是否过期
+	 */
+	boolean isExpired(long now, long defaultTtl, long accessTimeout) {
+		final long writeTimeout = this.ttl > 0 ? this.ttl : defaultTtl;
+		if (writeTimeout > 0 && now - this.createTime > writeTimeout) {
+			return true;
+		}
+		return accessTimeout > 0 && now - this.lastAccess > accessTimeout;
+	}
+
+	/**
+	 * 获取值
+	 * 
+	 * @param isUpdateLastAccess 是否更新最后访问时间
+	 * @return 获得对象
+	 */
+	V get(boolean isUpdateLastAccess) {
+		if (isUpdateLastAccess) {
+			lastAccess = System.currentTimeMillis();
+		}
+		accessCount++;
+		return this.obj;
+	}
+
+	/**
+	 * 获取键
+	 * 
+	 * @return 键
+	 */
+	public K getKey() {
+		return this.key;
+	}
+
+	/**
+	 * 获取值
+	 * 
+	 * @return 值
+	 */
+	public V getValue() {
+		return this.obj;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheObj [key=" + key + ", obj=" + obj + ", lastAccess=" + lastAccess + ", accessCount=" + accessCount + ", ttl=" + ttl + "]";
+	}
+}
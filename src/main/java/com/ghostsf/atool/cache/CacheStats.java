@@ -0,0 +1,200 @@
+package com.ghostsf.atool.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存统计信息，记录命中、未命中、加载和淘汰次数<br>
+ * 默认不记录，避免每次读取都产生原子操作，需要时调用{@link #setEnabled(boolean)}开启<br>
+ * 计数使用{@link AtomicLong}，可在多线程中直接记录，读取到的各项数据之间不保证是同一时刻的快照
+ * 
+ * @author ghostsf
+ *
+ */
+public class CacheStats {
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong loadSuccessCount = new AtomicLong();
+	private final AtomicLong loadFailureCount = new AtomicLong();
+	private final AtomicLong totalLoadTime = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+	/** 是否记录统计 */
+	private volatile boolean enabled;
+
+	/**
+	 * 构造，默认不记录统计
+	 */
+	public CacheStats() {
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param enabled 是否记录统计
+	 */
+	public CacheStats(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * 是否记录统计
+	 * 
+	 * @return 是否记录统计
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 设置是否记录统计，关闭时所有record方法不做任何操作，已有计数保留
+	 * 
+	 * @param enabled 是否记录统计
+	 * @return this
+	 */
+	public CacheStats setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		return this;
+	}
+
+	// ---------------------------------------------------------------- record
+	/**
+	 * 记录一次命中
+	 */
+	public void recordHit() {
+		if (false == enabled) {
+			return;
+		}
+		hitCount.incrementAndGet();
+	}
+
+	/**
+	 * 记录一次未命中
+	 */
+	public void recordMiss() {
+		if (false == enabled) {
+			return;
+		}
+		missCount.incrementAndGet();
+	}
+
+	/**
+	 * 记录一次成功的加载
+	 * 
+	 * @param loadTime 加载耗时，单位纳秒
+	 */
+	public void recordLoadSuccess(long loadTime) {
+		if (false == enabled) {
+			return;
+		}
+		loadSuccessCount.incrementAndGet();
+		totalLoadTime.addAndGet(loadTime);
+	}
+
+	/**
+	 * 记录一次失败的加载（加载抛出异常或返回<code>null</code>）
+	 * 
+	 * @param loadTime 加载耗时，单位纳秒
+	 */
+	public void recordLoadFailure(long loadTime) {
+		if (false == enabled) {
+			return;
+		}
+		loadFailureCount.incrementAndGet();
+		totalLoadTime.addAndGet(loadTime);
+	}
+
+	/**
+	 * 记录一次淘汰（超出容量或过期被移除）
+	 */
+	public void recordEviction() {
+		if (false == enabled) {
+			return;
+		}
+		evictionCount.incrementAndGet();
+	}
+
+	/**
+	 * 重置所有计数
+	 */
+	public void reset() {
+		hitCount.set(0);
+		missCount.set(0);
+		loadSuccessCount.set(0);
+		loadFailureCount.set(0);
+		totalLoadTime.set(0);
+		evictionCount.set(0);
+	}
+
+	// ---------------------------------------------------------------- getter
+	/**
+	 * @return 命中次数
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return 未命中次数
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return 查询总次数，即命中次数与未命中次数之和
+	 */
+	public long getRequestCount() {
+		return getHitCount() + getMissCount();
+	}
+
+	/**
+	 * @return 命中率，未有查询时为1.0
+	 */
+	public double getHitRate() {
+		final long hit = getHitCount();
+		final long request = hit + getMissCount();
+		return (0 == request) ? 1.0 : (double) hit / request;
+	}
+
+	/**
+	 * @return 成功加载次数
+	 */
+	public long getLoadSuccessCount() {
+		return loadSuccessCount.get();
+	}
+
+	/**
+	 * @return 失败加载次数
+	 */
+	public long getLoadFailureCount() {
+		return loadFailureCount.get();
+	}
+
+	/**
+	 * @return 加载总耗时，单位纳秒
+	 */
+	public long getTotalLoadTime() {
+		return totalLoadTime.get();
+	}
+
+	/**
+	 * @return 平均加载耗时，单位纳秒，未有加载时为0
+	 */
+	public double getAverageLoadPenalty() {
+		final long loadCount = getLoadSuccessCount() + getLoadFailureCount();
+		return (0 == loadCount) ? 0.0 : (double) getTotalLoadTime() / loadCount;
+	}
+
+	/**
+	 * @return 淘汰次数
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats [hitCount=" + getHitCount() + ", missCount=" + getMissCount() + ", loadSuccessCount=" + getLoadSuccessCount() + ", loadFailureCount=" + getLoadFailureCount()
+				+ ", totalLoadTime=" + getTotalLoadTime() + ", evictionCount=" + getEvictionCount() + "]";
+	}
+}
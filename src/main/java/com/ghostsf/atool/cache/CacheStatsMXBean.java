@@ -0,0 +1,60 @@
+package com.ghostsf.atool.cache;
+
+/**
+ * 缓存统计信息的JMX接口，通过{@link CacheStatsRegistry#enableJmx()}注册
+ * 
+ * @author ghostsf
+ *
+ */
+public interface CacheStatsMXBean {
+
+	/**
+	 * @return 命中次数
+	 */
+	long getHitCount();
+
+	/**
+	 * @return 未命中次数
+	 */
+	long getMissCount();
+
+	/**
+	 * @return 命中率
+	 */
+	double getHitRate();
+
+	/**
+	 * @return 成功加载次数
+	 */
+	long getLoadSuccessCount();
+
+	/**
+	 * @return 失败加载次数
+	 */
+	long getLoadFailureCount();
+
+	/**
+	 * @return 加载总耗时，单位纳秒
+	 */
+	long getTotalLoadTime();
+
+	/**
+	 * @return 平均加载耗时，单位纳秒
+	 */
+	double getAverageLoadPenalty();
+
+	/**
+	 * @return 淘汰次数
+	 */
+	long getEvictionCount();
+
+	/**
+	 * @return 当前缓存的对象数量
+	 */
+	int getSize();
+
+	/**
+	 * 重置统计计数
+	 */
+	void resetStats();
+}
@@ -0,0 +1,205 @@
+package com.ghostsf.atool.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.ghostsf.atool.exceptions.UtilException;
+
+/**
+ * 缓存统计注册表<br>
+ * 工具包内部的缓存（反射、Bean描述、正则、日期格式化等）在初始化时注册到此处，可定时轮询{@link #getAll()}，也可以通过{@link #enableJmx()}发布为JMX MBean<br>
+ * 这些缓存默认不记录命中统计，需要时通过<code>get(name).getStats().setEnabled(true)</code>开启
+ *
+ * @author ghostsf
+ *
+ */
+public class CacheStatsRegistry {
+
+	/** JMX ObjectName的域和类型 */
+	public static final String JMX_DOMAIN_TYPE = "com.ghostsf.atool:type=CacheStats";
+
+	private static final ConcurrentMap<String, CacheStatsSource> SOURCES = new ConcurrentHashMap<>();
+	private static volatile boolean jmxEnabled;
+
+	/**
+	 * 注册缓存，同名的缓存将被替换
+	 *
+	 * @param name 缓存名称
+	 * @param source 缓存
+	 */
+	public static void register(String name, CacheStatsSource source) {
+		SOURCES.put(name, source);
+		if (jmxEnabled) {
+			registerMBean(name, source);
+		}
+	}
+
+	/**
+	 * 注销缓存
+	 *
+	 * @param name 缓存名称
+	 * @return 被注销的缓存，不存在返回<code>null</code>
+	 */
+	public static CacheStatsSource unregister(String name) {
+		final CacheStatsSource source = SOURCES.remove(name);
+		if (null != source && jmxEnabled) {
+			unregisterMBean(name);
+		}
+		return source;
+	}
+
+	/**
+	 * 获取指定名称的缓存
+	 *
+	 * @param name 缓存名称
+	 * @return 缓存，不存在返回<code>null</code>
+	 */
+	public static CacheStatsSource get(String name) {
+		return SOURCES.get(name);
+	}
+
+	/**
+	 * 获取所有注册的缓存，按名称排序，返回的Map不可修改
+	 *
+	 * @return 缓存名称和缓存的映射
+	 */
+	public static Map<String, CacheStatsSource> getAll() {
+		return Collections.unmodifiableMap(new TreeMap<>(SOURCES));
+	}
+
+	/**
+	 * 将所有已注册和之后注册的缓存发布为JMX MBean，ObjectName为：{@value #JMX_DOMAIN_TYPE},name=缓存名称
+	 */
+	public static synchronized void enableJmx() {
+		if (jmxEnabled) {
+			return;
+		}
+		jmxEnabled = true;
+		for (Entry<String, CacheStatsSource> entry : SOURCES.entrySet()) {
+			registerMBean(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * 注销所有已发布的JMX MBean
+	 */
+	public static synchronized void disableJmx() {
+		if (false == jmxEnabled) {
+			return;
+		}
+		jmxEnabled = false;
+		for (String name : SOURCES.keySet()) {
+			unregisterMBean(name);
+		}
+	}
+
+	/**
+	 * 生成JMX ObjectName
+	 *
+	 * @param name 缓存名称
+	 * @return {@link ObjectName}
+	 */
+	public static ObjectName getObjectName(String name) {
+		try {
+			return new ObjectName(JMX_DOMAIN_TYPE + ",name=" + ObjectName.quote(name));
+		} catch (JMException e) {
+			throw new UtilException(e);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private static void registerMBean(String name, CacheStatsSource source) {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName objectName = getObjectName(name);
+		try {
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+			server.registerMBean(new CacheStatsView(source), objectName);
+		} catch (JMException e) {
+			throw new UtilException(e);
+		}
+	}
+
+	private static void unregisterMBean(String name) {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName objectName = getObjectName(name);
+		try {
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+		} catch (JMException e) {
+			throw new UtilException(e);
+		}
+	}
+
+	/**
+	 * 将{@link CacheStatsSource}适配为{@link CacheStatsMXBean}
+	 */
+	private static class CacheStatsView implements CacheStatsMXBean {
+		private final CacheStatsSource source;
+
+		CacheStatsView(CacheStatsSource source) {
+			this.source = source;
+		}
+
+		@Override
+		public long getHitCount() {
+			return source.getStats().getHitCount();
+		}
+
+		@Override
+		public long getMissCount() {
+			return source.getStats().getMissCount();
+		}
+
+		@Override
+		public double getHitRate() {
+			return source.getStats().getHitRate();
+		}
+
+		@Override
+		public long getLoadSuccessCount() {
+			return source.getStats().getLoadSuccessCount();
+		}
+
+		@Override
+		public long getLoadFailureCount() {
+			return source.getStats().getLoadFailureCount();
+		}
+
+		@Override
+		public long getTotalLoadTime() {
+			return source.getStats().getTotalLoadTime();
+		}
+
+		@Override
+		public double getAverageLoadPenalty() {
+			return source.getStats().getAverageLoadPenalty();
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return source.getStats().getEvictionCount();
+		}
+
+		@Override
+		public int getSize() {
+			return source.size();
+		}
+
+		@Override
+		public void resetStats() {
+			source.getStats().reset();
+		}
+	}
+}
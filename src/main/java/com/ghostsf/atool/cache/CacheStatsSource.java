@@ -0,0 +1,24 @@
+package com.ghostsf.atool.cache;
+
+/**
+ * 可提供统计信息的缓存，实现此接口的缓存可以注册到{@link CacheStatsRegistry}
+ * 
+ * @author ghostsf
+ *
+ */
+public interface CacheStatsSource {
+
+	/**
+	 * 获取缓存统计信息
+	 * 
+	 * @return 缓存统计信息
+	 */
+	CacheStats getStats();
+
+	/**
+	 * 缓存的对象数量
+	 * 
+	 * @return 缓存的对象数量
+	 */
+	int size();
+}
@@ -0,0 +1,76 @@
+package com.ghostsf.atool.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * LFU(least frequently used) 最少使用率缓存<br>
+ * 根据使用次数来判定对象是否被持续缓存<br>
+ * 使用率是通过访问次数计算的。<br>
+ * 当缓存满时清理过期对象。<br>
+ * 清理后依旧满的情况下清除最少访问（访问计数最小）的对象并将其他对象的访问数减去这个最小访问数，以便新对象进入后可以公平计数。
+ *
+ * @author ghostsf
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class LFUCache<K, V> extends AbstractCache<K, V> {
+
+	/**
+	 * 构造，默认对象不过期
+	 *
+	 * @param capacity 容量
+	 */
+	public LFUCache(int capacity) {
+		this(capacity, 0);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param capacity 容量
+	 * @param timeout 过期时长
+	 */
+	public LFUCache(int capacity, long timeout) {
+		this.capacity = capacity;
+		this.timeout = timeout;
+		cacheMap = new HashMap<>(capacity + 1, 1.0f);
+	}
+
+	/**
+	 * 清理过期对象。<br>
+	 * 清理后依旧满的情况下清除最少访问（访问计数最小）的对象并将其他对象的访问数减去这个最小访问数，以便新对象进入后可以公平计数。
+	 */
+	@Override
+	protected int pruneCache() {
+		int count = pruneExpired();
+		if (false == isFull() || cacheMap.isEmpty()) {
+			return count;
+		}
+
+		// 找出访问最少的对象
+		CacheObj<K, V> comin = null;
+		for (CacheObj<K, V> co : cacheMap.values()) {
+			if (null == comin || co.accessCount < comin.accessCount) {
+				comin = co;
+			}
+		}
+
+		// 减少其他对象的访问次数
+		final long minAccessCount = comin.accessCount;
+		final Iterator<CacheObj<K, V>> values = cacheMap.values().iterator();
+		CacheObj<K, V> co;
+		while (values.hasNext()) {
+			co = values.next();
+			if (co == comin) {
+				values.remove();
+				onRemoveWithoutLock(co, RemovalCause.EVICTED);
+				count++;
+			} else {
+				co.accessCount -= minAccessCount;
+			}
+		}
+		return count;
+	}
+}
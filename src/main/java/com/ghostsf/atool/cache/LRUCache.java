@@ -0,0 +1,70 @@
+package com.ghostsf.atool.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * LRU (least recently used)最近最久未使用缓存<br>
+ * 根据使用时间来判定对象是否被持续缓存<br>
+ * 当对象被访问时放入缓存，当缓存满了，最久未被使用的对象将被移除。<br>
+ * 此缓存基于LinkedHashMap，因此当被缓存的对象每被访问一次，这个对象的key就到链表头部。<br>
+ * 这个算法简单并且非常快，他比FIFO有一个显著优势是经常使用的对象不太可能被移除缓存。<br>
+ * 缺点是当缓存满时，不能被很快的访问。
+ *
+ * @author ghostsf
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class LRUCache<K, V> extends AbstractCache<K, V> {
+
+	/**
+	 * 构造，默认对象不过期
+	 *
+	 * @param capacity 容量
+	 */
+	public LRUCache(int capacity) {
+		this(capacity, 0);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param capacity 容量
+	 * @param timeout 默认超时时间，单位：毫秒
+	 */
+	public LRUCache(int capacity, long timeout) {
+		this.capacity = capacity;
+		this.timeout = timeout;
+		// 按访问顺序排列，最近访问的在链表尾部
+		cacheMap = new LinkedHashMap<>(Math.max(1 << 4, capacity >>> 7), 0.75f, true);
+	}
+
+	/**
+	 * 按访问顺序排列的LinkedHashMap在读取时会调整链表，因此读取也需要写锁
+	 */
+	@Override
+	protected Lock accessLock() {
+		return writeLock;
+	}
+
+	/**
+	 * 只清理超时对象，如果清理后依旧是满的，移除最久未使用的对象
+	 */
+	@Override
+	protected int pruneCache() {
+		int count = pruneExpired();
+
+		if (isFull()) {
+			final Iterator<CacheObj<K, V>> values = cacheMap.values().iterator();
+			if (values.hasNext()) {
+				final CacheObj<K, V> eldest = values.next();
+				values.remove();
+				onRemoveWithoutLock(eldest, RemovalCause.EVICTED);
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,18 @@
+package com.ghostsf.atool.cache;
+
+/**
+ * 缓存对象被移除的原因
+ * 
+ * @author ghostsf
+ *
+ */
+public enum RemovalCause {
+	/** 调用remove或clear方法主动移除 */
+	EXPLICIT,
+	/** 同一个键放入新值，旧值被替换 */
+	REPLACED,
+	/** 对象已过期 */
+	EXPIRED,
+	/** 缓存已满（超过容量或权重上限），按照缓存策略被淘汰 */
+	EVICTED
+}
@@ -0,0 +1,101 @@
+package com.ghostsf.atool.cache;
+
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时缓存<br>
+ * 此缓存没有容量限制，对象只有在过期后才会被移除，因此不支持权重上限
+ *
+ * @author ghostsf
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class TimedCache<K, V> extends AbstractCache<K, V> {
+
+	/** 定时清理任务 */
+	private ScheduledFuture<?> pruneJobFuture;
+
+	/**
+	 * 构造
+	 *
+	 * @param timeout 过期时长
+	 */
+	public TimedCache(long timeout) {
+		this.capacity = 0;
+		this.timeout = timeout;
+		this.cacheMap = new HashMap<>();
+	}
+
+	/**
+	 * 定时缓存只淘汰过期对象，无法按权重淘汰，因此不支持设置权重上限
+	 *
+	 * @param maxWeight 权重上限，只能为<code>0</code>（不限制）
+	 * @param weigher 权重计算器
+	 * @return this
+	 * @throws UnsupportedOperationException 权重上限大于0
+	 */
+	@Override
+	public AbstractCache<K, V> setMaxWeight(long maxWeight, Weigher<? super K, ? super V> weigher) {
+		if (maxWeight > 0) {
+			throw new UnsupportedOperationException("TimedCache only evicts expired objects and does not support max weight");
+		}
+		return super.setMaxWeight(maxWeight, weigher);
+	}
+
+	// ---------------------------------------------------------------- prune
+	/**
+	 * 清理过期对象
+	 *
+	 * @return 清理数
+	 */
+	@Override
+	protected int pruneCache() {
+		return pruneExpired();
+	}
+
+	// ---------------------------------------------------------------- auto prune
+	/**
+	 * 定时清理
+	 *
+	 * @param delay 间隔时长，单位毫秒
+	 */
+	public synchronized void schedulePrune(long delay) {
+		cancelPruneSchedule();
+		this.pruneJobFuture = PruneScheduler.SCHEDULER.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				prune();
+			}
+		}, delay, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 取消定时清理
+	 */
+	public synchronized void cancelPruneSchedule() {
+		if (null != pruneJobFuture) {
+			pruneJobFuture.cancel(true);
+			pruneJobFuture = null;
+		}
+	}
+
+	/**
+	 * 全局共享的清理线程，守护线程，JVM退出时自动回收
+	 */
+	private static class PruneScheduler {
+		static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Cache Pruner");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+}
@@ -0,0 +1,22 @@
+package com.ghostsf.atool.cache;
+
+/**
+ * 缓存对象权重计算器<br>
+ * 设置权重上限后，缓存使用此接口计算每个对象的权重，当权重总和超过上限时淘汰对象
+ * 
+ * @author ghostsf
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public interface Weigher<K, V> {
+
+	/**
+	 * 计算缓存对象的权重，权重在放入缓存时计算一次，之后不再变化
+	 * 
+	 * @param key 键
+	 * @param value 值
+	 * @return 权重，必须大于等于0
+	 */
+	int weigh(K key, V value);
+}
@@ -0,0 +1,8 @@
+/**
+ * 缓存，提供FIFO、LFU、LRU及定时缓存实现
+ *
+ * @author  ghostsf
+ * @see
+ * @since
+ */
+package com.ghostsf.atool.cache;
@@ -0,0 +1,80 @@
+package com.ghostsf.atool.collection;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 并发Top-K收集器基类<br>
+ * 每个线程写入自己的局部堆，线程间无竞争；{@link #result()}时将所有局部堆合并为一个新堆。<br>
+ * 局部堆的读写均在该堆的锁内进行，写入时锁只被所属线程持有，开销很小，合并可与写入并发执行。
+ *
+ * @author ghostsf
+ *
+ * @param <H> 堆类型
+ */
+public abstract class AbstractTopKCollector<H> {
+
+	/** 保留的元素个数 */
+	protected final int k;
+	/** 所有线程的局部堆 */
+	private final Queue<H> heaps = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<H> localHeap = new ThreadLocal<H>() {
+		@Override
+		protected H initialValue() {
+			final H heap = newHeap();
+			heaps.add(heap);
+			return heap;
+		}
+	};
+
+	/**
+	 * 构造
+	 *
+	 * @param k 保留的元素个数
+	 */
+	public AbstractTopKCollector(int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("K must be positive: " + k);
+		}
+		this.k = k;
+	}
+
+	/**
+	 * 合并所有线程的局部堆，返回新堆，不影响后续写入
+	 *
+	 * @return 合并后的堆
+	 */
+	public H result() {
+		final H result = newHeap();
+		for (H heap : heaps) {
+			synchronized (heap) {
+				mergeInto(result, heap);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 获得当前线程的局部堆，写入时需持有其锁
+	 *
+	 * @return 局部堆
+	 */
+	protected H localHeap() {
+		return localHeap.get();
+	}
+
+	/**
+	 * 创建空堆
+	 *
+	 * @return 堆
+	 */
+	protected abstract H newHeap();
+
+	/**
+	 * 将source的元素合并到target
+	 *
+	 * @param target 目标堆
+	 * @param source 来源堆
+	 */
+	protected abstract void mergeInto(H target, H source);
+}
@@ -29,6 +29,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingDeque;
 
 import com.ghostsf.atool.bean.BeanUtil;
+import com.ghostsf.atool.collection.bitmap.RoaringBitmap;
 import com.ghostsf.atool.convert.Convert;
 import com.ghostsf.atool.convert.ConverterRegistry;
 import com.ghostsf.atool.exceptions.UtilException;
@@ -190,6 +191,92 @@ public class CollUtil {
 		return list;
 	}
 
+	/**
+	 * 两个集合的并集，结果中不含重复元素<br>
+	 * 元素均为{@link Integer}时使用{@link RoaringBitmap}计算，结果按数值升序排列；否则按元素第一次出现的顺序排列
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param coll1 集合1
+	 * @param coll2 集合2
+	 * @return 并集的集合，返回 {@link ArrayList}
+	 * @see #union(Collection, Collection)
+	 */
+	public static <T> List<T> unionDistinct(final Collection<T> coll1, final Collection<T> coll2) {
+		final RoaringBitmap bitmap1 = toSignedBitmap(coll1);
+		final RoaringBitmap bitmap2 = (null == bitmap1) ? null : toSignedBitmap(coll2);
+		if (null != bitmap2) {
+			return fromSignedBitmap(RoaringBitmap.or(bitmap1, bitmap2));
+		}
+		final LinkedHashSet<T> set = new LinkedHashSet<>();
+		if (null != coll1) {
+			set.addAll(coll1);
+		}
+		if (null != coll2) {
+			set.addAll(coll2);
+		}
+		return new ArrayList<>(set);
+	}
+
+	/**
+	 * 两个集合的交集，结果中不含重复元素<br>
+	 * 元素均为{@link Integer}时使用{@link RoaringBitmap}计算，结果按数值升序排列；否则按元素在集合1中第一次出现的顺序排列
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param coll1 集合1
+	 * @param coll2 集合2
+	 * @return 交集的集合，返回 {@link ArrayList}
+	 * @see #intersection(Collection, Collection)
+	 */
+	public static <T> List<T> intersectionDistinct(final Collection<T> coll1, final Collection<T> coll2) {
+		if (isEmpty(coll1) || isEmpty(coll2)) {
+			return new ArrayList<>();
+		}
+		final RoaringBitmap bitmap1 = toSignedBitmap(coll1);
+		final RoaringBitmap bitmap2 = (null == bitmap1) ? null : toSignedBitmap(coll2);
+		if (null != bitmap2) {
+			return fromSignedBitmap(RoaringBitmap.and(bitmap1, bitmap2));
+		}
+		final LinkedHashSet<T> set = new LinkedHashSet<>(coll1);
+		set.retainAll((coll2 instanceof Set) ? coll2 : new HashSet<T>(coll2));
+		return new ArrayList<>(set);
+	}
+
+	/**
+	 * 两个集合的对称差集，即只在其中一个集合中出现的元素，结果中不含重复元素<br>
+	 * 元素均为{@link Integer}时使用{@link RoaringBitmap}计算，结果按数值升序排列；否则集合1中的元素在前，按元素第一次出现的顺序排列
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param coll1 集合1
+	 * @param coll2 集合2
+	 * @return 差集的集合，返回 {@link ArrayList}
+	 * @see #disjunction(Collection, Collection)
+	 */
+	public static <T> List<T> disjunctionDistinct(final Collection<T> coll1, final Collection<T> coll2) {
+		final RoaringBitmap bitmap1 = toSignedBitmap(coll1);
+		final RoaringBitmap bitmap2 = (null == bitmap1) ? null : toSignedBitmap(coll2);
+		if (null != bitmap2) {
+			return fromSignedBitmap(RoaringBitmap.xor(bitmap1, bitmap2));
+		}
+		final Set<T> set1 = (null == coll1) ? new HashSet<T>() : new HashSet<>(coll1);
+		final Set<T> set2 = (null == coll2) ? new HashSet<T>() : new HashSet<>(coll2);
+		final LinkedHashSet<T> result = new LinkedHashSet<>();
+		if (null != coll1) {
+			for (T t : coll1) {
+				if (false == set2.contains(t)) {
+					result.add(t);
+				}
+			}
+		}
+		if (null != coll2) {
+			for (T t : coll2) {
+				if (false == set1.contains(t)) {
+					result.add(t);
+				}
+			}
+		}
+		return new ArrayList<>(result);
+	}
+
 	/**
 	 * 其中一个集合在另一个集合中是否至少包含一个元素，既是两个集合是否至少有一个共同的元素
 	 * 
@@ -231,6 +318,7 @@ public class CollUtil {
 	 * @param collection 集合
 	 * @return {@link Map}
 	 * @see IterUtil#countMap(Iterable)
+	 * @see ParallelCollUtil#countMap(Collection)
 	 */
 	public static <T> Map<T, Integer> countMap(Iterable<T> collection) {
 		return IterUtil.countMap(collection);
@@ -642,6 +730,7 @@ public class CollUtil {
 	 * @param <T> 集合元素类型
 	 * @param collection 集合
 	 * @return {@link ArrayList}
+	 * @see ParallelCollUtil#distinct(Collection)
 	 */
 	public static <T> ArrayList<T> distinct(Collection<T> collection) {
 		if (isEmpty(collection)) {
@@ -845,6 +934,7 @@ public class CollUtil {
 	 * @param collection 原集合
 	 * @param editor 编辑器
 	 * @return 抽取后的新列表
+	 * @see ParallelCollUtil#extract(Collection, Editor)
 	 */
 	public static List<Object> extract(Iterable<?> collection, Editor<Object> editor) {
 		final List<Object> fieldValueList = new ArrayList<>();
@@ -1314,6 +1404,7 @@ public class CollUtil {
 	 * @param mapList Map列表
 	 * @return Map
 	 * @see MapUtil#toListMap(Iterable)
+	 * @see ParallelCollUtil#toListMap(Collection)
 	 */
 	public static <K, V> Map<K, List<V>> toListMap(Iterable<? extends Map<K, V>> mapList) {
 		return MapUtil.toListMap(mapList);
@@ -1606,7 +1697,8 @@ public class CollUtil {
 	// ------------------------------------------------------------------------------------------------- sort
 	/**
 	 * 将多个集合排序并显示不同的段落（分页）<br>
-	 * 采用先排序，后截断的方式取分页的部分
+	 * 只选出排序后位于当前页末尾之前的元素（堆大小为pageNo * numPerPage），不对全部元素排序，时间为O(n log(pageNo * numPerPage))。<br>
+	 * 相等元素保持在输入中的先后顺序，与拼接后稳定排序的结果一致；集合已各自排序时使用{@link #mergePageAll(int, int, Comparator, Collection...)}更快
 	 * 
 	 * @param <T> 集合元素类型
 	 * @param pageNo 页码，从1开始
@@ -1617,25 +1709,71 @@ public class CollUtil {
 	 */
 	@SafeVarargs
 	public static <T> List<T> sortPageAll(int pageNo, int numPerPage, Comparator<T> comparator, Collection<T>... colls) {
-		final List<T> result = new ArrayList<>();
+		int resultSize = 0;
 		for (Collection<T> coll : colls) {
-			result.addAll(coll);
+			resultSize += coll.size();
 		}
 
-		Collections.sort(result, comparator);
-
-		int resultSize = result.size();
 		// 每页条目数大于总数直接返回所有
 		if (resultSize <= numPerPage) {
+			final List<T> result = new ArrayList<>(resultSize);
+			for (Collection<T> coll : colls) {
+				result.addAll(coll);
+			}
+			Collections.sort(result, comparator);
 			return result;
 		}
 		final int[] startEnd = PageUtil.transToStartEnd(pageNo, numPerPage);
+		if (startEnd[1] > resultSize || startEnd[0] == startEnd[1]) {
+			// 越界直接返回空
+			return new ArrayList<>();
+		}
+
+		final List<Collection<T>> collList = new ArrayList<>(colls.length);
+		for (Collection<T> coll : colls) {
+			collList.add(coll);
+		}
+		return selectSmallest(startEnd[1], comparator, collList).subList(startEnd[0], startEnd[1]);
+	}
+
+	/**
+	 * 将多个已按比较器升序排列的集合合并并显示不同的段落（分页）<br>
+	 * 使用{@link MergeIterator}多路归并，只读取到当前页末尾为止，时间为O(pageNo * numPerPage * log(colls.length))。<br>
+	 * 结果与{@link #sortPageAll(int, int, Comparator, Collection...)}一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param pageNo 页码，从1开始
+	 * @param numPerPage 每页的条目数
+	 * @param comparator 比较器，每个集合都必须已按此比较器升序排列
+	 * @param colls 已排序的集合数组
+	 * @return 分页后的段落内容
+	 */
+	@SafeVarargs
+	public static <T> List<T> mergePageAll(int pageNo, int numPerPage, Comparator<T> comparator, Collection<T>... colls) {
+		int resultSize = 0;
+		final List<Iterator<T>> iterators = new ArrayList<>(colls.length);
+		for (Collection<T> coll : colls) {
+			resultSize += coll.size();
+			iterators.add(coll.iterator());
+		}
+
+		final MergeIterator<T> iterator = new MergeIterator<>(comparator, iterators);
+		// 每页条目数大于总数直接返回所有
+		if (resultSize <= numPerPage) {
+			return newArrayList(iterator);
+		}
+		final int[] startEnd = PageUtil.transToStartEnd(pageNo, numPerPage);
 		if (startEnd[1] > resultSize) {
 			// 越界直接返回空
 			return new ArrayList<>();
 		}
 
-		return result.subList(startEnd[0], startEnd[1]);
+		iterator.skip(startEnd[0]);
+		final List<T> result = new ArrayList<>(startEnd[1] - startEnd[0]);
+		for (int i = startEnd[0]; i < startEnd[1]; i++) {
+			result.add(iterator.next());
+		}
+		return result;
 	}
 
 	/**
@@ -1670,6 +1808,21 @@ public class CollUtil {
 		return queue.toList().subList(startEnd[0], startEnd[1]);
 	}
 
+	/**
+	 * 取按比较器排序最大的k个元素，按从大到小的顺序返回<br>
+	 * 使用{@link TopKHeap}，时间为O(n log k)，只占用k个元素的空间；需要最小的k个元素时传入反转的比较器
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param iterable 元素
+	 * @param k 取的元素个数
+	 * @param comparator 比较器，<code>null</code>表示使用元素的自然顺序
+	 * @return 最大的k个元素
+	 * @see TopKCollector
+	 */
+	public static <T> List<T> topK(Iterable<T> iterable, int k, Comparator<? super T> comparator) {
+		return new TopKHeap<T>(k, comparator).offerAll(iterable).toList();
+	}
+
 	/**
 	 * 排序集合，排序不会修改原集合
 	 * 
@@ -1831,6 +1984,7 @@ public class CollUtil {
 	 * @param collection 被分组的集合
 	 * @param hash Hash值算法，决定元素放在第几个分组的规则
 	 * @return 分组后的集合
+	 * @see ParallelCollUtil#group(Collection, Hash)
 	 */
 	public static <T> List<List<T>> group(Collection<T> collection, Hash<T> hash){
 		final List<List<T>> result = new ArrayList<>();
@@ -1895,6 +2049,86 @@ public class CollUtil {
 			}});
 	}
 
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 稳定地选出多个集合中最小的k个元素，按升序返回<br>
+	 * 元素与其在输入中的位置一起放入{@link TopKHeap}，相等元素按位置排序；无法进入堆的元素不创建包装对象
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param k 选出的元素个数
+	 * @param comparator 比较器，<code>null</code>表示使用元素的自然顺序
+	 * @param colls 集合列表
+	 * @return 最小的k个元素
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> selectSmallest(int k, final Comparator<T> comparator, List<Collection<T>> colls) {
+		// 位置越靠后越大，堆中保留“最大”的k个，即原顺序中最小的k个
+		final TopKHeap<Object[]> heap = new TopKHeap<>(k, new Comparator<Object[]>() {
+			@Override
+			public int compare(Object[] o1, Object[] o2) {
+				final int result = compareElement(comparator, (T) o2[0], (T) o1[0]);
+				return (0 != result) ? result : Long.compare((Long) o2[1], (Long) o1[1]);
+			}
+		});
+		long position = 0;
+		for (Collection<T> coll : colls) {
+			for (T t : coll) {
+				// 堆已满时，不小于堆中最大元素的后来者一定被淘汰
+				if (heap.size() < k || compareElement(comparator, t, (T) heap.peekMin()[0]) < 0) {
+					heap.offer(new Object[] { t, position });
+				}
+				position++;
+			}
+		}
+
+		final List<T> result = new ArrayList<>(heap.size());
+		for (Object[] entry : heap.toList()) {
+			result.add((T) entry[0]);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> int compareElement(Comparator<T> comparator, T t1, T t2) {
+		return (null == comparator) ? ((Comparable<? super T>) t1).compareTo(t2) : comparator.compare(t1, t2);
+	}
+
+	/**
+	 * 元素均为{@link Integer}时转为{@link RoaringBitmap}，值的符号位取反后存放，使位图的无符号顺序与int的数值顺序一致
+	 * 
+	 * @param coll 集合，为<code>null</code>时视为空集合
+	 * @return 位图，包含非Integer元素（包括<code>null</code>）时返回<code>null</code>
+	 */
+	private static RoaringBitmap toSignedBitmap(Collection<?> coll) {
+		final RoaringBitmap bitmap = new RoaringBitmap();
+		if (null != coll) {
+			for (Object value : coll) {
+				if (false == (value instanceof Integer)) {
+					return null;
+				}
+				bitmap.add(((Integer) value) ^ Integer.MIN_VALUE);
+			}
+		}
+		return bitmap;
+	}
+
+	/**
+	 * 将{@link #toSignedBitmap(Collection)}产生的位图还原为升序的列表
+	 * 
+	 * @param <T> 元素类型，实际为Integer
+	 * @param bitmap 位图
+	 * @return 列表
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> fromSignedBitmap(RoaringBitmap bitmap) {
+		final int[] values = bitmap.toArray();
+		final List<Integer> result = new ArrayList<>(values.length);
+		for (int value : values) {
+			result.add(value ^ Integer.MIN_VALUE);
+		}
+		return (List<T>) result;
+	}
+
 	//---------------------------------------------------------------------------------------------- Interface start
 	/**
 	 * 针对一个参数做相应的操作
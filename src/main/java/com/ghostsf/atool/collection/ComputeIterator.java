@@ -0,0 +1,70 @@
+package com.ghostsf.atool.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 按需计算下一个元素的{@link Iterator}基类<br>
+ * 子类只需实现{@link #computeNext()}，没有更多元素时返回{@link #endOfData()}；hasNext会预先计算并缓存下一个元素，重复调用不会多次计算。<br>
+ * 不支持remove
+ * 
+ * @author ghostsf
+ *
+ * @param <E> 元素类型
+ */
+public abstract class ComputeIterator<E> implements Iterator<E> {
+
+	/** 下一个元素未计算 */
+	private static final int NOT_READY = 0;
+	/** 下一个元素已计算 */
+	private static final int READY = 1;
+	/** 没有更多元素 */
+	private static final int DONE = 2;
+
+	private int state = NOT_READY;
+	private E next;
+
+	/**
+	 * 计算下一个元素
+	 * 
+	 * @return 下一个元素，没有更多元素时返回{@link #endOfData()}
+	 */
+	protected abstract E computeNext();
+
+	/**
+	 * 标记没有更多元素，在{@link #computeNext()}中返回此方法的返回值
+	 * 
+	 * @return <code>null</code>
+	 */
+	protected final E endOfData() {
+		state = DONE;
+		return null;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (NOT_READY == state) {
+			next = computeNext();
+			if (DONE != state) {
+				state = READY;
+			}
+		}
+		return READY == state;
+	}
+
+	@Override
+	public E next() {
+		if (false == hasNext()) {
+			throw new NoSuchElementException();
+		}
+		state = NOT_READY;
+		final E result = next;
+		next = null;
+		return result;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove");
+	}
+}
@@ -0,0 +1,55 @@
+package com.ghostsf.atool.collection;
+
+import java.util.List;
+
+/**
+ * 以double分数排序的并发Top-K收集器，多个线程可同时加入元素，保留分数最高的k个元素，比较分数时不装箱
+ *
+ * @author ghostsf
+ *
+ * @param <T> 元素类型
+ */
+public class DoubleTopKCollector<T> extends AbstractTopKCollector<DoubleTopKHeap<T>> {
+
+	/**
+	 * 构造
+	 *
+	 * @param k 保留的元素个数
+	 */
+	public DoubleTopKCollector(int k) {
+		super(k);
+	}
+
+	/**
+	 * 加入元素
+	 *
+	 * @param score 分数
+	 * @param payload 元素
+	 * @return 元素是否进入当前线程的局部Top-K
+	 */
+	public boolean offer(double score, T payload) {
+		final DoubleTopKHeap<T> heap = localHeap();
+		synchronized (heap) {
+			return heap.offer(score, payload);
+		}
+	}
+
+	/**
+	 * 合并所有线程的结果，按分数从高到低返回
+	 *
+	 * @return 元素列表
+	 */
+	public List<T> toList() {
+		return result().toList();
+	}
+
+	@Override
+	protected DoubleTopKHeap<T> newHeap() {
+		return new DoubleTopKHeap<>(k);
+	}
+
+	@Override
+	protected void mergeInto(DoubleTopKHeap<T> target, DoubleTopKHeap<T> source) {
+		target.merge(source);
+	}
+}
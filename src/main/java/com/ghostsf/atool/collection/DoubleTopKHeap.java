@@ -0,0 +1,110 @@
+package com.ghostsf.atool.collection;
+
+import java.util.List;
+
+/**
+ * 以double分数排序的Top-K堆，保留分数最高的k个元素<br>
+ * 分数按IEEE 754位模式转换为保持大小顺序的long后存入{@link LongTopKHeap}，比较分数时不装箱。<br>
+ * 排序与{@link Double#compare(double, double)}一致：-0.0小于0.0，NaN大于所有数。此类非线程安全，并发场景见{@link DoubleTopKCollector}。
+ *
+ * @author ghostsf
+ *
+ * @param <T> 元素类型
+ */
+public class DoubleTopKHeap<T> {
+
+	private final LongTopKHeap<T> heap;
+
+	/**
+	 * 构造
+	 *
+	 * @param k 保留的元素个数
+	 */
+	public DoubleTopKHeap(int k) {
+		this.heap = new LongTopKHeap<>(k);
+	}
+
+	/**
+	 * 加入元素
+	 *
+	 * @param score 分数
+	 * @param payload 元素
+	 * @return 元素是否进入Top-K
+	 */
+	public boolean offer(double score, T payload) {
+		return heap.offer(toSortableLong(score), payload);
+	}
+
+	/**
+	 * 合并另一个堆的元素
+	 *
+	 * @param other 另一个堆
+	 * @return this
+	 */
+	public DoubleTopKHeap<T> merge(DoubleTopKHeap<? extends T> other) {
+		heap.merge(other.heap);
+		return this;
+	}
+
+	/**
+	 * 当前保留的最低分数，即进入Top-K的门槛
+	 *
+	 * @return 最低分数，为空时返回{@link Double#NEGATIVE_INFINITY}
+	 */
+	public double minScore() {
+		return (0 == heap.size()) ? Double.NEGATIVE_INFINITY : toDouble(heap.minScore());
+	}
+
+	/**
+	 * 当前保留的元素个数
+	 *
+	 * @return 元素个数
+	 */
+	public int size() {
+		return heap.size();
+	}
+
+	/**
+	 * 按分数从高到低返回保留的元素，不改变堆
+	 *
+	 * @return 元素列表
+	 */
+	public List<T> toList() {
+		return heap.toList();
+	}
+
+	/**
+	 * 按从高到低的顺序返回保留的分数，与{@link #toList()}的元素一一对应
+	 *
+	 * @return 分数数组
+	 */
+	public double[] toScoreArray() {
+		final long[] sortable = heap.toScoreArray();
+		final double[] scores = new double[sortable.length];
+		for (int i = 0; i < scores.length; i++) {
+			scores[i] = toDouble(sortable[i]);
+		}
+		return scores;
+	}
+
+	/**
+	 * 将double转换为保持大小顺序的long：正数位模式不变，负数翻转除符号位外的所有位
+	 *
+	 * @param value double值
+	 * @return 可比较的long值
+	 */
+	static long toSortableLong(double value) {
+		final long bits = Double.doubleToLongBits(value);
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	/**
+	 * {@link #toSortableLong(double)}的逆运算
+	 *
+	 * @param sortable 可比较的long值
+	 * @return double值
+	 */
+	static double toDouble(long sortable) {
+		return Double.longBitsToDouble(sortable ^ ((sortable >> 63) & Long.MAX_VALUE));
+	}
+}
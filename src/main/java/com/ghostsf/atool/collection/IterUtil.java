@@ -1,11 +1,18 @@
 package com.ghostsf.atool.collection;
 
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
+import com.ghostsf.atool.lang.Editor;
+import com.ghostsf.atool.lang.Filter;
+import com.ghostsf.atool.lang.Func1;
 import com.ghostsf.atool.util.ArrayUtil;
 
 /**
@@ -363,4 +370,274 @@ public class IterUtil {
 		}
 		return null;
 	}
+
+	// ------------------------------------------------------------------------------------------------- lazy
+	/**
+	 * 创建惰性处理链，各步骤在遍历时才逐个元素执行，不产生中间集合
+	 * 
+	 * <pre>
+	 * List&lt;String&gt; names = IterUtil.lazy(users).filter(filter).map(func).limit(10).toList();
+	 * </pre>
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterable {@link Iterable}，每次遍历处理链时都会重新调用其iterator方法
+	 * @return {@link LazyIterable}
+	 */
+	public static <T> LazyIterable<T> lazy(Iterable<T> iterable) {
+		return LazyIterable.of(iterable);
+	}
+
+	/**
+	 * 惰性过滤，只保留{@link Filter#accept(Object)}为<code>true</code>的元素
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterator {@link Iterator}
+	 * @param filter 过滤器
+	 * @return 过滤后的{@link Iterator}
+	 */
+	public static <T> Iterator<T> filter(final Iterator<T> iterator, final Filter<T> filter) {
+		return new ComputeIterator<T>() {
+			@Override
+			protected T computeNext() {
+				T t;
+				while (iterator.hasNext()) {
+					t = iterator.next();
+					if (filter.accept(t)) {
+						return t;
+					}
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	/**
+	 * 惰性编辑，{@link Editor#edit(Object)}返回<code>null</code>的元素被抛弃，与{@link CollUtil#filter(java.util.Collection, Editor)}规则一致
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterator {@link Iterator}
+	 * @param editor 编辑器
+	 * @return 编辑后的{@link Iterator}
+	 */
+	public static <T> Iterator<T> edit(final Iterator<T> iterator, final Editor<T> editor) {
+		return new ComputeIterator<T>() {
+			@Override
+			protected T computeNext() {
+				T t;
+				while (iterator.hasNext()) {
+					t = editor.edit(iterator.next());
+					if (null != t) {
+						return t;
+					}
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	/**
+	 * 惰性转换，每个元素转换为{@link Func1#call(Object)}的返回值，返回<code>null</code>的元素保留为<code>null</code>
+	 * 
+	 * @param <T> 元素类型
+	 * @param <R> 转换后的元素类型
+	 * @param iterator {@link Iterator}
+	 * @param func 转换函数，参数为一个元素
+	 * @return 转换后的{@link Iterator}
+	 */
+	public static <T, R> Iterator<R> map(final Iterator<T> iterator, final Func1<T, R> func) {
+		return new Iterator<R>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public R next() {
+				return func.call(iterator.next());
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+			}
+		};
+	}
+
+	/**
+	 * 惰性展开，每个元素转换为一个{@link Iterable}，依次返回其中的元素，转换结果为<code>null</code>时跳过
+	 * 
+	 * @param <T> 元素类型
+	 * @param <R> 展开后的元素类型
+	 * @param iterator {@link Iterator}
+	 * @param func 转换函数，参数为一个元素
+	 * @return 展开后的{@link Iterator}
+	 */
+	public static <T, R> Iterator<R> flatMap(final Iterator<T> iterator, final Func1<T, ? extends Iterable<? extends R>> func) {
+		return new ComputeIterator<R>() {
+			private Iterator<? extends R> current;
+
+			@Override
+			protected R computeNext() {
+				Iterable<? extends R> iterable;
+				while (null == current || false == current.hasNext()) {
+					if (false == iterator.hasNext()) {
+						return endOfData();
+					}
+					iterable = func.call(iterator.next());
+					current = (null == iterable) ? null : iterable.iterator();
+				}
+				return current.next();
+			}
+		};
+	}
+
+	/**
+	 * 惰性截取，最多返回前maxSize个元素，之后不再读取原{@link Iterator}
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterator {@link Iterator}
+	 * @param maxSize 最多返回的元素个数
+	 * @return 截取后的{@link Iterator}
+	 */
+	public static <T> Iterator<T> limit(final Iterator<T> iterator, final long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Max size must not be negative: " + maxSize);
+		}
+		return new ComputeIterator<T>() {
+			private long count;
+
+			@Override
+			protected T computeNext() {
+				if (count >= maxSize || false == iterator.hasNext()) {
+					return endOfData();
+				}
+				count++;
+				return iterator.next();
+			}
+		};
+	}
+
+	/**
+	 * 惰性跳过前n个元素，在第一次取值时才跳过
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterator {@link Iterator}
+	 * @param n 跳过的元素个数
+	 * @return 跳过后的{@link Iterator}
+	 */
+	public static <T> Iterator<T> skip(final Iterator<T> iterator, final long n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Skip count must not be negative: " + n);
+		}
+		return new ComputeIterator<T>() {
+			private boolean skipped;
+
+			@Override
+			protected T computeNext() {
+				if (false == skipped) {
+					for (long i = 0; i < n && iterator.hasNext(); i++) {
+						iterator.next();
+					}
+					skipped = true;
+				}
+				return iterator.hasNext() ? iterator.next() : endOfData();
+			}
+		};
+	}
+
+	/**
+	 * 惰性去重，保留元素第一次出现的顺序<br>
+	 * 已出现的元素保存在{@link HashSet}中，占用的空间与不重复的元素个数成正比
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterator {@link Iterator}
+	 * @return 去重后的{@link Iterator}
+	 */
+	public static <T> Iterator<T> distinct(final Iterator<T> iterator) {
+		return new ComputeIterator<T>() {
+			private final Set<T> seen = new HashSet<>();
+
+			@Override
+			protected T computeNext() {
+				T t;
+				while (iterator.hasNext()) {
+					t = iterator.next();
+					if (seen.add(t)) {
+						return t;
+					}
+				}
+				return endOfData();
+			}
+		};
+	}
+
+	/**
+	 * 惰性分块，每size个元素组成一个新列表，最后一块可能不足size个
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterator {@link Iterator}
+	 * @param size 每块的元素个数
+	 * @return 分块后的{@link Iterator}
+	 */
+	public static <T> Iterator<List<T>> chunk(final Iterator<T> iterator, final int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + size);
+		}
+		return new ComputeIterator<List<T>>() {
+			@Override
+			protected List<T> computeNext() {
+				if (false == iterator.hasNext()) {
+					return endOfData();
+				}
+				final List<T> chunk = new ArrayList<>(size);
+				while (chunk.size() < size && iterator.hasNext()) {
+					chunk.add(iterator.next());
+				}
+				return chunk;
+			}
+		};
+	}
+
+	/**
+	 * 惰性滑动窗口，每个窗口为包含size个连续元素的新列表，相邻窗口的起始位置相差step个元素<br>
+	 * 只返回完整的窗口，元素不足size个时没有窗口；同时只保留一个窗口的元素
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterator {@link Iterator}
+	 * @param size 窗口大小
+	 * @param step 步长，大于size时窗口之间的元素被跳过
+	 * @return 窗口的{@link Iterator}
+	 */
+	public static <T> Iterator<List<T>> window(final Iterator<T> iterator, final int size, final int step) {
+		if (size < 1 || step < 1) {
+			throw new IllegalArgumentException("Window size and step must be positive: " + size + ", " + step);
+		}
+		return new ComputeIterator<List<T>>() {
+			private final List<T> buffer = new ArrayList<>(size);
+			private boolean started;
+
+			@Override
+			protected List<T> computeNext() {
+				if (started) {
+					// 移出上一个窗口的前step个元素，step大于size时再跳过多出的元素
+					final int fromBuffer = Math.min(step, buffer.size());
+					buffer.subList(0, fromBuffer).clear();
+					for (int i = fromBuffer; i < step; i++) {
+						if (false == iterator.hasNext()) {
+							return endOfData();
+						}
+						iterator.next();
+					}
+				}
+				started = true;
+				while (buffer.size() < size) {
+					if (false == iterator.hasNext()) {
+						return endOfData();
+					}
+					buffer.add(iterator.next());
+				}
+				return new ArrayList<>(buffer);
+			}
+		};
+	}
 }
@@ -0,0 +1,260 @@
+package com.ghostsf.atool.collection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import com.ghostsf.atool.lang.Editor;
+import com.ghostsf.atool.lang.Filter;
+import com.ghostsf.atool.lang.Func1;
+
+/**
+ * 惰性处理链<br>
+ * 每个中间步骤只记录处理方式并返回新的{@link LazyIterable}，在遍历或调用终止方法（如{@link #toList()}）时才逐个元素执行，不产生中间集合。<br>
+ * 每次遍历都会重新调用源{@link Iterable}的iterator方法，因此源可重复遍历时处理链也可重复遍历。
+ * 
+ * <pre>
+ * List&lt;List&lt;String&gt;&gt; batches = LazyIterable.of(lines).filter(notBlank).distinct().chunk(1000).toList();
+ * </pre>
+ * 
+ * @author ghostsf
+ *
+ * @param <T> 元素类型
+ * @see IterUtil#lazy(Iterable)
+ */
+public abstract class LazyIterable<T> implements Iterable<T> {
+
+	/**
+	 * 创建惰性处理链
+	 * 
+	 * @param <T> 元素类型
+	 * @param iterable 源
+	 * @return {@link LazyIterable}
+	 */
+	public static <T> LazyIterable<T> of(final Iterable<T> iterable) {
+		if (iterable instanceof LazyIterable) {
+			return (LazyIterable<T>) iterable;
+		}
+		return new LazyIterable<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return iterable.iterator();
+			}
+		};
+	}
+
+	// ------------------------------------------------------------------------------------------------- Intermediate
+	/**
+	 * 过滤
+	 * 
+	 * @param filter 过滤器
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#filter(Iterator, Filter)
+	 */
+	public LazyIterable<T> filter(final Filter<T> filter) {
+		return new LazyIterable<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return IterUtil.filter(LazyIterable.this.iterator(), filter);
+			}
+		};
+	}
+
+	/**
+	 * 编辑，编辑结果为<code>null</code>的元素被抛弃
+	 * 
+	 * @param editor 编辑器
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#edit(Iterator, Editor)
+	 */
+	public LazyIterable<T> edit(final Editor<T> editor) {
+		return new LazyIterable<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return IterUtil.edit(LazyIterable.this.iterator(), editor);
+			}
+		};
+	}
+
+	/**
+	 * 转换
+	 * 
+	 * @param <R> 转换后的元素类型
+	 * @param func 转换函数
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#map(Iterator, Func1)
+	 */
+	public <R> LazyIterable<R> map(final Func1<T, R> func) {
+		return new LazyIterable<R>() {
+			@Override
+			public Iterator<R> iterator() {
+				return IterUtil.map(LazyIterable.this.iterator(), func);
+			}
+		};
+	}
+
+	/**
+	 * 展开
+	 * 
+	 * @param <R> 展开后的元素类型
+	 * @param func 转换函数，将一个元素转换为多个元素
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#flatMap(Iterator, Func1)
+	 */
+	public <R> LazyIterable<R> flatMap(final Func1<T, ? extends Iterable<? extends R>> func) {
+		return new LazyIterable<R>() {
+			@Override
+			public Iterator<R> iterator() {
+				return IterUtil.flatMap(LazyIterable.this.iterator(), func);
+			}
+		};
+	}
+
+	/**
+	 * 最多取前maxSize个元素
+	 * 
+	 * @param maxSize 最多取的元素个数
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#limit(Iterator, long)
+	 */
+	public LazyIterable<T> limit(final long maxSize) {
+		return new LazyIterable<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return IterUtil.limit(LazyIterable.this.iterator(), maxSize);
+			}
+		};
+	}
+
+	/**
+	 * 跳过前n个元素
+	 * 
+	 * @param n 跳过的元素个数
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#skip(Iterator, long)
+	 */
+	public LazyIterable<T> skip(final long n) {
+		return new LazyIterable<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return IterUtil.skip(LazyIterable.this.iterator(), n);
+			}
+		};
+	}
+
+	/**
+	 * 去重，保留元素第一次出现的顺序
+	 * 
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#distinct(Iterator)
+	 */
+	public LazyIterable<T> distinct() {
+		return new LazyIterable<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return IterUtil.distinct(LazyIterable.this.iterator());
+			}
+		};
+	}
+
+	/**
+	 * 分块，每size个元素组成一个列表
+	 * 
+	 * @param size 每块的元素个数
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#chunk(Iterator, int)
+	 */
+	public LazyIterable<List<T>> chunk(final int size) {
+		return new LazyIterable<List<T>>() {
+			@Override
+			public Iterator<List<T>> iterator() {
+				return IterUtil.chunk(LazyIterable.this.iterator(), size);
+			}
+		};
+	}
+
+	/**
+	 * 滑动窗口
+	 * 
+	 * @param size 窗口大小
+	 * @param step 步长
+	 * @return 新的{@link LazyIterable}
+	 * @see IterUtil#window(Iterator, int, int)
+	 */
+	public LazyIterable<List<T>> window(final int size, final int step) {
+		return new LazyIterable<List<T>>() {
+			@Override
+			public Iterator<List<T>> iterator() {
+				return IterUtil.window(LazyIterable.this.iterator(), size, step);
+			}
+		};
+	}
+
+	// ------------------------------------------------------------------------------------------------- Terminal
+	/**
+	 * 执行处理链，结果放入新列表
+	 * 
+	 * @return 结果列表
+	 */
+	public List<T> toList() {
+		return into(new ArrayList<T>());
+	}
+
+	/**
+	 * 执行处理链，结果加入指定集合
+	 * 
+	 * @param <C> 集合类型
+	 * @param collection 集合
+	 * @return 传入的集合
+	 */
+	public <C extends Collection<? super T>> C into(C collection) {
+		for (T t : this) {
+			collection.add(t);
+		}
+		return collection;
+	}
+
+	/**
+	 * 执行处理链，逐个处理元素，不保留结果
+	 * 
+	 * @param consumer 元素处理器，index为元素位置
+	 */
+	public void forEach(CollUtil.Consumer<T> consumer) {
+		CollUtil.forEach(iterator(), consumer);
+	}
+
+	/**
+	 * 第一个元素，只计算到第一个元素为止
+	 * 
+	 * @return 第一个元素，没有元素返回<code>null</code>
+	 */
+	public T first() {
+		return IterUtil.getFirst(iterator());
+	}
+
+	/**
+	 * 元素个数，会遍历全部元素
+	 * 
+	 * @return 元素个数
+	 */
+	public long count() {
+		long count = 0;
+		final Iterator<T> iterator = iterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 以 conjunction 为分隔符将元素转换为字符串
+	 * 
+	 * @param conjunction 分隔符
+	 * @return 连接后的字符串
+	 */
+	public String join(CharSequence conjunction) {
+		return IterUtil.join(iterator(), conjunction);
+	}
+}
@@ -0,0 +1,170 @@
+package com.ghostsf.atool.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 以long分数排序的Top-K堆，保留分数最高的k个元素<br>
+ * 分数和元素分别存放在long数组和Object数组中，比较分数时不装箱，也不需要元素实现{@link Comparable}。<br>
+ * 分数相同时先加入的元素优先保留。此类非线程安全，并发场景见{@link LongTopKCollector}。
+ *
+ * @author ghostsf
+ *
+ * @param <T> 元素类型
+ */
+public class LongTopKHeap<T> {
+
+	private final int k;
+	private final long[] scores;
+	private final Object[] payloads;
+	private int size;
+
+	/**
+	 * 构造
+	 *
+	 * @param k 保留的元素个数
+	 */
+	public LongTopKHeap(int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("K must be positive: " + k);
+		}
+		this.k = k;
+		this.scores = new long[k];
+		this.payloads = new Object[k];
+	}
+
+	/**
+	 * 加入元素
+	 *
+	 * @param score 分数
+	 * @param payload 元素
+	 * @return 元素是否进入Top-K
+	 */
+	public boolean offer(long score, T payload) {
+		if (size < k) {
+			siftUp(size++, score, payload);
+			return true;
+		}
+		if (score <= scores[0]) {
+			return false;
+		}
+		siftDown(0, score, payload);
+		return true;
+	}
+
+	/**
+	 * 合并另一个堆的元素
+	 *
+	 * @param other 另一个堆
+	 * @return this
+	 */
+	@SuppressWarnings("unchecked")
+	public LongTopKHeap<T> merge(LongTopKHeap<? extends T> other) {
+		for (int i = 0; i < other.size; i++) {
+			offer(other.scores[i], (T) other.payloads[i]);
+		}
+		return this;
+	}
+
+	/**
+	 * 当前保留的最低分数，即进入Top-K的门槛
+	 *
+	 * @return 最低分数，为空时返回{@link Long#MIN_VALUE}
+	 */
+	public long minScore() {
+		return (0 == size) ? Long.MIN_VALUE : scores[0];
+	}
+
+	/**
+	 * 当前保留的元素个数
+	 *
+	 * @return 元素个数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 按分数从高到低返回保留的元素，不改变堆
+	 *
+	 * @return 元素列表
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> toList() {
+		final Object[] sorted = new Object[size];
+		sortInto(null, sorted);
+		final List<T> list = new ArrayList<>(size);
+		for (Object payload : sorted) {
+			list.add((T) payload);
+		}
+		return list;
+	}
+
+	/**
+	 * 按从高到低的顺序返回保留的分数，与{@link #toList()}的元素一一对应
+	 *
+	 * @return 分数数组
+	 */
+	public long[] toScoreArray() {
+		final long[] sorted = new long[size];
+		sortInto(sorted, null);
+		return sorted;
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 在副本上依次弹出堆顶，按从高到低的顺序填充
+	 */
+	private void sortInto(long[] sortedScores, Object[] sortedPayloads) {
+		final LongTopKHeap<Object> copy = new LongTopKHeap<>(k);
+		System.arraycopy(scores, 0, copy.scores, 0, size);
+		System.arraycopy(payloads, 0, copy.payloads, 0, size);
+		copy.size = size;
+		for (int i = size - 1; i >= 0; i--) {
+			if (null != sortedScores) {
+				sortedScores[i] = copy.scores[0];
+			}
+			if (null != sortedPayloads) {
+				sortedPayloads[i] = copy.payloads[0];
+			}
+			copy.size--;
+			if (copy.size > 0) {
+				copy.siftDown(0, copy.scores[copy.size], copy.payloads[copy.size]);
+			}
+		}
+	}
+
+	private void siftUp(int index, long score, Object payload) {
+		int parent;
+		while (index > 0) {
+			parent = (index - 1) >>> 1;
+			if (score >= scores[parent]) {
+				break;
+			}
+			scores[index] = scores[parent];
+			payloads[index] = payloads[parent];
+			index = parent;
+		}
+		scores[index] = score;
+		payloads[index] = payload;
+	}
+
+	private void siftDown(int index, long score, Object payload) {
+		final int half = size >>> 1;
+		int child;
+		while (index < half) {
+			child = (index << 1) + 1;
+			if (child + 1 < size && scores[child + 1] < scores[child]) {
+				child++;
+			}
+			if (score <= scores[child]) {
+				break;
+			}
+			scores[index] = scores[child];
+			payloads[index] = payloads[child];
+			index = child;
+		}
+		scores[index] = score;
+		payloads[index] = payload;
+	}
+}
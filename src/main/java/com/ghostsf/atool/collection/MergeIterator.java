@@ -0,0 +1,170 @@
+package com.ghostsf.atool.collection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * 多路归并迭代器<br>
+ * 将多个已按同一比较器升序排列的迭代器合并为一个有序迭代器，每次取值只从堆中取出当前最小的一路，时间为O(log k)。<br>
+ * 合并是惰性的，只读取实际取出的元素，适用于只需要前几页数据的场景。<br>
+ * 相等的元素先返回靠前的一路，与将各路依次拼接后稳定排序的结果一致。
+ * 
+ * @author ghostsf
+ *
+ * @param <E> 元素类型
+ */
+public class MergeIterator<E> implements Iterator<E> {
+
+	/** 按当前元素排列的各路游标 */
+	private final PriorityQueue<Cursor<E>> queue;
+
+	/**
+	 * 构造
+	 * 
+	 * @param comparator 比较器，<code>null</code>表示使用元素的自然顺序
+	 * @param iterators 已排序的迭代器
+	 */
+	@SafeVarargs
+	public MergeIterator(Comparator<? super E> comparator, Iterator<? extends E>... iterators) {
+		this.queue = newQueue(comparator, iterators.length);
+		for (int i = 0; i < iterators.length; i++) {
+			addCursor(iterators[i], i);
+		}
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param comparator 比较器，<code>null</code>表示使用元素的自然顺序
+	 * @param iterators 已排序的迭代器
+	 */
+	public MergeIterator(Comparator<? super E> comparator, List<? extends Iterator<? extends E>> iterators) {
+		this.queue = newQueue(comparator, iterators.size());
+		for (int i = 0; i < iterators.size(); i++) {
+			addCursor(iterators.get(i), i);
+		}
+	}
+
+	/**
+	 * 合并多个已排序的集合
+	 * 
+	 * @param <E> 元素类型
+	 * @param comparator 比较器，<code>null</code>表示使用元素的自然顺序
+	 * @param iterables 已排序的集合
+	 * @return {@link MergeIterator}
+	 */
+	@SafeVarargs
+	public static <E> MergeIterator<E> of(Comparator<? super E> comparator, Iterable<? extends E>... iterables) {
+		final List<Iterator<? extends E>> iterators = new ArrayList<>(iterables.length);
+		for (Iterable<? extends E> iterable : iterables) {
+			iterators.add(iterable.iterator());
+		}
+		return new MergeIterator<>(comparator, iterators);
+	}
+
+	/**
+	 * 创建按当前元素排列游标的堆，相等元素按路数排序
+	 * 
+	 * @param <E> 元素类型
+	 * @param comparator 比较器，<code>null</code>表示使用元素的自然顺序
+	 * @param size 路数
+	 * @return 堆
+	 */
+	private static <E> PriorityQueue<Cursor<E>> newQueue(final Comparator<? super E> comparator, int size) {
+		return new PriorityQueue<>(Math.max(1, size), new Comparator<Cursor<E>>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public int compare(Cursor<E> c1, Cursor<E> c2) {
+				final int result = (null == comparator) ? ((Comparable<? super E>) c1.head).compareTo(c2.head) : comparator.compare(c1.head, c2.head);
+				return (0 != result) ? result : Integer.compare(c1.index, c2.index);
+			}
+		});
+	}
+
+	/**
+	 * 加入一路迭代器，迭代器为空时忽略
+	 * 
+	 * @param iterator 迭代器
+	 * @param index 路数
+	 */
+	private void addCursor(Iterator<? extends E> iterator, int index) {
+		final Cursor<E> cursor = new Cursor<E>(iterator, index);
+		if (cursor.advance()) {
+			queue.add(cursor);
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return false == queue.isEmpty();
+	}
+
+	@Override
+	public E next() {
+		final Cursor<E> cursor = queue.poll();
+		if (null == cursor) {
+			throw new NoSuchElementException();
+		}
+		final E result = cursor.head;
+		if (cursor.advance()) {
+			queue.add(cursor);
+		}
+		return result;
+	}
+
+	/**
+	 * 跳过指定个数的元素
+	 * 
+	 * @param n 跳过的个数
+	 * @return 实际跳过的个数，元素不足时小于n
+	 */
+	public int skip(int n) {
+		int skipped = 0;
+		while (skipped < n && hasNext()) {
+			next();
+			skipped++;
+		}
+		return skipped;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove");
+	}
+
+	/**
+	 * 一路迭代器的游标，保存当前元素
+	 * 
+	 * @param <E> 元素类型
+	 */
+	private static class Cursor<E> {
+		private final Iterator<? extends E> iterator;
+		/** 所在的路数，相等元素按此排序 */
+		private final int index;
+		/** 当前元素 */
+		private E head;
+
+		Cursor(Iterator<? extends E> iterator, int index) {
+			this.iterator = iterator;
+			this.index = index;
+		}
+
+		/**
+		 * 读取下一个元素作为当前元素
+		 * 
+		 * @return 是否还有元素
+		 */
+		boolean advance() {
+			if (iterator.hasNext()) {
+				head = iterator.next();
+				return true;
+			}
+			head = null;
+			return false;
+		}
+	}
+}
@@ -0,0 +1,409 @@
+package com.ghostsf.atool.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import com.ghostsf.atool.collection.CollUtil.Hash;
+import com.ghostsf.atool.lang.Editor;
+import com.ghostsf.atool.lang.Func1;
+
+/**
+ * 集合的并行操作工具类<br>
+ * 将集合拆分为多个分块，在{@link ForkJoinPool}中分别计算每个分块的部分结果，再按分块顺序合并。<br>
+ * 元素个数小于阈值时直接使用{@link CollUtil}中对应的顺序方法，各方法的结果与顺序方法一致。<br>
+ * 传入的{@link Hash}、{@link Editor}、{@link Func1}会被多个线程同时调用，必须是无状态或线程安全的。
+ * 
+ * @author ghostsf
+ *
+ */
+public class ParallelCollUtil {
+
+	/** 默认阈值，元素个数小于此值时使用顺序方法 */
+	public static final int DEFAULT_THRESHOLD = 10000;
+	/** 最小分块大小，避免任务过小时调度开销超过计算本身 */
+	private static final int MIN_CHUNK_SIZE = 1024;
+
+	/**
+	 * 并行计算元素计数的{@link Map}，结果与{@link CollUtil#countMap(Iterable)}一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param collection 集合，如果为null返回一个空的Map
+	 * @return {@link Map}
+	 */
+	public static <T> Map<T, Integer> countMap(Collection<T> collection) {
+		return countMap(collection, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * 并行计算元素计数的{@link Map}，结果与{@link CollUtil#countMap(Iterable)}一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param collection 集合，如果为null返回一个空的Map
+	 * @param threshold 阈值，元素个数小于此值时使用顺序方法
+	 * @return {@link Map}
+	 */
+	public static <T> Map<T, Integer> countMap(Collection<T> collection, int threshold) {
+		if (null == collection || collection.size() < threshold) {
+			return CollUtil.countMap(collection);
+		}
+		return invoke(collection.toArray(), new ChunkReducer<Map<T, Integer>>() {
+			@Override
+			public Map<T, Integer> reduce(Object[] array, int from, int to) {
+				return CollUtil.countMap(ParallelCollUtil.<T>chunk(array, from, to));
+			}
+
+			@Override
+			public Map<T, Integer> merge(Map<T, Integer> left, Map<T, Integer> right) {
+				Integer count;
+				for (Entry<T, Integer> entry : right.entrySet()) {
+					count = left.get(entry.getKey());
+					left.put(entry.getKey(), (null == count) ? entry.getValue() : count + entry.getValue());
+				}
+				return left;
+			}
+		});
+	}
+
+	/**
+	 * 并行去重集合，保留元素第一次出现的顺序，结果与{@link CollUtil#distinct(Collection)}一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param collection 集合
+	 * @return {@link ArrayList}
+	 */
+	public static <T> ArrayList<T> distinct(Collection<T> collection) {
+		return distinct(collection, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * 并行去重集合，保留元素第一次出现的顺序，结果与{@link CollUtil#distinct(Collection)}一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param collection 集合
+	 * @param threshold 阈值，元素个数小于此值时使用顺序方法
+	 * @return {@link ArrayList}
+	 */
+	public static <T> ArrayList<T> distinct(Collection<T> collection, int threshold) {
+		if (null == collection || collection.size() < threshold || collection instanceof Set) {
+			return CollUtil.distinct(collection);
+		}
+		return new ArrayList<>(invoke(collection.toArray(), new ChunkReducer<LinkedHashSet<T>>() {
+			@Override
+			public LinkedHashSet<T> reduce(Object[] array, int from, int to) {
+				return new LinkedHashSet<>(ParallelCollUtil.<T>chunk(array, from, to));
+			}
+
+			@Override
+			public LinkedHashSet<T> merge(LinkedHashSet<T> left, LinkedHashSet<T> right) {
+				// 左侧分块在前，已存在的元素保持原位置
+				left.addAll(right);
+				return left;
+			}
+		}));
+	}
+
+	/**
+	 * 并行分组，结果与{@link CollUtil#group(Collection, Hash)}一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param collection 被分组的集合
+	 * @param hash Hash值算法，决定元素放在第几个分组的规则，必须是无状态或线程安全的
+	 * @return 分组后的集合
+	 */
+	public static <T> List<List<T>> group(Collection<T> collection, Hash<T> hash) {
+		return group(collection, hash, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * 并行分组，结果与{@link CollUtil#group(Collection, Hash)}一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param collection 被分组的集合
+	 * @param hash Hash值算法，决定元素放在第几个分组的规则，必须是无状态或线程安全的
+	 * @param threshold 阈值，元素个数小于此值时使用顺序方法
+	 * @return 分组后的集合
+	 */
+	public static <T> List<List<T>> group(Collection<T> collection, final Hash<T> hash, int threshold) {
+		if (null == collection || collection.size() < threshold) {
+			return CollUtil.group(collection, hash);
+		}
+		return invoke(collection.toArray(), new ChunkReducer<List<List<T>>>() {
+			@Override
+			public List<List<T>> reduce(Object[] array, int from, int to) {
+				return CollUtil.group(ParallelCollUtil.<T>chunk(array, from, to), hash);
+			}
+
+			@Override
+			public List<List<T>> merge(List<List<T>> left, List<List<T>> right) {
+				List<T> leftGroup;
+				List<T> rightGroup;
+				for (int i = 0; i < right.size(); i++) {
+					rightGroup = right.get(i);
+					if (i >= left.size()) {
+						left.add(rightGroup);
+					} else if (null != rightGroup) {
+						leftGroup = left.get(i);
+						if (null == leftGroup) {
+							left.set(i, rightGroup);
+						} else {
+							leftGroup.addAll(rightGroup);
+						}
+					}
+				}
+				return left;
+			}
+		});
+	}
+
+	/**
+	 * 并行行转列，合并相同的键，值合并为列表，结果与{@link CollUtil#toListMap(Iterable)}一致
+	 * 
+	 * @param <K> 键类型
+	 * @param <V> 值类型
+	 * @param mapList Map列表
+	 * @return Map
+	 */
+	public static <K, V> Map<K, List<V>> toListMap(Collection<? extends Map<K, V>> mapList) {
+		return toListMap(mapList, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * 并行行转列，合并相同的键，值合并为列表，结果与{@link CollUtil#toListMap(Iterable)}一致
+	 * 
+	 * @param <K> 键类型
+	 * @param <V> 值类型
+	 * @param mapList Map列表
+	 * @param threshold 阈值，元素个数小于此值时使用顺序方法
+	 * @return Map
+	 */
+	public static <K, V> Map<K, List<V>> toListMap(Collection<? extends Map<K, V>> mapList, int threshold) {
+		if (null == mapList || mapList.size() < threshold) {
+			return CollUtil.toListMap(mapList);
+		}
+		return invoke(mapList.toArray(), new ChunkReducer<Map<K, List<V>>>() {
+			@Override
+			public Map<K, List<V>> reduce(Object[] array, int from, int to) {
+				return CollUtil.toListMap(ParallelCollUtil.<Map<K, V>>chunk(array, from, to));
+			}
+
+			@Override
+			public Map<K, List<V>> merge(Map<K, List<V>> left, Map<K, List<V>> right) {
+				List<V> valueList;
+				for (Entry<K, List<V>> entry : right.entrySet()) {
+					valueList = left.get(entry.getKey());
+					if (null == valueList) {
+						left.put(entry.getKey(), entry.getValue());
+					} else {
+						valueList.addAll(entry.getValue());
+					}
+				}
+				return left;
+			}
+		});
+	}
+
+	/**
+	 * 并行通过Editor抽取集合元素中的某些值返回为新列表，结果与{@link CollUtil#extract(Iterable, Editor)}一致
+	 * 
+	 * @param collection 原集合
+	 * @param editor 编辑器，必须是无状态或线程安全的
+	 * @return 抽取后的新列表
+	 */
+	public static List<Object> extract(Collection<?> collection, Editor<Object> editor) {
+		return extract(collection, editor, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * 并行通过Editor抽取集合元素中的某些值返回为新列表，结果与{@link CollUtil#extract(Iterable, Editor)}一致
+	 * 
+	 * @param collection 原集合
+	 * @param editor 编辑器，必须是无状态或线程安全的
+	 * @param threshold 阈值，元素个数小于此值时使用顺序方法
+	 * @return 抽取后的新列表
+	 */
+	public static List<Object> extract(Collection<?> collection, final Editor<Object> editor, int threshold) {
+		if (null == collection || collection.size() < threshold) {
+			return CollUtil.extract(collection, editor);
+		}
+		// 各分块直接写入结果数组中对应的位置，无需合并
+		final Object[] result = collection.toArray();
+		invoke(result, new ChunkReducer<Void>() {
+			@Override
+			public Void reduce(Object[] array, int from, int to) {
+				for (int i = from; i < to; i++) {
+					array[i] = editor.edit(array[i]);
+				}
+				return null;
+			}
+
+			@Override
+			public Void merge(Void left, Void right) {
+				return null;
+			}
+		});
+		return new ArrayList<>(Arrays.asList(result));
+	}
+
+	/**
+	 * 并行将集合中的每个元素转换为新值，结果列表与原集合的迭代顺序一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param <R> 结果元素类型
+	 * @param collection 原集合
+	 * @param func 转换函数，必须是无状态或线程安全的
+	 * @return 转换后的新列表，原集合为null时返回空列表
+	 */
+	public static <T, R> List<R> map(Collection<T> collection, Func1<? super T, ? extends R> func) {
+		return map(collection, func, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * 并行将集合中的每个元素转换为新值，结果列表与原集合的迭代顺序一致
+	 * 
+	 * @param <T> 集合元素类型
+	 * @param <R> 结果元素类型
+	 * @param collection 原集合
+	 * @param func 转换函数，必须是无状态或线程安全的
+	 * @param threshold 阈值，元素个数小于此值时顺序执行
+	 * @return 转换后的新列表，原集合为null时返回空列表
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, R> List<R> map(Collection<T> collection, final Func1<? super T, ? extends R> func, int threshold) {
+		if (null == collection) {
+			return new ArrayList<>();
+		}
+		if (collection.size() < threshold) {
+			final List<R> list = new ArrayList<>(collection.size());
+			for (T t : collection) {
+				list.add(func.call(t));
+			}
+			return list;
+		}
+		// 各分块直接写入结果数组中对应的位置，无需合并
+		final Object[] result = collection.toArray();
+		invoke(result, new ChunkReducer<Void>() {
+			@Override
+			public Void reduce(Object[] array, int from, int to) {
+				for (int i = from; i < to; i++) {
+					array[i] = func.call((T) array[i]);
+				}
+				return null;
+			}
+
+			@Override
+			public Void merge(Void left, Void right) {
+				return null;
+			}
+		});
+		return new ArrayList<>((List<R>) Arrays.asList(result));
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 执行分块任务，当前线程已在{@link ForkJoinPool}中时直接在当前池中执行
+	 * 
+	 * @param <R> 结果类型
+	 * @param array 元素数组
+	 * @param reducer 分块计算及合并规则
+	 * @return 结果
+	 */
+	private static <R> R invoke(Object[] array, ChunkReducer<R> reducer) {
+		final ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? null : PoolHolder.POOL;
+		final int parallelism = (null == pool) ? ForkJoinTask.getPool().getParallelism() : pool.getParallelism();
+		final int chunkSize = Math.max(MIN_CHUNK_SIZE, array.length / (parallelism * 4) + 1);
+		final ChunkTask<R> task = new ChunkTask<>(array, 0, array.length, chunkSize, reducer);
+		return (null == pool) ? task.invoke() : pool.invoke(task);
+	}
+
+	/**
+	 * 数组中一个分块的视图，不复制元素
+	 * 
+	 * @param <T> 元素类型
+	 * @param array 元素数组
+	 * @param from 开始位置（包含）
+	 * @param to 结束位置（不包含）
+	 * @return 分块视图
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> chunk(Object[] array, int from, int to) {
+		return (List<T>) Arrays.asList(array).subList(from, to);
+	}
+
+	/**
+	 * 共享的{@link ForkJoinPool}，首次使用时创建，并行度为CPU核数，工作线程为守护线程
+	 */
+	private static class PoolHolder {
+		static final ForkJoinPool POOL = new ForkJoinPool();
+	}
+
+	/**
+	 * 分块计算及合并规则
+	 * 
+	 * @param <R> 结果类型
+	 */
+	private static interface ChunkReducer<R> {
+		/**
+		 * 计算一个分块的部分结果
+		 * 
+		 * @param array 元素数组
+		 * @param from 开始位置（包含）
+		 * @param to 结束位置（不包含）
+		 * @return 部分结果
+		 */
+		R reduce(Object[] array, int from, int to);
+
+		/**
+		 * 合并相邻两个分块的部分结果，可以修改并返回左侧结果
+		 * 
+		 * @param left 左侧（靠前）分块的结果
+		 * @param right 右侧（靠后）分块的结果
+		 * @return 合并后的结果
+		 */
+		R merge(R left, R right);
+	}
+
+	/**
+	 * 二分拆分的分块任务
+	 * 
+	 * @param <R> 结果类型
+	 */
+	private static class ChunkTask<R> extends RecursiveTask<R> {
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] array;
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+		private final ChunkReducer<R> reducer;
+
+		ChunkTask(Object[] array, int from, int to, int chunkSize, ChunkReducer<R> reducer) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.reducer = reducer;
+		}
+
+		@Override
+		protected R compute() {
+			if (to - from <= chunkSize) {
+				return reducer.reduce(array, from, to);
+			}
+			final int middle = (from + to) >>> 1;
+			final ChunkTask<R> left = new ChunkTask<>(array, from, middle, chunkSize, reducer);
+			left.fork();
+			final R rightResult = new ChunkTask<>(array, middle, to, chunkSize, reducer).compute();
+			return reducer.merge(left.join(), rightResult);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.ghostsf.atool.collection;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 并发Top-K收集器，多个线程可同时加入元素，保留按比较器排序最大的k个元素
+ *
+ * <pre>
+ * TopKCollector&lt;Item&gt; collector = new TopKCollector&lt;&gt;(100, comparator);
+ * // 多个线程中
+ * collector.offer(item);
+ * // 所有线程完成后
+ * List&lt;Item&gt; top = collector.toList();
+ * </pre>
+ *
+ * @author ghostsf
+ *
+ * @param <E> 元素类型
+ */
+public class TopKCollector<E> extends AbstractTopKCollector<TopKHeap<E>> {
+
+	private final Comparator<? super E> comparator;
+
+	/**
+	 * 构造，使用元素的自然顺序
+	 *
+	 * @param k 保留的元素个数
+	 */
+	public TopKCollector(int k) {
+		this(k, null);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param k 保留的元素个数
+	 * @param comparator 比较器，<code>null</code>表示使用元素的自然顺序
+	 */
+	public TopKCollector(int k, Comparator<? super E> comparator) {
+		super(k);
+		this.comparator = comparator;
+	}
+
+	/**
+	 * 加入元素
+	 *
+	 * @param e 元素
+	 * @return 元素是否进入当前线程的局部Top-K
+	 */
+	public boolean offer(E e) {
+		final TopKHeap<E> heap = localHeap();
+		synchronized (heap) {
+			return heap.offer(e);
+		}
+	}
+
+	/**
+	 * 合并所有线程的结果，按从大到小的顺序返回
+	 *
+	 * @return 元素列表
+	 */
+	public List<E> toList() {
+		return result().toList();
+	}
+
+	@Override
+	protected TopKHeap<E> newHeap() {
+		return new TopKHeap<>(k, comparator);
+	}
+
+	@Override
+	protected void mergeInto(TopKHeap<E> target, TopKHeap<E> source) {
+		target.merge(source);
+	}
+}
@@ -0,0 +1,201 @@
+package com.ghostsf.atool.collection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 固定容量的Top-K堆，保留按比较器排序最大的k个元素<br>
+ * 使用数组实现的小顶堆，堆顶为当前k个元素中最小的一个，新元素不大于堆顶时直接丢弃，无需额外的包装比较器。<br>
+ * 多个堆可通过{@link #merge(TopKHeap)}合并，用于分段计算后汇总。此类非线程安全，并发场景见{@link TopKCollector}。<br>
+ * 需要保留最小的k个元素时，传入反转的比较器即可。
+ *
+ * @author ghostsf
+ *
+ * @param <E> 元素类型
+ */
+public class TopKHeap<E> {
+
+	private final int k;
+	private final Comparator<? super E> comparator;
+	private final Object[] heap;
+	private int size;
+
+	/**
+	 * 构造，使用元素的自然顺序
+	 *
+	 * @param k 保留的元素个数
+	 */
+	public TopKHeap(int k) {
+		this(k, null);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param k 保留的元素个数
+	 * @param comparator 比较器，<code>null</code>表示使用元素的自然顺序
+	 */
+	public TopKHeap(int k, Comparator<? super E> comparator) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("K must be positive: " + k);
+		}
+		this.k = k;
+		this.comparator = comparator;
+		this.heap = new Object[k];
+	}
+
+	/**
+	 * 加入元素
+	 *
+	 * @param e 元素
+	 * @return 元素是否进入Top-K
+	 */
+	public boolean offer(E e) {
+		if (size < k) {
+			heap[size] = e;
+			siftUp(size++);
+			return true;
+		}
+		if (compare(e, elementAt(0)) <= 0) {
+			return false;
+		}
+		heap[0] = e;
+		siftDown(0);
+		return true;
+	}
+
+	/**
+	 * 加入多个元素
+	 *
+	 * @param elements 元素
+	 * @return this
+	 */
+	public TopKHeap<E> offerAll(Iterable<? extends E> elements) {
+		for (E e : elements) {
+			offer(e);
+		}
+		return this;
+	}
+
+	/**
+	 * 合并另一个堆的元素
+	 *
+	 * @param other 另一个堆
+	 * @return this
+	 */
+	public TopKHeap<E> merge(TopKHeap<? extends E> other) {
+		for (int i = 0; i < other.size; i++) {
+			offer(other.elementAt(i));
+		}
+		return this;
+	}
+
+	/**
+	 * 当前保留的元素中最小的一个，即进入Top-K的门槛
+	 *
+	 * @return 最小元素，为空时返回<code>null</code>
+	 */
+	public E peekMin() {
+		return (0 == size) ? null : elementAt(0);
+	}
+
+	/**
+	 * 当前保留的元素个数
+	 *
+	 * @return 元素个数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 获得保留的元素个数上限
+	 *
+	 * @return k
+	 */
+	public int getK() {
+		return k;
+	}
+
+	/**
+	 * 按从大到小的顺序返回保留的元素，不改变堆
+	 *
+	 * @return 元素列表
+	 */
+	public List<E> toList() {
+		final TopKHeap<E> copy = new TopKHeap<>(k, comparator);
+		System.arraycopy(heap, 0, copy.heap, 0, size);
+		copy.size = size;
+		// 依次弹出堆顶（当前最小）放在末尾
+		final Object[] sorted = new Object[size];
+		for (int i = size - 1; i >= 0; i--) {
+			sorted[i] = copy.poll();
+		}
+		final List<E> list = new ArrayList<>(size);
+		for (Object e : sorted) {
+			list.add(cast(e));
+		}
+		return list;
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private E poll() {
+		final E min = elementAt(0);
+		heap[0] = heap[--size];
+		heap[size] = null;
+		if (size > 0) {
+			siftDown(0);
+		}
+		return min;
+	}
+
+	private void siftUp(int index) {
+		final Object e = heap[index];
+		int parent;
+		while (index > 0) {
+			parent = (index - 1) >>> 1;
+			if (compare(cast(e), elementAt(parent)) >= 0) {
+				break;
+			}
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = e;
+	}
+
+	private void siftDown(int index) {
+		final Object e = heap[index];
+		final int half = size >>> 1;
+		int child;
+		while (index < half) {
+			child = (index << 1) + 1;
+			if (child + 1 < size && compare(elementAt(child + 1), elementAt(child)) < 0) {
+				child++;
+			}
+			if (compare(cast(e), elementAt(child)) <= 0) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = e;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compare(E e1, E e2) {
+		if (null != comparator) {
+			return comparator.compare(e1, e2);
+		}
+		return ((Comparable<? super E>) e1).compareTo(e2);
+	}
+
+	private E elementAt(int index) {
+		return cast(heap[index]);
+	}
+
+	@SuppressWarnings("unchecked")
+	private E cast(Object e) {
+		return (E) e;
+	}
+}
@@ -0,0 +1,366 @@
+package com.ghostsf.atool.collection.bitmap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * 数组容器，有序存放低16位，适用于稀疏的值，元素个数不超过{@link Container#ARRAY_MAX_SIZE}
+ * 
+ * @author ghostsf
+ *
+ */
+final class ArrayContainer extends Container {
+
+	/** 有序的值，只有前cardinality个有效 */
+	char[] content;
+	/** 元素个数 */
+	int cardinality;
+
+	/**
+	 * 构造
+	 * 
+	 * @param capacity 初始容量
+	 */
+	ArrayContainer(int capacity) {
+		this.content = new char[capacity];
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param content 有序的值
+	 * @param cardinality 元素个数
+	 */
+	ArrayContainer(char[] content, int cardinality) {
+		this.content = content;
+		this.cardinality = cardinality;
+	}
+
+	@Override
+	Container add(char x) {
+		int index = Arrays.binarySearch(content, 0, cardinality, x);
+		if (index >= 0) {
+			return this;
+		}
+		if (cardinality >= ARRAY_MAX_SIZE) {
+			return toBitmap().add(x);
+		}
+		index = -index - 1;
+		if (cardinality == content.length) {
+			content = Arrays.copyOf(content, Math.min(ARRAY_MAX_SIZE, Math.max(4, cardinality + (cardinality >> 1))));
+		}
+		System.arraycopy(content, index, content, index + 1, cardinality - index);
+		content[index] = x;
+		cardinality++;
+		return this;
+	}
+
+	@Override
+	Container remove(char x) {
+		final int index = Arrays.binarySearch(content, 0, cardinality, x);
+		if (index >= 0) {
+			System.arraycopy(content, index + 1, content, index, cardinality - index - 1);
+			cardinality--;
+		}
+		return this;
+	}
+
+	@Override
+	boolean contains(char x) {
+		return Arrays.binarySearch(content, 0, cardinality, x) >= 0;
+	}
+
+	@Override
+	int cardinality() {
+		return cardinality;
+	}
+
+	@Override
+	Container and(Container other) {
+		if (other instanceof ArrayContainer) {
+			final ArrayContainer array = (ArrayContainer) other;
+			final char[] result = new char[Math.min(cardinality, array.cardinality)];
+			return new ArrayContainer(result, intersect(content, cardinality, array.content, array.cardinality, result));
+		}
+		// 位图和行程容器逐个判断
+		final char[] result = new char[cardinality];
+		int n = 0;
+		for (int i = 0; i < cardinality; i++) {
+			if (other.contains(content[i])) {
+				result[n++] = content[i];
+			}
+		}
+		return new ArrayContainer(result, n);
+	}
+
+	@Override
+	int andCardinality(Container other) {
+		if (other instanceof ArrayContainer) {
+			final ArrayContainer array = (ArrayContainer) other;
+			return intersect(content, cardinality, array.content, array.cardinality, null);
+		}
+		int n = 0;
+		for (int i = 0; i < cardinality; i++) {
+			if (other.contains(content[i])) {
+				n++;
+			}
+		}
+		return n;
+	}
+
+	@Override
+	Container or(Container other) {
+		if (false == (other instanceof ArrayContainer)) {
+			return other.or(this);
+		}
+		final ArrayContainer array = (ArrayContainer) other;
+		if (cardinality + array.cardinality <= ARRAY_MAX_SIZE) {
+			final char[] result = new char[cardinality + array.cardinality];
+			int i = 0;
+			int j = 0;
+			int n = 0;
+			while (i < cardinality && j < array.cardinality) {
+				if (content[i] < array.content[j]) {
+					result[n++] = content[i++];
+				} else if (content[i] > array.content[j]) {
+					result[n++] = array.content[j++];
+				} else {
+					result[n++] = content[i++];
+					j++;
+				}
+			}
+			while (i < cardinality) {
+				result[n++] = content[i++];
+			}
+			while (j < array.cardinality) {
+				result[n++] = array.content[j++];
+			}
+			return new ArrayContainer(result, n);
+		}
+		final BitmapContainer bitmap = toBitmap();
+		for (int k = 0; k < array.cardinality; k++) {
+			bitmap.set(array.content[k]);
+		}
+		return bitmap.toEfficient();
+	}
+
+	@Override
+	Container xor(Container other) {
+		if (other instanceof BitmapContainer) {
+			return other.xor(this);
+		}
+		if (other instanceof RunContainer) {
+			return xor(((RunContainer) other).toNatural());
+		}
+		final ArrayContainer array = (ArrayContainer) other;
+		if (cardinality + array.cardinality <= ARRAY_MAX_SIZE) {
+			final char[] result = new char[cardinality + array.cardinality];
+			int i = 0;
+			int j = 0;
+			int n = 0;
+			while (i < cardinality && j < array.cardinality) {
+				if (content[i] < array.content[j]) {
+					result[n++] = content[i++];
+				} else if (content[i] > array.content[j]) {
+					result[n++] = array.content[j++];
+				} else {
+					i++;
+					j++;
+				}
+			}
+			while (i < cardinality) {
+				result[n++] = content[i++];
+			}
+			while (j < array.cardinality) {
+				result[n++] = array.content[j++];
+			}
+			return new ArrayContainer(result, n);
+		}
+		final BitmapContainer bitmap = toBitmap();
+		for (int k = 0; k < array.cardinality; k++) {
+			bitmap.flip(array.content[k]);
+		}
+		return bitmap.toEfficient();
+	}
+
+	@Override
+	Container andNot(Container other) {
+		final char[] result = new char[cardinality];
+		int n = 0;
+		if (other instanceof ArrayContainer) {
+			final ArrayContainer array = (ArrayContainer) other;
+			int j = 0;
+			for (int i = 0; i < cardinality; i++) {
+				while (j < array.cardinality && array.content[j] < content[i]) {
+					j++;
+				}
+				if (j == array.cardinality || array.content[j] != content[i]) {
+					result[n++] = content[i];
+				}
+			}
+		} else {
+			for (int i = 0; i < cardinality; i++) {
+				if (false == other.contains(content[i])) {
+					result[n++] = content[i];
+				}
+			}
+		}
+		return new ArrayContainer(result, n);
+	}
+
+	@Override
+	Container copy() {
+		return new ArrayContainer(Arrays.copyOf(content, cardinality), cardinality);
+	}
+
+	@Override
+	Container runOptimize() {
+		final int runs = numberOfRuns();
+		if (RunContainer.serializedSize(runs) < serializedSize()) {
+			return RunContainer.fromArray(this, runs);
+		}
+		return this;
+	}
+
+	@Override
+	IntIterator iterator(final int high) {
+		return new IntIterator() {
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < cardinality;
+			}
+
+			@Override
+			public int next() {
+				if (index >= cardinality) {
+					throw new NoSuchElementException();
+				}
+				return high | content[index++];
+			}
+		};
+	}
+
+	@Override
+	int fill(int high, int[] out, int offset) {
+		for (int i = 0; i < cardinality; i++) {
+			out[offset++] = high | content[i];
+		}
+		return offset;
+	}
+
+	@Override
+	byte type() {
+		return TYPE_ARRAY;
+	}
+
+	@Override
+	int serializedSize() {
+		return 2 + 2 * cardinality;
+	}
+
+	@Override
+	void write(ByteBuffer buffer) {
+		buffer.putChar((char) cardinality);
+		for (int i = 0; i < cardinality; i++) {
+			buffer.putChar(content[i]);
+		}
+	}
+
+	/**
+	 * 反序列化
+	 * 
+	 * @param buffer 数据
+	 * @return 数组容器
+	 */
+	static ArrayContainer read(ByteBuffer buffer) {
+		final int cardinality = buffer.getChar();
+		final char[] content = new char[cardinality];
+		for (int i = 0; i < cardinality; i++) {
+			content[i] = buffer.getChar();
+		}
+		return new ArrayContainer(content, cardinality);
+	}
+
+	/**
+	 * 转为位图容器
+	 * 
+	 * @return 位图容器
+	 */
+	BitmapContainer toBitmap() {
+		final BitmapContainer bitmap = new BitmapContainer();
+		for (int i = 0; i < cardinality; i++) {
+			bitmap.set(content[i]);
+		}
+		return bitmap;
+	}
+
+	/**
+	 * 连续值组成的行程数
+	 * 
+	 * @return 行程数
+	 */
+	int numberOfRuns() {
+		int runs = 0;
+		for (int i = 0; i < cardinality; i++) {
+			if (0 == i || content[i] != content[i - 1] + 1) {
+				runs++;
+			}
+		}
+		return runs;
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 求两个有序数组的交集，一个数组远小于另一个时使用二分查找
+	 * 
+	 * @param a 数组a
+	 * @param na a的元素个数
+	 * @param b 数组b
+	 * @param nb b的元素个数
+	 * @param out 结果，为<code>null</code>时只计数
+	 * @return 交集的元素个数
+	 */
+	private static int intersect(char[] a, int na, char[] b, int nb, char[] out) {
+		if (na > nb) {
+			return intersect(b, nb, a, na, out);
+		}
+		int n = 0;
+		if (na * 32 < nb) {
+			int from = 0;
+			int index;
+			for (int i = 0; i < na && from < nb; i++) {
+				index = Arrays.binarySearch(b, from, nb, a[i]);
+				if (index >= 0) {
+					if (null != out) {
+						out[n] = a[i];
+					}
+					n++;
+					from = index + 1;
+				} else {
+					from = -index - 1;
+				}
+			}
+			return n;
+		}
+		int i = 0;
+		int j = 0;
+		while (i < na && j < nb) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				if (null != out) {
+					out[n] = a[i];
+				}
+				n++;
+				i++;
+				j++;
+			}
+		}
+		return n;
+	}
+}
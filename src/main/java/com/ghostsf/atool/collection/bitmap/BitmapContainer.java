@@ -0,0 +1,405 @@
+package com.ghostsf.atool.collection.bitmap;
+
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * 位图容器，使用1024个long表示全部65536个低16位值，适用于稠密的值，元素个数大于{@link Container#ARRAY_MAX_SIZE}
+ * 
+ * @author ghostsf
+ *
+ */
+final class BitmapContainer extends Container {
+
+	/** 字数 */
+	static final int WORDS = 1024;
+
+	/** 位 */
+	final long[] words;
+	/** 元素个数 */
+	int cardinality;
+
+	/**
+	 * 构造空位图
+	 */
+	BitmapContainer() {
+		this(new long[WORDS], 0);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param words 位
+	 * @param cardinality 元素个数
+	 */
+	BitmapContainer(long[] words, int cardinality) {
+		this.words = words;
+		this.cardinality = cardinality;
+	}
+
+	@Override
+	Container add(char x) {
+		set(x);
+		return this;
+	}
+
+	@Override
+	Container remove(char x) {
+		final long mask = 1L << x;
+		if (0 != (words[x >>> 6] & mask)) {
+			words[x >>> 6] &= ~mask;
+			cardinality--;
+		}
+		return (cardinality <= ARRAY_MAX_SIZE) ? toArray() : this;
+	}
+
+	@Override
+	boolean contains(char x) {
+		return 0 != (words[x >>> 6] & (1L << x));
+	}
+
+	@Override
+	int cardinality() {
+		return cardinality;
+	}
+
+	@Override
+	Container and(Container other) {
+		if (other instanceof BitmapContainer) {
+			final long[] otherWords = ((BitmapContainer) other).words;
+			final long[] result = new long[WORDS];
+			for (int i = 0; i < WORDS; i++) {
+				result[i] = words[i] & otherWords[i];
+			}
+			return of(result);
+		}
+		return other.and(this);
+	}
+
+	@Override
+	int andCardinality(Container other) {
+		if (other instanceof BitmapContainer) {
+			final long[] otherWords = ((BitmapContainer) other).words;
+			int n = 0;
+			for (int i = 0; i < WORDS; i++) {
+				n += Long.bitCount(words[i] & otherWords[i]);
+			}
+			return n;
+		}
+		return other.andCardinality(this);
+	}
+
+	@Override
+	Container or(Container other) {
+		final long[] result = words.clone();
+		if (other instanceof BitmapContainer) {
+			final long[] otherWords = ((BitmapContainer) other).words;
+			for (int i = 0; i < WORDS; i++) {
+				result[i] |= otherWords[i];
+			}
+		} else if (other instanceof ArrayContainer) {
+			final ArrayContainer array = (ArrayContainer) other;
+			char x;
+			for (int i = 0; i < array.cardinality; i++) {
+				x = array.content[i];
+				result[x >>> 6] |= 1L << x;
+			}
+		} else {
+			final RunContainer run = (RunContainer) other;
+			for (int i = 0; i < run.nbRuns; i++) {
+				setRange(result, run.start(i), run.end(i) + 1);
+			}
+		}
+		// 并集的元素个数不小于当前位图，仍为位图容器
+		return new BitmapContainer(result, count(result));
+	}
+
+	@Override
+	Container xor(Container other) {
+		final long[] result = words.clone();
+		if (other instanceof BitmapContainer) {
+			final long[] otherWords = ((BitmapContainer) other).words;
+			for (int i = 0; i < WORDS; i++) {
+				result[i] ^= otherWords[i];
+			}
+		} else if (other instanceof ArrayContainer) {
+			final ArrayContainer array = (ArrayContainer) other;
+			char x;
+			for (int i = 0; i < array.cardinality; i++) {
+				x = array.content[i];
+				result[x >>> 6] ^= 1L << x;
+			}
+		} else {
+			final RunContainer run = (RunContainer) other;
+			for (int i = 0; i < run.nbRuns; i++) {
+				flipRange(result, run.start(i), run.end(i) + 1);
+			}
+		}
+		return of(result);
+	}
+
+	@Override
+	Container andNot(Container other) {
+		final long[] result = words.clone();
+		if (other instanceof BitmapContainer) {
+			final long[] otherWords = ((BitmapContainer) other).words;
+			for (int i = 0; i < WORDS; i++) {
+				result[i] &= ~otherWords[i];
+			}
+		} else if (other instanceof ArrayContainer) {
+			final ArrayContainer array = (ArrayContainer) other;
+			char x;
+			for (int i = 0; i < array.cardinality; i++) {
+				x = array.content[i];
+				result[x >>> 6] &= ~(1L << x);
+			}
+		} else {
+			final RunContainer run = (RunContainer) other;
+			for (int i = 0; i < run.nbRuns; i++) {
+				clearRange(result, run.start(i), run.end(i) + 1);
+			}
+		}
+		return of(result);
+	}
+
+	@Override
+	Container copy() {
+		return new BitmapContainer(words.clone(), cardinality);
+	}
+
+	@Override
+	Container runOptimize() {
+		final int runs = numberOfRuns();
+		if (RunContainer.serializedSize(runs) < serializedSize()) {
+			return RunContainer.fromBitmap(this, runs);
+		}
+		return this;
+	}
+
+	@Override
+	IntIterator iterator(final int high) {
+		return new IntIterator() {
+			private int wordIndex = -1;
+			private long word;
+
+			@Override
+			public boolean hasNext() {
+				while (0 == word) {
+					if (++wordIndex >= WORDS) {
+						wordIndex = WORDS;
+						return false;
+					}
+					word = words[wordIndex];
+				}
+				return true;
+			}
+
+			@Override
+			public int next() {
+				if (false == hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final int bit = Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+				return high | (wordIndex << 6) | bit;
+			}
+		};
+	}
+
+	@Override
+	int fill(int high, int[] out, int offset) {
+		long word;
+		for (int i = 0; i < WORDS; i++) {
+			word = words[i];
+			while (0 != word) {
+				out[offset++] = high | (i << 6) | Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return offset;
+	}
+
+	@Override
+	byte type() {
+		return TYPE_BITMAP;
+	}
+
+	@Override
+	int serializedSize() {
+		return BITMAP_BYTES;
+	}
+
+	@Override
+	void write(ByteBuffer buffer) {
+		for (long word : words) {
+			buffer.putLong(word);
+		}
+	}
+
+	/**
+	 * 反序列化
+	 * 
+	 * @param buffer 数据
+	 * @return 位图容器
+	 */
+	static BitmapContainer read(ByteBuffer buffer) {
+		final long[] words = new long[WORDS];
+		for (int i = 0; i < WORDS; i++) {
+			words[i] = buffer.getLong();
+		}
+		return new BitmapContainer(words, count(words));
+	}
+
+	/**
+	 * 设置位
+	 * 
+	 * @param x 低16位
+	 */
+	void set(char x) {
+		final long mask = 1L << x;
+		if (0 == (words[x >>> 6] & mask)) {
+			words[x >>> 6] |= mask;
+			cardinality++;
+		}
+	}
+
+	/**
+	 * 翻转位
+	 * 
+	 * @param x 低16位
+	 */
+	void flip(char x) {
+		final long mask = 1L << x;
+		cardinality += (0 == (words[x >>> 6] & mask)) ? 1 : -1;
+		words[x >>> 6] ^= mask;
+	}
+
+	/**
+	 * 元素个数不超过{@link Container#ARRAY_MAX_SIZE}时转为数组容器
+	 * 
+	 * @return 转换后的容器
+	 */
+	Container toEfficient() {
+		return (cardinality <= ARRAY_MAX_SIZE) ? toArray() : this;
+	}
+
+	/**
+	 * 连续值组成的行程数
+	 * 
+	 * @return 行程数
+	 */
+	int numberOfRuns() {
+		int runs = 0;
+		long previousTop = 0;
+		long word;
+		for (int i = 0; i < WORDS; i++) {
+			word = words[i];
+			// 本位为1且前一位为0的位置是行程的开始
+			runs += Long.bitCount(word & ~((word << 1) | previousTop));
+			previousTop = word >>> 63;
+		}
+		return runs;
+	}
+
+	/**
+	 * 由位创建容器，元素个数较少时为数组容器
+	 * 
+	 * @param words 位
+	 * @return 容器
+	 */
+	static Container of(long[] words) {
+		return new BitmapContainer(words, count(words)).toEfficient();
+	}
+
+	/**
+	 * 设置[start, end)范围内的位
+	 * 
+	 * @param words 位
+	 * @param start 开始（包含）
+	 * @param end 结束（不包含）
+	 */
+	static void setRange(long[] words, int start, int end) {
+		final int first = start >>> 6;
+		final int last = (end - 1) >>> 6;
+		final long firstMask = -1L << start;
+		final long lastMask = -1L >>> -end;
+		if (first == last) {
+			words[first] |= firstMask & lastMask;
+			return;
+		}
+		words[first] |= firstMask;
+		for (int i = first + 1; i < last; i++) {
+			words[i] = -1L;
+		}
+		words[last] |= lastMask;
+	}
+
+	/**
+	 * 清除[start, end)范围内的位
+	 * 
+	 * @param words 位
+	 * @param start 开始（包含）
+	 * @param end 结束（不包含）
+	 */
+	static void clearRange(long[] words, int start, int end) {
+		final int first = start >>> 6;
+		final int last = (end - 1) >>> 6;
+		final long firstMask = -1L << start;
+		final long lastMask = -1L >>> -end;
+		if (first == last) {
+			words[first] &= ~(firstMask & lastMask);
+			return;
+		}
+		words[first] &= ~firstMask;
+		for (int i = first + 1; i < last; i++) {
+			words[i] = 0;
+		}
+		words[last] &= ~lastMask;
+	}
+
+	/**
+	 * 翻转[start, end)范围内的位
+	 * 
+	 * @param words 位
+	 * @param start 开始（包含）
+	 * @param end 结束（不包含）
+	 */
+	static void flipRange(long[] words, int start, int end) {
+		final int first = start >>> 6;
+		final int last = (end - 1) >>> 6;
+		final long firstMask = -1L << start;
+		final long lastMask = -1L >>> -end;
+		if (first == last) {
+			words[first] ^= firstMask & lastMask;
+			return;
+		}
+		words[first] ^= firstMask;
+		for (int i = first + 1; i < last; i++) {
+			words[i] = ~words[i];
+		}
+		words[last] ^= lastMask;
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private ArrayContainer toArray() {
+		final char[] content = new char[cardinality];
+		long word;
+		int n = 0;
+		for (int i = 0; i < WORDS; i++) {
+			word = words[i];
+			while (0 != word) {
+				content[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+				word &= word - 1;
+			}
+		}
+		return new ArrayContainer(content, n);
+	}
+
+	private static int count(long[] words) {
+		int n = 0;
+		for (long word : words) {
+			n += Long.bitCount(word);
+		}
+		return n;
+	}
+}
@@ -0,0 +1,183 @@
+package com.ghostsf.atool.collection.bitmap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 容器，存放高16位相同的一组值的低16位<br>
+ * 修改方法返回修改后的容器，数据分布变化时可能返回另一种类型的新容器；集合运算总是返回新容器，不修改参与运算的容器
+ * 
+ * @author ghostsf
+ *
+ */
+abstract class Container {
+
+	/** 数组容器的最大元素个数，超过时使用位图容器（两者此时都占用8KB） */
+	static final int ARRAY_MAX_SIZE = 4096;
+	/** 位图容器占用的字节数 */
+	static final int BITMAP_BYTES = 8192;
+
+	/** 序列化类型：数组容器 */
+	static final byte TYPE_ARRAY = 0;
+	/** 序列化类型：位图容器 */
+	static final byte TYPE_BITMAP = 1;
+	/** 序列化类型：行程容器 */
+	static final byte TYPE_RUN = 2;
+
+	/**
+	 * 加入值
+	 * 
+	 * @param x 低16位
+	 * @return 加入后的容器
+	 */
+	abstract Container add(char x);
+
+	/**
+	 * 移除值
+	 * 
+	 * @param x 低16位
+	 * @return 移除后的容器
+	 */
+	abstract Container remove(char x);
+
+	/**
+	 * 是否包含值
+	 * 
+	 * @param x 低16位
+	 * @return 是否包含
+	 */
+	abstract boolean contains(char x);
+
+	/**
+	 * 元素个数
+	 * 
+	 * @return 元素个数
+	 */
+	abstract int cardinality();
+
+	/**
+	 * 交集
+	 * 
+	 * @param other 另一个容器
+	 * @return 新容器
+	 */
+	abstract Container and(Container other);
+
+	/**
+	 * 并集
+	 * 
+	 * @param other 另一个容器
+	 * @return 新容器
+	 */
+	abstract Container or(Container other);
+
+	/**
+	 * 对称差集
+	 * 
+	 * @param other 另一个容器
+	 * @return 新容器
+	 */
+	abstract Container xor(Container other);
+
+	/**
+	 * 差集，属于本容器而不属于另一个容器的值
+	 * 
+	 * @param other 另一个容器
+	 * @return 新容器
+	 */
+	abstract Container andNot(Container other);
+
+	/**
+	 * 交集的元素个数，不创建新容器时子类应覆盖此方法
+	 * 
+	 * @param other 另一个容器
+	 * @return 交集的元素个数
+	 */
+	int andCardinality(Container other) {
+		return and(other).cardinality();
+	}
+
+	/**
+	 * 复制
+	 * 
+	 * @return 新容器
+	 */
+	abstract Container copy();
+
+	/**
+	 * 转换为占用空间最小的容器，值的个数或行程数较少时可能转为行程容器
+	 * 
+	 * @return 转换后的容器，无需转换时返回自身
+	 */
+	abstract Container runOptimize();
+
+	/**
+	 * 遍历容器中的值
+	 * 
+	 * @param high 高16位
+	 * @return 完整的32位值的迭代器
+	 */
+	abstract IntIterator iterator(int high);
+
+	/**
+	 * 将所有完整的32位值写入数组
+	 * 
+	 * @param high 高16位
+	 * @param out 目标数组
+	 * @param offset 写入位置
+	 * @return 写入后的位置
+	 */
+	abstract int fill(int high, int[] out, int offset);
+
+	/**
+	 * 序列化类型
+	 * 
+	 * @return 序列化类型
+	 */
+	abstract byte type();
+
+	/**
+	 * 序列化后的字节数，不包括类型和键
+	 * 
+	 * @return 字节数
+	 */
+	abstract int serializedSize();
+
+	/**
+	 * 序列化
+	 * 
+	 * @param buffer 目标缓冲区
+	 */
+	abstract void write(ByteBuffer buffer);
+
+	/**
+	 * 反序列化
+	 * 
+	 * @param type 类型
+	 * @param buffer 数据
+	 * @return 容器
+	 * @throws IllegalArgumentException 类型不支持
+	 */
+	static Container read(byte type, ByteBuffer buffer) {
+		switch (type) {
+		case TYPE_ARRAY:
+			return ArrayContainer.read(buffer);
+		case TYPE_BITMAP:
+			return BitmapContainer.read(buffer);
+		case TYPE_RUN:
+			return RunContainer.read(buffer);
+		default:
+			throw new IllegalArgumentException("Unknown container type: " + type);
+		}
+	}
+
+	/**
+	 * 两个容器的值是否相同，与容器类型无关
+	 * 
+	 * @param other 另一个容器
+	 * @return 是否相同
+	 */
+	boolean sameValues(Container other) {
+		final int cardinality = cardinality();
+		return cardinality == other.cardinality() && cardinality == andCardinality(other);
+	}
+}
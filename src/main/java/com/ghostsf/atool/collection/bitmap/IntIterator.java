@@ -0,0 +1,25 @@
+package com.ghostsf.atool.collection.bitmap;
+
+/**
+ * int迭代器，取值时不装箱
+ * 
+ * @author ghostsf
+ *
+ */
+public interface IntIterator {
+
+	/**
+	 * 是否还有元素
+	 * 
+	 * @return 是否还有元素
+	 */
+	boolean hasNext();
+
+	/**
+	 * 下一个元素
+	 * 
+	 * @return 下一个元素
+	 * @throws java.util.NoSuchElementException 没有更多元素
+	 */
+	int next();
+}
@@ -0,0 +1,579 @@
+package com.ghostsf.atool.collection.bitmap;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 压缩位图（Roaring Bitmap），存放32位int的集合<br>
+ * 按值的高16位分为最多65536个块，每块根据数据分布选择容器：
+ * 
+ * <pre>
+ * 1、数组容器：不超过4096个值，有序char数组，每个值2字节
+ * 2、位图容器：超过4096个值，固定8KB
+ * 3、行程容器：连续的值，每段4字节，由{@link #runOptimize()}或{@link #addRange(long, long)}产生
+ * </pre>
+ * 
+ * 集合运算按块进行，只有高16位相同的块才需要计算，位图之间按long逐字运算。<br>
+ * 值按无符号32位整数排序，负数排在所有非负数之后；非线程安全。<br>
+ * 参考：https://arxiv.org/abs/1603.06549
+ * 
+ * @author ghostsf
+ *
+ */
+public class RoaringBitmap implements Iterable<Integer>, Cloneable {
+
+	/** 序列化标识 */
+	private static final int SERIAL_COOKIE = 0x52424D31;
+
+	/** 有序的块键，即值的高16位 */
+	private char[] keys;
+	/** 与键对应的容器 */
+	private Container[] containers;
+	/** 块数 */
+	private int size;
+
+	/**
+	 * 构造空位图
+	 */
+	public RoaringBitmap() {
+		this(new char[4], new Container[4], 0);
+	}
+
+	private RoaringBitmap(char[] keys, Container[] containers, int size) {
+		this.keys = keys;
+		this.containers = containers;
+		this.size = size;
+	}
+
+	/**
+	 * 创建包含指定值的位图
+	 * 
+	 * @param values 值
+	 * @return {@link RoaringBitmap}
+	 */
+	public static RoaringBitmap of(int... values) {
+		final RoaringBitmap bitmap = new RoaringBitmap();
+		bitmap.addAll(values);
+		return bitmap;
+	}
+
+	// ------------------------------------------------------------------------------------------------- Modify
+	/**
+	 * 加入值
+	 * 
+	 * @param x 值
+	 */
+	public void add(int x) {
+		final char key = (char) (x >>> 16);
+		final int index = indexOf(key);
+		if (index >= 0) {
+			containers[index] = containers[index].add((char) x);
+		} else {
+			insert(-index - 1, key, new ArrayContainer(4).add((char) x));
+		}
+	}
+
+	/**
+	 * 加入多个值，值已排序时效率更高
+	 * 
+	 * @param values 值
+	 */
+	public void addAll(int... values) {
+		int index = -1;
+		char currentKey = 0;
+		char key;
+		for (int x : values) {
+			key = (char) (x >>> 16);
+			// 连续的值通常属于同一块，避免重复查找
+			if (index < 0 || key != currentKey) {
+				currentKey = key;
+				index = indexOf(key);
+				if (index < 0) {
+					index = -index - 1;
+					insert(index, key, new ArrayContainer(4));
+				}
+			}
+			containers[index] = containers[index].add((char) x);
+		}
+	}
+
+	/**
+	 * 加入[start, end)范围内的所有值，范围按无符号整数计算，每个完整的块只占用一个行程
+	 * 
+	 * @param start 开始（包含），0到2^32之间
+	 * @param end 结束（不包含），0到2^32之间
+	 */
+	public void addRange(long start, long end) {
+		if (start < 0 || end > 0x100000000L || start > end) {
+			throw new IllegalArgumentException("Invalid range: [" + start + ", " + end + ")");
+		}
+		if (start == end) {
+			return;
+		}
+		final long last = end - 1;
+		int low;
+		int high;
+		int index;
+		for (long key = start >>> 16; key <= (last >>> 16); key++) {
+			low = (key == (start >>> 16)) ? (int) (start & 0xFFFF) : 0;
+			high = (key == (last >>> 16)) ? (int) (last & 0xFFFF) : 0xFFFF;
+			final RunContainer run = RunContainer.range(low, high);
+			index = indexOf((char) key);
+			if (index >= 0) {
+				containers[index] = containers[index].or(run);
+			} else {
+				insert(-index - 1, (char) key, run.toEfficient());
+			}
+		}
+	}
+
+	/**
+	 * 移除值
+	 * 
+	 * @param x 值
+	 */
+	public void remove(int x) {
+		final int index = indexOf((char) (x >>> 16));
+		if (index >= 0) {
+			containers[index] = containers[index].remove((char) x);
+			if (0 == containers[index].cardinality()) {
+				delete(index);
+			}
+		}
+	}
+
+	/**
+	 * 清空
+	 */
+	public void clear() {
+		Arrays.fill(containers, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * 将各块转换为占用空间最小的容器，连续值较多时使用行程容器
+	 * 
+	 * @return 是否有块使用了行程容器
+	 */
+	public boolean runOptimize() {
+		boolean hasRun = false;
+		for (int i = 0; i < size; i++) {
+			containers[i] = containers[i].runOptimize();
+			hasRun |= containers[i] instanceof RunContainer;
+		}
+		return hasRun;
+	}
+
+	// ------------------------------------------------------------------------------------------------- Query
+	/**
+	 * 是否包含值
+	 * 
+	 * @param x 值
+	 * @return 是否包含
+	 */
+	public boolean contains(int x) {
+		final int index = indexOf((char) (x >>> 16));
+		return index >= 0 && containers[index].contains((char) x);
+	}
+
+	/**
+	 * 元素个数
+	 * 
+	 * @return 元素个数，最大为2^32
+	 */
+	public long getCardinality() {
+		long cardinality = 0;
+		for (int i = 0; i < size; i++) {
+			cardinality += containers[i].cardinality();
+		}
+		return cardinality;
+	}
+
+	/**
+	 * 是否为空
+	 * 
+	 * @return 是否为空
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * 遍历所有值，按无符号整数升序，不装箱
+	 * 
+	 * @return {@link IntIterator}
+	 */
+	public IntIterator intIterator() {
+		return new IntIterator() {
+			private int index;
+			private IntIterator current;
+
+			@Override
+			public boolean hasNext() {
+				while (null == current || false == current.hasNext()) {
+					if (index >= size) {
+						return false;
+					}
+					current = containers[index].iterator(keys[index] << 16);
+					index++;
+				}
+				return true;
+			}
+
+			@Override
+			public int next() {
+				if (false == hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return current.next();
+			}
+		};
+	}
+
+	/**
+	 * 遍历所有值，按无符号整数升序，每个值会被装箱，大量数据时使用{@link #intIterator()}
+	 * 
+	 * @return {@link Iterator}
+	 */
+	@Override
+	public Iterator<Integer> iterator() {
+		final IntIterator iterator = intIterator();
+		return new Iterator<Integer>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Integer next() {
+				return iterator.next();
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("remove");
+			}
+		};
+	}
+
+	/**
+	 * 转为数组，按无符号整数升序
+	 * 
+	 * @return 数组
+	 * @throws IllegalStateException 元素个数超过数组最大长度
+	 */
+	public int[] toArray() {
+		final long cardinality = getCardinality();
+		if (cardinality > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("Too many values for an array: " + cardinality);
+		}
+		final int[] result = new int[(int) cardinality];
+		int offset = 0;
+		for (int i = 0; i < size; i++) {
+			offset = containers[i].fill(keys[i] << 16, result, offset);
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------------- Set algebra
+	/**
+	 * 交集，返回新位图，不修改参数
+	 * 
+	 * @param x1 位图1
+	 * @param x2 位图2
+	 * @return 交集
+	 */
+	public static RoaringBitmap and(RoaringBitmap x1, RoaringBitmap x2) {
+		final int capacity = Math.max(1, Math.min(x1.size, x2.size));
+		final RoaringBitmap result = new RoaringBitmap(new char[capacity], new Container[capacity], 0);
+		int i = 0;
+		int j = 0;
+		Container container;
+		while (i < x1.size && j < x2.size) {
+			if (x1.keys[i] < x2.keys[j]) {
+				i++;
+			} else if (x1.keys[i] > x2.keys[j]) {
+				j++;
+			} else {
+				container = x1.containers[i].and(x2.containers[j]);
+				if (container.cardinality() > 0) {
+					result.append(x1.keys[i], container);
+				}
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 交集的元素个数，不创建结果位图
+	 * 
+	 * @param x1 位图1
+	 * @param x2 位图2
+	 * @return 交集的元素个数
+	 */
+	public static long andCardinality(RoaringBitmap x1, RoaringBitmap x2) {
+		long cardinality = 0;
+		int i = 0;
+		int j = 0;
+		while (i < x1.size && j < x2.size) {
+			if (x1.keys[i] < x2.keys[j]) {
+				i++;
+			} else if (x1.keys[i] > x2.keys[j]) {
+				j++;
+			} else {
+				cardinality += x1.containers[i].andCardinality(x2.containers[j]);
+				i++;
+				j++;
+			}
+		}
+		return cardinality;
+	}
+
+	/**
+	 * 并集，返回新位图，不修改参数
+	 * 
+	 * @param x1 位图1
+	 * @param x2 位图2
+	 * @return 并集
+	 */
+	public static RoaringBitmap or(RoaringBitmap x1, RoaringBitmap x2) {
+		final int capacity = Math.max(1, x1.size + x2.size);
+		final RoaringBitmap result = new RoaringBitmap(new char[capacity], new Container[capacity], 0);
+		int i = 0;
+		int j = 0;
+		while (i < x1.size || j < x2.size) {
+			if (j == x2.size || (i < x1.size && x1.keys[i] < x2.keys[j])) {
+				result.append(x1.keys[i], x1.containers[i].copy());
+				i++;
+			} else if (i == x1.size || x1.keys[i] > x2.keys[j]) {
+				result.append(x2.keys[j], x2.containers[j].copy());
+				j++;
+			} else {
+				result.append(x1.keys[i], x1.containers[i].or(x2.containers[j]));
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 对称差集，即只属于其中一个位图的值，返回新位图，不修改参数
+	 * 
+	 * @param x1 位图1
+	 * @param x2 位图2
+	 * @return 对称差集
+	 */
+	public static RoaringBitmap xor(RoaringBitmap x1, RoaringBitmap x2) {
+		final int capacity = Math.max(1, x1.size + x2.size);
+		final RoaringBitmap result = new RoaringBitmap(new char[capacity], new Container[capacity], 0);
+		int i = 0;
+		int j = 0;
+		Container container;
+		while (i < x1.size || j < x2.size) {
+			if (j == x2.size || (i < x1.size && x1.keys[i] < x2.keys[j])) {
+				result.append(x1.keys[i], x1.containers[i].copy());
+				i++;
+			} else if (i == x1.size || x1.keys[i] > x2.keys[j]) {
+				result.append(x2.keys[j], x2.containers[j].copy());
+				j++;
+			} else {
+				container = x1.containers[i].xor(x2.containers[j]);
+				if (container.cardinality() > 0) {
+					result.append(x1.keys[i], container);
+				}
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 差集，即属于位图1而不属于位图2的值，返回新位图，不修改参数
+	 * 
+	 * @param x1 位图1
+	 * @param x2 位图2
+	 * @return 差集
+	 */
+	public static RoaringBitmap andNot(RoaringBitmap x1, RoaringBitmap x2) {
+		final int capacity = Math.max(1, x1.size);
+		final RoaringBitmap result = new RoaringBitmap(new char[capacity], new Container[capacity], 0);
+		int i = 0;
+		int j = 0;
+		Container container;
+		while (i < x1.size) {
+			if (j == x2.size || x1.keys[i] < x2.keys[j]) {
+				result.append(x1.keys[i], x1.containers[i].copy());
+				i++;
+			} else if (x1.keys[i] > x2.keys[j]) {
+				j++;
+			} else {
+				container = x1.containers[i].andNot(x2.containers[j]);
+				if (container.cardinality() > 0) {
+					result.append(x1.keys[i], container);
+				}
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------------------------------- Serialization
+	/**
+	 * 序列化后的字节数
+	 * 
+	 * @return 字节数
+	 */
+	public int serializedSizeInBytes() {
+		int bytes = 8;
+		for (int i = 0; i < size; i++) {
+			bytes += 3 + containers[i].serializedSize();
+		}
+		return bytes;
+	}
+
+	/**
+	 * 序列化为字节数组<br>
+	 * 格式为：标识(4) + 块数(4) + 每块[键(2) + 类型(1) + 容器数据]，容器保持当前类型
+	 * 
+	 * @return 字节数组
+	 */
+	public byte[] toBytes() {
+		final ByteBuffer buffer = ByteBuffer.allocate(serializedSizeInBytes());
+		buffer.putInt(SERIAL_COOKIE);
+		buffer.putInt(size);
+		for (int i = 0; i < size; i++) {
+			buffer.putChar(keys[i]);
+			buffer.put(containers[i].type());
+			containers[i].write(buffer);
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * 从{@link #toBytes()}的结果恢复位图
+	 * 
+	 * @param bytes 字节数组
+	 * @return {@link RoaringBitmap}
+	 * @throws IllegalArgumentException 数据格式错误
+	 */
+	public static RoaringBitmap fromBytes(byte[] bytes) {
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		try {
+			if (SERIAL_COOKIE != buffer.getInt()) {
+				throw new IllegalArgumentException("Not a serialized RoaringBitmap");
+			}
+			final int size = buffer.getInt();
+			if (size < 0 || size > 65536) {
+				throw new IllegalArgumentException("Invalid container count: " + size);
+			}
+			final RoaringBitmap bitmap = new RoaringBitmap(new char[Math.max(1, size)], new Container[Math.max(1, size)], 0);
+			char key;
+			for (int i = 0; i < size; i++) {
+				key = buffer.getChar();
+				bitmap.append(key, Container.read(buffer.get(), buffer));
+			}
+			return bitmap;
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated RoaringBitmap data", e);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------------------- Object
+	@Override
+	public RoaringBitmap clone() {
+		final Container[] copied = new Container[Math.max(1, size)];
+		for (int i = 0; i < size; i++) {
+			copied[i] = containers[i].copy();
+		}
+		return new RoaringBitmap(Arrays.copyOf(keys, copied.length), copied, size);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = 0;
+		final IntIterator iterator = intIterator();
+		while (iterator.hasNext()) {
+			h = 31 * h + iterator.next();
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (false == (obj instanceof RoaringBitmap)) {
+			return false;
+		}
+		final RoaringBitmap other = (RoaringBitmap) obj;
+		if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (keys[i] != other.keys[i] || false == containers[i].sameValues(other.containers[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("{");
+		final IntIterator iterator = intIterator();
+		while (iterator.hasNext()) {
+			if (builder.length() > 1) {
+				builder.append(',');
+			}
+			builder.append(iterator.next() & 0xFFFFFFFFL);
+		}
+		return builder.append('}').toString();
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 查找键所在的位置
+	 * 
+	 * @param key 键
+	 * @return 位置，未找到时返回-(插入位置)-1
+	 */
+	private int indexOf(char key) {
+		// 顺序加入时最常访问最后一块
+		if (size > 0 && keys[size - 1] == key) {
+			return size - 1;
+		}
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+
+	private void insert(int index, char key, Container container) {
+		if (size == keys.length) {
+			final int capacity = Math.min(65536, Math.max(4, size << 1));
+			keys = Arrays.copyOf(keys, capacity);
+			containers = Arrays.copyOf(containers, capacity);
+		}
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(containers, index, containers, index + 1, size - index);
+		keys[index] = key;
+		containers[index] = container;
+		size++;
+	}
+
+	private void append(char key, Container container) {
+		insert(size, key, container);
+	}
+
+	private void delete(int index) {
+		System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+		System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+		containers[--size] = null;
+	}
+}
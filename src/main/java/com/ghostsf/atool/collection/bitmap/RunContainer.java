@@ -0,0 +1,459 @@
+package com.ghostsf.atool.collection.bitmap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * 行程容器，使用(开始值, 长度-1)对表示连续的值，适用于大段连续的值<br>
+ * 单个值的修改直接扩展、拆分或插入行程，不再合适时由{@link #runOptimize()}转换
+ * 
+ * @author ghostsf
+ *
+ */
+final class RunContainer extends Container {
+
+	/** 行程，依次为每个行程的开始值和长度减1 */
+	char[] runs;
+	/** 行程数 */
+	int nbRuns;
+
+	/**
+	 * 构造
+	 * 
+	 * @param runs 行程，依次为每个行程的开始值和长度减1
+	 * @param nbRuns 行程数
+	 */
+	RunContainer(char[] runs, int nbRuns) {
+		this.runs = runs;
+		this.nbRuns = nbRuns;
+	}
+
+	/**
+	 * 包含[start, end]的行程容器
+	 * 
+	 * @param start 开始（包含）
+	 * @param end 结束（包含）
+	 * @return 行程容器
+	 */
+	static RunContainer range(int start, int end) {
+		return new RunContainer(new char[] { (char) start, (char) (end - start) }, 1);
+	}
+
+	/**
+	 * 第i个行程的开始值
+	 * 
+	 * @param i 行程序号
+	 * @return 开始值
+	 */
+	int start(int i) {
+		return runs[i << 1];
+	}
+
+	/**
+	 * 第i个行程的结束值（包含）
+	 * 
+	 * @param i 行程序号
+	 * @return 结束值
+	 */
+	int end(int i) {
+		return runs[i << 1] + runs[(i << 1) + 1];
+	}
+
+	@Override
+	Container add(char x) {
+		final int i = searchRun(x);
+		if (i >= 0 && x <= end(i)) {
+			return this;
+		}
+		final boolean extendPrevious = i >= 0 && end(i) + 1 == x;
+		final boolean extendNext = i + 1 < nbRuns && start(i + 1) == x + 1;
+		if (extendPrevious && extendNext) {
+			// 填补两个行程之间的空隙，合并为一个行程
+			runs[(i << 1) + 1] = (char) (end(i + 1) - start(i));
+			deleteRun(i + 1);
+		} else if (extendPrevious) {
+			runs[(i << 1) + 1]++;
+		} else if (extendNext) {
+			runs[(i + 1) << 1] = x;
+			runs[((i + 1) << 1) + 1]++;
+		} else {
+			insertRun(i + 1, x, x);
+		}
+		return this;
+	}
+
+	@Override
+	Container remove(char x) {
+		final int i = searchRun(x);
+		if (i < 0 || x > end(i)) {
+			return this;
+		}
+		final int start = start(i);
+		final int end = end(i);
+		if (start == end) {
+			deleteRun(i);
+		} else if (x == start) {
+			runs[i << 1]++;
+			runs[(i << 1) + 1]--;
+		} else if (x == end) {
+			runs[(i << 1) + 1]--;
+		} else {
+			// 从中间拆分为两个行程
+			runs[(i << 1) + 1] = (char) (x - 1 - start);
+			insertRun(i + 1, x + 1, end);
+		}
+		return this;
+	}
+
+	@Override
+	boolean contains(char x) {
+		final int i = searchRun(x);
+		return i >= 0 && x <= end(i);
+	}
+
+	@Override
+	int cardinality() {
+		int n = nbRuns;
+		for (int i = 0; i < nbRuns; i++) {
+			n += runs[(i << 1) + 1];
+		}
+		return n;
+	}
+
+	@Override
+	Container and(Container other) {
+		if (other instanceof ArrayContainer) {
+			return other.and(this);
+		}
+		if (other instanceof BitmapContainer) {
+			// 行程对应的位与位图相与
+			final long[] otherWords = ((BitmapContainer) other).words;
+			final long[] result = new long[BitmapContainer.WORDS];
+			for (int i = 0; i < nbRuns; i++) {
+				BitmapContainer.setRange(result, start(i), end(i) + 1);
+			}
+			for (int w = 0; w < BitmapContainer.WORDS; w++) {
+				result[w] &= otherWords[w];
+			}
+			return BitmapContainer.of(result);
+		}
+		// 两组有序区间求交集
+		final RunContainer run = (RunContainer) other;
+		final RunBuilder builder = new RunBuilder(nbRuns + run.nbRuns);
+		int i = 0;
+		int j = 0;
+		int start;
+		int end;
+		while (i < nbRuns && j < run.nbRuns) {
+			start = Math.max(start(i), run.start(j));
+			end = Math.min(end(i), run.end(j));
+			if (start <= end) {
+				builder.append(start, end);
+			}
+			if (end(i) < run.end(j)) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return builder.build().toEfficient();
+	}
+
+	@Override
+	Container or(Container other) {
+		if (other instanceof BitmapContainer) {
+			return other.or(this);
+		}
+		// 行程与数组都视为有序区间合并，数组中的值为长度为1的区间
+		final RunBuilder builder;
+		if (other instanceof ArrayContainer) {
+			final ArrayContainer array = (ArrayContainer) other;
+			builder = new RunBuilder(nbRuns + array.cardinality);
+			int i = 0;
+			int j = 0;
+			while (i < nbRuns || j < array.cardinality) {
+				if (j == array.cardinality || (i < nbRuns && start(i) <= array.content[j])) {
+					builder.append(start(i), end(i));
+					i++;
+				} else {
+					builder.append(array.content[j], array.content[j]);
+					j++;
+				}
+			}
+		} else {
+			final RunContainer run = (RunContainer) other;
+			builder = new RunBuilder(nbRuns + run.nbRuns);
+			int i = 0;
+			int j = 0;
+			while (i < nbRuns || j < run.nbRuns) {
+				if (j == run.nbRuns || (i < nbRuns && start(i) <= run.start(j))) {
+					builder.append(start(i), end(i));
+					i++;
+				} else {
+					builder.append(run.start(j), run.end(j));
+					j++;
+				}
+			}
+		}
+		return builder.build().toEfficient();
+	}
+
+	@Override
+	Container xor(Container other) {
+		return toNatural().xor(other);
+	}
+
+	@Override
+	Container andNot(Container other) {
+		return toNatural().andNot(other);
+	}
+
+	@Override
+	Container copy() {
+		return new RunContainer(Arrays.copyOf(runs, nbRuns << 1), nbRuns);
+	}
+
+	@Override
+	Container runOptimize() {
+		return toEfficient();
+	}
+
+	@Override
+	IntIterator iterator(final int high) {
+		return new IntIterator() {
+			private int run;
+			private int next = (nbRuns > 0) ? start(0) : 0;
+
+			@Override
+			public boolean hasNext() {
+				return run < nbRuns;
+			}
+
+			@Override
+			public int next() {
+				if (run >= nbRuns) {
+					throw new NoSuchElementException();
+				}
+				final int result = high | next;
+				if (next == end(run)) {
+					if (++run < nbRuns) {
+						next = start(run);
+					}
+				} else {
+					next++;
+				}
+				return result;
+			}
+		};
+	}
+
+	@Override
+	int fill(int high, int[] out, int offset) {
+		int end;
+		for (int i = 0; i < nbRuns; i++) {
+			end = end(i);
+			for (int x = start(i); x <= end; x++) {
+				out[offset++] = high | x;
+			}
+		}
+		return offset;
+	}
+
+	@Override
+	byte type() {
+		return TYPE_RUN;
+	}
+
+	@Override
+	int serializedSize() {
+		return serializedSize(nbRuns);
+	}
+
+	/**
+	 * 指定行程数的行程容器序列化后的字节数
+	 * 
+	 * @param nbRuns 行程数
+	 * @return 字节数
+	 */
+	static int serializedSize(int nbRuns) {
+		return 2 + 4 * nbRuns;
+	}
+
+	@Override
+	void write(ByteBuffer buffer) {
+		buffer.putChar((char) nbRuns);
+		for (int i = 0; i < nbRuns << 1; i++) {
+			buffer.putChar(runs[i]);
+		}
+	}
+
+	/**
+	 * 反序列化
+	 * 
+	 * @param buffer 数据
+	 * @return 行程容器
+	 */
+	static RunContainer read(ByteBuffer buffer) {
+		final int nbRuns = buffer.getChar();
+		final char[] runs = new char[nbRuns << 1];
+		for (int i = 0; i < runs.length; i++) {
+			runs[i] = buffer.getChar();
+		}
+		return new RunContainer(runs, nbRuns);
+	}
+
+	/**
+	 * 转为数组或位图容器
+	 * 
+	 * @return 数组或位图容器
+	 */
+	Container toNatural() {
+		final int cardinality = cardinality();
+		if (cardinality <= ARRAY_MAX_SIZE) {
+			final char[] content = new char[cardinality];
+			fillChars(content);
+			return new ArrayContainer(content, cardinality);
+		}
+		final long[] words = new long[BitmapContainer.WORDS];
+		for (int i = 0; i < nbRuns; i++) {
+			BitmapContainer.setRange(words, start(i), end(i) + 1);
+		}
+		return new BitmapContainer(words, cardinality);
+	}
+
+	/**
+	 * 转换为占用空间最小的容器
+	 * 
+	 * @return 转换后的容器
+	 */
+	Container toEfficient() {
+		final int cardinality = cardinality();
+		final int naturalSize = (cardinality <= ARRAY_MAX_SIZE) ? 2 + 2 * cardinality : BITMAP_BYTES;
+		return (serializedSize() <= naturalSize) ? this : toNatural();
+	}
+
+	/**
+	 * 由数组容器创建
+	 * 
+	 * @param array 数组容器
+	 * @param nbRuns 行程数
+	 * @return 行程容器
+	 */
+	static RunContainer fromArray(ArrayContainer array, int nbRuns) {
+		final RunBuilder builder = new RunBuilder(nbRuns);
+		for (int i = 0; i < array.cardinality; i++) {
+			builder.append(array.content[i], array.content[i]);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * 由位图容器创建
+	 * 
+	 * @param bitmap 位图容器
+	 * @param nbRuns 行程数
+	 * @return 行程容器
+	 */
+	static RunContainer fromBitmap(BitmapContainer bitmap, int nbRuns) {
+		final RunBuilder builder = new RunBuilder(nbRuns);
+		final long[] words = bitmap.words;
+		long word;
+		int start;
+		int end;
+		for (int i = 0; i < BitmapContainer.WORDS; i++) {
+			word = words[i];
+			while (0 != word) {
+				// 取出当前字中最低的一段连续的1
+				start = Long.numberOfTrailingZeros(word);
+				end = Long.numberOfTrailingZeros(~(word >>> start)) + start;
+				builder.append((i << 6) + start, (i << 6) + end - 1);
+				word = (end >= 64) ? 0 : (word & (-1L << end));
+			}
+		}
+		return builder.build();
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 查找最后一个开始值不大于x的行程
+	 * 
+	 * @param x 值
+	 * @return 行程序号，没有时返回-1
+	 */
+	private int searchRun(int x) {
+		int low = 0;
+		int high = nbRuns - 1;
+		int middle;
+		while (low <= high) {
+			middle = (low + high) >>> 1;
+			if (start(middle) <= x) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return high;
+	}
+
+	private void insertRun(int index, int start, int end) {
+		if ((nbRuns << 1) == runs.length) {
+			runs = Arrays.copyOf(runs, Math.max(4, runs.length << 1));
+		}
+		System.arraycopy(runs, index << 1, runs, (index + 1) << 1, (nbRuns - index) << 1);
+		runs[index << 1] = (char) start;
+		runs[(index << 1) + 1] = (char) (end - start);
+		nbRuns++;
+	}
+
+	private void deleteRun(int index) {
+		System.arraycopy(runs, (index + 1) << 1, runs, index << 1, (nbRuns - index - 1) << 1);
+		nbRuns--;
+	}
+
+	private void fillChars(char[] content) {
+		int n = 0;
+		int end;
+		for (int i = 0; i < nbRuns; i++) {
+			end = end(i);
+			for (int x = start(i); x <= end; x++) {
+				content[n++] = (char) x;
+			}
+		}
+	}
+
+	/**
+	 * 按开始值顺序追加区间的行程构建器，相交或相邻的区间自动合并
+	 */
+	private static class RunBuilder {
+		private char[] runs;
+		private int nbRuns;
+		/** 最后一个行程的结束值 */
+		private int lastEnd = -2;
+
+		RunBuilder(int capacity) {
+			this.runs = new char[Math.max(2, capacity << 1)];
+		}
+
+		void append(int start, int end) {
+			if (nbRuns > 0 && start <= lastEnd + 1) {
+				if (end > lastEnd) {
+					lastEnd = end;
+					runs[((nbRuns - 1) << 1) + 1] = (char) (end - runs[(nbRuns - 1) << 1]);
+				}
+				return;
+			}
+			if ((nbRuns << 1) == runs.length) {
+				runs = Arrays.copyOf(runs, runs.length << 1);
+			}
+			runs[nbRuns << 1] = (char) start;
+			runs[(nbRuns << 1) + 1] = (char) (end - start);
+			nbRuns++;
+			lastEnd = end;
+		}
+
+		RunContainer build() {
+			return new RunContainer(runs, nbRuns);
+		}
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * 压缩位图，按高16位分块，每块根据数据分布使用数组、位图或行程编码存储
+ * 
+ * @author ghostsf
+ *
+ */
+package com.ghostsf.atool.collection.bitmap;
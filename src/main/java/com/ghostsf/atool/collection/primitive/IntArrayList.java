@@ -0,0 +1,313 @@
+package com.ghostsf.atool.collection.primitive;
+
+import java.util.Arrays;
+
+/**
+ * 可增长的int列表，元素直接存放在int数组中，存取时不装箱<br>
+ * 非线程安全
+ * 
+ * @author ghostsf
+ *
+ */
+public class IntArrayList {
+
+	/** 空数组 */
+	private static final int[] EMPTY = new int[0];
+	/** 默认初始容量 */
+	private static final int DEFAULT_CAPACITY = 10;
+	/** 最大容量，部分虚拟机在数组头部保留了空间 */
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/** 元素数组 */
+	private int[] elements;
+	/** 元素个数 */
+	private int size;
+
+	/**
+	 * 创建包含指定元素的列表
+	 * 
+	 * @param values 元素
+	 * @return {@link IntArrayList}
+	 */
+	public static IntArrayList of(int... values) {
+		final IntArrayList list = new IntArrayList(values.length);
+		list.addAll(values);
+		return list;
+	}
+
+	/**
+	 * 构造
+	 */
+	public IntArrayList() {
+		this.elements = EMPTY;
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param initialCapacity 初始容量
+	 */
+	public IntArrayList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+		}
+		this.elements = (0 == initialCapacity) ? EMPTY : new int[initialCapacity];
+	}
+
+	/**
+	 * 在末尾加入元素
+	 * 
+	 * @param value 元素
+	 */
+	public void add(int value) {
+		ensureCapacity(size + 1);
+		elements[size++] = value;
+	}
+
+	/**
+	 * 在指定位置插入元素，原位置及之后的元素后移
+	 * 
+	 * @param index 位置
+	 * @param value 元素
+	 */
+	public void add(int index, int value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		ensureCapacity(size + 1);
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = value;
+		size++;
+	}
+
+	/**
+	 * 在末尾加入多个元素
+	 * 
+	 * @param values 元素
+	 */
+	public void addAll(int... values) {
+		addAll(values, 0, values.length);
+	}
+
+	/**
+	 * 在末尾加入数组中的部分元素
+	 * 
+	 * @param values 元素数组
+	 * @param offset 起始位置
+	 * @param length 个数
+	 */
+	public void addAll(int[] values, int offset, int length) {
+		ensureCapacity(size + length);
+		System.arraycopy(values, offset, elements, size, length);
+		size += length;
+	}
+
+	/**
+	 * 在末尾加入另一个列表的所有元素
+	 * 
+	 * @param list 列表
+	 */
+	public void addAll(IntArrayList list) {
+		addAll(list.elements, 0, list.size);
+	}
+
+	/**
+	 * 获取元素
+	 * 
+	 * @param index 位置
+	 * @return 元素
+	 */
+	public int get(int index) {
+		checkIndex(index);
+		return elements[index];
+	}
+
+	/**
+	 * 替换元素
+	 * 
+	 * @param index 位置
+	 * @param value 新元素
+	 * @return 原元素
+	 */
+	public int set(int index, int value) {
+		checkIndex(index);
+		final int old = elements[index];
+		elements[index] = value;
+		return old;
+	}
+
+	/**
+	 * 移除指定位置的元素，之后的元素前移
+	 * 
+	 * @param index 位置
+	 * @return 被移除的元素
+	 */
+	public int removeAt(int index) {
+		checkIndex(index);
+		final int old = elements[index];
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		return old;
+	}
+
+	/**
+	 * 移除第一个等于指定值的元素
+	 * 
+	 * @param value 元素
+	 * @return 是否找到并移除
+	 */
+	public boolean removeValue(int value) {
+		final int index = indexOf(value);
+		if (index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	/**
+	 * 元素第一次出现的位置
+	 * 
+	 * @param value 元素
+	 * @return 位置，未找到返回-1
+	 */
+	public int indexOf(int value) {
+		for (int i = 0; i < size; i++) {
+			if (value == elements[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 元素最后一次出现的位置
+	 * 
+	 * @param value 元素
+	 * @return 位置，未找到返回-1
+	 */
+	public int lastIndexOf(int value) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (value == elements[i]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 是否包含元素
+	 * 
+	 * @param value 元素
+	 * @return 是否包含
+	 */
+	public boolean contains(int value) {
+		return indexOf(value) >= 0;
+	}
+
+	/**
+	 * 元素个数
+	 * 
+	 * @return 元素个数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 是否为空
+	 * 
+	 * @return 是否为空
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * 清空，保留已分配的空间
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * 按升序排序
+	 */
+	public void sort() {
+		Arrays.sort(elements, 0, size);
+	}
+
+	/**
+	 * 确保容量至少为指定值
+	 * 
+	 * @param minCapacity 最小容量
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+			throw new IllegalStateException("Required capacity is too large: " + (minCapacity & 0xffffffffL));
+		}
+		if (minCapacity > elements.length) {
+			final long grown = Math.max((long) elements.length + (elements.length >> 1), DEFAULT_CAPACITY);
+			elements = Arrays.copyOf(elements, (int) Math.min(MAX_CAPACITY, Math.max(grown, minCapacity)));
+		}
+	}
+
+	/**
+	 * 将容量缩减为元素个数
+	 */
+	public void trimToSize() {
+		if (size < elements.length) {
+			elements = (0 == size) ? EMPTY : Arrays.copyOf(elements, size);
+		}
+	}
+
+	/**
+	 * 转为数组
+	 * 
+	 * @return 新数组
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = 1;
+		for (int i = 0; i < size; i++) {
+			h = 31 * h + PrimitiveHash.hashCode(elements[i]);
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (false == (obj instanceof IntArrayList)) {
+			return false;
+		}
+		final IntArrayList other = (IntArrayList) obj;
+		if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (elements[i] != other.elements[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
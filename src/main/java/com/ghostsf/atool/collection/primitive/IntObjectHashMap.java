@@ -0,0 +1,398 @@
+package com.ghostsf.atool.collection.primitive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.ghostsf.atool.util.ObjectUtil;
+
+/**
+ * int键、对象值的HashMap，开放寻址（线性探测）实现，键不装箱<br>
+ * 键存放在基本类型数组中，值存放在对象数组中；删除时回移后续元素，不留下墓碑。<br>
+ * 键0单独存放；值可以为<code>null</code>。<br>
+ * 非线程安全
+ * 
+ * @author ghostsf
+ *
+ * @param <V> 值类型
+ */
+public class IntObjectHashMap<V> {
+
+	/** 键数组，0表示空槽位 */
+	private int[] keys;
+	/** 值数组 */
+	private Object[] values;
+	/** 是否包含键0 */
+	private boolean hasZeroKey;
+	/** 键0对应的值 */
+	private V zeroValue;
+	/** 元素个数，包括键0 */
+	private int size;
+	/** 掩码，表大小减1 */
+	private int mask;
+	/** 扩容阈值 */
+	private int threshold;
+	/** 加载因子 */
+	private final float loadFactor;
+
+	/**
+	 * 构造
+	 */
+	public IntObjectHashMap() {
+		this(PrimitiveHash.DEFAULT_EXPECTED_SIZE);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param expectedSize 预期元素个数，达到此数量前不会扩容
+	 */
+	public IntObjectHashMap(int expectedSize) {
+		this(expectedSize, PrimitiveHash.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param expectedSize 预期元素个数，达到此数量前不会扩容
+	 * @param loadFactor 加载因子，(0, 1)之间，越大越省内存，冲突也越多
+	 */
+	public IntObjectHashMap(int expectedSize, float loadFactor) {
+		this.loadFactor = PrimitiveHash.checkLoadFactor(loadFactor);
+		allocate(PrimitiveHash.tableSize(expectedSize, loadFactor));
+	}
+
+	/**
+	 * 获取键对应的值
+	 * 
+	 * @param key 键
+	 * @return 值，键不存在时返回<code>null</code>
+	 */
+	public V get(int key) {
+		return getOrDefault(key, null);
+	}
+
+	/**
+	 * 获取键对应的值
+	 * 
+	 * @param key 键
+	 * @param defaultValue 键不存在时返回的默认值
+	 * @return 值
+	 */
+	@SuppressWarnings("unchecked")
+	public V getOrDefault(int key, V defaultValue) {
+		if (0 == key) {
+			return hasZeroKey ? zeroValue : defaultValue;
+		}
+		final int index = indexOf(key);
+		return index < 0 ? defaultValue : (V) values[index];
+	}
+
+	/**
+	 * 是否包含键
+	 * 
+	 * @param key 键
+	 * @return 是否包含
+	 */
+	public boolean containsKey(int key) {
+		return (0 == key) ? hasZeroKey : indexOf(key) >= 0;
+	}
+
+	/**
+	 * 放入键值对
+	 * 
+	 * @param key 键
+	 * @param value 值
+	 * @return 原值，键不存在时返回<code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value) {
+		if (0 == key) {
+			final V old = zeroValue;
+			if (false == hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			zeroValue = value;
+			return old;
+		}
+		int index = PrimitiveHash.mix(key) & mask;
+		int current;
+		while (0 != (current = keys[index])) {
+			if (current == key) {
+				final V old = (V) values[index];
+				values[index] = value;
+				return old;
+			}
+			index = (index + 1) & mask;
+		}
+		insertAt(index, key, value);
+		return null;
+	}
+
+	/**
+	 * 键不存在时放入键值对
+	 * 
+	 * @param key 键
+	 * @param value 值
+	 * @return 已存在的值，键不存在时返回<code>null</code>
+	 */
+	public V putIfAbsent(int key, V value) {
+		if (containsKey(key)) {
+			return get(key);
+		}
+		put(key, value);
+		return null;
+	}
+
+	/**
+	 * 移除键
+	 * 
+	 * @param key 键
+	 * @return 被移除的值，键不存在时返回<code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(int key) {
+		if (0 == key) {
+			if (false == hasZeroKey) {
+				return null;
+			}
+			final V old = zeroValue;
+			hasZeroKey = false;
+			zeroValue = null;
+			size--;
+			return old;
+		}
+		final int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		final V old = (V) values[index];
+		shiftKeys(index);
+		size--;
+		return old;
+	}
+
+	/**
+	 * 元素个数
+	 * 
+	 * @return 元素个数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 是否为空
+	 * 
+	 * @return 是否为空
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * 清空，保留已分配的空间
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		hasZeroKey = false;
+		zeroValue = null;
+		size = 0;
+	}
+
+	/**
+	 * 所有键，顺序不确定，与{@link #values()}的顺序一致
+	 * 
+	 * @return 键数组
+	 */
+	public int[] keys() {
+		final int[] result = new int[size];
+		int n = 0;
+		if (hasZeroKey) {
+			result[n++] = 0;
+		}
+		for (int key : keys) {
+			if (0 != key) {
+				result[n++] = key;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 所有值，顺序不确定，与{@link #keys()}的顺序一致
+	 * 
+	 * @return 值列表
+	 */
+	@SuppressWarnings("unchecked")
+	public List<V> values() {
+		final List<V> result = new ArrayList<>(size);
+		if (hasZeroKey) {
+			result.add(zeroValue);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				result.add((V) values[i]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 转换为包装类型的{@link HashMap}
+	 * 
+	 * @return {@link HashMap}
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<Integer, V> toMap() {
+		final Map<Integer, V> map = new HashMap<>((int) (size / 0.75f) + 1);
+		if (hasZeroKey) {
+			map.put(0, zeroValue);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				map.put(keys[i], (V) values[i]);
+			}
+		}
+		return map;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hasZeroKey ? Objects.hashCode(zeroValue) : 0;
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				h += PrimitiveHash.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (false == (obj instanceof IntObjectHashMap)) {
+			return false;
+		}
+		final IntObjectHashMap<?> other = (IntObjectHashMap<?>) obj;
+		if (size != other.size || hasZeroKey != other.hasZeroKey || (hasZeroKey && false == ObjectUtil.equal(zeroValue, other.zeroValue))) {
+			return false;
+		}
+		int index;
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				index = other.indexOf(keys[i]);
+				if (index < 0 || false == ObjectUtil.equal(values[i], other.values[index])) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("{");
+		if (hasZeroKey) {
+			builder.append(0).append('=').append(zeroValue);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				if (builder.length() > 1) {
+					builder.append(", ");
+				}
+				builder.append(keys[i]).append('=').append(values[i]);
+			}
+		}
+		return builder.append('}').toString();
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 查找非0键所在槽位
+	 * 
+	 * @param key 键，不能为0
+	 * @return 槽位，不存在返回-1
+	 */
+	private int indexOf(int key) {
+		int index = PrimitiveHash.mix(key) & mask;
+		int current;
+		while (0 != (current = keys[index])) {
+			if (current == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * 在空槽位插入非0键，必要时扩容
+	 */
+	private void insertAt(int index, int key, Object value) {
+		keys[index] = key;
+		values[index] = value;
+		if (++size - (hasZeroKey ? 1 : 0) > threshold) {
+			rehash(PrimitiveHash.grow(keys.length));
+		}
+	}
+
+	/**
+	 * 删除槽位上的元素，并将后续同一探测链上的元素前移，保证查找不中断
+	 */
+	private void shiftKeys(int pos) {
+		int last;
+		int slot;
+		int current;
+		while (true) {
+			last = pos;
+			pos = (pos + 1) & mask;
+			while (true) {
+				if (0 == (current = keys[pos])) {
+					keys[last] = 0;
+					values[last] = null;
+					return;
+				}
+				slot = PrimitiveHash.mix(current) & mask;
+				// 元素的理想槽位不在(last, pos]之间时可以移到last
+				if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+					break;
+				}
+				pos = (pos + 1) & mask;
+			}
+			keys[last] = current;
+			values[last] = values[pos];
+		}
+	}
+
+	private void allocate(int tableSize) {
+		this.keys = new int[tableSize];
+		this.values = new Object[tableSize];
+		this.mask = tableSize - 1;
+		this.threshold = PrimitiveHash.threshold(tableSize, loadFactor);
+	}
+
+	private void rehash(int tableSize) {
+		final int[] oldKeys = this.keys;
+		final Object[] oldValues = this.values;
+		allocate(tableSize);
+		int index;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (0 != oldKeys[i]) {
+				index = PrimitiveHash.mix(oldKeys[i]) & mask;
+				while (0 != keys[index]) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package com.ghostsf.atool.collection.primitive;
+
+import java.util.Arrays;
+
+/**
+ * long元素的HashSet，开放寻址（线性探测）实现，存取时不装箱<br>
+ * 元素直接存放在long数组中，删除时回移后续元素，不留下墓碑；元素0单独记录。<br>
+ * 非线程安全
+ * 
+ * @author ghostsf
+ *
+ */
+public class LongHashSet {
+
+	/** 元素数组，0表示空槽位 */
+	private long[] elements;
+	/** 是否包含元素0 */
+	private boolean hasZero;
+	/** 元素个数，包括元素0 */
+	private int size;
+	/** 掩码，表大小减1 */
+	private int mask;
+	/** 扩容阈值 */
+	private int threshold;
+	/** 加载因子 */
+	private final float loadFactor;
+
+	/**
+	 * 创建包含指定元素的Set
+	 * 
+	 * @param values 元素
+	 * @return {@link LongHashSet}
+	 */
+	public static LongHashSet of(long... values) {
+		final LongHashSet set = new LongHashSet(values.length);
+		set.addAll(values);
+		return set;
+	}
+
+	/**
+	 * 构造
+	 */
+	public LongHashSet() {
+		this(PrimitiveHash.DEFAULT_EXPECTED_SIZE);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param expectedSize 预期元素个数，达到此数量前不会扩容
+	 */
+	public LongHashSet(int expectedSize) {
+		this(expectedSize, PrimitiveHash.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param expectedSize 预期元素个数，达到此数量前不会扩容
+	 * @param loadFactor 加载因子，(0, 1)之间，越大越省内存，冲突也越多
+	 */
+	public LongHashSet(int expectedSize, float loadFactor) {
+		this.loadFactor = PrimitiveHash.checkLoadFactor(loadFactor);
+		allocate(PrimitiveHash.tableSize(expectedSize, loadFactor));
+	}
+
+	/**
+	 * 加入元素
+	 * 
+	 * @param value 元素
+	 * @return 元素之前不存在返回<code>true</code>
+	 */
+	public boolean add(long value) {
+		if (0 == value) {
+			if (hasZero) {
+				return false;
+			}
+			hasZero = true;
+			size++;
+			return true;
+		}
+		int index = PrimitiveHash.mix(value) & mask;
+		long current;
+		while (0 != (current = elements[index])) {
+			if (current == value) {
+				return false;
+			}
+			index = (index + 1) & mask;
+		}
+		elements[index] = value;
+		if (++size - (hasZero ? 1 : 0) > threshold) {
+			rehash(PrimitiveHash.grow(elements.length));
+		}
+		return true;
+	}
+
+	/**
+	 * 加入多个元素
+	 * 
+	 * @param values 元素
+	 * @return 是否有新元素加入
+	 */
+	public boolean addAll(long... values) {
+		boolean modified = false;
+		for (long value : values) {
+			modified |= add(value);
+		}
+		return modified;
+	}
+
+	/**
+	 * 是否包含元素
+	 * 
+	 * @param value 元素
+	 * @return 是否包含
+	 */
+	public boolean contains(long value) {
+		return (0 == value) ? hasZero : indexOf(value) >= 0;
+	}
+
+	/**
+	 * 移除元素
+	 * 
+	 * @param value 元素
+	 * @return 元素存在并被移除返回<code>true</code>
+	 */
+	public boolean remove(long value) {
+		if (0 == value) {
+			if (false == hasZero) {
+				return false;
+			}
+			hasZero = false;
+			size--;
+			return true;
+		}
+		final int index = indexOf(value);
+		if (index < 0) {
+			return false;
+		}
+		shiftKeys(index);
+		size--;
+		return true;
+	}
+
+	/**
+	 * 元素个数
+	 * 
+	 * @return 元素个数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 是否为空
+	 * 
+	 * @return 是否为空
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * 清空，保留已分配的空间
+	 */
+	public void clear() {
+		Arrays.fill(elements, 0L);
+		hasZero = false;
+		size = 0;
+	}
+
+	/**
+	 * 转为数组，顺序不确定
+	 * 
+	 * @return 数组
+	 */
+	public long[] toArray() {
+		final long[] result = new long[size];
+		int n = 0;
+		if (hasZero) {
+			result[n++] = 0;
+		}
+		for (long value : elements) {
+			if (0 != value) {
+				result[n++] = value;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = 0;
+		for (long value : elements) {
+			if (0 != value) {
+				h += PrimitiveHash.hashCode(value);
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (false == (obj instanceof LongHashSet)) {
+			return false;
+		}
+		final LongHashSet other = (LongHashSet) obj;
+		if (size != other.size || hasZero != other.hasZero) {
+			return false;
+		}
+		for (long value : elements) {
+			if (0 != value && other.indexOf(value) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 查找非0元素所在槽位
+	 * 
+	 * @param value 元素，不能为0
+	 * @return 槽位，不存在返回-1
+	 */
+	private int indexOf(long value) {
+		int index = PrimitiveHash.mix(value) & mask;
+		long current;
+		while (0 != (current = elements[index])) {
+			if (current == value) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * 删除槽位上的元素，并将后续同一探测链上的元素前移，保证查找不中断
+	 */
+	private void shiftKeys(int pos) {
+		int last;
+		int slot;
+		long current;
+		while (true) {
+			last = pos;
+			pos = (pos + 1) & mask;
+			while (true) {
+				if (0 == (current = elements[pos])) {
+					elements[last] = 0;
+					return;
+				}
+				slot = PrimitiveHash.mix(current) & mask;
+				// 元素的理想槽位不在(last, pos]之间时可以移到last
+				if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+					break;
+				}
+				pos = (pos + 1) & mask;
+			}
+			elements[last] = current;
+		}
+	}
+
+	private void allocate(int tableSize) {
+		this.elements = new long[tableSize];
+		this.mask = tableSize - 1;
+		this.threshold = PrimitiveHash.threshold(tableSize, loadFactor);
+	}
+
+	private void rehash(int tableSize) {
+		final long[] oldElements = this.elements;
+		allocate(tableSize);
+		int index;
+		for (long value : oldElements) {
+			if (0 != value) {
+				index = PrimitiveHash.mix(value) & mask;
+				while (0 != elements[index]) {
+					index = (index + 1) & mask;
+				}
+				elements[index] = value;
+			}
+		}
+	}
+}
@@ -0,0 +1,400 @@
+package com.ghostsf.atool.collection.primitive;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * long键、int值的HashMap，开放寻址（线性探测）实现，存取时不装箱<br>
+ * 键和值分别存放在两个基本类型数组中，每个元素只占用键和值本身的空间；删除时回移后续元素，不留下墓碑。<br>
+ * 键0单独存放；键不存在时get返回{@link #getOrDefault(long, int)}的默认值0。<br>
+ * 非线程安全
+ * 
+ * @author ghostsf
+ *
+ */
+public class LongIntHashMap {
+
+	/** 键数组，0表示空槽位 */
+	private long[] keys;
+	/** 值数组 */
+	private int[] values;
+	/** 是否包含键0 */
+	private boolean hasZeroKey;
+	/** 键0对应的值 */
+	private int zeroValue;
+	/** 元素个数，包括键0 */
+	private int size;
+	/** 掩码，表大小减1 */
+	private int mask;
+	/** 扩容阈值 */
+	private int threshold;
+	/** 加载因子 */
+	private final float loadFactor;
+
+	/**
+	 * 构造
+	 */
+	public LongIntHashMap() {
+		this(PrimitiveHash.DEFAULT_EXPECTED_SIZE);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param expectedSize 预期元素个数，达到此数量前不会扩容
+	 */
+	public LongIntHashMap(int expectedSize) {
+		this(expectedSize, PrimitiveHash.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param expectedSize 预期元素个数，达到此数量前不会扩容
+	 * @param loadFactor 加载因子，(0, 1)之间，越大越省内存，冲突也越多
+	 */
+	public LongIntHashMap(int expectedSize, float loadFactor) {
+		this.loadFactor = PrimitiveHash.checkLoadFactor(loadFactor);
+		allocate(PrimitiveHash.tableSize(expectedSize, loadFactor));
+	}
+
+	/**
+	 * 获取键对应的值
+	 * 
+	 * @param key 键
+	 * @return 值，键不存在时返回0
+	 */
+	public int get(long key) {
+		return getOrDefault(key, 0);
+	}
+
+	/**
+	 * 获取键对应的值
+	 * 
+	 * @param key 键
+	 * @param defaultValue 键不存在时返回的默认值
+	 * @return 值
+	 */
+	public int getOrDefault(long key, int defaultValue) {
+		if (0 == key) {
+			return hasZeroKey ? zeroValue : defaultValue;
+		}
+		final int index = indexOf(key);
+		return index < 0 ? defaultValue : values[index];
+	}
+
+	/**
+	 * 是否包含键
+	 * 
+	 * @param key 键
+	 * @return 是否包含
+	 */
+	public boolean containsKey(long key) {
+		return (0 == key) ? hasZeroKey : indexOf(key) >= 0;
+	}
+
+	/**
+	 * 放入键值对
+	 * 
+	 * @param key 键
+	 * @param value 值
+	 * @return 原值，键不存在时返回0
+	 */
+	public int put(long key, int value) {
+		if (0 == key) {
+			final int old = hasZeroKey ? zeroValue : 0;
+			if (false == hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			zeroValue = value;
+			return old;
+		}
+		int index = PrimitiveHash.mix(key) & mask;
+		long current;
+		while (0 != (current = keys[index])) {
+			if (current == key) {
+				final int old = values[index];
+				values[index] = value;
+				return old;
+			}
+			index = (index + 1) & mask;
+		}
+		insertAt(index, key, value);
+		return 0;
+	}
+
+	/**
+	 * 将键对应的值加上增量，键不存在时视为0，常用于计数
+	 * 
+	 * @param key 键
+	 * @param delta 增量
+	 * @return 相加后的值
+	 */
+	public int addTo(long key, int delta) {
+		if (0 == key) {
+			if (false == hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			return zeroValue += delta;
+		}
+		int index = PrimitiveHash.mix(key) & mask;
+		long current;
+		while (0 != (current = keys[index])) {
+			if (current == key) {
+				return values[index] += delta;
+			}
+			index = (index + 1) & mask;
+		}
+		insertAt(index, key, delta);
+		return delta;
+	}
+
+	/**
+	 * 移除键
+	 * 
+	 * @param key 键
+	 * @return 被移除的值，键不存在时返回0
+	 */
+	public int remove(long key) {
+		if (0 == key) {
+			if (false == hasZeroKey) {
+				return 0;
+			}
+			final int old = zeroValue;
+			hasZeroKey = false;
+			zeroValue = 0;
+			size--;
+			return old;
+		}
+		final int index = indexOf(key);
+		if (index < 0) {
+			return 0;
+		}
+		final int old = values[index];
+		shiftKeys(index);
+		size--;
+		return old;
+	}
+
+	/**
+	 * 元素个数
+	 * 
+	 * @return 元素个数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 是否为空
+	 * 
+	 * @return 是否为空
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * 清空，保留已分配的空间
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0L);
+		Arrays.fill(values, 0);
+		hasZeroKey = false;
+		zeroValue = 0;
+		size = 0;
+	}
+
+	/**
+	 * 所有键，顺序不确定，与{@link #values()}的顺序一致
+	 * 
+	 * @return 键数组
+	 */
+	public long[] keys() {
+		final long[] result = new long[size];
+		int n = 0;
+		if (hasZeroKey) {
+			result[n++] = 0;
+		}
+		for (long key : keys) {
+			if (0 != key) {
+				result[n++] = key;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 所有值，顺序不确定，与{@link #keys()}的顺序一致
+	 * 
+	 * @return 值数组
+	 */
+	public int[] values() {
+		final int[] result = new int[size];
+		int n = 0;
+		if (hasZeroKey) {
+			result[n++] = zeroValue;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				result[n++] = values[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 转换为包装类型的{@link HashMap}
+	 * 
+	 * @return {@link HashMap}
+	 */
+	public Map<Long, Integer> toMap() {
+		final Map<Long, Integer> map = new HashMap<>((int) (size / 0.75f) + 1);
+		if (hasZeroKey) {
+			map.put(0L, zeroValue);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				map.put(keys[i], values[i]);
+			}
+		}
+		return map;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hasZeroKey ? PrimitiveHash.hashCode(zeroValue) : 0;
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				h += PrimitiveHash.hashCode(keys[i]) ^ PrimitiveHash.hashCode(values[i]);
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (false == (obj instanceof LongIntHashMap)) {
+			return false;
+		}
+		final LongIntHashMap other = (LongIntHashMap) obj;
+		if (size != other.size || hasZeroKey != other.hasZeroKey || (hasZeroKey && zeroValue != other.zeroValue)) {
+			return false;
+		}
+		int index;
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				index = other.indexOf(keys[i]);
+				if (index < 0 || values[i] != other.values[index]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("{");
+		if (hasZeroKey) {
+			builder.append(0).append('=').append(zeroValue);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (0 != keys[i]) {
+				if (builder.length() > 1) {
+					builder.append(", ");
+				}
+				builder.append(keys[i]).append('=').append(values[i]);
+			}
+		}
+		return builder.append('}').toString();
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * 查找非0键所在槽位
+	 * 
+	 * @param key 键，不能为0
+	 * @return 槽位，不存在返回-1
+	 */
+	private int indexOf(long key) {
+		int index = PrimitiveHash.mix(key) & mask;
+		long current;
+		while (0 != (current = keys[index])) {
+			if (current == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * 在空槽位插入非0键，必要时扩容
+	 */
+	private void insertAt(int index, long key, int value) {
+		keys[index] = key;
+		values[index] = value;
+		if (++size - (hasZeroKey ? 1 : 0) > threshold) {
+			rehash(PrimitiveHash.grow(keys.length));
+		}
+	}
+
+	/**
+	 * 删除槽位上的元素，并将后续同一探测链上的元素前移，保证查找不中断
+	 */
+	private void shiftKeys(int pos) {
+		int last;
+		int slot;
+		long current;
+		while (true) {
+			last = pos;
+			pos = (pos + 1) & mask;
+			while (true) {
+				if (0 == (current = keys[pos])) {
+					keys[last] = 0;
+					values[last] = 0;
+					return;
+				}
+				slot = PrimitiveHash.mix(current) & mask;
+				// 元素的理想槽位不在(last, pos]之间时可以移到last
+				if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+					break;
+				}
+				pos = (pos + 1) & mask;
+			}
+			keys[last] = current;
+			values[last] = values[pos];
+		}
+	}
+
+	private void allocate(int tableSize) {
+		this.keys = new long[tableSize];
+		this.values = new int[tableSize];
+		this.mask = tableSize - 1;
+		this.threshold = PrimitiveHash.threshold(tableSize, loadFactor);
+	}
+
+	private void rehash(int tableSize) {
+		final long[] oldKeys = this.keys;
+		final int[] oldValues = this.values;
+		allocate(tableSize);
+		int index;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (0 != oldKeys[i]) {
+				index = PrimitiveHash.mix(oldKeys[i]) & mask;
+				while (0 != keys[index]) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+}
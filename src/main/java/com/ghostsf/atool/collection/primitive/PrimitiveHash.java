@@ -0,0 +1,121 @@
+package com.ghostsf.atool.collection.primitive;
+
+/**
+ * 基本类型集合内部使用的hash及容量计算工具
+ * 
+ * @author ghostsf
+ *
+ */
+final class PrimitiveHash {
+
+	/** 默认加载因子 */
+	static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	/** 默认预期元素个数 */
+	static final int DEFAULT_EXPECTED_SIZE = 16;
+	/** 最大表大小 */
+	private static final int MAX_TABLE_SIZE = 1 << 30;
+
+	private PrimitiveHash() {
+	}
+
+	/**
+	 * 打散int键，使连续的键均匀分布在表中
+	 * 
+	 * @param key 键
+	 * @return hash值
+	 */
+	static int mix(int key) {
+		final int h = key * 0x9e3779b9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * 打散long键，使连续的键均匀分布在表中
+	 * 
+	 * @param key 键
+	 * @return hash值
+	 */
+	static int mix(long key) {
+		long h = key * 0x9e3779b97f4a7c15L;
+		h ^= (h >>> 32);
+		return (int) (h ^ (h >>> 16));
+	}
+
+	/**
+	 * 与{@link Integer#hashCode()}一致的hash值
+	 * 
+	 * @param value 值
+	 * @return hash值
+	 */
+	static int hashCode(int value) {
+		return value;
+	}
+
+	/**
+	 * 与{@link Long#hashCode()}一致的hash值
+	 * 
+	 * @param value 值
+	 * @return hash值
+	 */
+	static int hashCode(long value) {
+		return (int) (value ^ (value >>> 32));
+	}
+
+	/**
+	 * 检查加载因子
+	 * 
+	 * @param loadFactor 加载因子
+	 * @return 加载因子
+	 * @throws IllegalArgumentException 加载因子不在(0, 1)之间
+	 */
+	static float checkLoadFactor(float loadFactor) {
+		if (false == (loadFactor > 0 && loadFactor < 1)) {
+			throw new IllegalArgumentException("Load factor must be in (0, 1): " + loadFactor);
+		}
+		return loadFactor;
+	}
+
+	/**
+	 * 计算能容纳预期元素个数的表大小，为2的幂
+	 * 
+	 * @param expectedSize 预期元素个数
+	 * @param loadFactor 加载因子
+	 * @return 表大小
+	 * @throws IllegalArgumentException 预期元素个数为负数
+	 */
+	static int tableSize(int expectedSize, float loadFactor) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+		}
+		final long required = Math.max(4L, (long) Math.ceil(expectedSize / (double) loadFactor));
+		if (required > MAX_TABLE_SIZE) {
+			return MAX_TABLE_SIZE;
+		}
+		return Integer.highestOneBit((int) required - 1) << 1;
+	}
+
+	/**
+	 * 表大小对应的扩容阈值
+	 * 
+	 * @param tableSize 表大小
+	 * @param loadFactor 加载因子
+	 * @return 扩容阈值
+	 */
+	static int threshold(int tableSize, float loadFactor) {
+		return Math.min(tableSize - 1, (int) Math.ceil(tableSize * (double) loadFactor));
+	}
+
+	/**
+	 * 扩容后的表大小
+	 * 
+	 * @param tableSize 当前表大小
+	 * @return 新的表大小
+	 * @throws IllegalStateException 已达到最大表大小
+	 */
+	static int grow(int tableSize) {
+		if (tableSize >= MAX_TABLE_SIZE) {
+			throw new IllegalStateException("Table is full, max size: " + MAX_TABLE_SIZE);
+		}
+		return tableSize << 1;
+	}
+}
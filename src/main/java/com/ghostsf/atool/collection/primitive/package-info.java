@@ -0,0 +1,7 @@
+/**
+ * 基本类型集合，包括开放寻址的int、long键Map和Set，以及可增长的int、long列表，存取时不装箱
+ * 
+ * @author ghostsf
+ *
+ */
+package com.ghostsf.atool.collection.primitive;
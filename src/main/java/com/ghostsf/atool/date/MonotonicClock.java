@@ -0,0 +1,51 @@
+package com.ghostsf.atool.date;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单调时钟<br>
+ * 以类加载时的{@link System#currentTimeMillis()}为起点，之后的时间由{@link System#nanoTime()}的增量推算。<br>
+ * NTP校时等原因导致系统时间回拨时，此时钟不会回退，适用于需要时间单调递增的场景（例如ID生成）。<br>
+ * 由于不再跟随系统时间调整，长时间运行后与系统时间可能有少量偏差。
+ * 
+ * @author ghostsf
+ */
+public class MonotonicClock {
+
+	/** 起点的毫秒时间 */
+	private final long baseMillis;
+	/** 起点的纳秒时间 */
+	private final long baseNanos;
+
+	/**
+	 * 构造
+	 */
+	private MonotonicClock() {
+		this.baseMillis = System.currentTimeMillis();
+		this.baseNanos = System.nanoTime();
+	}
+
+	/**
+	 * @return 当前时间毫秒数
+	 */
+	private long currentTimeMillis() {
+		return baseMillis + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - baseNanos);
+	}
+
+	//------------------------------------------------------------------------ static
+	/**
+	 * 单例
+	 * @author ghostsf
+	 *
+	 */
+	private static class InstanceHolder {
+		public static final MonotonicClock INSTANCE = new MonotonicClock();
+	}
+
+	/**
+	 * @return 当前时间，单调递增
+	 */
+	public static long now() {
+		return InstanceHolder.INSTANCE.currentTimeMillis();
+	}
+}
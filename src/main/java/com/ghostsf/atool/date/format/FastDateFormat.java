@@ -10,6 +10,8 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.TimeZone;
 
+import com.ghostsf.atool.cache.CacheStatsRegistry;
+
 /**
  * <p>
  * FastDateFormat 是一个线程安全的 {@link java.text.SimpleDateFormat} 实现。
@@ -45,6 +47,10 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
 		}
 	};
 
+	static {
+		CacheStatsRegistry.register("FastDateFormat", cache);
+	}
+
 	private final FastDatePrinter printer;
 	private final FastDateParser parser;
 
@@ -9,13 +9,16 @@ import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import com.ghostsf.atool.cache.CacheStats;
+import com.ghostsf.atool.cache.CacheStatsSource;
+
 /**
  * 日期格式化器缓存<br>
  * Thanks to Apache Commons Lang 3.5
  * 
  * @since 2.16.2
  */
-abstract class FormatCache<F extends Format> {
+abstract class FormatCache<F extends Format> implements CacheStatsSource {
 
 	/**
 	 * No date or no time. Used in same parameters as DateFormat.SHORT or DateFormat.LONG
@@ -26,6 +29,9 @@ abstract class FormatCache<F extends Format> {
 
 	private static final ConcurrentMap<MultipartKey, String> cDateTimeInstanceCache = new ConcurrentHashMap<>(7);
 
+	/** 格式化器缓存的统计信息 */
+	private final CacheStats stats = new CacheStats();
+
 	/**
 	 * 使用默认的pattern、timezone和locale获得缓存中的实例
 	 * @return a date/time formatter
@@ -56,17 +62,35 @@ abstract class FormatCache<F extends Format> {
 		final MultipartKey key = new MultipartKey(pattern, timeZone, locale);
 		F format = cInstanceCache.get(key);
 		if (format == null) {
+			stats.recordMiss();
+			final boolean timed = stats.isEnabled();
+			final long start = timed ? System.nanoTime() : 0L;
 			format = createInstance(pattern, timeZone, locale);
+			if (timed) {
+				stats.recordLoadSuccess(System.nanoTime() - start);
+			}
 			final F previousValue = cInstanceCache.putIfAbsent(key, format);
 			if (previousValue != null) {
 				// another thread snuck in and did the same work
 				// we should return the instance that is in ConcurrentMap
 				format = previousValue;
 			}
+		} else {
+			stats.recordHit();
 		}
 		return format;
 	}
 
+	@Override
+	public CacheStats getStats() {
+		return stats;
+	}
+
+	@Override
+	public int size() {
+		return cInstanceCache.size();
+	}
+
 	/**
 	 * 创建格式化器
 	 * 
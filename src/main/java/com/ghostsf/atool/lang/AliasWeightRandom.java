@@ -0,0 +1,252 @@
+package com.ghostsf.atool.lang;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.ghostsf.atool.lang.WeightRandom.WeightObj;
+
+/**
+ * 基于别名方法（Vose's Alias Method）的权重随机算法<br>
+ * 构建时将n个权重拆分为n个等概率的列，每列最多包含两个对象：本列对象的概率prob[i]和别名对象alias[i]。<br>
+ * 取值时随机选择一列，再以prob[i]的概率返回本列对象，否则返回别名对象，时间为O(1)，不产生任何对象。<br>
+ * 实例不可变，可被多个线程共享，取值使用调用线程的{@link ThreadLocalRandom}；权重变化时通过{@link #toBuilder()}或{@link #builder()}重新构建。
+ *
+ * <pre>
+ * AliasWeightRandom&lt;String&gt; random = AliasWeightRandom.&lt;String&gt;builder().add("A", 1).add("B", 3).build();
+ * String next = random.next();
+ * </pre>
+ *
+ * 参考：http://www.keithschwarz.com/darts-dice-coins/
+ *
+ * @param <T> 权重随机获取的对象类型
+ * @author ghostsf
+ */
+public class AliasWeightRandom<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/** 对象 */
+	private final Object[] objs;
+	/** 原始权重，用于重新构建 */
+	private final double[] weights;
+	/** 每列返回本列对象的概率 */
+	private final double[] prob;
+	/** 每列的别名对象下标 */
+	private final int[] alias;
+
+	/**
+	 * 创建构建器
+	 *
+	 * @param <T> 对象类型
+	 * @return {@link Builder}
+	 */
+	public static <T> Builder<T> builder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param objs 对象
+	 * @param weights 权重
+	 */
+	private AliasWeightRandom(Object[] objs, double[] weights) {
+		final int n = objs.length;
+		this.objs = objs;
+		this.weights = weights;
+		this.prob = new double[n];
+		this.alias = new int[n];
+
+		double sum = 0;
+		for (double weight : weights) {
+			sum += weight;
+		}
+		if (false == (sum > 0) || Double.isInfinite(sum)) {
+			throw new IllegalArgumentException("Sum of weights must be positive and finite: " + sum);
+		}
+
+		// 按平均值缩放后分为小于1和大于等于1的两组，使用数组作为栈
+		final double[] scaled = new double[n];
+		final int[] small = new int[n];
+		final int[] large = new int[n];
+		int smallSize = 0;
+		int largeSize = 0;
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / sum;
+			if (scaled[i] < 1) {
+				small[smallSize++] = i;
+			} else {
+				large[largeSize++] = i;
+			}
+		}
+
+		// 每次用一个大权重补满一个小权重的列
+		int less;
+		int more;
+		while (smallSize > 0 && largeSize > 0) {
+			less = small[--smallSize];
+			more = large[--largeSize];
+			prob[less] = scaled[less];
+			alias[less] = more;
+			scaled[more] = (scaled[more] + scaled[less]) - 1;
+			if (scaled[more] < 1) {
+				small[smallSize++] = more;
+			} else {
+				large[largeSize++] = more;
+			}
+		}
+		// 剩余的列由于浮点误差未被精确补满，概率视为1
+		while (largeSize > 0) {
+			prob[large[--largeSize]] = 1;
+		}
+		while (smallSize > 0) {
+			prob[small[--smallSize]] = 1;
+		}
+	}
+
+	/**
+	 * 下一个随机对象，使用调用线程的{@link ThreadLocalRandom}
+	 *
+	 * @return 随机对象
+	 */
+	public T next() {
+		return next(ThreadLocalRandom.current());
+	}
+
+	/**
+	 * 使用指定随机源获得下一个随机对象
+	 *
+	 * @param random 随机源
+	 * @return 随机对象
+	 */
+	@SuppressWarnings("unchecked")
+	public T next(Random random) {
+		final int column = random.nextInt(objs.length);
+		return (T) objs[random.nextDouble() < prob[column] ? column : alias[column]];
+	}
+
+	/**
+	 * 对象个数
+	 *
+	 * @return 对象个数
+	 */
+	public int size() {
+		return objs.length;
+	}
+
+	/**
+	 * 创建包含当前对象和权重的构建器，用于在当前权重基础上修改后重新构建
+	 *
+	 * @return {@link Builder}
+	 */
+	@SuppressWarnings("unchecked")
+	public Builder<T> toBuilder() {
+		final Builder<T> builder = new Builder<>();
+		for (int i = 0; i < objs.length; i++) {
+			builder.add((T) objs[i], weights[i]);
+		}
+		return builder;
+	}
+
+	/**
+	 * {@link AliasWeightRandom}构建器，非线程安全
+	 *
+	 * @param <T> 对象类型
+	 */
+	public static class Builder<T> {
+		private final List<T> objs = new ArrayList<>();
+		private final List<Double> weights = new ArrayList<>();
+
+		/**
+		 * 增加对象，对象已存在时同样作为新对象加入
+		 *
+		 * @param obj 对象
+		 * @param weight 权重，不能为负数，为0时永远不会被选中
+		 * @return this
+		 */
+		public Builder<T> add(T obj, double weight) {
+			if (false == (weight >= 0) || Double.isInfinite(weight)) {
+				throw new IllegalArgumentException("Weight must be non-negative and finite: " + weight);
+			}
+			objs.add(obj);
+			weights.add(weight);
+			return this;
+		}
+
+		/**
+		 * 增加对象
+		 *
+		 * @param weightObj 权重对象
+		 * @return this
+		 */
+		public Builder<T> add(WeightObj<T> weightObj) {
+			return add(weightObj.getObj(), weightObj.getWeight());
+		}
+
+		/**
+		 * 增加多个对象
+		 *
+		 * @param weightObjs 权重对象
+		 * @return this
+		 */
+		public Builder<T> addAll(Iterable<WeightObj<T>> weightObjs) {
+			for (WeightObj<T> weightObj : weightObjs) {
+				add(weightObj);
+			}
+			return this;
+		}
+
+		/**
+		 * 修改对象的权重，对象不存在时加入
+		 *
+		 * @param obj 对象
+		 * @param weight 新权重
+		 * @return this
+		 */
+		public Builder<T> set(T obj, double weight) {
+			final int index = objs.indexOf(obj);
+			if (index < 0) {
+				return add(obj, weight);
+			}
+			if (false == (weight >= 0) || Double.isInfinite(weight)) {
+				throw new IllegalArgumentException("Weight must be non-negative and finite: " + weight);
+			}
+			weights.set(index, weight);
+			return this;
+		}
+
+		/**
+		 * 移除对象
+		 *
+		 * @param obj 对象
+		 * @return this
+		 */
+		public Builder<T> remove(T obj) {
+			final int index = objs.indexOf(obj);
+			if (index >= 0) {
+				objs.remove(index);
+				weights.remove(index);
+			}
+			return this;
+		}
+
+		/**
+		 * 构建
+		 *
+		 * @return {@link AliasWeightRandom}
+		 * @throws IllegalArgumentException 没有对象或权重之和不为正数
+		 */
+		public AliasWeightRandom<T> build() {
+			if (objs.isEmpty()) {
+				throw new IllegalArgumentException("No object to choose from");
+			}
+			final double[] weightArray = new double[weights.size()];
+			for (int i = 0; i < weightArray.length; i++) {
+				weightArray[i] = weights.get(i);
+			}
+			return new AliasWeightRandom<>(objs.toArray(), weightArray);
+		}
+	}
+}
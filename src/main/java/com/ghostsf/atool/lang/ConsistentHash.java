@@ -1,46 +1,73 @@
 package com.ghostsf.atool.lang;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.ghostsf.atool.lang.hash.FnvHashFunc;
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
 import com.ghostsf.atool.util.HashUtil;
 
 /**
  * 一致性Hash算法
  * 算法详解：http://blog.csdn.net/sparkliang/article/details/5279393
- * 算法实现：https://weblogs.java.net/blog/2007/11/27/consistent-hashing
+ * 算法实现：https://weblogs.java.net/blog/2007/11/27/consistent-hashing<br>
+ * 查找使用排好序的int数组二分查找，节点变更时在锁内重建数组并整体替换（写时复制），查找无需加锁，可与节点变更并发执行<br>
+ * 设置容量系数后，可使用{@link #acquire(Object)}和{@link #release(Object)}进行有界负载的一致性Hash（Consistent Hashing with Bounded Loads），
+ * 每个节点的负载不超过平均负载的指定倍数<br>
+ * 默认使用{@link FnvHashFunc}，字符串、字节数组和整数键的查找不产生任何对象；字符串和整数键的结果与旧版按toString计算FNV一致。<br>
+ * 注意字节数组键现在按数组内容计算hash，旧版按其toString（即"[B@"加identity hash，每个数组实例各不相同）计算，因此字节数组键的节点分布与旧版不同，
+ * 内容相同的数组现在会路由到同一节点
  * @author xiaoleilu
  *
  * @param <T>	节点类型
  */
-public class ConsistentHash<T> {
-	/** Hash计算对象，用于自定义hash算法 */
+public class ConsistentHash<T> implements NodeLocator<T> {
+	/** Hash计算对象，用于自定义hash算法，为<code>null</code>时使用primitiveHashFunc */
 	HashFunc hashFunc;
+	/** 返回基本类型的Hash算法，查找时不产生对象 */
+	PrimitiveHashFunc primitiveHashFunc;
 	/** 复制的节点个数 */
 	private final int numberOfReplicas;
-	/** 一致性Hash环 */
+	/** 一致性Hash环，仅在节点变更时使用，变更需持有当前对象锁 */
 	private final SortedMap<Integer, T> circle = new TreeMap<Integer, T>();
+	/** 供查找使用的Hash环快照，每次节点变更后整体替换 */
+	private volatile Ring<T> ring = new Ring<>(new int[0], new Object[0], Collections.emptySet());
+	/** 容量系数，节点负载上限为平均负载的此倍数，小于等于0表示不限制 */
+	private volatile double capacityFactor;
+	/** 每个节点的负载 */
+	private final ConcurrentMap<T, AtomicLong> loads = new ConcurrentHashMap<>();
+	/** 总负载 */
+	private final AtomicLong totalLoad = new AtomicLong();
 	
 	/**
-	 * 构造，使用Java默认的Hash算法
+	 * 构造，使用FNV1hash算法
 	 * @param numberOfReplicas 复制的节点个数，增加每个节点的复制节点有利于负载均衡
 	 * @param nodes 节点对象
 	 */
 	public ConsistentHash(int numberOfReplicas, Collection<T> nodes) {
+		this(FnvHashFunc.INSTANCE, numberOfReplicas, nodes);
+	}
+
+	/**
+	 * 构造
+	 * @param primitiveHashFunc 返回基本类型的hash算法对象
+	 * @param numberOfReplicas 复制的节点个数，增加每个节点的复制节点有利于负载均衡
+	 * @param nodes 节点对象
+	 */
+	public ConsistentHash(PrimitiveHashFunc primitiveHashFunc, int numberOfReplicas, Collection<T> nodes) {
 		this.numberOfReplicas = numberOfReplicas;
-		this.hashFunc = new HashFunc() {
-			
-			@Override
-			public Integer hash(Object key) {
-				//默认使用FNV1hash算法
-				return HashUtil.fnvHash(key.toString());
-			}
-		};
+		this.primitiveHashFunc = primitiveHashFunc;
 		//初始化节点
-		for (T node : nodes) {
-			add(node);
-		}
+		addAll(nodes);
 	}
 
 	/**
@@ -53,9 +80,7 @@ public class ConsistentHash<T> {
 		this.numberOfReplicas = numberOfReplicas;
 		this.hashFunc = hashFunc;
 		//初始化节点
-		for (T node : nodes) {
-			add(node);
-		}
+		addAll(nodes);
 	}
 
 	/**
@@ -65,19 +90,37 @@ public class ConsistentHash<T> {
 	 * 由于hash算法会调用node的toString方法，故按照toString去重
 	 * @param node 节点对象
 	 */
-	public void add(T node) {
-		for (int i = 0; i < numberOfReplicas; i++) {
-			circle.put(hashFunc.hash(node.toString() + i), node);
+	@Override
+	public synchronized void add(T node) {
+		addWithoutRebuild(node);
+		rebuild();
+	}
+
+	/**
+	 * 批量增加节点，所有节点加入后只重建一次Hash环
+	 * @param nodes 节点对象
+	 * @see #add(Object)
+	 */
+	public synchronized void addAll(Collection<T> nodes) {
+		for (T node : nodes) {
+			addWithoutRebuild(node);
 		}
+		rebuild();
 	}
 
 	/**
 	 * 移除节点的同时移除相应的虚拟节点
 	 * @param node 节点对象
 	 */
-	public void remove(T node) {
+	@Override
+	public synchronized void remove(T node) {
 		for (int i = 0; i < numberOfReplicas; i++) {
-			circle.remove(hashFunc.hash(node.toString() + i));
+			circle.remove(hash(node.toString() + i));
+		}
+		rebuild();
+		final AtomicLong load = loads.remove(node);
+		if (null != load) {
+			totalLoad.addAndGet(-load.get());
 		}
 	}
 
@@ -86,17 +129,246 @@ public class ConsistentHash<T> {
 	 * @param key 为给定键取Hash，取得顺时针方向上最近的一个虚拟节点对应的实际节点
 	 * @return 节点对象
 	 */
+	@Override
 	public T get(Object key) {
-		if (circle.isEmpty()) {
+		return getByHash(hash(key));
+	}
+
+	/**
+	 * 获得一个最近的顺时针节点，避免long键装箱
+	 * @param key 键
+	 * @return 节点对象
+	 */
+	public T get(long key) {
+		return getByHash((null == hashFunc) ? primitiveHashFunc.hash32(key) : hashFunc.hash(key));
+	}
+
+	// --------------------------------------------------------------------------------------------------------- Bounded load
+	/**
+	 * 设置容量系数，开启有界负载模式<br>
+	 * 开启后{@link #acquire(Object)}保证每个节点的负载不超过 ceil(容量系数 * (总负载 + 1) / 节点数)
+	 * @param capacityFactor 容量系数，必须大于1，例如1.25表示节点负载不超过平均负载的1.25倍；小于等于0表示关闭
+	 * @return this
+	 */
+	public ConsistentHash<T> setCapacityFactor(double capacityFactor) {
+		if (capacityFactor > 0 && capacityFactor <= 1) {
+			throw new IllegalArgumentException("Capacity factor must be greater than 1: " + capacityFactor);
+		}
+		this.capacityFactor = capacityFactor;
+		return this;
+	}
+
+	/**
+	 * 获得一个负载未满的节点并将其负载加1，使用完毕后需调用{@link #release(Object)}<br>
+	 * 从键对应的虚拟节点开始顺时针查找，跳过负载已满的节点，未设置容量系数时等同于{@link #get(Object)}
+	 * @param key 键
+	 * @return 节点对象，无节点时返回<code>null</code>
+	 */
+	public T acquire(Object key) {
+		final int hash = hash(key);
+		T node;
+		do {
+			node = acquire(this.ring, hash);
+			// 返回null表示并发移除了选中的节点，使用新的Hash环重试
+		} while (null == node && 0 != this.ring.hashes.length);
+		return node;
+	}
+
+	/**
+	 * 在指定的Hash环快照上获得一个负载未满的节点并将其负载加1
+	 * @param ring Hash环快照
+	 * @param hash 键的hash值
+	 * @return 节点对象，无节点或选中的节点已被移除时返回<code>null</code>
+	 */
+	private T acquire(Ring<T> ring, int hash) {
+		final int length = ring.hashes.length;
+		if (0 == length) {
+			return null;
+		}
+		final int index = ring.indexOf(hash);
+		final double factor = this.capacityFactor;
+		if (factor > 0) {
+			final long capacity = (long) Math.ceil(factor * (totalLoad.get() + 1) / ring.nodeCount);
+			T node;
+			AtomicLong load;
+			long current;
+			for (int i = 0; i < length; i++) {
+				node = ring.node((index + i) % length);
+				load = loadOf(node);
+				if (null == load) {
+					// 节点已被移除
+					continue;
+				}
+				while ((current = load.get()) < capacity) {
+					if (load.compareAndSet(current, current + 1)) {
+						totalLoad.incrementAndGet();
+						return node;
+					}
+				}
+			}
+			// 并发下所有节点都已达到按旧总负载计算的上限，退回到原始节点
+		}
+		final T node = ring.node(index);
+		final AtomicLong load = loadOf(node);
+		if (null == load) {
+			return null;
+		}
+		load.incrementAndGet();
+		totalLoad.incrementAndGet();
+		return node;
+	}
+
+	/**
+	 * 释放节点的一个负载，与{@link #acquire(Object)}成对调用
+	 * @param node 节点对象
+	 */
+	public void release(T node) {
+		final AtomicLong load = loads.get(node);
+		if (null == load) {
+			return;
+		}
+		long current;
+		while ((current = load.get()) > 0) {
+			if (load.compareAndSet(current, current - 1)) {
+				totalLoad.decrementAndGet();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 获得节点当前负载
+	 * @param node 节点对象
+	 * @return 负载
+	 */
+	public long getLoad(T node) {
+		final AtomicLong load = loads.get(node);
+		return (null == load) ? 0 : load.get();
+	}
+
+	/**
+	 * 获得所有节点的总负载
+	 * @return 总负载
+	 */
+	public long getTotalLoad() {
+		return totalLoad.get();
+	}
+
+	/**
+	 * 获得节点的负载计数器，不存在则创建<br>
+	 * 只为当前Hash环中的节点创建计数器：使用旧快照的查找可能与{@link #remove(Object)}并发，
+	 * 创建后再次检查节点是否仍在Hash环中，不在则撤销创建，避免为已移除的节点留下永不清理的计数器
+	 * @param node 节点对象
+	 * @return 负载计数器，节点已被移除时返回<code>null</code>
+	 */
+	private AtomicLong loadOf(T node) {
+		AtomicLong load = loads.get(node);
+		if (null == load) {
+			if (false == this.ring.nodeSet.contains(node)) {
+				return null;
+			}
+			final AtomicLong newLoad = new AtomicLong();
+			load = loads.putIfAbsent(node, newLoad);
+			if (null == load) {
+				load = newLoad;
+				if (false == this.ring.nodeSet.contains(node)) {
+					// 检查与创建之间节点被移除
+					loads.remove(node, newLoad);
+					return null;
+				}
+			}
+		}
+		return load;
+	}
+
+	// --------------------------------------------------------------------------------------------------------- Private method
+	/**
+	 * 计算键的hash值
+	 * @param key 键
+	 * @return hash值
+	 */
+	private int hash(Object key) {
+		return (null == hashFunc) ? HashUtil.hash32(primitiveHashFunc, key) : hashFunc.hash(key);
+	}
+
+	/**
+	 * 根据hash值获得顺时针方向上最近的节点
+	 * @param hash hash值
+	 * @return 节点对象，无节点时返回<code>null</code>
+	 */
+	private T getByHash(int hash) {
+		final Ring<T> ring = this.ring;
+		if (0 == ring.hashes.length) {
 			return null;
 		}
-		int hash = hashFunc.hash(key);
-		if (!circle.containsKey(hash)) {
-			SortedMap<Integer, T> tailMap = circle.tailMap(hash);	//返回此映射的部分视图，其键大于等于 hash
-			hash = tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey();
+		return ring.node(ring.indexOf(hash));
+	}
+
+	/**
+	 * 增加节点对应的虚拟节点，不重建查找用的Hash环
+	 * @param node 节点对象
+	 */
+	private void addWithoutRebuild(T node) {
+		for (int i = 0; i < numberOfReplicas; i++) {
+			circle.put(hash(node.toString() + i), node);
+		}
+	}
+
+	/**
+	 * 根据当前节点重建查找用的Hash环快照
+	 */
+	private void rebuild() {
+		final int[] hashes = new int[circle.size()];
+		final Object[] nodes = new Object[hashes.length];
+		int i = 0;
+		for (Entry<Integer, T> entry : circle.entrySet()) {
+			hashes[i] = entry.getKey();
+			nodes[i] = entry.getValue();
+			i++;
+		}
+		this.ring = new Ring<>(hashes, nodes, new HashSet<Object>(circle.values()));
+	}
+
+	/**
+	 * 不可变的Hash环快照，虚拟节点的hash值升序排列，nodes中相同下标为对应的实际节点
+	 *
+	 * @param <T> 节点类型
+	 */
+	private static class Ring<T> {
+		final int[] hashes;
+		final Object[] nodes;
+		/** 实际节点 */
+		final Set<Object> nodeSet;
+		/** 实际节点数 */
+		final int nodeCount;
+
+		Ring(int[] hashes, Object[] nodes, Set<Object> nodeSet) {
+			this.hashes = hashes;
+			this.nodes = nodes;
+			this.nodeSet = nodeSet;
+			this.nodeCount = nodeSet.size();
+		}
+
+		/**
+		 * 顺时针查找第一个hash值大于等于给定hash的虚拟节点下标，超出末尾则回到环首
+		 * @param hash hash值
+		 * @return 虚拟节点下标
+		 */
+		int indexOf(int hash) {
+			int index = Arrays.binarySearch(hashes, hash);
+			if (index < 0) {
+				index = -index - 1;
+				if (index == hashes.length) {
+					index = 0;
+				}
+			}
+			return index;
+		}
+
+		@SuppressWarnings("unchecked")
+		T node(int index) {
+			return (T) nodes[index];
 		}
-		//正好命中
-		return circle.get(hash);
 	}
 
 	/**
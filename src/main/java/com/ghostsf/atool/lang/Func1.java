@@ -0,0 +1,21 @@
+package com.ghostsf.atool.lang;
+
+/**
+ * 单个参数的函数对象<br>
+ * 与{@link Func}不同，参数不是可变参数，泛型调用时不会创建参数数组，适用于对集合中的每个元素做转换
+ * 
+ * @author ghostsf
+ *
+ * @param <P> 参数类型
+ * @param <R> 返回值类型
+ */
+public interface Func1<P, R> {
+
+	/**
+	 * 执行函数
+	 * 
+	 * @param parameter 参数
+	 * @return 函数执行结果
+	 */
+	R call(P parameter);
+}
@@ -0,0 +1,159 @@
+package com.ghostsf.atool.lang;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.ghostsf.atool.lang.ConsistentHash.HashFunc;
+import com.ghostsf.atool.lang.hash.FnvHashFunc;
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.util.HashUtil;
+
+/**
+ * 跳跃一致性Hash（Jump Consistent Hash）<br>
+ * 算法详解：https://arxiv.org/abs/1406.2294<br>
+ * 不需要维护Hash环，除节点列表外不占用额外内存，查找时间为O(log n)，键在节点间分布非常均匀。<br>
+ * 节点以加入顺序编号，在末尾增加节点时只有约1/n的键迁移到新节点；移除中间的节点时，其后节点的编号前移，迁移量较大，
+ * 因此适用于节点只在末尾增减的场景（例如按编号扩容的分片）。<br>
+ * 节点变更时整体替换节点数组，查找无需加锁。
+ * 
+ * @author ghostsf
+ *
+ * @param <T> 节点类型
+ */
+public class JumpConsistentHash<T> implements NodeLocator<T> {
+
+	/** Hash计算对象，用于自定义hash算法，为<code>null</code>时使用primitiveHashFunc */
+	private final HashFunc hashFunc;
+	/** 返回基本类型的Hash算法，查找时不产生对象 */
+	private final PrimitiveHashFunc primitiveHashFunc;
+	/** 节点列表快照 */
+	private volatile Object[] nodes = new Object[0];
+
+	/**
+	 * 构造，使用默认的FNV1hash算法
+	 * 
+	 * @param nodes 节点对象
+	 */
+	public JumpConsistentHash(Collection<T> nodes) {
+		this(FnvHashFunc.INSTANCE, nodes);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param hashFunc hash算法对象
+	 * @param nodes 节点对象
+	 */
+	public JumpConsistentHash(HashFunc hashFunc, Collection<T> nodes) {
+		this(hashFunc, null, nodes);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param primitiveHashFunc 返回基本类型的hash算法对象，使用其64位hash值
+	 * @param nodes 节点对象
+	 */
+	public JumpConsistentHash(PrimitiveHashFunc primitiveHashFunc, Collection<T> nodes) {
+		this(null, primitiveHashFunc, nodes);
+	}
+
+	private JumpConsistentHash(HashFunc hashFunc, PrimitiveHashFunc primitiveHashFunc, Collection<T> nodes) {
+		this.hashFunc = hashFunc;
+		this.primitiveHashFunc = primitiveHashFunc;
+		for (T node : nodes) {
+			add(node);
+		}
+	}
+
+	@Override
+	public T get(Object key) {
+		return getByHash((null == hashFunc) ? HashUtil.hash64(primitiveHashFunc, key) : HashUtil.mix64(hashFunc.hash(key)));
+	}
+
+	/**
+	 * 获得键对应的节点，避免long键装箱
+	 * 
+	 * @param key 键
+	 * @return 节点对象
+	 */
+	public T get(long key) {
+		return getByHash((null == hashFunc) ? primitiveHashFunc.hash64(key) : HashUtil.mix64(hashFunc.hash(key)));
+	}
+
+	/**
+	 * 在末尾增加节点，节点已存在时忽略
+	 * 
+	 * @param node 节点对象
+	 */
+	@Override
+	public synchronized void add(T node) {
+		final List<Object> list = toList();
+		if (false == list.contains(node)) {
+			list.add(node);
+			this.nodes = list.toArray();
+		}
+	}
+
+	/**
+	 * 移除节点，其后节点的编号前移
+	 * 
+	 * @param node 节点对象
+	 */
+	@Override
+	public synchronized void remove(T node) {
+		final List<Object> list = toList();
+		if (list.remove(node)) {
+			this.nodes = list.toArray();
+		}
+	}
+
+	/**
+	 * 节点数
+	 * 
+	 * @return 节点数
+	 */
+	public int size() {
+		return this.nodes.length;
+	}
+
+	/**
+	 * 跳跃一致性Hash算法，计算键对应的桶编号
+	 * 
+	 * @param key 键的64位hash值
+	 * @param buckets 桶数量，必须大于0
+	 * @return 桶编号，范围[0, buckets)
+	 */
+	public static int jump(long key, int buckets) {
+		if (buckets <= 0) {
+			throw new IllegalArgumentException("Buckets must be positive: " + buckets);
+		}
+		long b = -1;
+		long j = 0;
+		while (j < buckets) {
+			b = j;
+			key = key * 2862933555777941757L + 1;
+			j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+		}
+		return (int) b;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getByHash(long hash) {
+		final Object[] nodes = this.nodes;
+		if (0 == nodes.length) {
+			return null;
+		}
+		return (T) nodes[jump(hash, nodes.length)];
+	}
+
+	private List<Object> toList() {
+		final Object[] nodes = this.nodes;
+		final List<Object> list = new ArrayList<>(nodes.length + 1);
+		for (Object node : nodes) {
+			list.add(node);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,198 @@
+package com.ghostsf.atool.lang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.ghostsf.atool.lang.ConsistentHash.HashFunc;
+import com.ghostsf.atool.lang.hash.FnvHashFunc;
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.util.HashUtil;
+import com.ghostsf.atool.util.NumberUtil;
+
+/**
+ * Maglev一致性Hash<br>
+ * 算法详解：https://research.google/pubs/pub44824/ 第3.4节<br>
+ * 根据每个节点的偏移和步长生成排列，轮流填充大小为质数M的查找表，查找只需一次取模，时间为O(1)。<br>
+ * 每个节点在查找表中占据的槽位数几乎相同，节点增删时大部分槽位保持不变，迁移量接近最小。<br>
+ * 查找表占用M个int，节点变更时在锁内重建后整体替换，查找无需加锁。
+ * 
+ * @author ghostsf
+ *
+ * @param <T> 节点类型
+ */
+public class MaglevHash<T> implements NodeLocator<T> {
+
+	/** 默认查找表大小 */
+	public static final int DEFAULT_TABLE_SIZE = 65537;
+
+	/** Hash计算对象，用于自定义hash算法，为<code>null</code>时使用primitiveHashFunc */
+	private final HashFunc hashFunc;
+	/** 返回基本类型的Hash算法，查找时不产生对象 */
+	private final PrimitiveHashFunc primitiveHashFunc;
+	/** 查找表大小，质数 */
+	private final int tableSize;
+	/** 节点列表 */
+	private final List<T> nodeList = new ArrayList<>();
+	/** 查找表快照 */
+	private volatile Table table = new Table(new Object[0], new int[0]);
+
+	/**
+	 * 构造，使用默认的FNV1hash算法和查找表大小
+	 * 
+	 * @param nodes 节点对象
+	 */
+	public MaglevHash(Collection<T> nodes) {
+		this(FnvHashFunc.INSTANCE, DEFAULT_TABLE_SIZE, nodes);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param hashFunc hash算法对象
+	 * @param tableSize 查找表大小，必须为质数，且应远大于节点数（建议为节点数的100倍以上）
+	 * @param nodes 节点对象
+	 */
+	public MaglevHash(HashFunc hashFunc, int tableSize, Collection<T> nodes) {
+		this(hashFunc, null, tableSize, nodes);
+	}
+
+	/**
+	 * 构造
+	 * 
+	 * @param primitiveHashFunc 返回基本类型的hash算法对象，使用其64位hash值
+	 * @param tableSize 查找表大小，必须为质数，且应远大于节点数（建议为节点数的100倍以上）
+	 * @param nodes 节点对象
+	 */
+	public MaglevHash(PrimitiveHashFunc primitiveHashFunc, int tableSize, Collection<T> nodes) {
+		this(null, primitiveHashFunc, tableSize, nodes);
+	}
+
+	private MaglevHash(HashFunc hashFunc, PrimitiveHashFunc primitiveHashFunc, int tableSize, Collection<T> nodes) {
+		if (tableSize < 2 || false == NumberUtil.isPrimes(tableSize)) {
+			throw new IllegalArgumentException("Table size must be a prime: " + tableSize);
+		}
+		this.hashFunc = hashFunc;
+		this.primitiveHashFunc = primitiveHashFunc;
+		this.tableSize = tableSize;
+		for (T node : nodes) {
+			if (false == nodeList.contains(node)) {
+				nodeList.add(node);
+			}
+		}
+		rebuild();
+	}
+
+	@Override
+	public T get(Object key) {
+		return getByHash((null == hashFunc) ? HashUtil.hash64(primitiveHashFunc, key) : HashUtil.mix64(hashFunc.hash(key)));
+	}
+
+	/**
+	 * 获得键对应的节点，避免long键装箱
+	 * 
+	 * @param key 键
+	 * @return 节点对象
+	 */
+	public T get(long key) {
+		return getByHash((null == hashFunc) ? primitiveHashFunc.hash64(key) : HashUtil.mix64(hashFunc.hash(key)));
+	}
+
+	/**
+	 * 增加节点，节点已存在时忽略
+	 * 
+	 * @param node 节点对象
+	 */
+	@Override
+	public synchronized void add(T node) {
+		if (false == nodeList.contains(node)) {
+			nodeList.add(node);
+			rebuild();
+		}
+	}
+
+	@Override
+	public synchronized void remove(T node) {
+		if (nodeList.remove(node)) {
+			rebuild();
+		}
+	}
+
+	/**
+	 * 节点数
+	 * 
+	 * @return 节点数
+	 */
+	public synchronized int size() {
+		return nodeList.size();
+	}
+
+	/**
+	 * 根据64位hash值查找节点
+	 *
+	 * @param hash hash值
+	 * @return 节点对象，无节点时返回<code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	private T getByHash(long hash) {
+		final Table table = this.table;
+		if (0 == table.nodes.length) {
+			return null;
+		}
+		final int slot = (int) ((hash >>> 1) % tableSize);
+		return (T) table.nodes[table.entries[slot]];
+	}
+
+	/**
+	 * 重建查找表
+	 */
+	private void rebuild() {
+		final int n = nodeList.size();
+		final Object[] nodes = nodeList.toArray();
+		final int[] entries = new int[n == 0 ? 0 : tableSize];
+		if (n > 0) {
+			final long[] offsets = new long[n];
+			final long[] skips = new long[n];
+			final long[] next = new long[n];
+			String name;
+			for (int i = 0; i < n; i++) {
+				name = nodes[i].toString();
+				offsets[i] = (HashUtil.fnvHash(name) & 0x7fffffffL) % tableSize;
+				skips[i] = ((HashUtil.mix64(HashUtil.bkdrHash(name)) >>> 1) % (tableSize - 1)) + 1;
+			}
+
+			Arrays.fill(entries, -1);
+			int filled = 0;
+			int slot;
+			while (true) {
+				for (int i = 0; i < n; i++) {
+					// 按照节点i的排列找到下一个空槽位
+					do {
+						slot = (int) ((offsets[i] + next[i] * skips[i]) % tableSize);
+						next[i]++;
+					} while (entries[slot] >= 0);
+					entries[slot] = i;
+					if (++filled == tableSize) {
+						this.table = new Table(nodes, entries);
+						return;
+					}
+				}
+			}
+		}
+		this.table = new Table(nodes, entries);
+	}
+
+	/**
+	 * 不可变的查找表快照，entries中存放槽位对应的节点下标
+	 */
+	private static class Table {
+		final Object[] nodes;
+		final int[] entries;
+
+		Table(Object[] nodes, int[] entries) {
+			this.nodes = nodes;
+			this.entries = entries;
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.ghostsf.atool.lang;
+
+/**
+ * 节点定位器，根据键选择对应的节点（分片）<br>
+ * 不同的实现有不同的内存占用、查找速度和节点变更时的键迁移量，可根据场景选择：
+ * <ul>
+ * <li>{@link ConsistentHash}：一致性Hash环，节点可任意增删，查找O(log n)</li>
+ * <li>{@link JumpConsistentHash}：跳跃一致性Hash，几乎不占内存，查找O(log n)，仅在末尾增删节点时迁移量最小</li>
+ * <li>{@link MaglevHash}：Maglev查找表，查找O(1)，节点增删时迁移量接近最小</li>
+ * </ul>
+ * 可使用{@link NodeLocatorUtil}统计键的分布和节点变更时的迁移比例
+ * 
+ * @author ghostsf
+ *
+ * @param <T> 节点类型
+ */
+public interface NodeLocator<T> {
+
+	/**
+	 * 获得键对应的节点
+	 * 
+	 * @param key 键
+	 * @return 节点对象，无节点时返回<code>null</code>
+	 */
+	T get(Object key);
+
+	/**
+	 * 增加节点
+	 * 
+	 * @param node 节点对象
+	 */
+	void add(T node);
+
+	/**
+	 * 移除节点
+	 * 
+	 * @param node 节点对象
+	 */
+	void remove(T node);
+}
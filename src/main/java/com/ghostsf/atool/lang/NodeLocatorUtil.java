@@ -0,0 +1,97 @@
+package com.ghostsf.atool.lang;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.ghostsf.atool.util.ObjectUtil;
+
+/**
+ * {@link NodeLocator} 工具类，用于评估不同定位算法的键分布和节点变更时的迁移比例
+ * 
+ * @author ghostsf
+ *
+ */
+public class NodeLocatorUtil {
+
+	/**
+	 * 定位所有键，返回键和节点的映射，可用于与节点变更后的结果对比
+	 * 
+	 * @param <K> 键类型
+	 * @param <T> 节点类型
+	 * @param locator 节点定位器
+	 * @param keys 键
+	 * @return 键和节点的映射
+	 */
+	public static <K, T> Map<K, T> locate(NodeLocator<T> locator, Iterable<K> keys) {
+		final Map<K, T> result = new LinkedHashMap<>();
+		for (K key : keys) {
+			result.put(key, locator.get(key));
+		}
+		return result;
+	}
+
+	/**
+	 * 统计每个节点分配到的键数
+	 * 
+	 * @param <T> 节点类型
+	 * @param locator 节点定位器
+	 * @param keys 键
+	 * @return 节点和键数的映射，未分配到键的节点不包含在内
+	 */
+	public static <T> Map<T, Integer> distribution(NodeLocator<T> locator, Iterable<?> keys) {
+		final Map<T, Integer> result = new HashMap<>();
+		T node;
+		Integer count;
+		for (Object key : keys) {
+			node = locator.get(key);
+			count = result.get(node);
+			result.put(node, (null == count) ? 1 : count + 1);
+		}
+		return result;
+	}
+
+	/**
+	 * 计算分布中最大键数与平均键数的比值，越接近1表示分布越均匀
+	 * 
+	 * @param <T> 节点类型
+	 * @param distribution 节点和键数的映射，见{@link #distribution(NodeLocator, Iterable)}
+	 * @param nodeCount 节点总数，包括未分配到键的节点
+	 * @return 最大负载比，无键时返回0
+	 */
+	public static <T> double maxLoadRatio(Map<T, Integer> distribution, int nodeCount) {
+		long total = 0;
+		int max = 0;
+		for (Integer count : distribution.values()) {
+			total += count;
+			max = Math.max(max, count);
+		}
+		if (0 == total || nodeCount <= 0) {
+			return 0;
+		}
+		return max / ((double) total / nodeCount);
+	}
+
+	/**
+	 * 计算两次定位结果中节点发生变化的键的比例
+	 * 
+	 * @param <K> 键类型
+	 * @param <T> 节点类型
+	 * @param before 变更前的定位结果，见{@link #locate(NodeLocator, Iterable)}
+	 * @param after 变更后的定位结果
+	 * @return 迁移比例，范围[0, 1]，变更前无键时返回0
+	 */
+	public static <K, T> double movedRatio(Map<K, T> before, Map<K, T> after) {
+		if (before.isEmpty()) {
+			return 0;
+		}
+		int moved = 0;
+		for (Entry<K, T> entry : before.entrySet()) {
+			if (false == ObjectUtil.equal(entry.getValue(), after.get(entry.getKey()))) {
+				moved++;
+			}
+		}
+		return (double) moved / before.size();
+	}
+}
@@ -2,6 +2,7 @@ package com.ghostsf.atool.lang;
 
 import java.util.regex.Pattern;
 
+import com.ghostsf.atool.cache.CacheStatsRegistry;
 import com.ghostsf.atool.util.ReUtil;
 
 /**
@@ -54,6 +55,10 @@ public class PatternPool {
 	/** Pattern池 */
 	private static final SimpleCache<RegexWithFlag, Pattern> POOL = new SimpleCache<>();
 
+	static {
+		CacheStatsRegistry.register("PatternPool", POOL);
+	}
+
 	/**
 	 * 先从Pattern池中查找正则对应的{@link Pattern}，找不到则编译正则表达式并入池。
 	 * 
@@ -71,15 +76,13 @@ public class PatternPool {
 	 * @param flags 正则标识位集合 {@link Pattern}
 	 * @return {@link Pattern}
 	 */
-	public static Pattern get(String regex, int flags) {
-		final RegexWithFlag regexWithFlag = new RegexWithFlag(regex, flags);
-
-		Pattern pattern = POOL.get(regexWithFlag);
-		if (null == pattern) {
-			pattern = Pattern.compile(regex, flags);
-			POOL.put(regexWithFlag, pattern);
-		}
-		return pattern;
+	public static Pattern get(final String regex, final int flags) {
+		return POOL.get(new RegexWithFlag(regex, flags), new Func0<Pattern>() {
+			@Override
+			public Pattern call() {
+				return Pattern.compile(regex, flags);
+			}
+		});
 	}
 
 	/**
@@ -100,6 +103,16 @@ public class PatternPool {
 		POOL.clear();
 	}
 
+	/**
+	 * 设置缓存池容量，超出容量时淘汰最久未使用的{@link Pattern}<br>
+	 * 调整容量会清空已有缓存
+	 * 
+	 * @param capacity 容量，小于等于0表示不限容量
+	 */
+	public static void setCapacity(int capacity) {
+		POOL.setCapacity(capacity);
+	}
+
 	// ---------------------------------------------------------------------------------------------------------------------------------
 	/**
 	 * 正则表达式和正则标识位的包装
@@ -1,56 +1,167 @@
 package com.ghostsf.atool.lang;
 
-import java.util.Map;
-import java.util.WeakHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.ghostsf.atool.cache.CacheListener;
+import com.ghostsf.atool.cache.CacheStats;
+import com.ghostsf.atool.cache.CacheStatsSource;
+import com.ghostsf.atool.cache.LRUCache;
+import com.ghostsf.atool.cache.RemovalCause;
+import com.ghostsf.atool.exceptions.UtilException;
+import com.ghostsf.atool.map.WeakConcurrentMap;
 
 /**
- * 简单缓存，无超时实现，使用{@link WeakHashMap}实现缓存自动清理
+ * 简单缓存，无超时实现，默认使用{@link WeakConcurrentMap}实现缓存自动清理，读取不加锁<br>
+ * 通过{@link #setCapacity(int)}限定容量后改为使用{@link LRUCache}，超出容量时淘汰最久未使用的对象
  * @author ghostsf
  *
  * @param <K> 键类型
  * @param <V> 值类型
  */
-public class SimpleCache<K, V> {
+public class SimpleCache<K, V> implements CacheStatsSource {
 	/** 池 */
-	private final Map<K, V> cache = new WeakHashMap<>();
-	
-	private final ReentrantReadWriteLock cacheLock = new ReentrantReadWriteLock();
-	private final ReadLock readLock = cacheLock.readLock();
-	private final WriteLock writeLock = cacheLock.writeLock();
+	private final WeakConcurrentMap<K, V> cache = new WeakConcurrentMap<>();
+	/** 限定容量后使用的缓存，null表示不限容量 */
+	private volatile LRUCache<K, V> boundedCache;
+	/** 正在加载中的键对应的锁，保证同一个键同时只有一个线程加载 */
+	private final ConcurrentMap<K, Lock> keyLockMap = new ConcurrentHashMap<>();
+	/** 统计信息，默认不记录，弱引用模式下被GC回收的对象不计入淘汰次数 */
+	private final CacheStats stats = new CacheStats();
+
+	/**
+	 * 构造，不限容量
+	 */
+	public SimpleCache() {
+	}
+
+	/**
+	 * 构造，限定容量
+	 * 
+	 * @param capacity 容量，小于等于0表示不限容量
+	 */
+	public SimpleCache(int capacity) {
+		setCapacity(capacity);
+	}
 
 	/**
-	 * 从缓存池中查找值
+	 * 设置缓存容量<br>
+	 * 容量大于0时使用LRU策略淘汰对象，小于等于0时恢复为不限容量的弱引用缓存<br>
+	 * 调整容量会清空已有缓存
+	 * 
+	 * @param capacity 容量，小于等于0表示不限容量
+	 * @return this
+	 */
+	public synchronized SimpleCache<K, V> setCapacity(int capacity) {
+		LRUCache<K, V> bounded = null;
+		if (capacity > 0) {
+			bounded = new LRUCache<>(capacity);
+			bounded.setListener(new CacheListener<K, V>() {
+				@Override
+				public void onRemove(K key, V cachedObject, RemovalCause cause) {
+					if (RemovalCause.EVICTED == cause) {
+						stats.recordEviction();
+					}
+				}
+			});
+		}
+		this.boundedCache = bounded;
+		this.cache.clear();
+		return this;
+	}
+
+	/**
+	 * 开启统计信息记录，默认不记录，开启后每次读取都会更新计数
+	 * 
+	 * @return this
+	 * @see CacheStats#setEnabled(boolean)
+	 */
+	public SimpleCache<K, V> recordStats() {
+		this.stats.setEnabled(true);
+		return this;
+	}
+
+	/**
+	 * 获取缓存容量
+	 * 
+	 * @return 容量，0表示不限容量
+	 */
+	public int getCapacity() {
+		final LRUCache<K, V> bounded = this.boundedCache;
+		return (null == bounded) ? 0 : bounded.capacity();
+	}
+
+	/**
+	 * 从缓存池中查找值，<code>null</code>键始终返回<code>null</code>
 	 * 
 	 * @param key 键
 	 * @return 值
 	 */
 	public V get(K key) {
-		// 尝试读取缓存
-		readLock.lock();
-		V value;
+		final V value = getWithoutStats(key);
+		if (null == value) {
+			stats.recordMiss();
+		} else {
+			stats.recordHit();
+		}
+		return value;
+	}
+
+	/**
+	 * 从缓存池中查找值，如果值不存在，使用supplier回调生成值并放入缓存<br>
+	 * 同一个键同时只有一个线程执行supplier，其它线程等待其完成后直接读取缓存中的值
+	 * 
+	 * @param key 键
+	 * @param supplier 如果不存在回调方法，用于生产值对象
+	 * @return 值对象
+	 * @throws UtilException supplier抛出的非运行时异常被包装为此异常
+	 */
+	public V get(K key, Func0<V> supplier) {
+		V value = get(key);
+		if (null != value || null == supplier) {
+			return value;
+		}
+		if (null == key) {
+			return load(supplier);
+		}
+
+		final Lock newLock = new ReentrantLock();
+		Lock keyLock = keyLockMap.putIfAbsent(key, newLock);
+		if (null == keyLock) {
+			keyLock = newLock;
+		}
+		keyLock.lock();
 		try {
-			value = cache.get(key);
+			// 双重检查，等待中的线程直接获取加载完成的值
+			value = getWithoutStats(key);
+			if (null == value) {
+				value = put(key, load(supplier));
+			}
 		} finally {
-			readLock.unlock();
+			keyLock.unlock();
+			keyLockMap.remove(key, keyLock);
 		}
 		return value;
 	}
 	
 	/**
-	 * 放入缓存
+	 * 放入缓存，<code>null</code>键或<code>null</code>值不缓存
 	 * @param key 键
 	 * @param value 值
 	 * @return 值
 	 */
 	public V put(K key, V value){
-		writeLock.lock();
-		try {
+		if (null == key || null == value) {
+			return value;
+		}
+
+		final LRUCache<K, V> bounded = this.boundedCache;
+		if (null != bounded) {
+			bounded.put(key, value);
+		} else {
 			cache.put(key, value);
-		} finally {
-			writeLock.unlock();
 		}
 		return value;
 	}
@@ -62,23 +173,81 @@ public class SimpleCache<K, V> {
 	 * @return 移除的值
 	 */
 	public V remove(K key) {
-		writeLock.lock();
-		try {
-			return cache.remove(key);
-		} finally {
-			writeLock.unlock();
+		final LRUCache<K, V> bounded = this.boundedCache;
+		if (null != bounded) {
+			final V value = bounded.get(key, false);
+			bounded.remove(key);
+			return value;
 		}
+
+		return cache.remove(key);
 	}
 
 	/**
 	 * 清空缓存池
 	 */
 	public void clear() {
-		writeLock.lock();
+		final LRUCache<K, V> bounded = this.boundedCache;
+		if (null != bounded) {
+			bounded.clear();
+			return;
+		}
+
+		this.cache.clear();
+	}
+
+	/**
+	 * 缓存的对象数量
+	 * 
+	 * @return 缓存的对象数量
+	 */
+	@Override
+	public int size() {
+		final LRUCache<K, V> bounded = this.boundedCache;
+		return (null == bounded) ? cache.size() : bounded.size();
+	}
+
+	@Override
+	public CacheStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * 从缓存池中查找值，不记录命中统计
+	 * 
+	 * @param key 键
+	 * @return 值
+	 */
+	private V getWithoutStats(K key) {
+		final LRUCache<K, V> bounded = this.boundedCache;
+		if (null != bounded) {
+			return bounded.get(key);
+		}
+		return cache.get(key);
+	}
+
+	/**
+	 * 执行supplier并记录加载耗时，非运行时异常包装为{@link UtilException}
+	 * 
+	 * @param supplier 值生产者
+	 * @return 值
+	 */
+	private V load(Func0<V> supplier) {
+		final long start = stats.isEnabled() ? System.nanoTime() : 0L;
+		V value = null;
 		try {
-			this.cache.clear();
+			value = supplier.call();
+			return value;
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new UtilException(e);
 		} finally {
-			writeLock.unlock();
+			if (null == value) {
+				stats.recordLoadFailure(System.nanoTime() - start);
+			} else {
+				stats.recordLoadSuccess(System.nanoTime() - start);
+			}
 		}
 	}
 }
@@ -1,5 +1,8 @@
 package com.ghostsf.atool.lang;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ghostsf.atool.date.MonotonicClock;
 import com.ghostsf.atool.date.SystemClock;
 
 /**
@@ -15,6 +18,10 @@ import com.ghostsf.atool.date.SystemClock;
  * 然后是5位datacenterId和5位workerId(10位的长度最多支持部署1024个节点）<br>
  * 最后12位是毫秒内的计数（12位的计数顺序号支持每个节点每毫秒产生4096个ID序号）<br>
  * 
+ * 最后一次生成ID的时间戳和序列号合并存放于一个{@link AtomicLong}中，通过CAS更新，生成ID时无需加锁<br>
+ * 时钟回拨时默认抛出异常，可通过{@link #setClockBackwardsPolicy(ClockBackwardsPolicy, long)}设置为等待或借用序列号，
+ * 也可以通过{@link #setUseMonotonicClock(boolean)}使用不会回退的{@link MonotonicClock}<br>
+ * 
  * 参考：http://www.cnblogs.com/relucent/p/4955340.html
  * 
  * @author ghostsf
@@ -35,9 +42,16 @@ public class Snowflake {
 
 	private long workerId;
 	private long datacenterId;
-	private long sequence = 0L;
-	private long lastTimestamp = -1L;
-	private boolean useSystemClock;
+	/** 最后一次生成ID的状态，高位为相对twepoch的时间戳，低{@link #sequenceBits}位为序列号 */
+	private final AtomicLong lastState = new AtomicLong(0L);
+	private final boolean useSystemClock;
+	private volatile boolean useMonotonicClock;
+	/** 时钟回拨处理策略 */
+	private volatile ClockBackwardsPolicy clockBackwardsPolicy = ClockBackwardsPolicy.REFUSE;
+	/** 允许的最大回拨（或借用）毫秒数 */
+	private volatile long maxBackwardsMillis;
+	/** 自定义时间源，非<code>null</code>时优先于其它时钟，仅用于测试 */
+	private final TimeSource timeSource;
 	
 	/**
 	 * 构造
@@ -55,6 +69,17 @@ public class Snowflake {
 	 * @param isUseSystemClock 是否使用{@link SystemClock} 获取当前时间戳
 	 */
 	public Snowflake(long workerId, long datacenterId, boolean isUseSystemClock) {
+		this(workerId, datacenterId, isUseSystemClock, null);
+	}
+
+	/**
+	 * 构造，可指定时间源，用于测试时钟回拨
+	 * @param workerId 终端ID
+	 * @param datacenterId 数据中心ID
+	 * @param isUseSystemClock 是否使用{@link SystemClock} 获取当前时间戳
+	 * @param timeSource 时间源，<code>null</code>表示使用默认时钟
+	 */
+	Snowflake(long workerId, long datacenterId, boolean isUseSystemClock, TimeSource timeSource) {
 		if (workerId > maxWorkerId || workerId < 0) {
 			throw new IllegalArgumentException(String.format("worker Id can't be greater than %d or less than 0", maxWorkerId));
 		}
@@ -64,36 +89,202 @@ public class Snowflake {
 		this.workerId = workerId;
 		this.datacenterId = datacenterId;
 		this.useSystemClock = isUseSystemClock;
+		this.timeSource = timeSource;
+	}
+
+	/**
+	 * 设置时钟回拨处理策略，可在运行时修改，对之后生成的ID生效
+	 * @param policy 策略，{@link ClockBackwardsPolicy#REFUSE}时忽略maxBackwardsMillis
+	 * @param maxBackwardsMillis 允许的最大回拨毫秒数，超出时抛出异常
+	 * @return this
+	 */
+	public Snowflake setClockBackwardsPolicy(ClockBackwardsPolicy policy, long maxBackwardsMillis) {
+		if (null == policy) {
+			throw new IllegalArgumentException("Clock backwards policy must not be null");
+		}
+		if (maxBackwardsMillis < 0) {
+			throw new IllegalArgumentException("Max backwards millis must not be negative: " + maxBackwardsMillis);
+		}
+		// 先写入上限，读取到新策略的线程一定能读取到新的上限
+		this.maxBackwardsMillis = maxBackwardsMillis;
+		this.clockBackwardsPolicy = policy;
+		return this;
+	}
+
+	/**
+	 * 设置是否使用{@link MonotonicClock}获取时间戳，使用后系统时间回拨不再影响ID生成，可在运行时修改<br>
+	 * 设置为true时优先于构造中的isUseSystemClock
+	 * @param useMonotonicClock 是否使用{@link MonotonicClock}
+	 * @return this
+	 */
+	public Snowflake setUseMonotonicClock(boolean useMonotonicClock) {
+		this.useMonotonicClock = useMonotonicClock;
+		return this;
 	}
 
 	/**
 	 * 下一个ID
 	 * @return ID
 	 */
-	public synchronized long nextId() {
-		long timestamp = useSystemClock ? SystemClock.now() : System.currentTimeMillis();
+	public long nextId() {
+		long state;
+		long nextState;
+		do {
+			state = lastState.get();
+			nextState = nextStartState(state);
+		} while (false == lastState.compareAndSet(state, nextState));
+
+		return toId(nextState);
+	}
+
+	/**
+	 * 批量生成ID
+	 * @param n ID个数
+	 * @return ID数组，ID严格递增
+	 * @see #nextIds(long[])
+	 */
+	public long[] nextIds(int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Count of ids must not be negative: " + n);
+		}
+		return nextIds(new long[n]);
+	}
+
+	/**
+	 * 批量生成ID并填充到数组中<br>
+	 * 每次CAS预留当前毫秒内剩余的一段连续序列号，数量超出当前毫秒剩余序列号时进入下一毫秒继续预留，<br>
+	 * 因此每毫秒只需一次CAS和一次时钟读取，生成的ID严格递增且唯一，但跨毫秒的部分之间可能夹有其它线程生成的ID
+	 * @param dest 目标数组，将被填满
+	 * @return 目标数组
+	 */
+	public long[] nextIds(long[] dest) {
+		int filled = 0;
+		long state;
+		long startState;
+		int count;
+		while (filled < dest.length) {
+			do {
+				state = lastState.get();
+				startState = nextStartState(state);
+				// 当前毫秒内剩余的序列号个数
+				count = (int) Math.min(dest.length - filled, sequenceMask - (startState & sequenceMask) + 1);
+			} while (false == lastState.compareAndSet(state, startState + count - 1));
+
+			for (int i = 0; i < count; i++) {
+				dest[filled++] = toId(startState + i);
+			}
+		}
+		return dest;
+	}
+
+	/**
+	 * 根据最后一次的状态计算下一个状态
+	 * @param state 最后一次生成ID的状态
+	 * @return 下一个ID的状态
+	 */
+	private long nextStartState(long state) {
+		final long lastTimestamp = (state >> sequenceBits) + twepoch;
+		final long now = genTime();
+		long timestamp = now;
 		if (timestamp < lastTimestamp) {
-			throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
+			final long backwards = lastTimestamp - timestamp;
+			final ClockBackwardsPolicy policy = this.clockBackwardsPolicy;
+			if (ClockBackwardsPolicy.REFUSE == policy || backwards > maxBackwardsMillis) {
+				throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", backwards));
+			}
+			if (ClockBackwardsPolicy.WAIT == policy) {
+				timestamp = tilMillis(lastTimestamp);
+			} else {
+				// 借用：继续使用最后一次的时间戳
+				timestamp = lastTimestamp;
+			}
 		}
 		if (lastTimestamp == timestamp) {
-			sequence = (sequence + 1) & sequenceMask;
-			if (sequence == 0) {
-				timestamp = tilNextMillis(lastTimestamp);
+			if (((state + 1) & sequenceMask) != 0) {
+				return state + 1;
 			}
-		} else {
-			sequence = 0L;
+			if (ClockBackwardsPolicy.BORROW == clockBackwardsPolicy && lastTimestamp + 1 - now <= maxBackwardsMillis) {
+				// 当前毫秒内序列号已用完，借用下一毫秒的序列号，不等待时钟
+				return (lastTimestamp + 1 - twepoch) << sequenceBits;
+			}
+			// 当前毫秒内序列号已用完，等待下一毫秒
+			timestamp = tilNextMillis(lastTimestamp);
 		}
+		return (timestamp - twepoch) << sequenceBits;
+	}
 
-		lastTimestamp = timestamp;
-
-		return ((timestamp - twepoch) << timestampLeftShift) | (datacenterId << datacenterIdShift) | (workerId << workerIdShift) | sequence;
+	/**
+	 * 根据状态（时间戳和序列号）生成ID
+	 * @param state 状态，高位为相对twepoch的时间戳，低位为序列号
+	 * @return ID
+	 */
+	private long toId(long state) {
+		return ((state >> sequenceBits) << timestampLeftShift) | (datacenterId << datacenterIdShift) | (workerId << workerIdShift) | (state & sequenceMask);
 	}
 
 	private long tilNextMillis(long lastTimestamp) {
-		long timestamp = useSystemClock ? SystemClock.now() : System.currentTimeMillis();
+		long timestamp = genTime();
 		while (timestamp <= lastTimestamp) {
-			timestamp = useSystemClock ? SystemClock.now() : System.currentTimeMillis();
+			timestamp = genTime();
 		}
 		return timestamp;
 	}
+
+	/**
+	 * 等待时钟追上指定时间戳
+	 * @param timestamp 时间戳
+	 * @return 大于等于指定时间戳的当前时间戳
+	 */
+	private long tilMillis(long timestamp) {
+		long now = genTime();
+		while (now < timestamp) {
+			Thread.yield();
+			now = genTime();
+		}
+		return now;
+	}
+
+	/**
+	 * 生成时间戳
+	 * @return 时间戳
+	 */
+	private long genTime() {
+		if (null != timeSource) {
+			return timeSource.currentTimeMillis();
+		}
+		if (useMonotonicClock) {
+			return MonotonicClock.now();
+		}
+		return useSystemClock ? SystemClock.now() : System.currentTimeMillis();
+	}
+
+	/**
+	 * 时间源，用于测试时注入可控的时钟
+	 * @author ghostsf
+	 *
+	 */
+	static interface TimeSource {
+		/**
+		 * 当前时间戳
+		 * @return 毫秒时间戳
+		 */
+		long currentTimeMillis();
+	}
+
+	/**
+	 * 时钟回拨处理策略
+	 * @author ghostsf
+	 *
+	 */
+	public static enum ClockBackwardsPolicy {
+		/** 拒绝生成ID并抛出异常，默认策略 */
+		REFUSE,
+		/** 回拨在允许范围内时等待时钟追上最后一次的时间戳 */
+		WAIT,
+		/**
+		 * 回拨在允许范围内时继续使用最后一次的时间戳生成ID，序列号用完后借用下一毫秒，不等待时钟<br>
+		 * 时钟正常时序列号用完也会借用，时间戳最多领先时钟允许的毫秒数
+		 */
+		BORROW
+	}
 }
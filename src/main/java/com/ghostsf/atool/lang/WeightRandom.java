@@ -1,7 +1,6 @@
 package com.ghostsf.atool.lang;
 
 import java.io.Serializable;
-import java.util.Random;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -22,7 +21,9 @@ import com.ghostsf.atool.map.MapUtil;
  * <p>
  * 参考博客：https://www.cnblogs.com/waterystone/p/5708063.html
  * <p>
+ * 每次取值需在TreeMap中查找，时间为O(log n)；权重不常变化且取值频繁时（例如负载均衡），建议使用{@link AliasWeightRandom}。
  * 
+ * @see AliasWeightRandom
  * @param <T> 权重随机获取的对象类型
  * @author ghostsf
  * @since 3.3.0
@@ -31,7 +32,6 @@ public class WeightRandom<T> implements Serializable {
 	private static final long serialVersionUID = -8244697995702786499L;
 
 	private TreeMap<Double, T> weightMap;
-	private Random random;
 
 	/**
 	 * 创建权重随机获取器
@@ -48,7 +48,6 @@ public class WeightRandom<T> implements Serializable {
 	 */
 	public WeightRandom() {
 		weightMap = new TreeMap<>();
-		random = RandomUtil.getRandom();
 	}
 
 	/**
@@ -130,7 +129,8 @@ public class WeightRandom<T> implements Serializable {
 		if(MapUtil.isEmpty(this.weightMap)) {
 			return null;
 		}
-		double randomWeight = this.weightMap.lastKey() * random.nextDouble();
+		// ThreadLocalRandom只能在当前线程使用，每次取值时获取
+		double randomWeight = this.weightMap.lastKey() * RandomUtil.getRandom().nextDouble();
 		final SortedMap<Double, T> tailMap = this.weightMap.tailMap(randomWeight, false);
 		return this.weightMap.get(tailMap.firstKey());
 	}
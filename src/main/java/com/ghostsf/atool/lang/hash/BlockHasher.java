@@ -0,0 +1,179 @@
+package com.ghostsf.atool.lang.hash;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.ghostsf.atool.io.IORuntimeException;
+import com.ghostsf.atool.io.IoUtil;
+
+/**
+ * 按固定大小的块处理数据的流式Hash计算器<br>
+ * 数据可分多次通过update方法传入，结果与一次性传入全部数据相同；不足一个块的数据暂存在内部缓冲中，直到凑满或调用digest时处理。<br>
+ * 计算结果由子类的digest方法返回，digest不改变当前状态，调用后可继续update。<br>
+ * 此类非线程安全。
+ *
+ * @author ghostsf
+ *
+ */
+public abstract class BlockHasher {
+
+	/** 块大小 */
+	private final int blockSize;
+	/** 未凑满一个块的数据 */
+	final byte[] tail;
+	/** tail中的有效长度 */
+	int tailLength;
+	/** 已传入的数据总长度 */
+	long totalLength;
+	/** 读取直接缓冲区和流时使用的临时缓冲 */
+	private byte[] scratch;
+
+	/**
+	 * 构造
+	 *
+	 * @param blockSize 块大小
+	 */
+	BlockHasher(int blockSize) {
+		this.blockSize = blockSize;
+		this.tail = new byte[blockSize];
+	}
+
+	/**
+	 * 传入一个字节
+	 *
+	 * @param b 字节
+	 * @return this
+	 */
+	public BlockHasher update(byte b) {
+		totalLength++;
+		tail[tailLength++] = b;
+		if (tailLength == blockSize) {
+			processBlock(tail, 0);
+			tailLength = 0;
+		}
+		return this;
+	}
+
+	/**
+	 * 传入数据
+	 *
+	 * @param data 数据
+	 * @return this
+	 */
+	public BlockHasher update(byte[] data) {
+		return update(data, 0, data.length);
+	}
+
+	/**
+	 * 传入数据
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @return this
+	 */
+	public BlockHasher update(byte[] data, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > data.length - length) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", data length: " + data.length);
+		}
+		totalLength += length;
+		if (tailLength > 0) {
+			final int fill = Math.min(blockSize - tailLength, length);
+			System.arraycopy(data, offset, tail, tailLength, fill);
+			tailLength += fill;
+			offset += fill;
+			length -= fill;
+			if (tailLength < blockSize) {
+				return this;
+			}
+			processBlock(tail, 0);
+			tailLength = 0;
+		}
+		while (length >= blockSize) {
+			processBlock(data, offset);
+			offset += blockSize;
+			length -= blockSize;
+		}
+		if (length > 0) {
+			System.arraycopy(data, offset, tail, 0, length);
+			tailLength = length;
+		}
+		return this;
+	}
+
+	/**
+	 * 传入缓冲区中position到limit之间的数据，完成后position移动到limit<br>
+	 * 堆缓冲区直接读取底层数组，直接缓冲区分段复制到临时缓冲中读取
+	 *
+	 * @param buffer 缓冲区
+	 * @return this
+	 */
+	public BlockHasher update(ByteBuffer buffer) {
+		if (buffer.hasArray()) {
+			update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			buffer.position(buffer.limit());
+			return this;
+		}
+		final byte[] scratch = scratch();
+		int length;
+		while (buffer.hasRemaining()) {
+			length = Math.min(scratch.length, buffer.remaining());
+			buffer.get(scratch, 0, length);
+			update(scratch, 0, length);
+		}
+		return this;
+	}
+
+	/**
+	 * 传入流中剩余的全部数据，流不会被关闭
+	 *
+	 * @param in 输入流
+	 * @return this
+	 * @throws IORuntimeException IO异常
+	 */
+	public BlockHasher update(InputStream in) throws IORuntimeException {
+		final byte[] scratch = scratch();
+		int length;
+		try {
+			while (IoUtil.EOF != (length = in.read(scratch))) {
+				update(scratch, 0, length);
+			}
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * 重置为初始状态，种子保持不变
+	 *
+	 * @return this
+	 */
+	public BlockHasher reset() {
+		tailLength = 0;
+		totalLength = 0;
+		resetState();
+		return this;
+	}
+
+	/**
+	 * 处理一个完整的块
+	 *
+	 * @param data 数据
+	 * @param offset 块的起始位置
+	 */
+	abstract void processBlock(byte[] data, int offset);
+
+	/**
+	 * 将累加状态重置为初始值
+	 */
+	abstract void resetState();
+
+	private byte[] scratch() {
+		if (null == this.scratch) {
+			this.scratch = new byte[IoUtil.DEFAULT_LARGE_BUFFER_SIZE];
+		}
+		return this.scratch;
+	}
+}
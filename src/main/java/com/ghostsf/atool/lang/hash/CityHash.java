@@ -0,0 +1,259 @@
+package com.ghostsf.atool.lang.hash;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.ghostsf.atool.io.IORuntimeException;
+import com.ghostsf.atool.io.IoUtil;
+
+/**
+ * Google CityHash64（v1.1）算法实现<br>
+ * CityHash的计算方式取决于数据总长度，无法按块流式计算，流和直接缓冲区会先完整读入内存<br>
+ * 参考：https://github.com/google/cityhash/blob/master/src/city.cc
+ *
+ * @author ghostsf
+ *
+ */
+public final class CityHash {
+
+	private static final long K0 = 0xc3a5c85c97cb3127L;
+	private static final long K1 = 0xb492b66fbe98f273L;
+	private static final long K2 = 0x9ae16a3b2f90404fL;
+	private static final long K_MUL = 0x9ddfea08eb382d69L;
+
+	private CityHash() {
+	}
+
+	/**
+	 * CityHash64
+	 *
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static long hash64(byte[] data) {
+		return hash64(data, 0, data.length);
+	}
+
+	/**
+	 * CityHash64
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @return hash值
+	 */
+	public static long hash64(byte[] data, int offset, int length) {
+		if (length <= 32) {
+			if (length <= 16) {
+				return hashLen0to16(data, offset, length);
+			}
+			return hashLen17to32(data, offset, length);
+		} else if (length <= 64) {
+			return hashLen33to64(data, offset, length);
+		}
+
+		// 对于超过64字节的数据，保存56字节的状态：v, w, x, y, z
+		long x = fetch64(data, offset + length - 40);
+		long y = fetch64(data, offset + length - 16) + fetch64(data, offset + length - 56);
+		long z = hashLen16(fetch64(data, offset + length - 48) + length, fetch64(data, offset + length - 24));
+		long vFirst;
+		long vSecond;
+		long wFirst;
+		long wSecond;
+
+		// WeakHashLen32WithSeeds(s + len - 64, len, z)
+		int pos = offset + length - 64;
+		long a = length + fetch64(data, pos);
+		long b = Long.rotateRight(z + a + fetch64(data, pos + 24), 21);
+		long c = a;
+		a += fetch64(data, pos + 8) + fetch64(data, pos + 16);
+		b += Long.rotateRight(a, 44);
+		vFirst = a + fetch64(data, pos + 24);
+		vSecond = b + c;
+
+		// WeakHashLen32WithSeeds(s + len - 32, y + k1, x)
+		pos = offset + length - 32;
+		a = y + K1 + fetch64(data, pos);
+		b = Long.rotateRight(x + a + fetch64(data, pos + 24), 21);
+		c = a;
+		a += fetch64(data, pos + 8) + fetch64(data, pos + 16);
+		b += Long.rotateRight(a, 44);
+		wFirst = a + fetch64(data, pos + 24);
+		wSecond = b + c;
+
+		x = x * K1 + fetch64(data, offset);
+
+		// 按64字节为一块循环处理
+		int remaining = (length - 1) & ~63;
+		pos = offset;
+		long tmp;
+		do {
+			x = Long.rotateRight(x + y + vFirst + fetch64(data, pos + 8), 37) * K1;
+			y = Long.rotateRight(y + vSecond + fetch64(data, pos + 48), 42) * K1;
+			x ^= wSecond;
+			y += vFirst + fetch64(data, pos + 40);
+			z = Long.rotateRight(z + wFirst, 33) * K1;
+
+			// v = WeakHashLen32WithSeeds(s, v.second * k1, x + w.first)
+			a = vSecond * K1 + fetch64(data, pos);
+			b = Long.rotateRight(x + wFirst + a + fetch64(data, pos + 24), 21);
+			c = a;
+			a += fetch64(data, pos + 8) + fetch64(data, pos + 16);
+			b += Long.rotateRight(a, 44);
+			vFirst = a + fetch64(data, pos + 24);
+			vSecond = b + c;
+
+			// w = WeakHashLen32WithSeeds(s + 32, z + w.second, y + Fetch64(s + 16))
+			a = z + wSecond + fetch64(data, pos + 32);
+			b = Long.rotateRight(y + fetch64(data, pos + 16) + a + fetch64(data, pos + 56), 21);
+			c = a;
+			a += fetch64(data, pos + 40) + fetch64(data, pos + 48);
+			b += Long.rotateRight(a, 44);
+			wFirst = a + fetch64(data, pos + 56);
+			wSecond = b + c;
+
+			tmp = z;
+			z = x;
+			x = tmp;
+			pos += 64;
+			remaining -= 64;
+		} while (remaining != 0);
+		return hashLen16(hashLen16(vFirst, wFirst) + shiftMix(y) * K1 + z, hashLen16(vSecond, wSecond) + x);
+	}
+
+	/**
+	 * 带种子的CityHash64
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static long hash64(byte[] data, int offset, int length, long seed) {
+		return hash64(data, offset, length, K2, seed);
+	}
+
+	/**
+	 * 带两个种子的CityHash64
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @param seed0 种子0
+	 * @param seed1 种子1
+	 * @return hash值
+	 */
+	public static long hash64(byte[] data, int offset, int length, long seed0, long seed1) {
+		return hashLen16(hash64(data, offset, length) - seed0, seed1);
+	}
+
+	/**
+	 * CityHash64，计算position到limit之间的数据，不改变缓冲区的position<br>
+	 * 直接缓冲区会先复制到堆内存中
+	 *
+	 * @param buffer 缓冲区
+	 * @return hash值
+	 */
+	public static long hash64(ByteBuffer buffer) {
+		if (buffer.hasArray()) {
+			return hash64(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		final byte[] data = new byte[buffer.remaining()];
+		buffer.duplicate().get(data);
+		return hash64(data);
+	}
+
+	/**
+	 * CityHash64，读取流中剩余的全部数据，流不会被关闭<br>
+	 * 数据会完整读入内存
+	 *
+	 * @param in 输入流
+	 * @return hash值
+	 * @throws IORuntimeException IO异常
+	 */
+	public static long hash64(InputStream in) throws IORuntimeException {
+		return hash64(IoUtil.readBytes(in));
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private static long fetch64(byte[] data, int offset) {
+		return LittleEndian.getLong(data, offset);
+	}
+
+	private static long fetch32(byte[] data, int offset) {
+		return LittleEndian.getUnsignedInt(data, offset);
+	}
+
+	private static long shiftMix(long val) {
+		return val ^ (val >>> 47);
+	}
+
+	private static long hashLen16(long u, long v) {
+		return hashLen16(u, v, K_MUL);
+	}
+
+	private static long hashLen16(long u, long v, long mul) {
+		long a = (u ^ v) * mul;
+		a ^= (a >>> 47);
+		long b = (v ^ a) * mul;
+		b ^= (b >>> 47);
+		b *= mul;
+		return b;
+	}
+
+	private static long hashLen0to16(byte[] data, int offset, int length) {
+		if (length >= 8) {
+			final long mul = K2 + length * 2;
+			final long a = fetch64(data, offset) + K2;
+			final long b = fetch64(data, offset + length - 8);
+			final long c = Long.rotateRight(b, 37) * mul + a;
+			final long d = (Long.rotateRight(a, 25) + b) * mul;
+			return hashLen16(c, d, mul);
+		}
+		if (length >= 4) {
+			final long mul = K2 + length * 2;
+			final long a = fetch32(data, offset);
+			return hashLen16(length + (a << 3), fetch32(data, offset + length - 4), mul);
+		}
+		if (length > 0) {
+			final int a = data[offset] & 0xff;
+			final int b = data[offset + (length >> 1)] & 0xff;
+			final int c = data[offset + length - 1] & 0xff;
+			final long y = a + (b << 8);
+			final long z = length + (c << 2);
+			return shiftMix(y * K2 ^ z * K0) * K2;
+		}
+		return K2;
+	}
+
+	private static long hashLen17to32(byte[] data, int offset, int length) {
+		final long mul = K2 + length * 2;
+		final long a = fetch64(data, offset) * K1;
+		final long b = fetch64(data, offset + 8);
+		final long c = fetch64(data, offset + length - 8) * mul;
+		final long d = fetch64(data, offset + length - 16) * K2;
+		return hashLen16(Long.rotateRight(a + b, 43) + Long.rotateRight(c, 30) + d, a + Long.rotateRight(b + K2, 18) + c, mul);
+	}
+
+	private static long hashLen33to64(byte[] data, int offset, int length) {
+		final long mul = K2 + length * 2;
+		long a = fetch64(data, offset) * K2;
+		long b = fetch64(data, offset + 8);
+		final long c = fetch64(data, offset + length - 24);
+		final long d = fetch64(data, offset + length - 32);
+		final long e = fetch64(data, offset + 16) * K2;
+		final long f = fetch64(data, offset + 24) * 9;
+		final long g = fetch64(data, offset + length - 8);
+		final long h = fetch64(data, offset + length - 16) * mul;
+		final long u = Long.rotateRight(a + g, 43) + (Long.rotateRight(b, 30) + c) * 9;
+		final long v = ((a + g) ^ d) + f + 1;
+		final long w = Long.reverseBytes((u + v) * mul) + h;
+		final long x = Long.rotateRight(e + f, 42) + c;
+		final long y = (Long.reverseBytes((v + w) * mul) + g) * mul;
+		final long z = e + f + c;
+		a = Long.reverseBytes((x + z) * mul + y) + b;
+		b = shiftMix((z + a) * mul + d + h) * mul;
+		return b + x;
+	}
+}
@@ -0,0 +1,47 @@
+package com.ghostsf.atool.lang.hash;
+
+import com.ghostsf.atool.util.HashUtil;
+
+/**
+ * 基于{@link HashUtil#fnvHash(CharSequence)}的{@link PrimitiveHashFunc}<br>
+ * 字符序列和整数的结果与对其toString结果调用{@link HashUtil#fnvHash(String)}一致，因此可替换原有的按toString计算FNV的实现而不改变键的分布<br>
+ * 64位hash值为32位结果经{@link HashUtil#mix64(long)}扩散所得
+ *
+ * @author ghostsf
+ *
+ */
+public class FnvHashFunc implements PrimitiveHashFunc {
+
+	/** 单例 */
+	public static final FnvHashFunc INSTANCE = new FnvHashFunc();
+
+	@Override
+	public int hash32(CharSequence key) {
+		return HashUtil.fnvHash(key);
+	}
+
+	@Override
+	public int hash32(byte[] key) {
+		return HashUtil.fnvHash(key);
+	}
+
+	@Override
+	public int hash32(long key) {
+		return HashUtil.fnvHash(key);
+	}
+
+	@Override
+	public long hash64(CharSequence key) {
+		return HashUtil.mix64(hash32(key));
+	}
+
+	@Override
+	public long hash64(byte[] key) {
+		return HashUtil.mix64(hash32(key));
+	}
+
+	@Override
+	public long hash64(long key) {
+		return HashUtil.mix64(hash32(key));
+	}
+}
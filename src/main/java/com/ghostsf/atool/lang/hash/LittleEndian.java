@@ -0,0 +1,56 @@
+package com.ghostsf.atool.lang.hash;
+
+/**
+ * 小端字节序读取，供Hash算法按块读取数据使用
+ * 
+ * @author ghostsf
+ *
+ */
+final class LittleEndian {
+
+	private LittleEndian() {
+	}
+
+	/**
+	 * 读取4个字节为int
+	 * 
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @return int值
+	 */
+	static int getInt(byte[] data, int offset) {
+		return (data[offset] & 0xff) //
+				| ((data[offset + 1] & 0xff) << 8) //
+				| ((data[offset + 2] & 0xff) << 16) //
+				| ((data[offset + 3] & 0xff) << 24);
+	}
+
+	/**
+	 * 读取4个字节为无符号int，以long表示
+	 * 
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @return 无符号int值
+	 */
+	static long getUnsignedInt(byte[] data, int offset) {
+		return getInt(data, offset) & 0xffffffffL;
+	}
+
+	/**
+	 * 读取8个字节为long
+	 * 
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @return long值
+	 */
+	static long getLong(byte[] data, int offset) {
+		return (data[offset] & 0xffL) //
+				| ((data[offset + 1] & 0xffL) << 8) //
+				| ((data[offset + 2] & 0xffL) << 16) //
+				| ((data[offset + 3] & 0xffL) << 24) //
+				| ((data[offset + 4] & 0xffL) << 32) //
+				| ((data[offset + 5] & 0xffL) << 40) //
+				| ((data[offset + 6] & 0xffL) << 48) //
+				| ((data[offset + 7] & 0xffL) << 56);
+	}
+}
@@ -0,0 +1,484 @@
+package com.ghostsf.atool.lang.hash;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.ghostsf.atool.io.IORuntimeException;
+
+/**
+ * MurmurHash3算法实现，包括32位（x86_32）和128位（x64_128）两个版本<br>
+ * 结果与官方C++实现（smhasher）一致，种子按无符号32位整数处理<br>
+ * 参考：https://github.com/aappleby/smhasher/blob/master/src/MurmurHash3.cpp
+ *
+ * @author ghostsf
+ *
+ */
+public final class MurmurHash {
+
+	private static final int C1_32 = 0xcc9e2d51;
+	private static final int C2_32 = 0x1b873593;
+	private static final long C1_128 = 0x87c37b91114253d5L;
+	private static final long C2_128 = 0x4cf5ad432745937fL;
+
+	/** 默认种子 */
+	public static final int DEFAULT_SEED = 0;
+
+	private MurmurHash() {
+	}
+
+	// ------------------------------------------------------------------------------------- 32
+	/**
+	 * MurmurHash3 32位
+	 *
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static int hash32(byte[] data) {
+		return hash32(data, 0, data.length, DEFAULT_SEED);
+	}
+
+	/**
+	 * MurmurHash3 32位
+	 *
+	 * @param data 数据
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static int hash32(byte[] data, int seed) {
+		return hash32(data, 0, data.length, seed);
+	}
+
+	/**
+	 * MurmurHash3 32位
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static int hash32(byte[] data, int offset, int length, int seed) {
+		int h1 = seed;
+		final int blockEnd = offset + (length & ~3);
+		for (int i = offset; i < blockEnd; i += 4) {
+			h1 = mixH1(h1, LittleEndian.getInt(data, i));
+		}
+		h1 = tail32(h1, data, blockEnd, length & 3);
+		return fmix32(h1 ^ length);
+	}
+
+	/**
+	 * MurmurHash3 32位，计算position到limit之间的数据，不改变缓冲区的position
+	 *
+	 * @param buffer 缓冲区，支持堆缓冲区和直接缓冲区
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static int hash32(ByteBuffer buffer, int seed) {
+		if (buffer.hasArray()) {
+			return hash32(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+		}
+		return newHasher32(seed).update(buffer.duplicate()).digest();
+	}
+
+	/**
+	 * MurmurHash3 32位，读取流中剩余的全部数据，流不会被关闭
+	 *
+	 * @param in 输入流
+	 * @param seed 种子
+	 * @return hash值
+	 * @throws IORuntimeException IO异常
+	 */
+	public static int hash32(InputStream in, int seed) throws IORuntimeException {
+		return newHasher32(seed).update(in).digest();
+	}
+
+	/**
+	 * 创建MurmurHash3 32位流式计算器
+	 *
+	 * @param seed 种子
+	 * @return {@link Hasher32}
+	 */
+	public static Hasher32 newHasher32(int seed) {
+		return new Hasher32(seed);
+	}
+
+	// ------------------------------------------------------------------------------------- 128
+	/**
+	 * MurmurHash3 x64_128的前64位，即128位结果的低位long
+	 *
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static long hash64(byte[] data) {
+		return hash128(data, 0, data.length, DEFAULT_SEED)[0];
+	}
+
+	/**
+	 * MurmurHash3 x64_128的前64位，即128位结果的低位long
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static long hash64(byte[] data, int offset, int length, int seed) {
+		return hash128(data, offset, length, seed)[0];
+	}
+
+	/**
+	 * MurmurHash3 x64_128
+	 *
+	 * @param data 数据
+	 * @return 两个long组成的hash值，依次为h1和h2
+	 */
+	public static long[] hash128(byte[] data) {
+		return hash128(data, 0, data.length, DEFAULT_SEED);
+	}
+
+	/**
+	 * MurmurHash3 x64_128
+	 *
+	 * @param data 数据
+	 * @param seed 种子
+	 * @return 两个long组成的hash值，依次为h1和h2
+	 */
+	public static long[] hash128(byte[] data, int seed) {
+		return hash128(data, 0, data.length, seed);
+	}
+
+	/**
+	 * MurmurHash3 x64_128
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @param seed 种子
+	 * @return 两个long组成的hash值，依次为h1和h2
+	 */
+	public static long[] hash128(byte[] data, int offset, int length, int seed) {
+		long h1 = seed & 0xffffffffL;
+		long h2 = h1;
+		final int blockEnd = offset + (length & ~15);
+		long k1;
+		long k2;
+		for (int i = offset; i < blockEnd; i += 16) {
+			k1 = LittleEndian.getLong(data, i);
+			k2 = LittleEndian.getLong(data, i + 8);
+
+			h1 ^= mixK1(k1);
+			h1 = Long.rotateLeft(h1, 27);
+			h1 += h2;
+			h1 = h1 * 5 + 0x52dce729;
+
+			h2 ^= mixK2(k2);
+			h2 = Long.rotateLeft(h2, 31);
+			h2 += h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+		return finish128(h1, h2, data, blockEnd, length & 15, length);
+	}
+
+	/**
+	 * MurmurHash3 x64_128，计算position到limit之间的数据，不改变缓冲区的position
+	 *
+	 * @param buffer 缓冲区，支持堆缓冲区和直接缓冲区
+	 * @param seed 种子
+	 * @return 两个long组成的hash值，依次为h1和h2
+	 */
+	public static long[] hash128(ByteBuffer buffer, int seed) {
+		if (buffer.hasArray()) {
+			return hash128(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+		}
+		return newHasher128(seed).update(buffer.duplicate()).digest();
+	}
+
+	/**
+	 * MurmurHash3 x64_128，读取流中剩余的全部数据，流不会被关闭
+	 *
+	 * @param in 输入流
+	 * @param seed 种子
+	 * @return 两个long组成的hash值，依次为h1和h2
+	 * @throws IORuntimeException IO异常
+	 */
+	public static long[] hash128(InputStream in, int seed) throws IORuntimeException {
+		return newHasher128(seed).update(in).digest();
+	}
+
+	/**
+	 * 创建MurmurHash3 x64_128流式计算器
+	 *
+	 * @param seed 种子
+	 * @return {@link Hasher128}
+	 */
+	public static Hasher128 newHasher128(int seed) {
+		return new Hasher128(seed);
+	}
+
+	// ------------------------------------------------------------------------------------- Hasher
+	/**
+	 * MurmurHash3 32位流式计算器
+	 */
+	public static final class Hasher32 extends BlockHasher {
+		private final int seed;
+		private int h1;
+
+		private Hasher32(int seed) {
+			super(4);
+			this.seed = seed;
+			this.h1 = seed;
+		}
+
+		@Override
+		public Hasher32 update(byte b) {
+			super.update(b);
+			return this;
+		}
+
+		@Override
+		public Hasher32 update(byte[] data) {
+			super.update(data);
+			return this;
+		}
+
+		@Override
+		public Hasher32 update(byte[] data, int offset, int length) {
+			super.update(data, offset, length);
+			return this;
+		}
+
+		@Override
+		public Hasher32 update(ByteBuffer buffer) {
+			super.update(buffer);
+			return this;
+		}
+
+		@Override
+		public Hasher32 update(InputStream in) throws IORuntimeException {
+			super.update(in);
+			return this;
+		}
+
+		@Override
+		public Hasher32 reset() {
+			super.reset();
+			return this;
+		}
+
+		/**
+		 * 计算已传入数据的hash值，不改变当前状态
+		 *
+		 * @return hash值
+		 */
+		public int digest() {
+			// 官方实现中长度为int，超出部分截断
+			return fmix32(tail32(h1, tail, 0, tailLength) ^ (int) totalLength);
+		}
+
+		@Override
+		void processBlock(byte[] data, int offset) {
+			h1 = mixH1(h1, LittleEndian.getInt(data, offset));
+		}
+
+		@Override
+		void resetState() {
+			h1 = seed;
+		}
+	}
+
+	/**
+	 * MurmurHash3 x64_128流式计算器
+	 */
+	public static final class Hasher128 extends BlockHasher {
+		private final long seed;
+		private long h1;
+		private long h2;
+
+		private Hasher128(int seed) {
+			super(16);
+			this.seed = seed & 0xffffffffL;
+			resetState();
+		}
+
+		@Override
+		public Hasher128 update(byte b) {
+			super.update(b);
+			return this;
+		}
+
+		@Override
+		public Hasher128 update(byte[] data) {
+			super.update(data);
+			return this;
+		}
+
+		@Override
+		public Hasher128 update(byte[] data, int offset, int length) {
+			super.update(data, offset, length);
+			return this;
+		}
+
+		@Override
+		public Hasher128 update(ByteBuffer buffer) {
+			super.update(buffer);
+			return this;
+		}
+
+		@Override
+		public Hasher128 update(InputStream in) throws IORuntimeException {
+			super.update(in);
+			return this;
+		}
+
+		@Override
+		public Hasher128 reset() {
+			super.reset();
+			return this;
+		}
+
+		/**
+		 * 计算已传入数据的hash值，不改变当前状态
+		 *
+		 * @return 两个long组成的hash值，依次为h1和h2
+		 */
+		public long[] digest() {
+			return finish128(h1, h2, tail, 0, tailLength, totalLength);
+		}
+
+		@Override
+		void processBlock(byte[] data, int offset) {
+			h1 ^= mixK1(LittleEndian.getLong(data, offset));
+			h1 = Long.rotateLeft(h1, 27);
+			h1 += h2;
+			h1 = h1 * 5 + 0x52dce729;
+
+			h2 ^= mixK2(LittleEndian.getLong(data, offset + 8));
+			h2 = Long.rotateLeft(h2, 31);
+			h2 += h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		@Override
+		void resetState() {
+			h1 = seed;
+			h2 = seed;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private static int mixK1(int k1) {
+		k1 *= C1_32;
+		k1 = Integer.rotateLeft(k1, 15);
+		return k1 * C2_32;
+	}
+
+	private static int mixH1(int h1, int k1) {
+		h1 ^= mixK1(k1);
+		h1 = Integer.rotateLeft(h1, 13);
+		return h1 * 5 + 0xe6546b64;
+	}
+
+	@SuppressWarnings("fallthrough")
+	private static int tail32(int h1, byte[] data, int offset, int tailLength) {
+		int k1 = 0;
+		// 有意贯穿：从最高位的尾部字节开始依次合并
+		switch (tailLength) {
+		case 3:
+			k1 ^= (data[offset + 2] & 0xff) << 16;
+		case 2:
+			k1 ^= (data[offset + 1] & 0xff) << 8;
+		case 1:
+			k1 ^= (data[offset] & 0xff);
+			h1 ^= mixK1(k1);
+		default:
+			return h1;
+		}
+	}
+
+	private static int fmix32(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	private static long mixK1(long k1) {
+		k1 *= C1_128;
+		k1 = Long.rotateLeft(k1, 31);
+		return k1 * C2_128;
+	}
+
+	private static long mixK2(long k2) {
+		k2 *= C2_128;
+		k2 = Long.rotateLeft(k2, 33);
+		return k2 * C1_128;
+	}
+
+	@SuppressWarnings("fallthrough")
+	private static long[] finish128(long h1, long h2, byte[] data, int offset, int tailLength, long totalLength) {
+		long k1 = 0;
+		long k2 = 0;
+		// 有意贯穿：从最高位的尾部字节开始依次合并
+		switch (tailLength) {
+		case 15:
+			k2 ^= (data[offset + 14] & 0xffL) << 48;
+		case 14:
+			k2 ^= (data[offset + 13] & 0xffL) << 40;
+		case 13:
+			k2 ^= (data[offset + 12] & 0xffL) << 32;
+		case 12:
+			k2 ^= (data[offset + 11] & 0xffL) << 24;
+		case 11:
+			k2 ^= (data[offset + 10] & 0xffL) << 16;
+		case 10:
+			k2 ^= (data[offset + 9] & 0xffL) << 8;
+		case 9:
+			k2 ^= (data[offset + 8] & 0xffL);
+			h2 ^= mixK2(k2);
+		case 8:
+			k1 ^= (data[offset + 7] & 0xffL) << 56;
+		case 7:
+			k1 ^= (data[offset + 6] & 0xffL) << 48;
+		case 6:
+			k1 ^= (data[offset + 5] & 0xffL) << 40;
+		case 5:
+			k1 ^= (data[offset + 4] & 0xffL) << 32;
+		case 4:
+			k1 ^= (data[offset + 3] & 0xffL) << 24;
+		case 3:
+			k1 ^= (data[offset + 2] & 0xffL) << 16;
+		case 2:
+			k1 ^= (data[offset + 1] & 0xffL) << 8;
+		case 1:
+			k1 ^= (data[offset] & 0xffL);
+			h1 ^= mixK1(k1);
+		default:
+			break;
+		}
+
+		h1 ^= totalLength;
+		h2 ^= totalLength;
+
+		h1 += h2;
+		h2 += h1;
+
+		h1 = fmix64(h1);
+		h2 = fmix64(h2);
+
+		h1 += h2;
+		h2 += h1;
+		return new long[] { h1, h2 };
+	}
+
+	private static long fmix64(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+}
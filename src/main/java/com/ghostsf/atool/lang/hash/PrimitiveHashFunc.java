@@ -0,0 +1,59 @@
+package com.ghostsf.atool.lang.hash;
+
+/**
+ * 返回基本类型的Hash算法，直接计算字符序列、字节数组和long值，计算过程中不产生任何对象<br>
+ * 用于一致性Hash等对每次查找都要计算hash的场景，任意对象的分派见{@link com.ghostsf.atool.util.HashUtil#hash32(PrimitiveHashFunc, Object)}
+ *
+ * @author ghostsf
+ *
+ */
+public interface PrimitiveHashFunc {
+
+	/**
+	 * 计算字符序列的32位hash值
+	 *
+	 * @param key 字符序列
+	 * @return hash值
+	 */
+	int hash32(CharSequence key);
+
+	/**
+	 * 计算字节数组的32位hash值
+	 *
+	 * @param key 字节数组
+	 * @return hash值
+	 */
+	int hash32(byte[] key);
+
+	/**
+	 * 计算long值的32位hash值
+	 *
+	 * @param key long值
+	 * @return hash值
+	 */
+	int hash32(long key);
+
+	/**
+	 * 计算字符序列的64位hash值
+	 *
+	 * @param key 字符序列
+	 * @return hash值
+	 */
+	long hash64(CharSequence key);
+
+	/**
+	 * 计算字节数组的64位hash值
+	 *
+	 * @param key 字节数组
+	 * @return hash值
+	 */
+	long hash64(byte[] key);
+
+	/**
+	 * 计算long值的64位hash值
+	 *
+	 * @param key long值
+	 * @return hash值
+	 */
+	long hash64(long key);
+}
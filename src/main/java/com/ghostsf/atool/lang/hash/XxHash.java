@@ -0,0 +1,584 @@
+package com.ghostsf.atool.lang.hash;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.ghostsf.atool.io.IORuntimeException;
+
+/**
+ * xxHash算法实现，包括XXH32和XXH64<br>
+ * 结果与官方C实现一致<br>
+ * 参考：https://github.com/Cyan4973/xxHash/blob/dev/doc/xxhash_spec.md
+ *
+ * @author ghostsf
+ *
+ */
+public final class XxHash {
+
+	private static final int PRIME32_1 = 0x9E3779B1;
+	private static final int PRIME32_2 = 0x85EBCA77;
+	private static final int PRIME32_3 = 0xC2B2AE3D;
+	private static final int PRIME32_4 = 0x27D4EB2F;
+	private static final int PRIME32_5 = 0x165667B1;
+
+	private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME64_3 = 0x165667B19E3779F9L;
+	private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+	/** 默认种子 */
+	public static final int DEFAULT_SEED = 0;
+
+	private XxHash() {
+	}
+
+	// ------------------------------------------------------------------------------------- 32
+	/**
+	 * XXH32
+	 *
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static int hash32(byte[] data) {
+		return hash32(data, 0, data.length, DEFAULT_SEED);
+	}
+
+	/**
+	 * XXH32
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static int hash32(byte[] data, int offset, int length, int seed) {
+		final int end = offset + length;
+		int h32;
+		if (length >= 16) {
+			int v1 = seed + PRIME32_1 + PRIME32_2;
+			int v2 = seed + PRIME32_2;
+			int v3 = seed;
+			int v4 = seed - PRIME32_1;
+			final int limit = end - 16;
+			do {
+				v1 = round32(v1, LittleEndian.getInt(data, offset));
+				v2 = round32(v2, LittleEndian.getInt(data, offset + 4));
+				v3 = round32(v3, LittleEndian.getInt(data, offset + 8));
+				v4 = round32(v4, LittleEndian.getInt(data, offset + 12));
+				offset += 16;
+			} while (offset <= limit);
+			h32 = converge32(v1, v2, v3, v4);
+		} else {
+			h32 = seed + PRIME32_5;
+		}
+		return finish32(h32 + length, data, offset, end - offset);
+	}
+
+	/**
+	 * XXH32，计算position到limit之间的数据，不改变缓冲区的position
+	 *
+	 * @param buffer 缓冲区，支持堆缓冲区和直接缓冲区
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static int hash32(ByteBuffer buffer, int seed) {
+		if (buffer.hasArray()) {
+			return hash32(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+		}
+		return newHasher32(seed).update(buffer.duplicate()).digest();
+	}
+
+	/**
+	 * XXH32，读取流中剩余的全部数据，流不会被关闭
+	 *
+	 * @param in 输入流
+	 * @param seed 种子
+	 * @return hash值
+	 * @throws IORuntimeException IO异常
+	 */
+	public static int hash32(InputStream in, int seed) throws IORuntimeException {
+		return newHasher32(seed).update(in).digest();
+	}
+
+	/**
+	 * XXH32，计算long值的8个字节（小端序），结果与对应字节数组的hash值相同，不产生任何对象
+	 *
+	 * @param key 键
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static int hash32(long key, int seed) {
+		int h32 = seed + PRIME32_5 + 8;
+		h32 += (int) key * PRIME32_3;
+		h32 = Integer.rotateLeft(h32, 17) * PRIME32_4;
+		h32 += (int) (key >>> 32) * PRIME32_3;
+		h32 = Integer.rotateLeft(h32, 17) * PRIME32_4;
+		return avalanche32(h32);
+	}
+
+	/**
+	 * XXH32，按UTF-16LE编码计算字符序列，结果与{@code hash32(str.toString().getBytes(UTF_16LE))}相同，但不产生任何对象
+	 *
+	 * @param str 字符序列
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static int hash32(CharSequence str, int seed) {
+		final int charLength = str.length();
+		int i = 0;
+		int h32;
+		// 16字节为一块，即8个字符
+		if (charLength >= 8) {
+			int v1 = seed + PRIME32_1 + PRIME32_2;
+			int v2 = seed + PRIME32_2;
+			int v3 = seed;
+			int v4 = seed - PRIME32_1;
+			final int limit = charLength - 8;
+			do {
+				v1 = round32(v1, getInt(str, i));
+				v2 = round32(v2, getInt(str, i + 2));
+				v3 = round32(v3, getInt(str, i + 4));
+				v4 = round32(v4, getInt(str, i + 6));
+				i += 8;
+			} while (i <= limit);
+			h32 = converge32(v1, v2, v3, v4);
+		} else {
+			h32 = seed + PRIME32_5;
+		}
+		h32 += charLength << 1;
+		while (i + 2 <= charLength) {
+			h32 += getInt(str, i) * PRIME32_3;
+			h32 = Integer.rotateLeft(h32, 17) * PRIME32_4;
+			i += 2;
+		}
+		if (i < charLength) {
+			final char c = str.charAt(i);
+			h32 += (c & 0xff) * PRIME32_5;
+			h32 = Integer.rotateLeft(h32, 11) * PRIME32_1;
+			h32 += (c >>> 8) * PRIME32_5;
+			h32 = Integer.rotateLeft(h32, 11) * PRIME32_1;
+		}
+		return avalanche32(h32);
+	}
+
+	/**
+	 * 创建XXH32流式计算器
+	 *
+	 * @param seed 种子
+	 * @return {@link Hasher32}
+	 */
+	public static Hasher32 newHasher32(int seed) {
+		return new Hasher32(seed);
+	}
+
+	// ------------------------------------------------------------------------------------- 64
+	/**
+	 * XXH64
+	 *
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static long hash64(byte[] data) {
+		return hash64(data, 0, data.length, DEFAULT_SEED);
+	}
+
+	/**
+	 * XXH64
+	 *
+	 * @param data 数据
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static long hash64(byte[] data, int offset, int length, long seed) {
+		final int end = offset + length;
+		long h64;
+		if (length >= 32) {
+			long v1 = seed + PRIME64_1 + PRIME64_2;
+			long v2 = seed + PRIME64_2;
+			long v3 = seed;
+			long v4 = seed - PRIME64_1;
+			final int limit = end - 32;
+			do {
+				v1 = round64(v1, LittleEndian.getLong(data, offset));
+				v2 = round64(v2, LittleEndian.getLong(data, offset + 8));
+				v3 = round64(v3, LittleEndian.getLong(data, offset + 16));
+				v4 = round64(v4, LittleEndian.getLong(data, offset + 24));
+				offset += 32;
+			} while (offset <= limit);
+			h64 = converge64(v1, v2, v3, v4);
+		} else {
+			h64 = seed + PRIME64_5;
+		}
+		return finish64(h64 + length, data, offset, end - offset);
+	}
+
+	/**
+	 * XXH64，计算position到limit之间的数据，不改变缓冲区的position
+	 *
+	 * @param buffer 缓冲区，支持堆缓冲区和直接缓冲区
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static long hash64(ByteBuffer buffer, long seed) {
+		if (buffer.hasArray()) {
+			return hash64(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+		}
+		return newHasher64(seed).update(buffer.duplicate()).digest();
+	}
+
+	/**
+	 * XXH64，读取流中剩余的全部数据，流不会被关闭
+	 *
+	 * @param in 输入流
+	 * @param seed 种子
+	 * @return hash值
+	 * @throws IORuntimeException IO异常
+	 */
+	public static long hash64(InputStream in, long seed) throws IORuntimeException {
+		return newHasher64(seed).update(in).digest();
+	}
+
+	/**
+	 * XXH64，计算long值的8个字节（小端序），结果与对应字节数组的hash值相同，不产生任何对象
+	 *
+	 * @param key 键
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static long hash64(long key, long seed) {
+		long h64 = seed + PRIME64_5 + 8;
+		h64 ^= round64(0, key);
+		h64 = Long.rotateLeft(h64, 27) * PRIME64_1 + PRIME64_4;
+		return avalanche64(h64);
+	}
+
+	/**
+	 * XXH64，按UTF-16LE编码计算字符序列，结果与{@code hash64(str.toString().getBytes(UTF_16LE))}相同，但不产生任何对象
+	 *
+	 * @param str 字符序列
+	 * @param seed 种子
+	 * @return hash值
+	 */
+	public static long hash64(CharSequence str, long seed) {
+		final int charLength = str.length();
+		int i = 0;
+		long h64;
+		// 32字节为一块，即16个字符
+		if (charLength >= 16) {
+			long v1 = seed + PRIME64_1 + PRIME64_2;
+			long v2 = seed + PRIME64_2;
+			long v3 = seed;
+			long v4 = seed - PRIME64_1;
+			final int limit = charLength - 16;
+			do {
+				v1 = round64(v1, getLong(str, i));
+				v2 = round64(v2, getLong(str, i + 4));
+				v3 = round64(v3, getLong(str, i + 8));
+				v4 = round64(v4, getLong(str, i + 12));
+				i += 16;
+			} while (i <= limit);
+			h64 = converge64(v1, v2, v3, v4);
+		} else {
+			h64 = seed + PRIME64_5;
+		}
+		h64 += charLength << 1;
+		while (i + 4 <= charLength) {
+			h64 ^= round64(0, getLong(str, i));
+			h64 = Long.rotateLeft(h64, 27) * PRIME64_1 + PRIME64_4;
+			i += 4;
+		}
+		if (i + 2 <= charLength) {
+			h64 ^= (getInt(str, i) & 0xffffffffL) * PRIME64_1;
+			h64 = Long.rotateLeft(h64, 23) * PRIME64_2 + PRIME64_3;
+			i += 2;
+		}
+		if (i < charLength) {
+			final char c = str.charAt(i);
+			h64 ^= (c & 0xff) * PRIME64_5;
+			h64 = Long.rotateLeft(h64, 11) * PRIME64_1;
+			h64 ^= (c >>> 8) * PRIME64_5;
+			h64 = Long.rotateLeft(h64, 11) * PRIME64_1;
+		}
+		return avalanche64(h64);
+	}
+
+	/**
+	 * 创建XXH64流式计算器
+	 *
+	 * @param seed 种子
+	 * @return {@link Hasher64}
+	 */
+	public static Hasher64 newHasher64(long seed) {
+		return new Hasher64(seed);
+	}
+
+	// ------------------------------------------------------------------------------------- Hasher
+	/**
+	 * XXH32流式计算器
+	 */
+	public static final class Hasher32 extends BlockHasher {
+		private final int seed;
+		private int v1;
+		private int v2;
+		private int v3;
+		private int v4;
+
+		private Hasher32(int seed) {
+			super(16);
+			this.seed = seed;
+			resetState();
+		}
+
+		@Override
+		public Hasher32 update(byte b) {
+			super.update(b);
+			return this;
+		}
+
+		@Override
+		public Hasher32 update(byte[] data) {
+			super.update(data);
+			return this;
+		}
+
+		@Override
+		public Hasher32 update(byte[] data, int offset, int length) {
+			super.update(data, offset, length);
+			return this;
+		}
+
+		@Override
+		public Hasher32 update(ByteBuffer buffer) {
+			super.update(buffer);
+			return this;
+		}
+
+		@Override
+		public Hasher32 update(InputStream in) throws IORuntimeException {
+			super.update(in);
+			return this;
+		}
+
+		@Override
+		public Hasher32 reset() {
+			super.reset();
+			return this;
+		}
+
+		/**
+		 * 计算已传入数据的hash值，不改变当前状态
+		 *
+		 * @return hash值
+		 */
+		public int digest() {
+			final int h32 = totalLength >= 16 ? converge32(v1, v2, v3, v4) : seed + PRIME32_5;
+			// 官方实现中长度参与计算时截断为32位
+			return finish32(h32 + (int) totalLength, tail, 0, tailLength);
+		}
+
+		@Override
+		void processBlock(byte[] data, int offset) {
+			v1 = round32(v1, LittleEndian.getInt(data, offset));
+			v2 = round32(v2, LittleEndian.getInt(data, offset + 4));
+			v3 = round32(v3, LittleEndian.getInt(data, offset + 8));
+			v4 = round32(v4, LittleEndian.getInt(data, offset + 12));
+		}
+
+		@Override
+		void resetState() {
+			v1 = seed + PRIME32_1 + PRIME32_2;
+			v2 = seed + PRIME32_2;
+			v3 = seed;
+			v4 = seed - PRIME32_1;
+		}
+	}
+
+	/**
+	 * XXH64流式计算器
+	 */
+	public static final class Hasher64 extends BlockHasher {
+		private final long seed;
+		private long v1;
+		private long v2;
+		private long v3;
+		private long v4;
+
+		private Hasher64(long seed) {
+			super(32);
+			this.seed = seed;
+			resetState();
+		}
+
+		@Override
+		public Hasher64 update(byte b) {
+			super.update(b);
+			return this;
+		}
+
+		@Override
+		public Hasher64 update(byte[] data) {
+			super.update(data);
+			return this;
+		}
+
+		@Override
+		public Hasher64 update(byte[] data, int offset, int length) {
+			super.update(data, offset, length);
+			return this;
+		}
+
+		@Override
+		public Hasher64 update(ByteBuffer buffer) {
+			super.update(buffer);
+			return this;
+		}
+
+		@Override
+		public Hasher64 update(InputStream in) throws IORuntimeException {
+			super.update(in);
+			return this;
+		}
+
+		@Override
+		public Hasher64 reset() {
+			super.reset();
+			return this;
+		}
+
+		/**
+		 * 计算已传入数据的hash值，不改变当前状态
+		 *
+		 * @return hash值
+		 */
+		public long digest() {
+			final long h64 = totalLength >= 32 ? converge64(v1, v2, v3, v4) : seed + PRIME64_5;
+			return finish64(h64 + totalLength, tail, 0, tailLength);
+		}
+
+		@Override
+		void processBlock(byte[] data, int offset) {
+			v1 = round64(v1, LittleEndian.getLong(data, offset));
+			v2 = round64(v2, LittleEndian.getLong(data, offset + 8));
+			v3 = round64(v3, LittleEndian.getLong(data, offset + 16));
+			v4 = round64(v4, LittleEndian.getLong(data, offset + 24));
+		}
+
+		@Override
+		void resetState() {
+			v1 = seed + PRIME64_1 + PRIME64_2;
+			v2 = seed + PRIME64_2;
+			v3 = seed;
+			v4 = seed - PRIME64_1;
+		}
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private static int round32(int acc, int input) {
+		acc += input * PRIME32_2;
+		acc = Integer.rotateLeft(acc, 13);
+		return acc * PRIME32_1;
+	}
+
+	private static int converge32(int v1, int v2, int v3, int v4) {
+		return Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+	}
+
+	/**
+	 * 处理剩余不足16字节的数据并做最终混淆
+	 */
+	private static int finish32(int h32, byte[] data, int offset, int remaining) {
+		final int end = offset + remaining;
+		while (offset + 4 <= end) {
+			h32 += LittleEndian.getInt(data, offset) * PRIME32_3;
+			h32 = Integer.rotateLeft(h32, 17) * PRIME32_4;
+			offset += 4;
+		}
+		while (offset < end) {
+			h32 += (data[offset] & 0xff) * PRIME32_5;
+			h32 = Integer.rotateLeft(h32, 11) * PRIME32_1;
+			offset++;
+		}
+		return avalanche32(h32);
+	}
+
+	private static int avalanche32(int h32) {
+		h32 ^= h32 >>> 15;
+		h32 *= PRIME32_2;
+		h32 ^= h32 >>> 13;
+		h32 *= PRIME32_3;
+		h32 ^= h32 >>> 16;
+		return h32;
+	}
+
+	private static long round64(long acc, long input) {
+		acc += input * PRIME64_2;
+		acc = Long.rotateLeft(acc, 31);
+		return acc * PRIME64_1;
+	}
+
+	private static long mergeRound64(long acc, long val) {
+		acc ^= round64(0, val);
+		return acc * PRIME64_1 + PRIME64_4;
+	}
+
+	private static long converge64(long v1, long v2, long v3, long v4) {
+		long h64 = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+		h64 = mergeRound64(h64, v1);
+		h64 = mergeRound64(h64, v2);
+		h64 = mergeRound64(h64, v3);
+		return mergeRound64(h64, v4);
+	}
+
+	/**
+	 * 处理剩余不足32字节的数据并做最终混淆
+	 */
+	private static long finish64(long h64, byte[] data, int offset, int remaining) {
+		final int end = offset + remaining;
+		while (offset + 8 <= end) {
+			h64 ^= round64(0, LittleEndian.getLong(data, offset));
+			h64 = Long.rotateLeft(h64, 27) * PRIME64_1 + PRIME64_4;
+			offset += 8;
+		}
+		if (offset + 4 <= end) {
+			h64 ^= LittleEndian.getUnsignedInt(data, offset) * PRIME64_1;
+			h64 = Long.rotateLeft(h64, 23) * PRIME64_2 + PRIME64_3;
+			offset += 4;
+		}
+		while (offset < end) {
+			h64 ^= (data[offset] & 0xff) * PRIME64_5;
+			h64 = Long.rotateLeft(h64, 11) * PRIME64_1;
+			offset++;
+		}
+		return avalanche64(h64);
+	}
+
+	private static long avalanche64(long h64) {
+		h64 ^= h64 >>> 33;
+		h64 *= PRIME64_2;
+		h64 ^= h64 >>> 29;
+		h64 *= PRIME64_3;
+		h64 ^= h64 >>> 32;
+		return h64;
+	}
+
+	/**
+	 * 按UTF-16LE读取从指定字符开始的2个字符为int
+	 */
+	private static int getInt(CharSequence str, int index) {
+		return str.charAt(index) | (str.charAt(index + 1) << 16);
+	}
+
+	/**
+	 * 按UTF-16LE读取从指定字符开始的4个字符为long
+	 */
+	private static long getLong(CharSequence str, int index) {
+		return str.charAt(index) //
+				| ((long) str.charAt(index + 1) << 16) //
+				| ((long) str.charAt(index + 2) << 32) //
+				| ((long) str.charAt(index + 3) << 48);
+	}
+}
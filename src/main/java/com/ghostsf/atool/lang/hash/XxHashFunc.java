@@ -0,0 +1,55 @@
+package com.ghostsf.atool.lang.hash;
+
+/**
+ * 基于{@link XxHash}的{@link PrimitiveHashFunc}，32位使用XXH32，64位使用XXH64<br>
+ * 字符序列按UTF-16LE编码计算，long值按8字节小端序计算
+ *
+ * @author ghostsf
+ *
+ */
+public class XxHashFunc implements PrimitiveHashFunc {
+
+	/** 使用默认种子的单例 */
+	public static final XxHashFunc INSTANCE = new XxHashFunc(XxHash.DEFAULT_SEED);
+
+	private final int seed;
+
+	/**
+	 * 构造
+	 *
+	 * @param seed 种子
+	 */
+	public XxHashFunc(int seed) {
+		this.seed = seed;
+	}
+
+	@Override
+	public int hash32(CharSequence key) {
+		return XxHash.hash32(key, seed);
+	}
+
+	@Override
+	public int hash32(byte[] key) {
+		return XxHash.hash32(key, 0, key.length, seed);
+	}
+
+	@Override
+	public int hash32(long key) {
+		return XxHash.hash32(key, seed);
+	}
+
+	@Override
+	public long hash64(CharSequence key) {
+		return XxHash.hash64(key, seed);
+	}
+
+	@Override
+	public long hash64(byte[] key) {
+		return XxHash.hash64(key, 0, key.length, seed);
+	}
+
+	@Override
+	public long hash64(long key) {
+		return XxHash.hash64(key, seed);
+	}
+}
@@ -0,0 +1,227 @@
+package com.ghostsf.atool.map;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 线程安全的弱引用键Map<br>
+ * 键使用{@link WeakReference}包装后存放于{@link ConcurrentHashMap}中，键被GC回收后对应的值在下次读取或写入时清理
+ * （读取时回收队列为空的检查只是一次volatile读，不加锁）。<br>
+ * 读取不加锁，写入由{@link ConcurrentHashMap}的分段锁/CAS保证，适合作为以{@link Class}等长期存活对象为键的元数据缓存。<br>
+ * 注意每次读取都会创建一个包装原始键的临时查找键对象（生命周期极短，通常在年轻代即被回收），对分配敏感的热点路径应在外部缓存结果。<br>
+ * 注意值不应强引用其键，否则键永远不会被回收。<br>
+ * 键的比较与{@link java.util.WeakHashMap}一致，使用hashCode和equals，对于未覆盖equals的键（例如{@link Class}）即为按引用比较。<br>
+ * 不支持<code>null</code>键和<code>null</code>值。
+ *
+ * @author ghostsf
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class WeakConcurrentMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+	private final ConcurrentMap<Object, V> raw;
+	/** 被回收的键引用队列 */
+	private final ReferenceQueue<K> lastQueue = new ReferenceQueue<>();
+
+	/**
+	 * 构造
+	 */
+	public WeakConcurrentMap() {
+		this(16);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param initialCapacity 初始大小
+	 */
+	public WeakConcurrentMap(int initialCapacity) {
+		this.raw = new ConcurrentHashMap<>(initialCapacity);
+	}
+
+	@Override
+	public V get(Object key) {
+		if (null == key) {
+			return null;
+		}
+		purgeStaleKeys();
+		return raw.get(new LookupKey(key));
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (null == key) {
+			return false;
+		}
+		purgeStaleKeys();
+		return raw.containsKey(new LookupKey(key));
+	}
+
+	@Override
+	public V put(K key, V value) {
+		purgeStaleKeys();
+		return raw.put(new WeakKey<>(key, lastQueue), value);
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		purgeStaleKeys();
+		return raw.putIfAbsent(new WeakKey<>(key, lastQueue), value);
+	}
+
+	@Override
+	public V remove(Object key) {
+		purgeStaleKeys();
+		if (null == key) {
+			return null;
+		}
+		return raw.remove(new LookupKey(key));
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		purgeStaleKeys();
+		if (null == key) {
+			return false;
+		}
+		return raw.remove(new LookupKey(key), value);
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		purgeStaleKeys();
+		return raw.replace(new LookupKey(key), oldValue, newValue);
+	}
+
+	@Override
+	public V replace(K key, V value) {
+		purgeStaleKeys();
+		return raw.replace(new LookupKey(key), value);
+	}
+
+	@Override
+	public void clear() {
+		raw.clear();
+		// 清空后队列中的引用已无对应值，直接丢弃
+		while (null != lastQueue.poll()) {
+		}
+	}
+
+	@Override
+	public int size() {
+		purgeStaleKeys();
+		return raw.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return 0 == size();
+	}
+
+	/**
+	 * 返回当前存活键值对的快照，对返回的Set的修改不影响此Map
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Set<Map.Entry<K, V>> entrySet() {
+		purgeStaleKeys();
+		final Set<Map.Entry<K, V>> entries = new LinkedHashSet<>();
+		K key;
+		for (Map.Entry<Object, V> entry : raw.entrySet()) {
+			key = ((WeakKey<K>) entry.getKey()).get();
+			if (null != key) {
+				entries.add(new SimpleImmutableEntry<>(key, entry.getValue()));
+			}
+		}
+		return Collections.unmodifiableSet(entries);
+	}
+
+	/**
+	 * 清理已被GC回收的键对应的值<br>
+	 * 队列为空时{@link ReferenceQueue#poll()}只读取一次volatile字段，不加锁，因此可在读取路径上调用
+	 */
+	private void purgeStaleKeys() {
+		Reference<? extends K> reference;
+		while (null != (reference = lastQueue.poll())) {
+			raw.remove(reference);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------- Private class
+	/**
+	 * 弱引用键，hashCode在创建时计算并保留，以便键被回收后依旧可以从Map中找到并移除
+	 *
+	 * @param <K> 键类型
+	 */
+	private static class WeakKey<K> extends WeakReference<K> {
+		private final int hash;
+
+		WeakKey(K key, ReferenceQueue<? super K> queue) {
+			super(key, queue);
+			if (null == key) {
+				throw new NullPointerException("Key must not be null");
+			}
+			this.hash = key.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (other instanceof WeakKey) {
+				final Object key = get();
+				return null != key && key.equals(((WeakKey<?>) other).get());
+			}
+			// LookupKey
+			return null != other && other.equals(this);
+		}
+	}
+
+	/**
+	 * 查找用的键，强引用原始键，仅在单次查找中使用，不会放入Map
+	 */
+	private static class LookupKey {
+		private final Object key;
+		private final int hash;
+
+		LookupKey(Object key) {
+			if (null == key) {
+				throw new NullPointerException("Key must not be null");
+			}
+			this.key = key;
+			this.hash = key.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (other instanceof WeakKey) {
+				final Object otherKey = ((WeakKey<?>) other).get();
+				return key == otherKey || key.equals(otherKey);
+			}
+			if (other instanceof LookupKey) {
+				return key.equals(((LookupKey) other).key);
+			}
+			return false;
+		}
+	}
+}
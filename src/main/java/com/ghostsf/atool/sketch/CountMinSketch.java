@@ -0,0 +1,273 @@
+package com.ghostsf.atool.sketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.lang.hash.XxHashFunc;
+import com.ghostsf.atool.util.HashUtil;
+
+/**
+ * Count-Min Sketch频率估算<br>
+ * 算法详解：Cormode and Muthukrishnan, An Improved Data Stream Summary: The Count-Min Sketch and its Applications, 2005<br>
+ * 使用depth行、每行width个计数器，估算值不低于实际值，且以1 - delta的概率不超过实际值 + epsilon * 总数，
+ * 其中width = ceil(e / epsilon)，depth = ceil(ln(1 / delta))。<br>
+ * 计数器使用{@link AtomicLongArray}，支持多个线程并发加入；相同尺寸和hash算法的实例可合并。
+ *
+ * @author ghostsf
+ *
+ */
+public class CountMinSketch {
+
+	private static final byte SERIAL_VERSION = 1;
+
+	private final PrimitiveHashFunc hashFunc;
+	private final int depth;
+	private final int width;
+	private final AtomicLongArray counters;
+	/** 加入的总数 */
+	private final AtomicLong size;
+
+	/**
+	 * 构造，使用{@link XxHashFunc}
+	 *
+	 * @param epsilon 误差占总数的比例，范围(0, 1)
+	 * @param delta 超出误差的概率，范围(0, 1)
+	 */
+	public CountMinSketch(double epsilon, double delta) {
+		this(epsilon, delta, XxHashFunc.INSTANCE);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param epsilon 误差占总数的比例，范围(0, 1)
+	 * @param delta 超出误差的概率，范围(0, 1)
+	 * @param hashFunc hash算法
+	 */
+	public CountMinSketch(double epsilon, double delta, PrimitiveHashFunc hashFunc) {
+		this(depthOf(delta), widthOf(epsilon), hashFunc);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param depth 行数，即hash函数个数
+	 * @param width 每行的计数器个数
+	 * @param hashFunc hash算法
+	 */
+	public CountMinSketch(int depth, int width, PrimitiveHashFunc hashFunc) {
+		this(depth, width, hashFunc, null, 0);
+	}
+
+	private CountMinSketch(int depth, int width, PrimitiveHashFunc hashFunc, long[] counters, long size) {
+		if (depth <= 0 || width <= 0) {
+			throw new IllegalArgumentException("Depth and width must be positive: " + depth + ", " + width);
+		}
+		if ((long) depth * width > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Sketch too large: " + depth + " * " + width);
+		}
+		this.hashFunc = hashFunc;
+		this.depth = depth;
+		this.width = width;
+		this.counters = (null == counters) ? new AtomicLongArray(depth * width) : new AtomicLongArray(counters);
+		this.size = new AtomicLong(size);
+	}
+
+	/**
+	 * 加入元素，次数加1<br>
+	 * {@link CharSequence}、byte[]和整数直接计算hash，其它对象使用toString的结果计算
+	 *
+	 * @param key 元素
+	 * @return 加入后的次数估计值
+	 */
+	public long add(Object key) {
+		return addHash(HashUtil.hash64(hashFunc, key), 1);
+	}
+
+	/**
+	 * 加入元素
+	 *
+	 * @param key 元素
+	 * @param count 次数，不能为负数
+	 * @return 加入后的次数估计值
+	 */
+	public long add(Object key, long count) {
+		return addHash(HashUtil.hash64(hashFunc, key), count);
+	}
+
+	/**
+	 * 加入long元素，不装箱
+	 *
+	 * @param key 元素
+	 * @param count 次数，不能为负数
+	 * @return 加入后的次数估计值
+	 */
+	public long add(long key, long count) {
+		return addHash(hashFunc.hash64(key), count);
+	}
+
+	/**
+	 * 估算元素出现的次数
+	 *
+	 * @param key 元素
+	 * @return 次数估计值，不低于实际值
+	 */
+	public long estimateCount(Object key) {
+		return estimateHash(HashUtil.hash64(hashFunc, key));
+	}
+
+	/**
+	 * 估算long元素出现的次数，不装箱
+	 *
+	 * @param key 元素
+	 * @return 次数估计值，不低于实际值
+	 */
+	public long estimateCount(long key) {
+		return estimateHash(hashFunc.hash64(key));
+	}
+
+	/**
+	 * 合并另一个Count-Min Sketch，合并后的估算值等同于对两个数据流合并计数
+	 *
+	 * @param other 另一个Count-Min Sketch，尺寸须相同，且使用相同的hash算法
+	 * @return this
+	 */
+	public CountMinSketch merge(CountMinSketch other) {
+		if (other.depth != this.depth || other.width != this.width) {
+			throw new IllegalArgumentException("Cannot merge sketches of different size");
+		}
+		for (int i = 0; i < counters.length(); i++) {
+			counters.addAndGet(i, other.counters.get(i));
+		}
+		size.addAndGet(other.size.get());
+		return this;
+	}
+
+	/**
+	 * 获得加入的总数
+	 *
+	 * @return 总数
+	 */
+	public long size() {
+		return size.get();
+	}
+
+	/**
+	 * 获得行数
+	 *
+	 * @return 行数
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * 获得每行的计数器个数
+	 *
+	 * @return 计数器个数
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * 序列化为byte数组，可通过{@link #fromBytes(byte[])}还原
+	 *
+	 * @return byte数组
+	 */
+	public byte[] toBytes() {
+		final int length = counters.length();
+		final ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 + 8 + length * 8);
+		buffer.put(SERIAL_VERSION);
+		buffer.putInt(depth);
+		buffer.putInt(width);
+		buffer.putLong(size.get());
+		for (int i = 0; i < length; i++) {
+			buffer.putLong(counters.get(i));
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * 从{@link #toBytes()}的结果还原，使用默认的{@link XxHashFunc}
+	 *
+	 * @param data 序列化数据
+	 * @return Count-Min Sketch
+	 */
+	public static CountMinSketch fromBytes(byte[] data) {
+		return fromBytes(data, XxHashFunc.INSTANCE);
+	}
+
+	/**
+	 * 从{@link #toBytes()}的结果还原
+	 *
+	 * @param data 序列化数据
+	 * @param hashFunc hash算法，须与序列化前一致
+	 * @return Count-Min Sketch
+	 */
+	public static CountMinSketch fromBytes(byte[] data, PrimitiveHashFunc hashFunc) {
+		final ByteBuffer buffer = ByteBuffer.wrap(data);
+		try {
+			if (SERIAL_VERSION != buffer.get()) {
+				throw new IllegalArgumentException("Unsupported Count-Min Sketch data version");
+			}
+			final int depth = buffer.getInt();
+			final int width = buffer.getInt();
+			final long size = buffer.getLong();
+			final long[] counters = new long[depth * width];
+			for (int i = 0; i < counters.length; i++) {
+				counters[i] = buffer.getLong();
+			}
+			return new CountMinSketch(depth, width, hashFunc, counters, size);
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Invalid Count-Min Sketch data", e);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private long addHash(long hash, long count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count must not be negative: " + count);
+		}
+		final long h2 = HashUtil.mix64(hash) | 1;
+		long min = Long.MAX_VALUE;
+		for (int i = 0; i < depth; i++) {
+			min = Math.min(min, counters.addAndGet(index(hash, h2, i), count));
+		}
+		size.addAndGet(count);
+		return min;
+	}
+
+	private long estimateHash(long hash) {
+		final long h2 = HashUtil.mix64(hash) | 1;
+		long min = Long.MAX_VALUE;
+		for (int i = 0; i < depth; i++) {
+			min = Math.min(min, counters.get(index(hash, h2, i)));
+		}
+		return min;
+	}
+
+	/**
+	 * 第i行的计数器下标，行内位置使用双重散列 h1 + i * h2
+	 */
+	private int index(long h1, long h2, int row) {
+		return row * width + (int) (((h1 + row * h2) & Long.MAX_VALUE) % width);
+	}
+
+	private static int widthOf(double epsilon) {
+		if (false == (epsilon > 0 && epsilon < 1)) {
+			throw new IllegalArgumentException("Epsilon must be in (0, 1): " + epsilon);
+		}
+		return (int) Math.ceil(Math.E / epsilon);
+	}
+
+	private static int depthOf(double delta) {
+		if (false == (delta > 0 && delta < 1)) {
+			throw new IllegalArgumentException("Delta must be in (0, 1): " + delta);
+		}
+		return (int) Math.ceil(Math.log(1 / delta));
+	}
+}
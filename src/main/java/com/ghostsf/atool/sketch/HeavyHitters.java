@@ -0,0 +1,235 @@
+package com.ghostsf.atool.sketch;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于{@link CountMinSketch}的高频元素（Heavy Hitters）统计<br>
+ * 所有元素的频率由Count-Min Sketch估算，只保留估算次数最高的k个元素作为候选，内存与数据流长度无关。<br>
+ * 估算次数不超过当前候选最小值的元素无需加锁即可跳过；已是候选的元素直接无锁更新次数；只有新元素进入候选集（淘汰最小候选）时才加锁，
+ * 最小候选由小顶堆维护，淘汰的时间复杂度为O(log k)。
+ *
+ * @author ghostsf
+ *
+ * @param <T> 元素类型
+ */
+public class HeavyHitters<T> {
+
+	private final CountMinSketch sketch;
+	private final int k;
+	/** 候选元素，读取和更新次数无需加锁，加入和移除需持有当前对象锁 */
+	private final ConcurrentMap<T, Candidate<T>> candidates;
+	/** 按入堆时次数排列的候选小顶堆，访问需持有当前对象锁 */
+	private final Candidate<T>[] heap;
+	private int heapSize;
+	/** 候选集满时的最小估算次数（下界），用于无锁快速跳过 */
+	private volatile long threshold;
+
+	/**
+	 * 构造
+	 *
+	 * @param k 保留的元素个数
+	 * @param epsilon 误差占总数的比例，范围(0, 1)
+	 * @param delta 超出误差的概率，范围(0, 1)
+	 */
+	public HeavyHitters(int k, double epsilon, double delta) {
+		this(k, new CountMinSketch(epsilon, delta));
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param k 保留的元素个数
+	 * @param sketch 用于估算频率的Count-Min Sketch
+	 */
+	@SuppressWarnings("unchecked")
+	public HeavyHitters(int k, CountMinSketch sketch) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("K must be positive: " + k);
+		}
+		this.k = k;
+		this.sketch = sketch;
+		this.candidates = new ConcurrentHashMap<>(k * 2);
+		this.heap = (Candidate<T>[]) new Candidate<?>[k];
+	}
+
+	/**
+	 * 加入元素，次数加1
+	 *
+	 * @param item 元素
+	 */
+	public void add(T item) {
+		add(item, 1);
+	}
+
+	/**
+	 * 加入元素
+	 *
+	 * @param item 元素
+	 * @param count 次数
+	 */
+	public void add(T item, long count) {
+		final long estimate = sketch.add(item, count);
+		if (estimate <= threshold) {
+			return;
+		}
+		final Candidate<T> candidate = candidates.get(item);
+		if (null != candidate) {
+			candidate.raise(estimate);
+		} else {
+			offer(item, estimate);
+		}
+	}
+
+	/**
+	 * 按估算次数从高到低返回候选元素
+	 *
+	 * @return 元素及其估算次数，不超过k个
+	 */
+	public List<Entry<T, Long>> top() {
+		final List<Entry<T, Long>> result = new ArrayList<>(k);
+		for (Candidate<T> candidate : candidates.values()) {
+			result.add(new AbstractMap.SimpleImmutableEntry<>(candidate.item, candidate.estimate.get()));
+		}
+		Collections.sort(result, new Comparator<Entry<T, Long>>() {
+			@Override
+			public int compare(Entry<T, Long> o1, Entry<T, Long> o2) {
+				return Long.compare(o2.getValue(), o1.getValue());
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * 获得用于估算频率的Count-Min Sketch
+	 *
+	 * @return Count-Min Sketch
+	 */
+	public CountMinSketch getSketch() {
+		return sketch;
+	}
+
+	/**
+	 * 尝试将非候选元素加入候选集，候选集已满时淘汰最小候选
+	 *
+	 * @param item 元素
+	 * @param estimate 估算次数
+	 */
+	private synchronized void offer(T item, long estimate) {
+		final Candidate<T> existing = candidates.get(item);
+		if (null != existing) {
+			// 其它线程已将其加入候选
+			existing.raise(estimate);
+			return;
+		}
+
+		final Candidate<T> candidate = new Candidate<>(item, estimate);
+		if (heapSize < k) {
+			heap[heapSize] = candidate;
+			siftUp(heapSize++);
+			candidates.put(item, candidate);
+		} else {
+			final Candidate<T> min = refreshMin();
+			if (estimate <= min.estimate.get()) {
+				threshold = min.heapKey;
+				return;
+			}
+			candidates.remove(min.item);
+			heap[0] = candidate;
+			siftDown(0);
+			candidates.put(item, candidate);
+		}
+		if (heapSize >= k) {
+			threshold = refreshMin().heapKey;
+		}
+	}
+
+	/**
+	 * 获得真正的最小候选<br>
+	 * 候选的次数在锁外只增不减，堆中记录的是入堆时的次数；堆顶次数已增长时按新次数下沉，直到堆顶次数未变化
+	 *
+	 * @return 最小候选
+	 */
+	private Candidate<T> refreshMin() {
+		Candidate<T> min = heap[0];
+		long current = min.estimate.get();
+		while (current > min.heapKey) {
+			min.heapKey = current;
+			siftDown(0);
+			min = heap[0];
+			current = min.estimate.get();
+		}
+		return min;
+	}
+
+	private void siftUp(int index) {
+		final Candidate<T> candidate = heap[index];
+		while (index > 0) {
+			final int parent = (index - 1) >>> 1;
+			if (heap[parent].heapKey <= candidate.heapKey) {
+				break;
+			}
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = candidate;
+	}
+
+	private void siftDown(int index) {
+		final Candidate<T> candidate = heap[index];
+		final int half = heapSize >>> 1;
+		while (index < half) {
+			int child = (index << 1) + 1;
+			final int right = child + 1;
+			if (right < heapSize && heap[right].heapKey < heap[child].heapKey) {
+				child = right;
+			}
+			if (candidate.heapKey <= heap[child].heapKey) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = candidate;
+	}
+
+	/**
+	 * 候选元素
+	 *
+	 * @param <T> 元素类型
+	 */
+	private static final class Candidate<T> {
+		final T item;
+		/** 当前估算次数，只增不减 */
+		final AtomicLong estimate;
+		/** 入堆或上次调整时的次数，访问需持有外部对象锁 */
+		long heapKey;
+
+		Candidate(T item, long estimate) {
+			this.item = item;
+			this.estimate = new AtomicLong(estimate);
+			this.heapKey = estimate;
+		}
+
+		/**
+		 * 将估算次数提高到指定值，并发更新时保留最大值
+		 *
+		 * @param newEstimate 新的估算次数
+		 */
+		void raise(long newEstimate) {
+			long current;
+			while ((current = estimate.get()) < newEstimate) {
+				if (estimate.compareAndSet(current, newEstimate)) {
+					return;
+				}
+			}
+		}
+	}
+}
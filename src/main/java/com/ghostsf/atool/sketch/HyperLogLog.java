@@ -0,0 +1,255 @@
+package com.ghostsf.atool.sketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.lang.hash.XxHashFunc;
+import com.ghostsf.atool.util.HashUtil;
+
+/**
+ * HyperLogLog基数估算<br>
+ * 算法详解：Flajolet et al., HyperLogLog: the analysis of a near-optimal cardinality estimation algorithm, 2007<br>
+ * 使用2^p个6位寄存器（每个long存放10个），标准误差约为1.04/sqrt(2^p)，例如p=14时占用约13KB，误差约0.81%。<br>
+ * 使用64位hash，无需大基数修正；小基数时使用线性计数修正。<br>
+ * 寄存器使用CAS更新，支持多个线程并发加入；相同精度和hash算法的实例可合并，合并结果等同于对两个数据流的并集计数。
+ *
+ * @author ghostsf
+ *
+ */
+public class HyperLogLog {
+
+	/** 默认精度 */
+	public static final int DEFAULT_PRECISION = 14;
+	/** 最小精度 */
+	public static final int MIN_PRECISION = 4;
+	/** 最大精度 */
+	public static final int MAX_PRECISION = 18;
+
+	private static final int REGISTER_BITS = 6;
+	private static final int REGISTERS_PER_WORD = 10;
+	private static final long REGISTER_MASK = (1L << REGISTER_BITS) - 1;
+	private static final byte SERIAL_VERSION = 1;
+
+	private final PrimitiveHashFunc hashFunc;
+	private final int precision;
+	/** 寄存器个数 */
+	private final int registerCount;
+	private final AtomicLongArray registers;
+
+	/**
+	 * 构造，使用默认精度和{@link XxHashFunc}
+	 */
+	public HyperLogLog() {
+		this(DEFAULT_PRECISION);
+	}
+
+	/**
+	 * 构造，使用{@link XxHashFunc}
+	 *
+	 * @param precision 精度p，寄存器个数为2^p，范围[4, 18]
+	 */
+	public HyperLogLog(int precision) {
+		this(precision, XxHashFunc.INSTANCE);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param precision 精度p，寄存器个数为2^p，范围[4, 18]
+	 * @param hashFunc hash算法，须能产生均匀分布的64位hash值
+	 */
+	public HyperLogLog(int precision, PrimitiveHashFunc hashFunc) {
+		this(precision, hashFunc, null);
+	}
+
+	private HyperLogLog(int precision, PrimitiveHashFunc hashFunc, long[] words) {
+		if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+			throw new IllegalArgumentException("Precision must be in [" + MIN_PRECISION + ", " + MAX_PRECISION + "]: " + precision);
+		}
+		this.hashFunc = hashFunc;
+		this.precision = precision;
+		this.registerCount = 1 << precision;
+		final int wordCount = (registerCount + REGISTERS_PER_WORD - 1) / REGISTERS_PER_WORD;
+		if (null != words && words.length != wordCount) {
+			throw new IllegalArgumentException("Invalid register count: " + words.length);
+		}
+		this.registers = (null == words) ? new AtomicLongArray(wordCount) : new AtomicLongArray(words);
+	}
+
+	/**
+	 * 加入元素<br>
+	 * {@link CharSequence}、byte[]和整数直接计算hash，其它对象使用toString的结果计算
+	 *
+	 * @param key 元素
+	 * @return 估算值是否可能发生变化
+	 */
+	public boolean add(Object key) {
+		return addHash(HashUtil.hash64(hashFunc, key));
+	}
+
+	/**
+	 * 加入long元素，不装箱
+	 *
+	 * @param key 元素
+	 * @return 估算值是否可能发生变化
+	 */
+	public boolean add(long key) {
+		return addHash(hashFunc.hash64(key));
+	}
+
+	/**
+	 * 加入元素的64位hash值，用于已自行计算hash的场景
+	 *
+	 * @param hash 均匀分布的64位hash值
+	 * @return 估算值是否可能发生变化
+	 */
+	public boolean addHash(long hash) {
+		final int index = (int) (hash >>> (Long.SIZE - precision));
+		// 剩余位中第一个1的位置，末尾补1保证结果不超过64 - p + 1
+		final int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+		return updateRegister(index, rank);
+	}
+
+	/**
+	 * 估算不同元素的个数
+	 *
+	 * @return 基数估计值
+	 */
+	public long cardinality() {
+		double sum = 0;
+		int zeros = 0;
+		int value;
+		for (int i = 0; i < registerCount; i++) {
+			value = getRegister(i);
+			sum += 1.0 / (1L << value);
+			if (0 == value) {
+				zeros++;
+			}
+		}
+		final double estimate = alpha(registerCount) * registerCount * registerCount / sum;
+		if (estimate <= 2.5 * registerCount && zeros > 0) {
+			// 线性计数
+			return Math.round(registerCount * Math.log((double) registerCount / zeros));
+		}
+		return Math.round(estimate);
+	}
+
+	/**
+	 * 合并另一个HyperLogLog，合并后当前实例的估算值等同于对两个数据流的并集计数<br>
+	 * 合并过程中other可被并发写入，合并结果至少包含调用前已加入other的元素
+	 *
+	 * @param other 另一个HyperLogLog，精度须相同，且使用相同的hash算法
+	 * @return this
+	 */
+	public HyperLogLog merge(HyperLogLog other) {
+		if (other.precision != this.precision) {
+			throw new IllegalArgumentException("Cannot merge HyperLogLog with different precision: " + this.precision + " and " + other.precision);
+		}
+		for (int i = 0; i < registerCount; i++) {
+			updateRegister(i, other.getRegister(i));
+		}
+		return this;
+	}
+
+	/**
+	 * 获得精度
+	 *
+	 * @return 精度p
+	 */
+	public int getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * 序列化为byte数组，可通过{@link #fromBytes(byte[])}还原
+	 *
+	 * @return byte数组
+	 */
+	public byte[] toBytes() {
+		final int length = registers.length();
+		final ByteBuffer buffer = ByteBuffer.allocate(2 + length * 8);
+		buffer.put(SERIAL_VERSION);
+		buffer.put((byte) precision);
+		for (int i = 0; i < length; i++) {
+			buffer.putLong(registers.get(i));
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * 从{@link #toBytes()}的结果还原，使用默认的{@link XxHashFunc}
+	 *
+	 * @param data 序列化数据
+	 * @return HyperLogLog
+	 */
+	public static HyperLogLog fromBytes(byte[] data) {
+		return fromBytes(data, XxHashFunc.INSTANCE);
+	}
+
+	/**
+	 * 从{@link #toBytes()}的结果还原
+	 *
+	 * @param data 序列化数据
+	 * @param hashFunc hash算法，须与序列化前一致
+	 * @return HyperLogLog
+	 */
+	public static HyperLogLog fromBytes(byte[] data, PrimitiveHashFunc hashFunc) {
+		final ByteBuffer buffer = ByteBuffer.wrap(data);
+		try {
+			if (SERIAL_VERSION != buffer.get()) {
+				throw new IllegalArgumentException("Unsupported HyperLogLog data version");
+			}
+			final int precision = buffer.get();
+			final long[] words = new long[buffer.remaining() / 8];
+			for (int i = 0; i < words.length; i++) {
+				words[i] = buffer.getLong();
+			}
+			return new HyperLogLog(precision, hashFunc, words);
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Invalid HyperLogLog data", e);
+		}
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	private int getRegister(int index) {
+		final long word = registers.get(index / REGISTERS_PER_WORD);
+		return (int) ((word >>> ((index % REGISTERS_PER_WORD) * REGISTER_BITS)) & REGISTER_MASK);
+	}
+
+	/**
+	 * 寄存器取最大值
+	 *
+	 * @param index 寄存器序号
+	 * @param value 新值
+	 * @return 寄存器是否变化
+	 */
+	private boolean updateRegister(int index, int value) {
+		final int wordIndex = index / REGISTERS_PER_WORD;
+		final int shift = (index % REGISTERS_PER_WORD) * REGISTER_BITS;
+		long oldWord;
+		long newWord;
+		do {
+			oldWord = registers.get(wordIndex);
+			if (((oldWord >>> shift) & REGISTER_MASK) >= value) {
+				return false;
+			}
+			newWord = (oldWord & ~(REGISTER_MASK << shift)) | ((long) value << shift);
+		} while (false == registers.compareAndSet(wordIndex, oldWord, newWord));
+		return true;
+	}
+
+	private static double alpha(int m) {
+		switch (m) {
+		case 16:
+			return 0.673;
+		case 32:
+			return 0.697;
+		case 64:
+			return 0.709;
+		default:
+			return 0.7213 / (1 + 1.079 / m);
+		}
+	}
+}
@@ -0,0 +1,8 @@
+/**
+ * 概率数据结构，使用固定内存估算无界数据流的基数（HyperLogLog）和频率（Count-Min Sketch）
+ *
+ * @author  ghostsf
+ * @see
+ * @since
+ */
+package com.ghostsf.atool.sketch;
@@ -9,6 +9,8 @@ import java.util.Iterator;
 import java.util.Map;
 
 import com.ghostsf.atool.collection.CollectionUtil;
+import com.ghostsf.atool.collection.primitive.IntHashSet;
+import com.ghostsf.atool.collection.primitive.LongHashSet;
 import com.ghostsf.atool.exceptions.UtilException;
 import com.ghostsf.atool.lang.Editor;
 import com.ghostsf.atool.lang.Filter;
@@ -2781,4 +2783,48 @@ public class ArrayUtil {
 		}
 		return max;
 	}
+	
+	/**
+	 * 去重数组中的元素，保留元素第一次出现的顺序<br>
+	 * 使用{@link IntHashSet}判断重复，不装箱
+	 * 
+	 * @param array 数组
+	 * @return 去重后的新数组，数组为<code>null</code>或空时返回原数组
+	 */
+	public static int[] distinct(int[] array) {
+		if (isEmpty(array)) {
+			return array;
+		}
+		final IntHashSet set = new IntHashSet(array.length);
+		final int[] result = new int[array.length];
+		int size = 0;
+		for (int value : array) {
+			if (set.add(value)) {
+				result[size++] = value;
+			}
+		}
+		return (size == result.length) ? result : Arrays.copyOf(result, size);
+	}
+	
+	/**
+	 * 去重数组中的元素，保留元素第一次出现的顺序<br>
+	 * 使用{@link LongHashSet}判断重复，不装箱
+	 * 
+	 * @param array 数组
+	 * @return 去重后的新数组，数组为<code>null</code>或空时返回原数组
+	 */
+	public static long[] distinct(long[] array) {
+		if (isEmpty(array)) {
+			return array;
+		}
+		final LongHashSet set = new LongHashSet(array.length);
+		final long[] result = new long[array.length];
+		int size = 0;
+		for (long value : array) {
+			if (set.add(value)) {
+				result[size++] = value;
+			}
+		}
+		return (size == result.length) ? result : Arrays.copyOf(result, size);
+	}
 }
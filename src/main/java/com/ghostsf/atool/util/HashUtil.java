@@ -1,5 +1,10 @@
 package com.ghostsf.atool.util;
 
+import com.ghostsf.atool.lang.hash.CityHash;
+import com.ghostsf.atool.lang.hash.MurmurHash;
+import com.ghostsf.atool.lang.hash.PrimitiveHashFunc;
+import com.ghostsf.atool.lang.hash.XxHash;
+
 /**
  * Hash算法大全<br>
  * 推荐使用FNV1算法
@@ -160,17 +165,47 @@ public class HashUtil {
 	 * @return hash结果
 	 */
 	public static int fnvHash(String data) {
+		return fnvHash((CharSequence) data);
+	}
+
+	/**
+	 * 改进的32位FNV算法1，直接读取字符，不产生任何对象
+	 * 
+	 * @param data 字符序列
+	 * @return hash结果，与相同内容的字符串一致
+	 */
+	public static int fnvHash(CharSequence data) {
 		final int p = 16777619;
 		int hash = (int) 2166136261L;
 		for (int i = 0; i < data.length(); i++){
 			hash = (hash ^ data.charAt(i)) * p;
 		}
-		hash += hash << 13;
-		hash ^= hash >> 7;
-		hash += hash << 3;
-		hash ^= hash >> 17;
-		hash += hash << 5;
-		return hash;
+		return fnvFinal(hash);
+	}
+
+	/**
+	 * 改进的32位FNV算法1，计算整数的十进制表示，不产生任何对象
+	 * 
+	 * @param data 整数
+	 * @return hash结果，与fnvHash(Long.toString(data))一致
+	 */
+	public static int fnvHash(long data) {
+		final int p = 16777619;
+		int hash = (int) 2166136261L;
+		if (data < 0) {
+			hash = (hash ^ '-') * p;
+		} else {
+			// 统一按负数计算，避免Long.MIN_VALUE取反溢出
+			data = -data;
+		}
+		long divisor = 1;
+		while (data / divisor <= -10) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			hash = (hash ^ ('0' - (int) (data / divisor % 10))) * p;
+		}
+		return fnvFinal(hash);
 	}
 
 	/**
@@ -426,4 +461,147 @@ public class HashUtil {
 		hash |= fnvHash(str);
 		return hash;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * 64位混淆函数（SplitMix64的最终混淆步骤），将输入的每一位扩散到输出的所有位上<br>
+	 * 可用于将分布不均匀的hash值（例如连续的整数或32位hash）转换为均匀分布的64位值
+	 * 
+	 * @param key 输入值
+	 * @return 混淆后的值
+	 */
+	public static long mix64(long key) {
+		key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+		key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+		return key ^ (key >>> 31);
+	}
+
+	/**
+	 * MurmurHash3 32位，见{@link MurmurHash#hash32(byte[], int, int, int)}
+	 * 
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static int murmur32(byte[] data) {
+		return MurmurHash.hash32(data);
+	}
+
+	/**
+	 * MurmurHash3 x64_128的前64位，见{@link MurmurHash#hash64(byte[], int, int, int)}
+	 * 
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static long murmur64(byte[] data) {
+		return MurmurHash.hash64(data);
+	}
+
+	/**
+	 * MurmurHash3 x64_128，见{@link MurmurHash#hash128(byte[], int, int, int)}
+	 * 
+	 * @param data 数据
+	 * @return 两个long组成的hash值
+	 */
+	public static long[] murmur128(byte[] data) {
+		return MurmurHash.hash128(data);
+	}
+
+	/**
+	 * XXH32，见{@link XxHash#hash32(byte[], int, int, int)}
+	 * 
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static int xxHash32(byte[] data) {
+		return XxHash.hash32(data);
+	}
+
+	/**
+	 * XXH64，见{@link XxHash#hash64(byte[], int, int, long)}
+	 * 
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static long xxHash64(byte[] data) {
+		return XxHash.hash64(data);
+	}
+
+	/**
+	 * CityHash64，见{@link CityHash#hash64(byte[], int, int)}
+	 * 
+	 * @param data 数据
+	 * @return hash值
+	 */
+	public static long cityHash64(byte[] data) {
+		return CityHash.hash64(data);
+	}
+
+	/**
+	 * 使用{@link PrimitiveHashFunc}计算任意键的32位hash值<br>
+	 * {@link CharSequence}、byte[]和整数（Long、Integer、Short、Byte）直接计算，不产生任何对象，其它类型使用toString的结果计算<br>
+	 * byte[]按内容计算，与按其toString（identity字符串）计算的结果不同
+	 * 
+	 * @param func hash算法
+	 * @param key 键
+	 * @return hash值
+	 */
+	public static int hash32(PrimitiveHashFunc func, Object key) {
+		if (key instanceof CharSequence) {
+			return func.hash32((CharSequence) key);
+		}
+		if (key instanceof byte[]) {
+			return func.hash32((byte[]) key);
+		}
+		if (isIntegral(key)) {
+			return func.hash32(((Number) key).longValue());
+		}
+		return func.hash32(key.toString());
+	}
+
+	/**
+	 * 使用{@link PrimitiveHashFunc}计算任意键的64位hash值<br>
+	 * {@link CharSequence}、byte[]和整数（Long、Integer、Short、Byte）直接计算，不产生任何对象，其它类型使用toString的结果计算<br>
+	 * byte[]按内容计算，与按其toString（identity字符串）计算的结果不同
+	 * 
+	 * @param func hash算法
+	 * @param key 键
+	 * @return hash值
+	 */
+	public static long hash64(PrimitiveHashFunc func, Object key) {
+		if (key instanceof CharSequence) {
+			return func.hash64((CharSequence) key);
+		}
+		if (key instanceof byte[]) {
+			return func.hash64((byte[]) key);
+		}
+		if (isIntegral(key)) {
+			return func.hash64(((Number) key).longValue());
+		}
+		return func.hash64(key.toString());
+	}
+
+	// ------------------------------------------------------------------------------------- Private method
+	/**
+	 * FNV算法的最终混淆
+	 * 
+	 * @param hash 累加的hash值
+	 * @return hash结果
+	 */
+	private static int fnvFinal(int hash) {
+		hash += hash << 13;
+		hash ^= hash >> 7;
+		hash += hash << 3;
+		hash ^= hash >> 17;
+		hash += hash << 5;
+		return hash;
+	}
+
+	/**
+	 * 是否为可无损转换为long的包装类型
+	 * 
+	 * @param key 键
+	 * @return 是否为整数
+	 */
+	private static boolean isIntegral(Object key) {
+		return key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte;
+	}
+}
@@ -8,9 +8,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import com.ghostsf.atool.cache.CacheStatsRegistry;
 import com.ghostsf.atool.exceptions.UtilException;
 import com.ghostsf.atool.lang.Assert;
 import com.ghostsf.atool.lang.Filter;
+import com.ghostsf.atool.lang.Func0;
 import com.ghostsf.atool.lang.SimpleCache;
 
 /**
@@ -28,6 +30,24 @@ public class ReflectUtil {
 	/** 方法缓存 */
 	private static final SimpleCache<Class<?>, Method[]> METHODS_CACHE = new SimpleCache<>();
 
+	static {
+		CacheStatsRegistry.register("ReflectUtil.constructors", CONSTRUCTORS_CACHE);
+		CacheStatsRegistry.register("ReflectUtil.fields", FIELDS_CACHE);
+		CacheStatsRegistry.register("ReflectUtil.methods", METHODS_CACHE);
+	}
+
+	/**
+	 * 设置构造方法、字段和方法缓存的容量，三个缓存分别使用此容量，超出容量时淘汰最久未使用的类<br>
+	 * 调整容量会清空已有缓存
+	 * 
+	 * @param capacity 容量，小于等于0表示不限容量
+	 */
+	public static void setCacheCapacity(int capacity) {
+		CONSTRUCTORS_CACHE.setCapacity(capacity);
+		FIELDS_CACHE.setCapacity(capacity);
+		METHODS_CACHE.setCapacity(capacity);
+	}
+
 	// --------------------------------------------------------------------------------------------------------- Constructor
 	/**
 	 * 查找类中的指定参数的构造方法
@@ -63,15 +83,14 @@ public class ReflectUtil {
 	 * @throws SecurityException 安全检查异常
 	 */
 	@SuppressWarnings("unchecked")
-	public static <T> Constructor<T>[] getConstructors(Class<T> beanClass) throws SecurityException {
+	public static <T> Constructor<T>[] getConstructors(final Class<T> beanClass) throws SecurityException {
 		Assert.notNull(beanClass);
-		Constructor<?>[] constructors = CONSTRUCTORS_CACHE.get(beanClass);
-		if (null != constructors) {
-			return (Constructor<T>[]) constructors;
-		}
-
-		constructors = getConstructorsDirectly(beanClass);
-		return (Constructor<T>[]) CONSTRUCTORS_CACHE.put(beanClass, constructors);
+		return (Constructor<T>[]) CONSTRUCTORS_CACHE.get(beanClass, new Func0<Constructor<?>[]>() {
+			@Override
+			public Constructor<?>[] call() {
+				return getConstructorsDirectly(beanClass);
+			}
+		});
 	}
 
 	/**
@@ -114,14 +133,13 @@ public class ReflectUtil {
 	 * @return 字段列表
 	 * @throws SecurityException 安全检查异常
 	 */
-	public static Field[] getFields(Class<?> beanClass) throws SecurityException {
-		Field[] allFields = FIELDS_CACHE.get(beanClass);
-		if (null != allFields) {
-			return allFields;
-		}
-
-		allFields = getFieldsDirectly(beanClass, true);
-		return FIELDS_CACHE.put(beanClass, allFields);
+	public static Field[] getFields(final Class<?> beanClass) throws SecurityException {
+		return FIELDS_CACHE.get(beanClass, new Func0<Field[]>() {
+			@Override
+			public Field[] call() {
+				return getFieldsDirectly(beanClass, true);
+			}
+		});
 	}
 
 	/**
@@ -346,14 +364,13 @@ public class ReflectUtil {
 	 * @return 方法列表
 	 * @throws SecurityException 安全检查异常
 	 */
-	public static Method[] getMethods(Class<?> beanClass) throws SecurityException {
-		Method[] allMethods = METHODS_CACHE.get(beanClass);
-		if (null != allMethods) {
-			return allMethods;
-		}
-
-		allMethods = getMethodsDirectly(beanClass, true);
-		return METHODS_CACHE.put(beanClass, allMethods);
+	public static Method[] getMethods(final Class<?> beanClass) throws SecurityException {
+		return METHODS_CACHE.get(beanClass, new Func0<Method[]>() {
+			@Override
+			public Method[] call() {
+				return getMethodsDirectly(beanClass, true);
+			}
+		});
 	}
 
 	/**
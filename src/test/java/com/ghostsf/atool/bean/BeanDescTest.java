@@ -46,6 +46,28 @@ public class BeanDescTest {
 		Assert.assertEquals("setGender", desc.getSetter("gender").getName());
 	}
 
+	@Test
+	public void propValueTest() {
+		BeanDesc desc = BeanUtil.getBeanDesc(User.class);
+		User user = new User();
+
+		desc.getProp("name").setValue(user, "张三");
+		// 链式Setter
+		desc.getProp("age").setValue(user, 18);
+		desc.getProp("isAdmin").setValue(user, true);
+		Assert.assertEquals("张三", desc.getProp("name").getValue(user));
+		Assert.assertEquals(18, desc.getProp("age").getValue(user));
+		Assert.assertEquals(true, desc.getProp("isAdmin").getValue(user));
+
+		try {
+			// 基本类型不能注入null
+			desc.getProp("age").setValue(user, null);
+			Assert.fail();
+		} catch (BeanException e) {
+			Assert.assertEquals(18, user.getAge());
+		}
+	}
+
 	public static class User {
 		private String name;
 		private int age;
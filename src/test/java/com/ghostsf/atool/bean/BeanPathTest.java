@@ -0,0 +1,100 @@
+package com.ghostsf.atool.bean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link BeanPath} 单元测试
+ *
+ * @author ghostsf
+ *
+ */
+public class BeanPathTest {
+
+	@Test
+	public void getTest() {
+		final User user = new User("张三");
+		user.orders.add(new Order(1.5));
+		user.orders.add(new Order(2.5));
+		user.orders.add(new Order(3.5));
+		final Map<String, Object> root = new HashMap<>();
+		root.put("user", user);
+		root.put("scores", new int[] { 90, 80 });
+
+		Assert.assertEquals(3.5, BeanPath.compile("user.orders[2].price").get(root));
+		Assert.assertEquals("张三", BeanPath.compile("user.name").get(root));
+		Assert.assertEquals(80, BeanPath.compile("scores[1]").get(root));
+		Assert.assertEquals(1.5, BeanPath.compile("user.tags[0].price").get(root));
+		// 中间结果为null
+		Assert.assertNull(BeanPath.compile("user.friend.name").get(root));
+		Assert.assertNull(BeanPath.compile("admin.name").get(root));
+		// 第一个对象为Bean本身
+		Assert.assertEquals("张三", BeanPath.compile("user.name").get(user));
+
+		// 与BeanResolver结果一致
+		Assert.assertEquals(BeanResolver.resolveBean(root, "user.orders[1].price"), BeanPath.compile("user.orders[1].price").get(root));
+	}
+
+	@Test
+	public void cacheTest() {
+		final BeanPath path = BeanPath.compile("orders[0].price");
+		Assert.assertSame(path, BeanPath.compile(new String("orders[0].price")));
+		Assert.assertEquals("orders[0].price", path.getExpression());
+	}
+
+	@Test
+	public void typeChangeTest() {
+		// 同一表达式作用于不同类型的Bean
+		final BeanPath path = BeanPath.compile("name");
+		Assert.assertEquals("张三", path.get(new User("张三")));
+		Assert.assertEquals("商品", path.get(new Goods("商品")));
+		Assert.assertEquals("李四", path.get(new User("李四")));
+		Assert.assertNull(path.get(new Order(1)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void badExpressionTest() {
+		BeanPath.compile("user.orders[a].price");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unclosedBracketTest() {
+		BeanPath.compile("user.orders[2");
+	}
+
+	public static class User {
+		private String name;
+		private List<Order> orders = new ArrayList<>();
+		private Set<Order> tags;
+		private User friend;
+
+		public User(String name) {
+			this.name = name;
+			this.tags = new LinkedHashSet<>();
+			this.tags.add(new Order(1.5));
+		}
+	}
+
+	public static class Goods {
+		private String name;
+
+		public Goods(String name) {
+			this.name = name;
+		}
+	}
+
+	public static class Order {
+		private double price;
+
+		public Order(double price) {
+			this.price = price;
+		}
+	}
+}
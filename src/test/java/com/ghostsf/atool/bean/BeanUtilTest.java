@@ -1,7 +1,9 @@
 package com.ghostsf.atool.bean;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.ghostsf.atool.bean.copier.CopyOptions;
@@ -88,7 +90,41 @@ public class BeanUtilTest {
 		Assert.assertEquals(map.get("age"), 14);
 		Assert.assertEquals("11213232", map.get("openid"));
 	}
-	
+
+	@Test
+	public void listConvertTest() {
+		final List<Map<String, Object>> mapList = new ArrayList<>();
+		Map<String, Object> map;
+		for (int i = 0; i < 20000; i++) {
+			map = new HashMap<>();
+			map.put("name", "name" + i);
+			map.put("age", String.valueOf(i % 100));
+			mapList.add(map);
+		}
+
+		final List<Person> personList = BeanUtil.mapListToBeanList(mapList, Person.class, CopyOptions.create());
+		Assert.assertEquals(20000, personList.size());
+		Assert.assertEquals("name123", personList.get(123).getName());
+		Assert.assertEquals(23, personList.get(123).getAge());
+		// 并行结果与顺序结果一致
+		final List<Person> parallelList = BeanUtil.mapListToBeanList(mapList, Person.class, CopyOptions.create(), true);
+		for (int i = 0; i < personList.size(); i++) {
+			Assert.assertEquals(personList.get(i).getName(), parallelList.get(i).getName());
+			Assert.assertEquals(personList.get(i).getAge(), parallelList.get(i).getAge());
+		}
+
+		final List<Person> beanList = new ArrayList<Person>(personList);
+		final SubPerson subPerson = new SubPerson();
+		subPerson.setSubName("sub名字");
+		beanList.add(subPerson);
+		beanList.add(null);
+		final List<Map<String, Object>> resultList = BeanUtil.beanListToMapList(beanList, false, true, true);
+		Assert.assertEquals(beanList.size(), resultList.size());
+		Assert.assertEquals(BeanUtil.beanToMap(personList.get(123), false, true), resultList.get(123));
+		Assert.assertEquals("sub名字", resultList.get(20000).get("subName"));
+		Assert.assertNull(resultList.get(20001));
+		Assert.assertTrue(BeanUtil.beanListToMapList(null, false, false).isEmpty());
+	}
 	
 	//-----------------------------------------------------------------------------------------------------------------
 	public static class SubPerson extends Person{
@@ -0,0 +1,202 @@
+package com.ghostsf.atool.bean.copier;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.bean.BeanDescCache;
+import com.ghostsf.atool.bean.BeanUtil;
+import com.ghostsf.atool.io.IoUtil;
+import com.ghostsf.atool.util.ReflectUtil;
+
+/**
+ * {@link CopyPlan} 单元测试
+ *
+ * @author ghostsf
+ *
+ */
+public class CopyPlanTest {
+
+	@Test
+	public void cacheTest() {
+		final CopyPlan plan = CopyPlan.get(Source.class, Target.class, CopyOptions.create().setIgnoreProperties("age"));
+		// 不同实例的相同选项共享同一计划
+		Assert.assertSame(plan, CopyPlan.get(Source.class, Target.class, CopyOptions.create().setIgnoreProperties("age")));
+		Assert.assertNotSame(plan, CopyPlan.get(Source.class, Target.class, CopyOptions.create()));
+		Assert.assertNotSame(plan, CopyPlan.get(null, Target.class, CopyOptions.create().setIgnoreProperties("age")));
+		// age被忽略，来源中无remark，只剩name
+		Assert.assertEquals(1, plan.size());
+
+		// 修改选项后使用新计划
+		final CopyOptions options = CopyOptions.create();
+		final CopyPlan before = CopyPlan.get(Source.class, Target.class, options);
+		options.setIgnoreProperties("age");
+		Assert.assertSame(plan, CopyPlan.get(Source.class, Target.class, options));
+		Assert.assertNotSame(before, CopyPlan.get(Source.class, Target.class, options));
+	}
+
+	@Test
+	public void copyTest() {
+		final Source source = new Source();
+		source.setName("张三");
+		source.setAge("18");
+		source.setMemo("备注");
+
+		final CopyPlan plan = CopyPlan.get(Source.class, Target.class, CopyOptions.create());
+		Target target = plan.copy(source, new Target());
+		Assert.assertEquals("张三", target.getName());
+		// 类型转换
+		Assert.assertEquals(18, target.getAge());
+		Assert.assertNull(target.getRemark());
+
+		// 字段映射
+		final Map<String, String> mapping = new HashMap<>();
+		mapping.put("memo", "remark");
+		target = new Target();
+		BeanUtil.copyProperties(source, target, CopyOptions.create().setFieldMapping(mapping));
+		Assert.assertEquals("备注", target.getRemark());
+
+		final Map<String, Object> map = new HashMap<>();
+		map.put("NAME", "李四");
+		map.put("memo", "备注");
+		target = BeanUtil.mapToBean(map, Target.class, CopyOptions.create().setIgnoreCase(true).setFieldMapping(mapping));
+		Assert.assertEquals("李四", target.getName());
+		Assert.assertEquals("备注", target.getRemark());
+	}
+
+	@Test
+	public void ignoreNullValueTest() {
+		final Target target = new Target();
+		target.setName("张三");
+		BeanUtil.copyProperties(new Source(), target, CopyOptions.create().setIgnoreNullValue(true));
+		Assert.assertEquals("张三", target.getName());
+		BeanUtil.copyProperties(new Source(), target, CopyOptions.create().setIgnoreError(true));
+		Assert.assertNull(target.getName());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sourceMismatchTest() {
+		CopyPlan.get(Source.class, Target.class, CopyOptions.create()).copy(new Target(), new Target());
+	}
+
+	@Test
+	public void sourceNotRetainedTest() throws Exception {
+		final CopyPlan[] holder = new CopyPlan[1];
+		final WeakReference<Class<?>> sourceRef = copyFromIsolatedSource(holder);
+		// 清空会强引用来源类型的全局反射缓存，此后只有计划可能引用来源类型
+		BeanDescCache.INSTANCE.setCapacity(0);
+		ReflectUtil.setCacheCapacity(0);
+		for (int i = 0; i < 50 && null != sourceRef.get(); i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		Assert.assertNull(sourceRef.get());
+		Assert.assertNull(holder[0].getSourceClass());
+		Assert.assertEquals(1, holder[0].size());
+	}
+
+	/**
+	 * 使用独立ClassLoader加载的来源类型创建计划并拷贝
+	 * 
+	 * @param holder 用于保存计划
+	 * @return 来源类型的弱引用
+	 */
+	private static WeakReference<Class<?>> copyFromIsolatedSource(CopyPlan[] holder) throws Exception {
+		final Class<?> sourceClass = new IsolatedClassLoader(Source.class.getName()).loadClass(Source.class.getName());
+		Assert.assertNotSame(Source.class, sourceClass);
+		final Object source = sourceClass.newInstance();
+		sourceClass.getMethod("setName", String.class).invoke(source, "张三");
+
+		holder[0] = CopyPlan.get(sourceClass, Target.class, CopyOptions.create().setIgnoreProperties("age"));
+		Assert.assertEquals("张三", holder[0].copy(source, new Target()).getName());
+		return new WeakReference<Class<?>>(sourceClass);
+	}
+
+	/**
+	 * 自行定义指定类的ClassLoader，其它类委托给父加载器
+	 */
+	private static class IsolatedClassLoader extends ClassLoader {
+		private final String isolatedName;
+
+		IsolatedClassLoader(String isolatedName) {
+			super(CopyPlanTest.class.getClassLoader());
+			this.isolatedName = isolatedName;
+		}
+
+		@Override
+		protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (false == isolatedName.equals(name)) {
+				return super.loadClass(name, resolve);
+			}
+			Class<?> clazz = findLoadedClass(name);
+			if (null == clazz) {
+				final byte[] bytes = IoUtil.readBytes(getResourceAsStream(name.replace('.', '/') + ".class"));
+				clazz = defineClass(name, bytes, 0, bytes.length);
+			}
+			return clazz;
+		}
+	}
+
+	public static class Source {
+		private String name;
+		private String age;
+		private String memo;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getAge() {
+			return age;
+		}
+
+		public void setAge(String age) {
+			this.age = age;
+		}
+
+		public String getMemo() {
+			return memo;
+		}
+
+		public void setMemo(String memo) {
+			this.memo = memo;
+		}
+	}
+
+	public static class Target {
+		private String name;
+		private int age;
+		private String remark;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public String getRemark() {
+			return remark;
+		}
+
+		public void setRemark(String remark) {
+			this.remark = remark;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.ghostsf.atool.bloomfilter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 布隆过滤器单元测试
+ * @author ghostsf
+ *
+ */
+public class BloomFilterTest {
+
+	@Test
+	public void bitFilterTest() {
+		BitBloomFilter filter = BloomFilterUtil.createBitFilter(10000, 0.01);
+		for (int i = 0; i < 10000; i++) {
+			filter.add("id" + i);
+		}
+		for (int i = 0; i < 10000; i++) {
+			Assert.assertTrue(filter.contains("id" + i));
+		}
+		Assert.assertTrue(falsePositiveRate(filter) < 0.02);
+		Assert.assertEquals(10000, filter.approximateElementCount(), 300);
+
+		BloomFilter copy = BloomFilterUtil.fromBytes(filter.toBytes());
+		Assert.assertTrue(copy.contains("id1"));
+		Assert.assertEquals(falsePositiveRate(filter), falsePositiveRate(copy), 0);
+	}
+
+	@Test
+	public void countingFilterTest() {
+		CountingBloomFilter filter = BloomFilterUtil.createCountingFilter(1000, 0.01);
+		for (long i = 0; i < 1000; i++) {
+			filter.add(i);
+		}
+		filter.add(1L);
+		Assert.assertEquals(2, filter.approximateCount(1L));
+		for (long i = 0; i < 500; i++) {
+			Assert.assertTrue(filter.remove(i));
+		}
+		Assert.assertTrue(filter.contains(1L));
+		Assert.assertTrue(filter.contains(999L));
+		int present = 0;
+		for (long i = 2; i < 500; i++) {
+			if (filter.contains(i)) {
+				present++;
+			}
+		}
+		Assert.assertTrue(present < 20);
+
+		CountingBloomFilter copy = (CountingBloomFilter) BloomFilterUtil.fromBytes(filter.toBytes());
+		Assert.assertTrue(copy.contains(999L));
+		Assert.assertEquals(filter.expectedFpp(), copy.expectedFpp(), 0);
+	}
+
+	@Test
+	public void scalableFilterTest() {
+		ScalableBloomFilter filter = BloomFilterUtil.createScalableFilter(100, 0.01);
+		for (int i = 0; i < 10000; i++) {
+			filter.add("id" + i);
+		}
+		Assert.assertTrue(filter.getFilterCount() > 1);
+		for (int i = 0; i < 10000; i++) {
+			Assert.assertTrue(filter.contains("id" + i));
+		}
+		Assert.assertTrue(falsePositiveRate(filter) < 0.01);
+
+		BloomFilter copy = BloomFilterUtil.fromBytes(filter.toBytes());
+		Assert.assertTrue(copy.contains("id9999"));
+		Assert.assertEquals(falsePositiveRate(filter), falsePositiveRate(copy), 0);
+	}
+
+	@Test
+	public void concurrentAddTest() throws InterruptedException {
+		final BitBloomFilter filter = new BitBloomFilter(100000, 0.01);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			final int start = t * 25000;
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					for (long i = start; i < start + 25000; i++) {
+						filter.add(i);
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+		for (long i = 0; i < 100000; i++) {
+			Assert.assertTrue(filter.contains(i));
+		}
+	}
+
+	private static double falsePositiveRate(BloomFilter filter) {
+		int falsePositives = 0;
+		for (int i = 0; i < 10000; i++) {
+			if (filter.contains("other" + i)) {
+				falsePositives++;
+			}
+		}
+		return falsePositives / 10000.0;
+	}
+}
@@ -0,0 +1,225 @@
+package com.ghostsf.atool.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.lang.Func0;
+import com.ghostsf.atool.lang.SimpleCache;
+import com.ghostsf.atool.util.ReflectUtil;
+
+/**
+ * 缓存单元测试
+ * @author ghostsf
+ *
+ */
+public class CacheTest {
+
+	@Test
+	public void fifoCacheTest() {
+		Cache<String, String> fifoCache = CacheUtil.newFIFOCache(3);
+		fifoCache.put("key1", "value1");
+		fifoCache.put("key2", "value2");
+		fifoCache.put("key3", "value3");
+		// 加入第四个对象后，最先加入的对象被移除
+		fifoCache.put("key4", "value4");
+
+		Assert.assertNull(fifoCache.get("key1"));
+		Assert.assertEquals("value4", fifoCache.get("key4"));
+		Assert.assertEquals(3, fifoCache.size());
+	}
+
+	@Test
+	public void lfuCacheTest() {
+		Cache<String, String> lfuCache = CacheUtil.newLFUCache(3);
+		lfuCache.put("key1", "value1");
+		// 使用次数+1
+		lfuCache.get("key1");
+		lfuCache.put("key2", "value2");
+		lfuCache.put("key3", "value3");
+		lfuCache.get("key3");
+		// 加入第四个对象后，使用次数最少的key2被移除
+		lfuCache.put("key4", "value4");
+
+		Assert.assertNull(lfuCache.get("key2"));
+		Assert.assertEquals("value1", lfuCache.get("key1"));
+		Assert.assertEquals("value3", lfuCache.get("key3"));
+	}
+
+	@Test
+	public void lruCacheTest() {
+		Cache<String, String> lruCache = CacheUtil.newLRUCache(3);
+		lruCache.put("key1", "value1");
+		lruCache.put("key2", "value2");
+		lruCache.put("key3", "value3");
+		// 访问key1后，最久未使用的为key2
+		lruCache.get("key1");
+		lruCache.put("key4", "value4");
+
+		Assert.assertNull(lruCache.get("key2"));
+		Assert.assertEquals("value1", lruCache.get("key1"));
+	}
+
+	@Test
+	public void timedCacheTest() throws InterruptedException {
+		TimedCache<String, String> timedCache = CacheUtil.newTimedCache(4);
+		timedCache.put("key1", "value1", 1);
+		timedCache.put("key2", "value2", 1000);
+		timedCache.put("key3", "value3");
+
+		Thread.sleep(20);
+		Assert.assertNull(timedCache.get("key1"));
+		Assert.assertEquals("value2", timedCache.get("key2"));
+		Assert.assertNull(timedCache.get("key3"));
+	}
+
+	@Test
+	public void accessTimeoutTest() throws InterruptedException {
+		AbstractCache<String, String> cache = CacheUtil.<String, String>newLRUCache(10).setAccessTimeout(50);
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		for (int i = 0; i < 4; i++) {
+			Thread.sleep(20);
+			Assert.assertEquals("value1", cache.get("key1"));
+		}
+		Assert.assertNull(cache.get("key2"));
+	}
+
+	@Test
+	public void weightAndListenerTest() {
+		final List<String> removed = new ArrayList<>();
+		AbstractCache<String, String> cache = CacheUtil.<String, String>newFIFOCache(0)//
+				.setMaxWeight(10, new Weigher<String, String>() {
+					@Override
+					public int weigh(String key, String value) {
+						return value.length();
+					}
+				})//
+				.setListener(new CacheListener<String, String>() {
+					@Override
+					public void onRemove(String key, String cachedObject, RemovalCause cause) {
+						removed.add(key + ":" + cause);
+					}
+				});
+
+		cache.put("a", "1234");
+		cache.put("b", "1234");
+		cache.put("a", "12");
+		Assert.assertEquals(6, cache.weight());
+		// 加入后总权重为12，淘汰最先加入的b
+		cache.put("c", "123456");
+		cache.remove("c");
+
+		Assert.assertEquals(2, cache.weight());
+		Assert.assertEquals("[a:REPLACED, b:EVICTED, c:EXPLICIT]", removed.toString());
+	}
+
+	@Test
+	public void simpleCacheCapacityTest() {
+		SimpleCache<String, String> cache = new SimpleCache<String, String>().setCapacity(2);
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		cache.put("key3", "value3");
+		Assert.assertNull(cache.get("key1"));
+		Assert.assertEquals("value3", cache.get("key3"));
+		Assert.assertEquals(2, cache.getCapacity());
+	}
+
+	@Test
+	public void getWithSupplierTest() throws InterruptedException {
+		final SimpleCache<String, String> simpleCache = new SimpleCache<>();
+		final Cache<String, String> lruCache = CacheUtil.newLRUCache(10);
+		final AtomicInteger loadCount = new AtomicInteger();
+		final Func0<String> supplier = new Func0<String>() {
+			@Override
+			public String call() throws Exception {
+				loadCount.incrementAndGet();
+				Thread.sleep(50);
+				return "value";
+			}
+		};
+
+		final int threadCount = 16;
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch end = new CountDownLatch(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						Assert.assertEquals("value", simpleCache.get("key", supplier));
+						Assert.assertEquals("value", lruCache.get("key", supplier));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						end.countDown();
+					}
+				}
+			}).start();
+		}
+		start.countDown();
+		end.await();
+
+		// 两个缓存各加载一次
+		Assert.assertEquals(2, loadCount.get());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void timedCacheMaxWeightTest() {
+		CacheUtil.<String, String>newTimedCache(100).setMaxWeight(10, new Weigher<String, String>() {
+			@Override
+			public int weigh(String key, String value) {
+				return value.length();
+			}
+		});
+	}
+
+	@Test
+	public void statsTest() {
+		LRUCache<String, String> cache = CacheUtil.newLRUCache(1);
+		cache.put("key1", "value1");
+		// 默认不记录统计
+		cache.get("key1");
+		Assert.assertEquals(0, cache.getStats().getHitCount());
+
+		cache.recordStats();
+		cache.get("key1");
+		cache.get("key2");
+		cache.get("key3", new Func0<String>() {
+			@Override
+			public String call() {
+				return "value3";
+			}
+		});
+
+		CacheStats stats = cache.getStats();
+		Assert.assertEquals(1, stats.getHitCount());
+		Assert.assertEquals(2, stats.getMissCount());
+		Assert.assertEquals(1, stats.getLoadSuccessCount());
+		// 加入key3时淘汰key1
+		Assert.assertEquals(1, stats.getEvictionCount());
+		Assert.assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void registryTest() throws Exception {
+		ReflectUtil.getFields(CacheTest.class);
+		CacheStatsSource fieldsCache = CacheStatsRegistry.get("ReflectUtil.fields");
+		Assert.assertNotNull(fieldsCache);
+		Assert.assertTrue(fieldsCache.size() > 0);
+
+		CacheStatsRegistry.enableJmx();
+		try {
+			Object size = ManagementFactory.getPlatformMBeanServer().getAttribute(CacheStatsRegistry.getObjectName("ReflectUtil.fields"), "Size");
+			Assert.assertEquals(fieldsCache.size(), size);
+		} finally {
+			CacheStatsRegistry.disableJmx();
+		}
+	}
+}
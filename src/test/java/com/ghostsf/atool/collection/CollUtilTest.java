@@ -2,9 +2,12 @@ package com.ghostsf.atool.collection;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import com.ghostsf.atool.lang.Dict;
@@ -194,6 +197,47 @@ public class CollUtilTest {
 		Assert.assertEquals("李四", groupByField.get(1).get(0).getName());
 	}
 	
+	@Test
+	public void sortPageAllTest() {
+		final Comparator<TestBeans> byAge = new Comparator<TestBeans>() {
+			@Override
+			public int compare(TestBeans o1, TestBeans o2) {
+				return Integer.compare(o1.getAge(), o2.getAge());
+			}
+		};
+		final Random random = new Random(1);
+		final List<List<TestBeans>> lists = new ArrayList<>();
+		final List<TestBeans> all = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			final List<TestBeans> list = new ArrayList<>();
+			for (int j = 0; j < 300; j++) {
+				// 年龄重复，验证相等元素的顺序
+				list.add(new TestBeans(i + "-" + j, random.nextInt(50)));
+			}
+			lists.add(list);
+			all.addAll(list);
+		}
+		Collections.sort(all, byAge);
+		@SuppressWarnings("unchecked")
+		final List<TestBeans>[] colls = (List<TestBeans>[]) lists.toArray(new List<?>[lists.size()]);
+		for (int pageNo = 1; pageNo <= 20; pageNo++) {
+			Assert.assertEquals(all.subList((pageNo - 1) * 70, pageNo * 70), CollUtil.sortPageAll(pageNo, 70, byAge, colls));
+		}
+		Assert.assertTrue(CollUtil.sortPageAll(22, 70, byAge, colls).isEmpty());
+		Assert.assertEquals(all, CollUtil.sortPageAll(1, 2000, byAge, colls));
+
+		// 各集合已排序时多路归并
+		for (List<TestBeans> list : lists) {
+			Collections.sort(list, byAge);
+		}
+		for (int pageNo = 1; pageNo <= 20; pageNo++) {
+			Assert.assertEquals(all.subList((pageNo - 1) * 70, pageNo * 70), CollUtil.mergePageAll(pageNo, 70, byAge, colls));
+		}
+		Assert.assertTrue(CollUtil.mergePageAll(22, 70, byAge, colls).isEmpty());
+		Assert.assertEquals(all, CollUtil.mergePageAll(1, 2000, byAge, colls));
+		Assert.assertEquals(CollUtil.newArrayList(1, 2, 3, 4), CollUtil.newArrayList(MergeIterator.of(null, CollUtil.newArrayList(1, 4), CollUtil.newArrayList(2, 3))));
+	}
+	
 	public static class TestBeans {
 		private String name;
 		private int age;
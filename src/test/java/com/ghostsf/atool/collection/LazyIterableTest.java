@@ -0,0 +1,98 @@
+package com.ghostsf.atool.collection;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.lang.Editor;
+import com.ghostsf.atool.lang.Filter;
+import com.ghostsf.atool.lang.Func1;
+
+/**
+ * {@link LazyIterable}及{@link IterUtil}惰性方法单元测试
+ * @author ghostsf
+ *
+ */
+public class LazyIterableTest {
+
+	/** 无限的自然数序列，并记录读取的个数 */
+	private static class Naturals implements Iterable<Integer> {
+		private int read;
+
+		@Override
+		public Iterator<Integer> iterator() {
+			return new ComputeIterator<Integer>() {
+				private int next;
+
+				@Override
+				protected Integer computeNext() {
+					read++;
+					return next++;
+				}
+			};
+		}
+	}
+
+	@Test
+	public void lazyTest() {
+		final Naturals naturals = new Naturals();
+		final LazyIterable<String> chain = IterUtil.lazy(naturals).filter(new Filter<Integer>() {
+			@Override
+			public boolean accept(Integer t) {
+				return t % 2 == 0;
+			}
+		}).map(new Func1<Integer, String>() {
+			@Override
+			public String call(Integer parameter) {
+				return "n" + parameter;
+			}
+		}).skip(2).limit(3);
+		// 未遍历前不读取任何元素
+		Assert.assertEquals(0, naturals.read);
+		Assert.assertEquals(CollUtil.newArrayList("n4", "n6", "n8"), chain.toList());
+		Assert.assertEquals(9, naturals.read);
+		// 可重复遍历
+		Assert.assertEquals("n4,n6,n8", chain.join(","));
+		Assert.assertEquals("n4", chain.first());
+	}
+
+	@Test
+	public void editAndDistinctTest() {
+		final List<Integer> list = CollUtil.newArrayList(3, 1, 3, 2, 1, null, 5);
+		Assert.assertEquals(CollUtil.newArrayList(3, 1, 2, null, 5), LazyIterable.of(list).distinct().toList());
+		Assert.assertEquals(CollUtil.newArrayList(30, 30, 50), LazyIterable.of(list).edit(new Editor<Integer>() {
+			@Override
+			public Integer edit(Integer t) {
+				return (null == t || t < 3) ? null : t * 10;
+			}
+		}).toList());
+		Assert.assertEquals(7, LazyIterable.of(list).count());
+	}
+
+	@Test
+	public void flatMapTest() {
+		final List<List<Integer>> lists = CollUtil.<List<Integer>>newArrayList(CollUtil.newArrayList(1, 2), null, CollUtil.<Integer>newArrayList(), CollUtil.newArrayList(3));
+		Assert.assertEquals(CollUtil.newArrayList(1, 2, 3), LazyIterable.of(lists).flatMap(new Func1<List<Integer>, List<Integer>>() {
+			@Override
+			public List<Integer> call(List<Integer> parameter) {
+				return parameter;
+			}
+		}).toList());
+	}
+
+	@Test
+	public void chunkAndWindowTest() {
+		final List<Integer> list = CollUtil.newArrayList(1, 2, 3, 4, 5, 6, 7);
+		Assert.assertEquals("[[1, 2, 3], [4, 5, 6], [7]]", LazyIterable.of(list).chunk(3).toList().toString());
+		Assert.assertEquals("[[1, 2, 3], [2, 3, 4], [3, 4, 5], [4, 5, 6], [5, 6, 7]]", LazyIterable.of(list).window(3, 1).toList().toString());
+		Assert.assertEquals("[[1, 2], [4, 5]]", LazyIterable.of(list).window(2, 3).toList().toString());
+		Assert.assertEquals("[[1, 2, 3], [3, 4, 5], [5, 6, 7]]", LazyIterable.of(list).window(3, 2).toList().toString());
+		Assert.assertTrue(LazyIterable.of(list).window(8, 1).toList().isEmpty());
+		// 无限序列分块只读取需要的元素
+		final Naturals naturals = new Naturals();
+		Assert.assertEquals("[0, 1]", IterUtil.lazy(naturals).chunk(2).first().toString());
+		Assert.assertEquals(2, naturals.read);
+	}
+}
@@ -0,0 +1,96 @@
+package com.ghostsf.atool.collection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.collection.CollUtil.Hash;
+import com.ghostsf.atool.lang.Editor;
+import com.ghostsf.atool.lang.Func1;
+
+/**
+ * {@link ParallelCollUtil}单元测试，并行结果必须与顺序结果一致
+ * @author ghostsf
+ *
+ */
+public class ParallelCollUtilTest {
+
+	private static List<Integer> randomList(int size, int bound) {
+		final Random random = new Random(1);
+		final List<Integer> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(random.nextInt(bound));
+		}
+		return list;
+	}
+
+	@Test
+	public void countMapAndDistinctTest() {
+		final List<Integer> list = randomList(200000, 5000);
+		list.add(null);
+		Assert.assertEquals(CollUtil.countMap(list), ParallelCollUtil.countMap(list));
+		Assert.assertEquals(CollUtil.distinct(list), ParallelCollUtil.distinct(list));
+		// 阈值以下使用顺序方法
+		Assert.assertEquals(CollUtil.distinct(list.subList(0, 10)), ParallelCollUtil.distinct(list.subList(0, 10)));
+		Assert.assertTrue(ParallelCollUtil.countMap(null).isEmpty());
+	}
+
+	@Test
+	public void groupTest() {
+		final List<Integer> list = randomList(100000, 1000);
+		final Hash<Integer> hash = new Hash<Integer>() {
+			@Override
+			public int hash(Integer t) {
+				// 稀疏的分组，部分分组为null
+				return t % 100 * 2;
+			}
+		};
+		Assert.assertEquals(CollUtil.group(list, hash), ParallelCollUtil.group(list, hash, 1000));
+	}
+
+	@Test
+	public void toListMapAndExtractTest() {
+		final List<Map<String, Integer>> mapList = new ArrayList<>();
+		Map<String, Integer> map;
+		for (int i = 0; i < 50000; i++) {
+			map = new HashMap<>();
+			map.put("k" + (i % 7), i);
+			map.put("all", i);
+			mapList.add(map);
+		}
+		Assert.assertEquals(CollUtil.toListMap(mapList), ParallelCollUtil.toListMap(mapList, 100));
+
+		final List<Integer> list = randomList(100000, 1000);
+		final Editor<Object> editor = new Editor<Object>() {
+			@Override
+			public Object edit(Object t) {
+				return "v" + t;
+			}
+		};
+		Assert.assertEquals(CollUtil.extract(list, editor), ParallelCollUtil.extract(list, editor));
+	}
+
+	@Test
+	public void mapTest() {
+		final List<Integer> list = randomList(100000, 1000);
+		list.add(null);
+		final Func1<Integer, String> func = new Func1<Integer, String>() {
+			@Override
+			public String call(Integer parameter) {
+				return (null == parameter) ? null : String.valueOf(parameter * 2);
+			}
+		};
+		final List<String> expected = new ArrayList<>();
+		for (Integer i : list) {
+			expected.add(func.call(i));
+		}
+		Assert.assertEquals(expected, ParallelCollUtil.map(list, func));
+		Assert.assertEquals(expected.subList(0, 10), ParallelCollUtil.map(list.subList(0, 10), func));
+		Assert.assertTrue(ParallelCollUtil.map(null, func).isEmpty());
+	}
+}
@@ -0,0 +1,87 @@
+package com.ghostsf.atool.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Top-K相关类单元测试
+ * @author ghostsf
+ *
+ */
+public class TopKTest {
+
+	@Test
+	public void heapTest() {
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			list.add(i);
+		}
+		Collections.shuffle(list, new Random(1));
+		Assert.assertEquals(CollUtil.newArrayList(999, 998, 997, 996, 995), CollUtil.topK(list, 5, null));
+		Assert.assertEquals(CollUtil.newArrayList(0, 1, 2), CollUtil.topK(list, 3, Collections.reverseOrder()));
+		Assert.assertEquals(2, CollUtil.topK(CollUtil.newArrayList(1, 2), 5, null).size());
+
+		TopKHeap<Integer> a = new TopKHeap<Integer>(3).offerAll(CollUtil.newArrayList(1, 5, 9));
+		TopKHeap<Integer> b = new TopKHeap<Integer>(3).offerAll(CollUtil.newArrayList(7, 8, 2));
+		Assert.assertEquals(CollUtil.newArrayList(9, 8, 7), a.merge(b).toList());
+		Assert.assertEquals(Integer.valueOf(7), a.peekMin());
+	}
+
+	@Test
+	public void primitiveHeapTest() {
+		LongTopKHeap<String> heap = new LongTopKHeap<>(3);
+		for (long i = 0; i < 100; i++) {
+			heap.offer(i * 7 % 101, "item" + i);
+		}
+		Assert.assertArrayEquals(new long[] { 100, 99, 98 }, heap.toScoreArray());
+		Assert.assertEquals(3, heap.toList().size());
+
+		DoubleTopKHeap<String> doubleHeap = new DoubleTopKHeap<>(3);
+		for (double score : new double[] { -1.5, 0.0, -0.0, 3.25, Double.NEGATIVE_INFINITY, -100, 2 }) {
+			doubleHeap.offer(score, String.valueOf(score));
+		}
+		Assert.assertArrayEquals(new double[] { 3.25, 2, 0.0 }, doubleHeap.toScoreArray(), 0);
+		Assert.assertEquals(CollUtil.newArrayList("3.25", "2.0", "0.0"), doubleHeap.toList());
+		Assert.assertEquals(-100, DoubleTopKHeap.toDouble(DoubleTopKHeap.toSortableLong(-100)), 0);
+	}
+
+	@Test
+	public void collectorTest() throws InterruptedException {
+		final LongTopKCollector<Long> collector = new LongTopKCollector<>(10);
+		final TopKCollector<Long> objCollector = new TopKCollector<>(10);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			final long start = t * 250000L;
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					for (long i = start; i < start + 250000; i++) {
+						final long score = i * 7919 % 1000003;
+						collector.offer(score, i);
+						objCollector.offer(score);
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+		final long[] scores = collector.result().toScoreArray();
+		Assert.assertEquals(10, scores.length);
+		for (int i = 0; i < scores.length; i++) {
+			Assert.assertEquals(scores[i], objCollector.toList().get(i).longValue());
+			if (i > 0) {
+				Assert.assertTrue(scores[i - 1] >= scores[i]);
+			}
+		}
+		Assert.assertEquals(1000002, scores[0]);
+	}
+}
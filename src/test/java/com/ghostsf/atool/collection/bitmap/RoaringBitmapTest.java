@@ -0,0 +1,195 @@
+package com.ghostsf.atool.collection.bitmap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.collection.CollUtil;
+
+/**
+ * {@link RoaringBitmap}单元测试，结果与{@link TreeSet}比较
+ * @author ghostsf
+ *
+ */
+public class RoaringBitmapTest {
+
+	/**
+	 * 生成包含稀疏块、稠密块和连续段的随机集合，值按无符号顺序排列
+	 */
+	private static TreeSet<Long> randomSet(Random random) {
+		final TreeSet<Long> set = new TreeSet<>();
+		long base;
+		for (int chunk = 0; chunk < 12; chunk++) {
+			base = (long) random.nextInt(16) << 16;
+			switch (random.nextInt(4)) {
+			case 0:
+				// 稀疏
+				for (int i = 0; i < 500; i++) {
+					set.add(base + random.nextInt(65536));
+				}
+				break;
+			case 1:
+				// 稠密
+				for (int i = 0; i < 20000; i++) {
+					set.add(base + random.nextInt(65536));
+				}
+				break;
+			case 2:
+				// 连续段
+				final int start = random.nextInt(60000);
+				final int length = random.nextInt(5000) + 1;
+				for (int i = start; i < start + length; i++) {
+					set.add(base + i);
+				}
+				break;
+			default:
+				// 负数，即无符号的高位
+				for (int i = 0; i < 300; i++) {
+					set.add(0xFFFF0000L + random.nextInt(65536));
+				}
+			}
+		}
+		return set;
+	}
+
+	private static RoaringBitmap toBitmap(Set<Long> set, boolean runOptimize) {
+		final RoaringBitmap bitmap = new RoaringBitmap();
+		for (long value : set) {
+			bitmap.add((int) value);
+		}
+		if (runOptimize) {
+			bitmap.runOptimize();
+		}
+		return bitmap;
+	}
+
+	private static void assertSame(TreeSet<Long> expected, RoaringBitmap bitmap) {
+		Assert.assertEquals(expected.size(), bitmap.getCardinality());
+		final int[] values = bitmap.toArray();
+		int i = 0;
+		for (long value : expected) {
+			Assert.assertEquals((int) value, values[i++]);
+		}
+		final IntIterator iterator = bitmap.intIterator();
+		for (long value : expected) {
+			Assert.assertEquals((int) value, iterator.next());
+		}
+		Assert.assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void setAlgebraTest() {
+		final Random random = new Random(1);
+		for (int round = 0; round < 8; round++) {
+			final TreeSet<Long> set1 = randomSet(random);
+			final TreeSet<Long> set2 = randomSet(random);
+			// 行程容器与普通容器交叉组合
+			final RoaringBitmap bitmap1 = toBitmap(set1, round % 2 == 0);
+			final RoaringBitmap bitmap2 = toBitmap(set2, round % 4 < 2);
+			assertSame(set1, bitmap1);
+
+			final TreeSet<Long> and = new TreeSet<>(set1);
+			and.retainAll(set2);
+			assertSame(and, RoaringBitmap.and(bitmap1, bitmap2));
+			Assert.assertEquals(and.size(), RoaringBitmap.andCardinality(bitmap1, bitmap2));
+
+			final TreeSet<Long> or = new TreeSet<>(set1);
+			or.addAll(set2);
+			assertSame(or, RoaringBitmap.or(bitmap1, bitmap2));
+
+			final TreeSet<Long> andNot = new TreeSet<>(set1);
+			andNot.removeAll(set2);
+			assertSame(andNot, RoaringBitmap.andNot(bitmap1, bitmap2));
+
+			final TreeSet<Long> xor = new TreeSet<>(or);
+			xor.removeAll(and);
+			assertSame(xor, RoaringBitmap.xor(bitmap1, bitmap2));
+
+			// 运算不修改参数
+			assertSame(set1, bitmap1);
+			Assert.assertEquals(bitmap1, toBitmap(set1, round % 2 != 0));
+		}
+	}
+
+	@Test
+	public void modifyTest() {
+		final RoaringBitmap bitmap = new RoaringBitmap();
+		final TreeSet<Long> expected = new TreeSet<>();
+		final Random random = new Random(2);
+		int value;
+		for (int i = 0; i < 200000; i++) {
+			value = random.nextInt(1 << 18) - (1 << 17);
+			if (random.nextInt(3) == 0) {
+				bitmap.remove(value);
+				expected.remove(value & 0xFFFFFFFFL);
+			} else {
+				bitmap.add(value);
+				expected.add(value & 0xFFFFFFFFL);
+			}
+			if (i % 50000 == 0) {
+				bitmap.runOptimize();
+			}
+		}
+		assertSame(expected, bitmap);
+		Assert.assertTrue(bitmap.contains(-1) == expected.contains(0xFFFFFFFFL));
+
+		bitmap.clear();
+		Assert.assertTrue(bitmap.isEmpty());
+	}
+
+	@Test
+	public void rangeAndSerializeTest() {
+		final RoaringBitmap bitmap = new RoaringBitmap();
+		bitmap.addRange(100, 300000);
+		bitmap.addRange(0xFFFFFFF0L, 0x100000000L);
+		bitmap.add(5);
+		Assert.assertEquals(300000 - 100 + 16 + 1, bitmap.getCardinality());
+		Assert.assertTrue(bitmap.contains(299999));
+		Assert.assertFalse(bitmap.contains(300000));
+		Assert.assertTrue(bitmap.contains(-1));
+		// 连续段使用行程容器，序列化后很小
+		Assert.assertTrue(bitmap.serializedSizeInBytes() < 100);
+
+		final RoaringBitmap copy = RoaringBitmap.fromBytes(bitmap.toBytes());
+		Assert.assertEquals(bitmap, copy);
+		Assert.assertEquals(bitmap.hashCode(), copy.hashCode());
+
+		final RoaringBitmap dense = toBitmap(randomSet(new Random(3)), false);
+		Assert.assertEquals(dense, RoaringBitmap.fromBytes(dense.toBytes()));
+		Assert.assertEquals("{1,2,4294967295}", RoaringBitmap.of(2, -1, 1).toString());
+	}
+
+	@Test
+	public void collUtilTest() {
+		final List<Integer> list1 = CollUtil.newArrayList(5, -3, 5, 7, 100000, 2);
+		final List<Integer> list2 = CollUtil.newArrayList(7, 2, 2, -3, 8, Integer.MIN_VALUE);
+		Assert.assertEquals(CollUtil.newArrayList(Integer.MIN_VALUE, -3, 2, 5, 7, 8, 100000), CollUtil.unionDistinct(list1, list2));
+		Assert.assertEquals(CollUtil.newArrayList(-3, 2, 7), CollUtil.intersectionDistinct(list1, list2));
+		Assert.assertEquals(CollUtil.newArrayList(Integer.MIN_VALUE, 5, 8, 100000), CollUtil.disjunctionDistinct(list1, list2));
+
+		// 非Integer元素按出现顺序
+		final List<String> strs1 = CollUtil.newArrayList("b", "a", "c", "a");
+		final List<String> strs2 = CollUtil.newArrayList("c", "d");
+		Assert.assertEquals(CollUtil.newArrayList("b", "a", "c", "d"), CollUtil.unionDistinct(strs1, strs2));
+		Assert.assertEquals(CollUtil.newArrayList("c"), CollUtil.intersectionDistinct(strs1, strs2));
+		Assert.assertEquals(CollUtil.newArrayList("b", "a", "d"), CollUtil.disjunctionDistinct(strs1, strs2));
+
+		// 与HashSet结果一致
+		final Random random = new Random(4);
+		final List<Integer> big1 = new ArrayList<>();
+		final List<Integer> big2 = new ArrayList<>();
+		for (int i = 0; i < 100000; i++) {
+			big1.add(random.nextInt(1000000));
+			big2.add(random.nextInt(1000000));
+		}
+		final Set<Integer> expected = new HashSet<>(big1);
+		expected.retainAll(big2);
+		Assert.assertEquals(expected, new HashSet<>(CollUtil.intersectionDistinct(big1, big2)));
+	}
+}
@@ -0,0 +1,163 @@
+package com.ghostsf.atool.collection.primitive;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.util.ArrayUtil;
+
+/**
+ * 基本类型集合单元测试
+ * @author ghostsf
+ *
+ */
+public class PrimitiveCollectionTest {
+
+	@Test
+	public void longLongMapTest() {
+		final LongLongHashMap map = new LongLongHashMap(4);
+		final Map<Long, Long> expected = new HashMap<>();
+		final Random random = new Random(1);
+		long key;
+		long value;
+		for (int i = 0; i < 200000; i++) {
+			// 键范围较小，保证大量的覆盖和删除
+			key = random.nextInt(5000) - 2500;
+			value = random.nextLong();
+			switch (random.nextInt(4)) {
+			case 0:
+				Assert.assertEquals(toLong(expected.remove(key)), map.remove(key));
+				break;
+			case 1:
+				Assert.assertEquals(toLong(expected.get(key)) + 1, map.addTo(key, 1));
+				expected.put(key, toLong(expected.get(key)) + 1);
+				break;
+			default:
+				Assert.assertEquals(toLong(expected.put(key, value)), map.put(key, value));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+		}
+		Assert.assertEquals(expected, map.toMap());
+		for (long k = -2500; k < 2500; k++) {
+			Assert.assertEquals(expected.containsKey(k), map.containsKey(k));
+			Assert.assertEquals(toLong(expected.get(k)), map.get(k));
+		}
+		Assert.assertEquals(-1, map.getOrDefault(Long.MIN_VALUE, -1));
+
+		final LongLongHashMap copy = new LongLongHashMap();
+		final long[] keys = map.keys();
+		final long[] values = map.values();
+		for (int i = 0; i < keys.length; i++) {
+			copy.put(keys[i], values[i]);
+		}
+		Assert.assertEquals(map, copy);
+		Assert.assertEquals(map.hashCode(), copy.hashCode());
+
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertFalse(map.containsKey(0));
+	}
+
+	@Test
+	public void intCountTest() {
+		final IntIntHashMap counts = new IntIntHashMap();
+		for (int i = 0; i < 10000; i++) {
+			counts.addTo(i % 100, 1);
+		}
+		Assert.assertEquals(100, counts.size());
+		Assert.assertEquals(100, counts.get(0));
+		Assert.assertEquals(100, counts.get(99));
+		Assert.assertEquals(0, counts.get(100));
+		Assert.assertEquals("{0=1, 5=2}", new IntIntHashMap() {
+			{
+				put(5, 2);
+				put(0, 1);
+			}
+		}.toString());
+	}
+
+	@Test
+	public void objectMapTest() {
+		final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+		for (long i = 0; i < 1000; i++) {
+			Assert.assertNull(map.put(i << 32, String.valueOf(i)));
+		}
+		Assert.assertEquals("10", map.get(10L << 32));
+		Assert.assertEquals("0", map.putIfAbsent(0, "x"));
+		Assert.assertNull(map.putIfAbsent(1, null));
+		Assert.assertTrue(map.containsKey(1));
+		Assert.assertNull(map.get(1));
+		Assert.assertEquals(1001, map.size());
+		for (long i = 0; i < 1000; i += 2) {
+			Assert.assertEquals(String.valueOf(i), map.remove(i << 32));
+		}
+		Assert.assertEquals(501, map.size());
+		Assert.assertEquals("999", map.get(999L << 32));
+		Assert.assertEquals(501, map.values().size());
+
+		final IntObjectHashMap<String> intMap = new IntObjectHashMap<>();
+		intMap.put(-1, "a");
+		Assert.assertEquals("a", intMap.toMap().get(-1));
+	}
+
+	@Test
+	public void setTest() {
+		final IntHashSet set = new IntHashSet();
+		final Set<Integer> expected = new HashSet<>();
+		final Random random = new Random(2);
+		int value;
+		for (int i = 0; i < 100000; i++) {
+			value = random.nextInt(2000) - 1000;
+			if (random.nextBoolean()) {
+				Assert.assertEquals(expected.add(value), set.add(value));
+			} else {
+				Assert.assertEquals(expected.remove(value), set.remove(value));
+			}
+		}
+		Assert.assertEquals(expected.size(), set.size());
+		for (int v : set.toArray()) {
+			Assert.assertTrue(expected.contains(v));
+		}
+		Assert.assertEquals(LongHashSet.of(3, 0, -7), LongHashSet.of(-7, 3, 0, 3));
+
+		Assert.assertArrayEquals(new long[] { 3, 0, -7 }, ArrayUtil.distinct(new long[] { 3, 0, 3, -7, 0 }));
+		Assert.assertArrayEquals(new int[] { 1, 2 }, ArrayUtil.distinct(new int[] { 1, 2, 1 }));
+		Assert.assertNull(ArrayUtil.distinct((int[]) null));
+		Assert.assertNull(ArrayUtil.distinct((long[]) null));
+		Assert.assertEquals(0, ArrayUtil.distinct(new int[0]).length);
+	}
+
+	@Test
+	public void listTest() {
+		final LongArrayList list = new LongArrayList();
+		for (long i = 0; i < 100; i++) {
+			list.add(99 - i);
+		}
+		Assert.assertEquals(100, list.size());
+		list.sort();
+		Assert.assertEquals(0, list.get(0));
+		Assert.assertEquals(42, list.removeAt(42));
+		Assert.assertEquals(43, list.get(42));
+		list.add(0, -1);
+		Assert.assertEquals(-1, list.get(0));
+		Assert.assertTrue(list.removeValue(99));
+		Assert.assertFalse(list.contains(99));
+		Assert.assertEquals(99, list.size());
+
+		final IntArrayList intList = IntArrayList.of(1, 2, 3);
+		intList.addAll(IntArrayList.of(4));
+		Assert.assertEquals(IntArrayList.of(1, 2, 3, 4), intList);
+		Assert.assertEquals("[1, 2, 3, 4]", intList.toString());
+		intList.trimToSize();
+		Assert.assertArrayEquals(new int[] { 1, 2, 3, 4 }, intList.toArray());
+	}
+
+	private static long toLong(Long value) {
+		return null == value ? 0 : value;
+	}
+}
@@ -0,0 +1,45 @@
+package com.ghostsf.atool.lang;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link AliasWeightRandom} 单元测试
+ * @author ghostsf
+ *
+ */
+public class AliasWeightRandomTest {
+
+	@Test
+	public void distributionTest() {
+		AliasWeightRandom<String> random = AliasWeightRandom.<String>builder()//
+				.add("A", 1).add("B", 2).add("C", 3).add("D", 4).add("Z", 0).build();
+		Random source = new Random(1);
+		int[] counts = new int[4];
+		for (int i = 0; i < 100000; i++) {
+			String next = random.next(source);
+			Assert.assertNotEquals("Z", next);
+			counts[next.charAt(0) - 'A']++;
+		}
+		for (int i = 0; i < 4; i++) {
+			Assert.assertEquals((i + 1) * 10000, counts[i], 1000);
+		}
+	}
+
+	@Test
+	public void toBuilderTest() {
+		AliasWeightRandom<String> random = AliasWeightRandom.<String>builder().add("A", 1).add("B", 1).build();
+		AliasWeightRandom<String> onlyB = random.toBuilder().set("A", 0).build();
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertEquals("B", onlyB.next());
+		}
+		Assert.assertEquals(1, random.toBuilder().remove("B").build().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroWeightsTest() {
+		AliasWeightRandom.<String>builder().add("A", 0).build();
+	}
+}
@@ -0,0 +1,124 @@
+package com.ghostsf.atool.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.collection.CollUtil;
+import com.ghostsf.atool.lang.hash.XxHashFunc;
+import com.ghostsf.atool.util.HashUtil;
+
+/**
+ * {@link ConsistentHash} 单元测试
+ * @author ghostsf
+ *
+ */
+public class ConsistentHashTest {
+
+	@Test
+	public void getTest() {
+		ConsistentHash<String> hash = new ConsistentHash<>(100, CollUtil.newArrayList("node1", "node2", "node3"));
+
+		// 与基于TreeMap的实现结果一致
+		SortedMap<Integer, String> circle = new TreeMap<>();
+		for (String node : CollUtil.newArrayList("node1", "node2", "node3")) {
+			for (int i = 0; i < 100; i++) {
+				circle.put(HashUtil.fnvHash(node + i), node);
+			}
+		}
+		for (int i = 0; i < 10000; i++) {
+			String key = "key" + i;
+			int h = HashUtil.fnvHash(key);
+			SortedMap<Integer, String> tailMap = circle.tailMap(h);
+			String expected = circle.get(tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey());
+			Assert.assertEquals(expected, hash.get(key));
+		}
+	}
+
+	@Test
+	public void addAndRemoveTest() {
+		ConsistentHash<String> hash = new ConsistentHash<>(10, CollUtil.newArrayList("node1"));
+		Assert.assertEquals("node1", hash.get("key"));
+
+		hash.add("node2");
+		hash.remove("node1");
+		Assert.assertEquals("node2", hash.get("key"));
+
+		hash.remove("node2");
+		Assert.assertNull(hash.get("key"));
+	}
+
+	@Test
+	public void primitiveKeyTest() {
+		for (long key : new long[] { 0, 7, -7, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE }) {
+			Assert.assertEquals(HashUtil.fnvHash(Long.toString(key)), HashUtil.fnvHash(key));
+		}
+
+		ConsistentHash<String> hash = new ConsistentHash<>(100, CollUtil.newArrayList("node1", "node2", "node3"));
+		for (int i = 0; i < 1000; i++) {
+			// 整数键与其字符串形式落在同一节点，与旧版按toString计算一致
+			Assert.assertEquals(hash.get(String.valueOf(i * 7919L)), hash.get(i * 7919L));
+			Assert.assertEquals(hash.get(new StringBuilder("key").append(i)), hash.get("key" + i));
+		}
+
+		ConsistentHash<String> xxHash = new ConsistentHash<>(XxHashFunc.INSTANCE, 100, CollUtil.newArrayList("node1", "node2", "node3"));
+		Assert.assertEquals(xxHash.get(Long.valueOf(42)), xxHash.get(42L));
+		Assert.assertEquals(xxHash.get(new byte[] { 1, 2, 3 }), xxHash.get(new byte[] { 1, 2, 3 }));
+	}
+
+	@Test
+	public void boundedLoadTest() {
+		List<String> nodes = CollUtil.newArrayList("node0", "node1", "node2", "node3", "node4");
+		ConsistentHash<String> hash = new ConsistentHash<String>(100, nodes).setCapacityFactor(1.25);
+
+		// 一半的请求集中在同一个键上
+		List<String> acquired = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			acquired.add(hash.acquire(i % 2 == 0 ? "hotKey" : "key" + i));
+		}
+		Assert.assertEquals(10000, hash.getTotalLoad());
+		for (String node : nodes) {
+			Assert.assertTrue(hash.getLoad(node) <= 2500);
+		}
+
+		for (String node : acquired) {
+			hash.release(node);
+		}
+		Assert.assertEquals(0, hash.getTotalLoad());
+	}
+
+	@Test
+	public void acquireWhileRemoveTest() throws InterruptedException {
+		final ConsistentHash<String> hash = new ConsistentHash<String>(10, CollUtil.newArrayList("node0", "node1")).setCapacityFactor(1.25);
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					int i = 0;
+					while (running.get()) {
+						hash.acquire("key" + (i++));
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (int i = 0; i < 2000; i++) {
+			hash.add("node2");
+			hash.remove("node2");
+		}
+		running.set(false);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// 已移除的节点不应残留负载计数
+		Assert.assertEquals(0, hash.getLoad("node2"));
+	}
+}
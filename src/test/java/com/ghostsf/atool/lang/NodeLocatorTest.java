@@ -0,0 +1,66 @@
+package com.ghostsf.atool.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link NodeLocator} 各实现的分布和迁移测试
+ * @author ghostsf
+ *
+ */
+public class NodeLocatorTest {
+
+	@Test
+	public void jumpTest() {
+		Assert.assertEquals(0, JumpConsistentHash.jump(123456789L, 1));
+		checkLocator(new JumpConsistentHash<>(nodes(10)));
+	}
+
+	@Test
+	public void maglevTest() {
+		checkLocator(new MaglevHash<>(nodes(10)));
+	}
+
+	@Test
+	public void consistentHashTest() {
+		ConsistentHash<String> locator = new ConsistentHash<>(200, nodes(10));
+		Map<Object, String> before = NodeLocatorUtil.<Object, String>locate(locator, keys());
+		locator.add("node10");
+		Assert.assertTrue(NodeLocatorUtil.movedRatio(before, NodeLocatorUtil.locate(locator, keys())) < 0.2);
+	}
+
+	private static void checkLocator(NodeLocator<String> locator) {
+		final List<Object> keys = keys();
+		// 分布均匀
+		Assert.assertTrue(NodeLocatorUtil.maxLoadRatio(NodeLocatorUtil.distribution(locator, keys), 10) < 1.1);
+
+		// 在末尾增加一个节点，约1/11的键迁移
+		final Map<Object, String> before = NodeLocatorUtil.locate(locator, keys);
+		locator.add("node10");
+		final double moved = NodeLocatorUtil.movedRatio(before, NodeLocatorUtil.locate(locator, keys));
+		Assert.assertTrue(String.valueOf(moved), moved > 0.05 && moved < 0.15);
+
+		locator.remove("node10");
+		Assert.assertEquals(0, NodeLocatorUtil.movedRatio(before, NodeLocatorUtil.locate(locator, keys)), 0);
+	}
+
+	private static List<String> nodes(int count) {
+		final List<String> nodes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			nodes.add("node" + i);
+		}
+		return nodes;
+	}
+
+	private static List<Object> keys() {
+		final List<Object> keys = new ArrayList<>();
+		for (int i = 0; i < 100000; i++) {
+			keys.add("key" + i);
+		}
+		return keys;
+	}
+}
@@ -1,7 +1,11 @@
 package com.ghostsf.atool.lang;
 
+import java.util.Collections;
 import java.util.HashSet;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -25,4 +29,160 @@ public class SnowflakeTest {
 		}
 		Assert.assertEquals(1000L, hashSet.size());
 	}
+
+	@Test
+	public void concurrentSnowflakeTest() throws InterruptedException {
+		final Set<Long> ids = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+		final Snowflake idWorker = new Snowflake(1, 2);
+		final int threadCount = 8;
+		final int perThread = 20000;
+		final CountDownLatch latch = new CountDownLatch(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < perThread; j++) {
+							ids.add(idWorker.nextId());
+						}
+					} finally {
+						latch.countDown();
+					}
+				}
+			}).start();
+		}
+		latch.await();
+		Assert.assertEquals(threadCount * perThread, ids.size());
+
+		// ID结构：数据中心ID和终端ID
+		long id = idWorker.nextId();
+		Assert.assertEquals(2, (id >> 17) & 31);
+		Assert.assertEquals(1, (id >> 12) & 31);
+	}
+
+	@Test
+	public void nextIdsTest() {
+		Snowflake idWorker = new Snowflake(0, 0);
+		long first = idWorker.nextId();
+		// 超过单毫秒的4096个序列号，跨越多个毫秒
+		long[] ids = idWorker.nextIds(10000);
+		Assert.assertEquals(10000, ids.length);
+		long last = first;
+		for (long id : ids) {
+			Assert.assertTrue(id > last);
+			last = id;
+		}
+		Assert.assertTrue(idWorker.nextId() > last);
+		Assert.assertEquals(0, idWorker.nextIds(0).length);
+	}
+
+	@Test
+	public void borrowAndMonotonicClockTest() {
+		Snowflake idWorker = new Snowflake(0, 0)//
+				.setClockBackwardsPolicy(Snowflake.ClockBackwardsPolicy.BORROW, 1000)//
+				.setUseMonotonicClock(true);
+		long last = 0;
+		for (int i = 0; i < 100000; i++) {
+			long id = idWorker.nextId();
+			Assert.assertTrue(id > last);
+			last = id;
+		}
+		// 借用的时间戳不超过允许的范围
+		long idTime = (last >> 22) + 1288834974657L;
+		Assert.assertTrue(idTime - System.currentTimeMillis() <= 1000);
+	}
+
+	@Test
+	public void refuseBackwardsTest() {
+		final ManualClock clock = new ManualClock();
+		final Snowflake idWorker = new Snowflake(0, 0, false, clock);
+		idWorker.nextId();
+		clock.time.addAndGet(-1);
+		try {
+			idWorker.nextId();
+			Assert.fail();
+		} catch (RuntimeException e) {
+			Assert.assertTrue(e.getMessage().contains("Clock moved backwards"));
+		}
+		// 时钟追上后恢复生成
+		clock.time.addAndGet(2);
+		Assert.assertEquals(clock.time.get(), timeOf(idWorker.nextId()));
+	}
+
+	@Test
+	public void waitBackwardsTest() {
+		final ManualClock clock = new ManualClock();
+		final Snowflake idWorker = new Snowflake(0, 0, false, clock)//
+				.setClockBackwardsPolicy(Snowflake.ClockBackwardsPolicy.WAIT, 100);
+		final long id = idWorker.nextId();
+		final long lastTime = clock.time.get();
+
+		// 回拨10毫秒，之后每次读取时钟前进1毫秒
+		clock.time.addAndGet(-10);
+		clock.ticking = true;
+		final long next = idWorker.nextId();
+		Assert.assertTrue(next > id);
+		// 阻塞直到时钟追上最后一次的时间戳
+		Assert.assertTrue(clock.time.get() >= lastTime);
+		Assert.assertTrue(timeOf(next) >= lastTime);
+	}
+
+	@Test
+	public void borrowBackwardsTest() {
+		final ManualClock clock = new ManualClock();
+		final Snowflake idWorker = new Snowflake(0, 0, false, clock)//
+				.setClockBackwardsPolicy(Snowflake.ClockBackwardsPolicy.BORROW, 100);
+		long last = idWorker.nextId();
+
+		// 回拨50毫秒，时钟停止，借用最后一次及之后的时间戳
+		clock.time.addAndGet(-50);
+		for (int i = 0; i < 10000; i++) {
+			final long id = idWorker.nextId();
+			Assert.assertTrue(id > last);
+			last = id;
+		}
+		// 10000个ID跨越3个毫秒，时间戳领先时钟不超过允许的范围
+		Assert.assertEquals(clock.time.get() + 52, timeOf(last));
+		Assert.assertTrue(timeOf(last) - clock.time.get() <= 100);
+	}
+
+	@Test
+	public void exceedMaxBackwardsTest() {
+		for (Snowflake.ClockBackwardsPolicy policy : Snowflake.ClockBackwardsPolicy.values()) {
+			final ManualClock clock = new ManualClock();
+			final Snowflake idWorker = new Snowflake(0, 0, false, clock)//
+					.setClockBackwardsPolicy(policy, 100);
+			idWorker.nextId();
+			clock.time.addAndGet(-101);
+			try {
+				idWorker.nextId();
+				Assert.fail(policy.name());
+			} catch (RuntimeException e) {
+				Assert.assertTrue(e.getMessage().contains("101"));
+			}
+		}
+	}
+
+	/**
+	 * 获得ID中的时间戳
+	 * @param id ID
+	 * @return 时间戳
+	 */
+	private static long timeOf(long id) {
+		return (id >> 22) + 1288834974657L;
+	}
+
+	/**
+	 * 手动控制的时钟
+	 */
+	private static class ManualClock implements Snowflake.TimeSource {
+		final AtomicLong time = new AtomicLong(1500000000000L);
+		/** 是否每次读取时前进1毫秒 */
+		volatile boolean ticking;
+
+		@Override
+		public long currentTimeMillis() {
+			return ticking ? time.incrementAndGet() : time.get();
+		}
+	}
 }
@@ -0,0 +1,121 @@
+package com.ghostsf.atool.lang.hash;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.util.CharsetUtil;
+
+/**
+ * {@link MurmurHash}、{@link XxHash}、{@link CityHash}测试，期望值来自各算法的官方实现
+ * @author ghostsf
+ *
+ */
+public class HashTest {
+
+	private static final byte[] FOX = "The quick brown fox jumps over the lazy dog".getBytes(CharsetUtil.CHARSET_UTF_8);
+
+	@Test
+	public void murmurTest() {
+		Assert.assertEquals(0x248bfa47, MurmurHash.hash32("hello".getBytes(CharsetUtil.CHARSET_UTF_8)));
+		Assert.assertEquals(0x2e4ff723, MurmurHash.hash32(FOX));
+		Assert.assertArrayEquals(new long[] { 0xe34bbc7bbc071b6cL, 0x7a433ca9c49a9347L }, MurmurHash.hash128(FOX));
+	}
+
+	@Test
+	public void xxHashTest() {
+		Assert.assertEquals(0x02cc5d05, XxHash.hash32(new byte[0]));
+		Assert.assertEquals(0x32d153ff, XxHash.hash32("abc".getBytes(CharsetUtil.CHARSET_UTF_8)));
+		Assert.assertEquals(0xef46db3751d8e999L, XxHash.hash64(new byte[0]));
+		Assert.assertEquals(0x44bc2cf5ad770999L, XxHash.hash64("abc".getBytes(CharsetUtil.CHARSET_UTF_8)));
+		Assert.assertEquals(0x0b242d361fda71bcL, XxHash.hash64(FOX));
+	}
+
+	@Test
+	public void cityHashTest() {
+		Assert.assertEquals(0x9ae16a3b2f90404fL, CityHash.hash64(new byte[0]));
+		Assert.assertEquals(0xc268724928feca7dL, CityHash.hash64(FOX));
+
+		final byte[] data = randomBytes(300);
+		Assert.assertEquals(CityHash.hash64(data), CityHash.hash64(new ByteArrayInputStream(data)));
+		Assert.assertEquals(CityHash.hash64(data), CityHash.hash64(direct(data)));
+	}
+
+	@Test
+	public void primitiveKeyTest() {
+		final String str = "一致性Hash abcdefghijklmnopqrstuvwxyz 0123456789";
+		for (int length = 0; length <= str.length(); length++) {
+			final String sub = str.substring(0, length);
+			final byte[] utf16 = sub.getBytes(CharsetUtil.charset("UTF-16LE"));
+			Assert.assertEquals(XxHash.hash32(utf16, 0, utf16.length, 7), XxHash.hash32(sub, 7));
+			Assert.assertEquals(XxHash.hash64(utf16, 0, utf16.length, 7), XxHash.hash64(sub, 7));
+		}
+
+		final long key = 0x0102030405060708L;
+		final byte[] bytes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(key).array();
+		Assert.assertEquals(XxHash.hash32(bytes, 0, 8, 7), XxHash.hash32(key, 7));
+		Assert.assertEquals(XxHash.hash64(bytes, 0, 8, 7), XxHash.hash64(key, 7));
+	}
+
+	@Test
+	public void streamingTest() {
+		final byte[] data = randomBytes(1000);
+		for (int length = 0; length < data.length; length += 37) {
+			final MurmurHash.Hasher32 murmur32 = MurmurHash.newHasher32(1);
+			final MurmurHash.Hasher128 murmur128 = MurmurHash.newHasher128(1);
+			final XxHash.Hasher32 xx32 = XxHash.newHasher32(1);
+			final XxHash.Hasher64 xx64 = XxHash.newHasher64(1);
+			// 不同大小的分块
+			int chunk = 1;
+			for (int i = 0; i < length; i += chunk, chunk = chunk % 40 + 3) {
+				final int n = Math.min(chunk, length - i);
+				murmur32.update(data, i, n);
+				murmur128.update(data, i, n);
+				xx32.update(data, i, n);
+				xx64.update(direct(data, i, n));
+			}
+			Assert.assertEquals(MurmurHash.hash32(data, 0, length, 1), murmur32.digest());
+			Assert.assertArrayEquals(MurmurHash.hash128(data, 0, length, 1), murmur128.digest());
+			Assert.assertEquals(XxHash.hash32(data, 0, length, 1), xx32.digest());
+			Assert.assertEquals(XxHash.hash64(data, 0, length, 1), xx64.digest());
+
+			Assert.assertEquals(murmur32.digest(), MurmurHash.hash32(new ByteArrayInputStream(data, 0, length), 1));
+			Assert.assertEquals(xx64.digest(), XxHash.hash64(direct(data, 0, length), 1));
+		}
+	}
+
+	@Test
+	public void bufferTest() {
+		final byte[] data = randomBytes(100);
+		final ByteBuffer heap = ByteBuffer.wrap(data, 10, 50);
+		Assert.assertEquals(XxHash.hash64(data, 10, 50, 0), XxHash.hash64(heap, 0));
+		Assert.assertEquals(MurmurHash.hash32(data, 10, 50, 0), MurmurHash.hash32(heap.slice(), 0));
+		// 一次性计算不改变position
+		Assert.assertEquals(10, heap.position());
+
+		final ByteBuffer direct = direct(data, 10, 50);
+		Assert.assertEquals(XxHash.hash32(data, 10, 50, 0), XxHash.hash32(direct, 0));
+		Assert.assertEquals(0, direct.position());
+	}
+
+	private static byte[] randomBytes(int length) {
+		final byte[] data = new byte[length];
+		new Random(1).nextBytes(data);
+		return data;
+	}
+
+	private static ByteBuffer direct(byte[] data) {
+		return direct(data, 0, data.length);
+	}
+
+	private static ByteBuffer direct(byte[] data, int offset, int length) {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+		buffer.put(data, offset, length);
+		buffer.flip();
+		return buffer;
+	}
+}
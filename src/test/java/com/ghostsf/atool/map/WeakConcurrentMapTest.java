@@ -0,0 +1,60 @@
+package com.ghostsf.atool.map;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ghostsf.atool.util.ReflectUtil;
+
+/**
+ * {@link WeakConcurrentMap} 单元测试
+ * @author ghostsf
+ *
+ */
+public class WeakConcurrentMapTest {
+
+	@Test
+	public void putAndGetTest() {
+		WeakConcurrentMap<Object, String> map = new WeakConcurrentMap<>();
+		map.put(String.class, "string");
+		map.put("key", "value");
+
+		Assert.assertEquals("string", map.get(String.class));
+		// 按equals比较键
+		Assert.assertEquals("value", map.get(new String("key")));
+		Assert.assertNull(map.get(null));
+		Assert.assertEquals("value", map.putIfAbsent("key", "other"));
+		Assert.assertEquals(2, map.size());
+
+		Assert.assertEquals("value", map.remove("key"));
+		Assert.assertFalse(map.containsKey("key"));
+		Assert.assertEquals(1, map.entrySet().size());
+	}
+
+	@Test
+	public void gcTest() throws InterruptedException {
+		WeakConcurrentMap<Object, String> map = new WeakConcurrentMap<>();
+		map.put(new Object(), "value");
+		for (int i = 0; i < 50 && false == map.isEmpty(); i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assert.assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void purgeOnReadTest() throws InterruptedException {
+		WeakConcurrentMap<Object, String> map = new WeakConcurrentMap<>();
+		map.put(String.class, "string");
+		map.put(new Object(), "value");
+		final Map<?, ?> raw = (Map<?, ?>) ReflectUtil.getFieldValue(map, "raw");
+		// 只读取，不调用size等会清理的方法
+		for (int i = 0; i < 50 && raw.size() > 1; i++) {
+			System.gc();
+			Thread.sleep(10);
+			Assert.assertEquals("string", map.get(String.class));
+		}
+		Assert.assertEquals(1, raw.size());
+	}
+}
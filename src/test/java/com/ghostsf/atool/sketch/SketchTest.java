@@ -0,0 +1,109 @@
+package com.ghostsf.atool.sketch;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link HyperLogLog}、{@link CountMinSketch}单元测试
+ * @author ghostsf
+ *
+ */
+public class SketchTest {
+
+	@Test
+	public void hyperLogLogTest() {
+		HyperLogLog hll = new HyperLogLog();
+		for (int i = 0; i < 100000; i++) {
+			hll.add("user" + i);
+			// 重复元素不影响计数
+			hll.add("user" + (i / 2));
+		}
+		Assert.assertEquals(100000, hll.cardinality(), 100000 * 0.03);
+
+		HyperLogLog small = new HyperLogLog();
+		for (long i = 0; i < 100; i++) {
+			small.add(i);
+		}
+		Assert.assertEquals(100, small.cardinality(), 2);
+
+		HyperLogLog other = new HyperLogLog();
+		for (int i = 50000; i < 150000; i++) {
+			other.add("user" + i);
+		}
+		hll.merge(other);
+		Assert.assertEquals(150000, hll.cardinality(), 150000 * 0.03);
+
+		Assert.assertEquals(hll.cardinality(), HyperLogLog.fromBytes(hll.toBytes()).cardinality());
+	}
+
+	@Test
+	public void countMinSketchTest() {
+		CountMinSketch sketch = new CountMinSketch(0.001, 0.01);
+		for (int i = 0; i < 10000; i++) {
+			sketch.add("item" + (i % 1000));
+		}
+		sketch.add("hot", 5000);
+		Assert.assertEquals(15000, sketch.size());
+		Assert.assertTrue(sketch.estimateCount("hot") >= 5000);
+		Assert.assertTrue(sketch.estimateCount("hot") <= 5000 + 15000 * 0.001);
+		Assert.assertTrue(sketch.estimateCount("item1") >= 10);
+
+		CountMinSketch other = CountMinSketch.fromBytes(sketch.toBytes());
+		Assert.assertEquals(sketch.estimateCount("hot"), other.estimateCount("hot"));
+		other.merge(sketch);
+		Assert.assertEquals(sketch.estimateCount("hot") * 2, other.estimateCount("hot"));
+	}
+
+	@Test
+	public void heavyHittersTest() {
+		HeavyHitters<String> hitters = new HeavyHitters<>(3, 0.001, 0.01);
+		for (int i = 0; i < 10000; i++) {
+			hitters.add("item" + i);
+			if (i % 10 == 0) {
+				hitters.add("a");
+			}
+			if (i % 20 == 0) {
+				hitters.add("b");
+			}
+			if (i % 40 == 0) {
+				hitters.add("c");
+			}
+		}
+		List<Entry<String, Long>> top = hitters.top();
+		Assert.assertEquals(3, top.size());
+		Assert.assertEquals("a", top.get(0).getKey());
+		Assert.assertEquals("b", top.get(1).getKey());
+		Assert.assertEquals("c", top.get(2).getKey());
+	}
+
+	@Test
+	public void heavyHittersConcurrentTest() throws InterruptedException {
+		final HeavyHitters<String> hitters = new HeavyHitters<>(2, 0.001, 0.01);
+		final Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final int offset = t * 10000;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10000; i++) {
+						hitters.add("item" + (offset + i));
+						if (i % 5 == 0) {
+							hitters.add("hot");
+						}
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		List<Entry<String, Long>> top = hitters.top();
+		Assert.assertTrue(top.size() <= 2);
+		Assert.assertEquals("hot", top.get(0).getKey());
+		Assert.assertTrue(top.get(0).getValue() >= 8000);
+	}
+}